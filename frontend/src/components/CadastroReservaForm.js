@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import axios from 'axios';
+import listarVeiculos from './listarVeiculos';
 
 const CadastroReservaForm = () => {
   const [loading, setLoading] = useState(false);
@@ -25,27 +26,33 @@ const CadastroReservaForm = () => {
 
   // Carregar dados iniciais
   useEffect(() => {
-    carregarVeiculos();
     carregarPessoasFisicas();
     carregarPessoasJuridicas();
   }, []);
 
+  // Com o período preenchido, lista apenas os veículos livres nele
+  useEffect(() => {
+    if (reserva.dataInicio && reserva.dataFim && new Date(reserva.dataInicio) < new Date(reserva.dataFim)) {
+      carregarVeiculosDisponiveis(reserva.dataInicio, reserva.dataFim);
+    } else {
+      carregarVeiculos();
+    }
+  }, [reserva.dataInicio, reserva.dataFim]);
+
+  const nomesTipo = { PASSEIO: 'Passeio', UTILITARIO: 'Utilitário', MOTOCICLETA: 'Motocicleta' };
+
+  const carregarVeiculosDisponiveis = async (inicio, fim) => {
+    try {
+      const response = await axios.get('/api/veiculos/disponiveis', { params: { inicio, fim } });
+      setVeiculos(response.data.map(v => ({ ...v, tipo: nomesTipo[v.tipo] || v.tipo })));
+    } catch (error) {
+      console.error('Erro ao carregar veículos disponíveis:', error);
+    }
+  };
+
   const carregarVeiculos = async () => {
     try {
-      // Buscar todos os tipos de veículos
-      const [utilitarios, passeios, motocicletas] = await Promise.all([
-        axios.get('/api/veiculos/utilitarios'),
-        axios.get('/api/veiculos/passeios'),
-        axios.get('/api/veiculos/motocicletas')
-      ]);
-
-      const todosVeiculos = [
-        ...utilitarios.data.map(v => ({ ...v, tipo: 'Utilitário' })),
-        ...passeios.data.map(v => ({ ...v, tipo: 'Passeio' })),
-        ...motocicletas.data.map(v => ({ ...v, tipo: 'Motocicleta' }))
-      ];
-
-      setVeiculos(todosVeiculos);
+      setVeiculos(await listarVeiculos());
     } catch (error) {
       console.error('Erro ao carregar veículos:', error);
     }
@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import InputMask from 'react-input-mask';
 import axios from 'axios';
+import useAlteracoes from './useAlteracoes';
 
 const GerenciamentoPessoas = () => {
   const [activeTab, setActiveTab] = useState('fisica');
@@ -24,6 +25,12 @@ const GerenciamentoPessoas = () => {
     carregarPessoasJuridicas();
   }, []);
 
+  // Alterações de outros usuários; as desta tela recarregam as listas ao terminar
+  const registrarPropria = useAlteracoes(['PESSOAS'], () => {
+    carregarPessoasFisicas();
+    carregarPessoasJuridicas();
+  });
+
   const carregarPessoasFisicas = async () => {
     try {
       const response = await axios.get('/api/pessoas-fisicas');
@@ -119,6 +126,7 @@ const GerenciamentoPessoas = () => {
         ? `/api/pessoas-fisicas/${editingPerson.id}`
         : `/api/pessoas-juridicas/${editingPerson.id}`;
 
+      registrarPropria('PESSOAS', editingPerson.id);
       await axios.put(endpoint, editForm);
 
       setMessage({ 
@@ -161,6 +169,7 @@ const GerenciamentoPessoas = () => {
         : `/api/pessoas-juridicas/${pessoa.id}`;
 
       console.log('Tentando excluir:', endpoint);
+      registrarPropria('PESSOAS', pessoa.id);
       const response = await axios.delete(endpoint);
       console.log('Resposta da exclusão:', response.status);
 
@@ -1,12 +1,16 @@
 import React, { useState, useEffect } from 'react';
 import axios from 'axios';
+import useAlteracoes from './useAlteracoes';
+import listarVeiculos from './listarVeiculos';
 import { EditModal, DeleteModal } from './GerenciamentoReservasModals';
 
 const GerenciamentoReservas = () => {
   const [reservas, setReservas] = useState([]);
-  const [filteredReservas, setFilteredReservas] = useState([]);
   const [searchTerm, setSearchTerm] = useState('');
+  const [statusFiltro, setStatusFiltro] = useState('');
+  const [proximoCursor, setProximoCursor] = useState(null);
   const [loading, setLoading] = useState(false);
+  const [carregandoMais, setCarregandoMais] = useState(false);
   const [message, setMessage] = useState({ type: '', text: '' });
   const [editingReserva, setEditingReserva] = useState(null);
   const [showEditModal, setShowEditModal] = useState(false);
@@ -17,20 +21,46 @@ const GerenciamentoReservas = () => {
   const [pessoasJuridicas, setPessoasJuridicas] = useState([]);
 
   useEffect(() => {
-    loadReservas();
     loadVeiculos();
     loadPessoas();
   }, []);
 
+  // A busca por cliente ou placa e o filtro de status são feitos no servidor; espera a digitação
+  // parar antes de consultar
   useEffect(() => {
-    filterReservas();
-  }, [searchTerm, reservas]);
+    const timeout = setTimeout(() => loadReservas(), 300);
+    return () => clearTimeout(timeout);
+  }, [searchTerm, statusFiltro]);
+
+  // Alterações de outros usuários. O painel mostra dados de veículos e clientes, então qualquer
+  // alteração recarrega as reservas
+  const registrarPropria = useAlteracoes(['RESERVAS', 'VEICULOS', 'PESSOAS'], (alterados) => {
+    loadReservas();
+    if (alterados.has('VEICULOS')) {
+      loadVeiculos();
+    }
+    if (alterados.has('PESSOAS')) {
+      loadPessoas();
+    }
+  });
+
+  // Painel de reservas: veículo e cliente já resolvidos, uma página por consulta
+  const buscarPagina = async (cursor) => {
+    const response = await axios.get('/api/reservas/painel', {
+      params: {
+        busca: searchTerm.trim() || undefined,
+        status: statusFiltro || undefined,
+        cursor: cursor ?? undefined
+      }
+    });
+    setProximoCursor(response.data.proximoCursor ?? null);
+    return response.data.itens;
+  };
 
   const loadReservas = async () => {
     setLoading(true);
     try {
-      const response = await axios.get('/api/reservas');
-      setReservas(response.data);
+      setReservas(await buscarPagina(null));
       setMessage({ type: '', text: '' });
     } catch (error) {
       console.error('Erro ao carregar reservas:', error);
@@ -43,21 +73,25 @@ const GerenciamentoReservas = () => {
     }
   };
 
+  const loadMaisReservas = async () => {
+    setCarregandoMais(true);
+    try {
+      const pagina = await buscarPagina(proximoCursor);
+      setReservas(prev => [...prev, ...pagina]);
+    } catch (error) {
+      console.error('Erro ao carregar reservas:', error);
+      setMessage({
+        type: 'error',
+        text: 'Erro ao carregar mais reservas. Tente novamente.'
+      });
+    } finally {
+      setCarregandoMais(false);
+    }
+  };
+
   const loadVeiculos = async () => {
     try {
-      const [utilitarios, passeios, motocicletas] = await Promise.all([
-        axios.get('/api/veiculos/utilitarios'),
-        axios.get('/api/veiculos/passeios'),
-        axios.get('/api/veiculos/motocicletas')
-      ]);
-      
-      const todosVeiculos = [
-        ...utilitarios.data.map(v => ({ ...v, tipo: 'Utilitário' })),
-        ...passeios.data.map(v => ({ ...v, tipo: 'Passeio' })),
-        ...motocicletas.data.map(v => ({ ...v, tipo: 'Motocicleta' }))
-      ];
-      
-      setVeiculos(todosVeiculos);
+      setVeiculos(await listarVeiculos());
     } catch (error) {
       console.error('Erro ao carregar veículos:', error);
     }
@@ -77,40 +111,13 @@ const GerenciamentoReservas = () => {
     }
   };
 
-  const filterReservas = () => {
-    if (!searchTerm.trim()) {
-      setFilteredReservas(reservas);
-      return;
-    }
-
-    const filtered = reservas.filter(reserva => {
-      const nomeCliente = getNomeCliente(reserva);
-      const placaVeiculo = getPlacaVeiculo(reserva);
-      
-      return nomeCliente?.toLowerCase().includes(searchTerm.toLowerCase()) ||
-             placaVeiculo?.toLowerCase().includes(searchTerm.toLowerCase()) ||
-             reserva.status?.toLowerCase().includes(searchTerm.toLowerCase());
-    });
-    
-    setFilteredReservas(filtered);
-  };
-
   const getNomeCliente = (reserva) => {
-    if (reserva.pessoaFisica) {
-      return reserva.pessoaFisica.nome;
-    } else if (reserva.pessoaJuridica) {
-      return reserva.pessoaJuridica.razaoSocial;
-    }
-    return 'Cliente não identificado';
-  };
-
-  const getPlacaVeiculo = (reserva) => {
-    return reserva.veiculo?.placa || 'Placa não identificada';
+    return reserva.clienteNome || 'Cliente não identificado';
   };
 
   const getVeiculoInfo = (reserva) => {
-    if (reserva.veiculo) {
-      return `${reserva.veiculo.marca} ${reserva.veiculo.modelo} (${reserva.veiculo.placa})`;
+    if (reserva.veiculoPlaca) {
+      return `${reserva.veiculoMarca} ${reserva.veiculoModelo} (${reserva.veiculoPlaca})`;
     }
     return 'Veículo não identificado';
   };
@@ -147,6 +154,7 @@ const GerenciamentoReservas = () => {
         reservaToSave.dataFim = `${day}/${month}/${year} ${time}`;
       }
 
+      registrarPropria('RESERVAS', editingReserva.id);
       await axios.put(`/api/reservas/${editingReserva.id}`, reservaToSave);
       
       setMessage({ 
@@ -190,6 +198,7 @@ const GerenciamentoReservas = () => {
   const handleConfirmDelete = async () => {
     setLoading(true);
     try {
+      registrarPropria('RESERVAS', reservaToDelete.id);
       await axios.delete(`/api/reservas/${reservaToDelete.id}`);
       
       setMessage({ 
@@ -296,14 +305,25 @@ const GerenciamentoReservas = () => {
         <h1 className="text-3xl font-bold mb-8 text-center">Gerenciamento de Reservas</h1>
 
         {/* Search */}
-        <div className="mb-6">
+        <div className="mb-6 flex gap-4">
           <input
             type="text"
-            placeholder="Pesquisar por nome do cliente, placa do veículo ou status..."
+            placeholder="Pesquisar por nome do cliente ou placa do veículo..."
             value={searchTerm}
             onChange={(e) => setSearchTerm(e.target.value)}
-            className="w-full px-4 py-3 bg-gray-800 border border-gray-700 rounded-lg focus:ring-2 focus:ring-blue-500 focus:border-transparent"
+            className="flex-1 px-4 py-3 bg-gray-800 border border-gray-700 rounded-lg focus:ring-2 focus:ring-blue-500 focus:border-transparent"
           />
+          <select
+            value={statusFiltro}
+            onChange={(e) => setStatusFiltro(e.target.value)}
+            className="px-4 py-3 bg-gray-800 border border-gray-700 rounded-lg focus:ring-2 focus:ring-blue-500 focus:border-transparent"
+          >
+            <option value="">Todos os status</option>
+            <option value="PENDENTE">PENDENTE</option>
+            <option value="CONFIRMADA">CONFIRMADA</option>
+            <option value="CANCELADA">CANCELADA</option>
+            <option value="CONCLUIDA">CONCLUIDA</option>
+          </select>
         </div>
 
         {/* Message */}
@@ -340,20 +360,20 @@ const GerenciamentoReservas = () => {
                   </tr>
                 </thead>
                 <tbody className="divide-y divide-gray-700">
-                  {filteredReservas.length === 0 ? (
+                  {reservas.length === 0 ? (
                     <tr>
                       <td colSpan="7" className="px-6 py-8 text-center text-gray-400">
-                        {searchTerm ? 'Nenhuma reserva encontrada com os critérios de busca.' : 'Nenhuma reserva cadastrada.'}
+                        {searchTerm || statusFiltro ? 'Nenhuma reserva encontrada com os critérios de busca.' : 'Nenhuma reserva cadastrada.'}
                       </td>
                     </tr>
                   ) : (
-                    filteredReservas.map((reserva) => (
+                    reservas.map((reserva) => (
                       <tr key={reserva.id} className="hover:bg-gray-700">
                         <td className="px-6 py-4 whitespace-nowrap">
                           <div>
                             <div className="font-medium">{getNomeCliente(reserva)}</div>
                             <div className="text-sm text-gray-400">
-                              {reserva.pessoaFisica ? 'Pessoa Física' : 'Pessoa Jurídica'}
+                              {reserva.pessoaFisicaId ? 'Pessoa Física' : 'Pessoa Jurídica'}
                             </div>
                           </div>
                         </td>
@@ -401,6 +421,17 @@ const GerenciamentoReservas = () => {
                 </tbody>
               </table>
             </div>
+            {proximoCursor !== null && (
+              <div className="p-4 text-center border-t border-gray-700">
+                <button
+                  onClick={loadMaisReservas}
+                  disabled={carregandoMais}
+                  className="bg-gray-700 hover:bg-gray-600 disabled:opacity-50 text-white px-4 py-2 rounded text-sm"
+                >
+                  {carregandoMais ? 'Carregando...' : 'Carregar mais'}
+                </button>
+              </div>
+            )}
           </div>
         )}
 
@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import axios from 'axios';
+import useAlteracoes from './useAlteracoes';
 import { EditModal, DeleteModal } from './GerenciamentoVeiculosModals';
 
 const GerenciamentoVeiculos = () => {
@@ -26,6 +27,9 @@ const GerenciamentoVeiculos = () => {
     loadVeiculos();
   }, [activeTab]);
 
+  // Alterações de outros usuários; as desta tela recarregam a lista ao terminar
+  const registrarPropria = useAlteracoes(['VEICULOS'], () => loadVeiculos());
+
   useEffect(() => {
     filterVeiculos();
   }, [searchTerm, veiculos]);
@@ -82,6 +86,7 @@ const GerenciamentoVeiculos = () => {
         veiculoToSave.dataAquisicao = `${day}/${month}/${year}`;
       }
 
+      registrarPropria('VEICULOS', editingVeiculo.id);
       await axios.put(`${currentTab.endpoint}/${editingVeiculo.id}`, veiculoToSave);
       
       setMessage({ 
@@ -125,6 +130,7 @@ const GerenciamentoVeiculos = () => {
   const handleConfirmDelete = async () => {
     setLoading(true);
     try {
+      registrarPropria('VEICULOS', veiculoToDelete.id);
       await axios.delete(`${currentTab.endpoint}/${veiculoToDelete.id}`);
       
       setMessage({ 
@@ -0,0 +1,23 @@
+import axios from 'axios';
+
+// Campos do resumo de veículos usados nas listas de seleção
+const CAMPOS_VEICULO = 'id,tipo,placa,marca,modelo,valor';
+
+const ROTULOS_TIPO = { PASSEIO: 'Passeio', UTILITARIO: 'Utilitário', MOTOCICLETA: 'Motocicleta' };
+
+// Resumo de todos os veículos em uma única listagem com os três tipos, página a página,
+// com o tipo já no rótulo exibido
+const listarVeiculos = async () => {
+  const veiculos = [];
+  let pagina = 0;
+  while (pagina !== null) {
+    const response = await axios.get('/api/veiculos', {
+      params: { campos: CAMPOS_VEICULO, ordenarPor: 'tipo', tamanho: 500, pagina }
+    });
+    veiculos.push(...response.data.itens.map(v => ({ ...v, tipo: ROTULOS_TIPO[v.tipo] })));
+    pagina = response.data.proximoCursor;
+  }
+  return veiculos;
+};
+
+export default listarVeiculos;
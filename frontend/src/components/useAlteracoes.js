@@ -0,0 +1,61 @@
+import { useCallback, useEffect, useRef } from 'react';
+
+// Espera os eventos de uma rajada de escritas antes de recarregar
+const ESPERA_RECARGA = 300;
+
+// Por quanto tempo o evento de uma escrita feita nesta tela é ignorado
+const VALIDADE_PROPRIA = 10000;
+
+// Acompanha /api/eventos e chama aoAlterar com os agregados alterados (RESERVAS, VEICULOS ou PESSOAS).
+// Um evento 'reinicio' indica eventos perdidos: todos os agregados acompanhados são informados.
+// A tela recarrega a lista logo depois das suas próprias escritas; registradas pela função devolvida,
+// elas não geram uma segunda recarga quando o evento correspondente chega
+const useAlteracoes = (agregados, aoAlterar) => {
+  const callback = useRef(aoAlterar);
+  callback.current = aoAlterar;
+  const proprias = useRef(new Map());
+  const chave = agregados.join(',');
+
+  const registrarPropria = useCallback((agregado, id) => {
+    proprias.current.set(`${agregado}:${id}`, Date.now() + VALIDADE_PROPRIA);
+  }, []);
+
+  useEffect(() => {
+    const fonte = new EventSource(`/api/eventos?agregados=${chave}`);
+    let pendentes = new Set();
+    let timeout = null;
+
+    const agendar = (alterados) => {
+      alterados.forEach(agregado => pendentes.add(agregado));
+      clearTimeout(timeout);
+      timeout = setTimeout(() => {
+        const recarregar = pendentes;
+        pendentes = new Set();
+        callback.current(recarregar);
+      }, ESPERA_RECARGA);
+    };
+
+    // Sem IDs (alterações em massa) o evento nunca é tratado como próprio
+    const propria = ({ agregado, ids }) => {
+      const agora = Date.now();
+      return Boolean(ids) && ids.every(id => (proprias.current.get(`${agregado}:${id}`) || 0) > agora);
+    };
+
+    fonte.addEventListener('alteracao', (evento) => {
+      const alteracao = JSON.parse(evento.data);
+      if (!propria(alteracao)) {
+        agendar([alteracao.agregado]);
+      }
+    });
+    fonte.addEventListener('reinicio', () => agendar(chave.split(',')));
+
+    return () => {
+      clearTimeout(timeout);
+      fonte.close();
+    };
+  }, [chave]);
+
+  return registrarPropria;
+};
+
+export default useAlteracoes;
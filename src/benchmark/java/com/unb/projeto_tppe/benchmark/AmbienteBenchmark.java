@@ -0,0 +1,255 @@
+package com.unb.projeto_tppe.benchmark;
+
+import com.unb.projeto_tppe.ProjetoTppeApplication;
+import com.unb.projeto_tppe.model.Endereco;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.model.Veiculo;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.PessoaFisicaRepository;
+import com.unb.projeto_tppe.service.IndiceConflitoReserva;
+import com.unb.projeto_tppe.service.ResumoReservaService;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aplicação completa sobre um H2 em memória, populada com a massa de dados dos benchmarks.
+ *
+ * Cada veículo recebe {@value #RESERVAS_POR_VEICULO} reservas de {@value #DURACAO_DIAS} dias,
+ * uma a cada {@value #DIAS_ENTRE_RESERVAS} dias. Metade da agenda fica no passado e metade
+ * no futuro, de modo que a verificação de conflito pode ser medida tanto pelo índice em
+ * memória quanto pela consulta ao banco.
+ *
+ * Por padrão o banco é um H2 em memória com o esquema gerado pelo Hibernate. Com
+ * {@code -Dbenchmark.url=jdbc:postgresql://...} (e opcionalmente {@code benchmark.usuario} e
+ * {@code benchmark.senha}) os dados vão para o schema {@value #SCHEMA_POSTGRESQL} desse banco, criado
+ * pelas migrações do Flyway, com os mesmos índices da produção. Esse schema é apagado a cada execução.
+ */
+public final class AmbienteBenchmark implements AutoCloseable {
+
+    public static final int RESERVAS_POR_VEICULO = 100;
+
+    public static final int DIAS_ENTRE_RESERVAS = 3;
+
+    public static final int DURACAO_DIAS = 2;
+
+    private static final int TAMANHO_LOTE = 10_000;
+
+    private static final String SCHEMA_POSTGRESQL = "benchmark";
+
+    // Cada linha consome um valor da sequência, que nunca coincide com os blocos alocados pelo Hibernate
+    private static final String INSERT_RESERVA = "INSERT INTO reservas "
+        + "(id, versao, data_inicio, data_fim, veiculo_id, pessoa_fisica_id, data_criacao, status, valor_total) "
+        + "VALUES (%s, 0, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String URL_POSTGRESQL = System.getProperty("benchmark.url");
+
+    private final ConfigurableApplicationContext contexto;
+
+    private final List<Long> veiculoIds = new ArrayList<>();
+
+    private final LocalDateTime inicioAgenda;
+
+    private AmbienteBenchmark(ConfigurableApplicationContext contexto) {
+        this.contexto = contexto;
+        this.inicioAgenda = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)
+            .minusDays((long) DIAS_ENTRE_RESERVAS * RESERVAS_POR_VEICULO / 2);
+    }
+
+    /**
+     * Sobe a aplicação e insere a quantidade de reservas informada
+     * @param reservas Total de reservas; múltiplo de {@value #RESERVAS_POR_VEICULO}
+     * @param propriedades Propriedades adicionais no formato {@code --chave=valor}
+     * @return Ambiente pronto para uso
+     */
+    public static AmbienteBenchmark iniciar(int reservas, String... propriedades) {
+        return iniciar(WebApplicationType.NONE, reservas, propriedades);
+    }
+
+    /**
+     * Sobe a aplicação com o Tomcat em uma porta livre e insere a quantidade de reservas informada
+     * @param reservas Total de reservas; múltiplo de {@value #RESERVAS_POR_VEICULO}
+     * @param propriedades Propriedades adicionais no formato {@code --chave=valor}
+     * @return Ambiente pronto para uso; a porta está em {@link #getPorta()}
+     */
+    public static AmbienteBenchmark iniciarServidor(int reservas, String... propriedades) {
+        List<String> argumentos = new ArrayList<>(List.of(propriedades));
+        argumentos.add("--server.port=0");
+        return iniciar(WebApplicationType.SERVLET, reservas, argumentos.toArray(String[]::new));
+    }
+
+    private static AmbienteBenchmark iniciar(WebApplicationType tipo, int reservas, String... propriedades) {
+        List<String> argumentos = new ArrayList<>(URL_POSTGRESQL == null ? bancoH2() : bancoPostgresql());
+        argumentos.addAll(List.of(
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.format_sql=false",
+            "--spring.jpa.properties.hibernate.generate_statistics=false",
+            "--spring.devtools.restart.enabled=false",
+            "--logging.level.root=WARN"));
+        argumentos.addAll(List.of(propriedades));
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(ProjetoTppeApplication.class)
+            .web(tipo)
+            .run(argumentos.toArray(String[]::new));
+        AmbienteBenchmark ambiente = new AmbienteBenchmark(contexto);
+        ambiente.popular(reservas);
+        return ambiente;
+    }
+
+    private static List<String> bancoH2() {
+        return List.of(
+            "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.datasource.driverClassName=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.flyway.enabled=false");
+    }
+
+    private static List<String> bancoPostgresql() {
+        String usuario = System.getProperty("benchmark.usuario", "postgres");
+        String senha = System.getProperty("benchmark.senha", "");
+        try (Connection conexao = DriverManager.getConnection(URL_POSTGRESQL, usuario, senha);
+             Statement comando = conexao.createStatement()) {
+            comando.execute("DROP SCHEMA IF EXISTS " + SCHEMA_POSTGRESQL + " CASCADE");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível limpar o schema " + SCHEMA_POSTGRESQL, e);
+        }
+        String separador = URL_POSTGRESQL.contains("?") ? "&" : "?";
+        return List.of(
+            "--spring.datasource.url=" + URL_POSTGRESQL + separador + "currentSchema=" + SCHEMA_POSTGRESQL + ",public",
+            "--spring.datasource.driverClassName=org.postgresql.Driver",
+            "--spring.datasource.username=" + usuario,
+            "--spring.datasource.password=" + senha,
+            "--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+            "--spring.jpa.hibernate.ddl-auto=none",
+            "--spring.flyway.enabled=true",
+            "--spring.flyway.schemas=" + SCHEMA_POSTGRESQL);
+    }
+
+    public <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    public <T> ObjectProvider<T> provedor(Class<T> tipo) {
+        return contexto.getBeanProvider(tipo);
+    }
+
+    public int getPorta() {
+        return contexto.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    public List<Long> getVeiculoIds() {
+        return veiculoIds;
+    }
+
+    /**
+     * Data de início da reserva de posição {@code indice} na agenda de qualquer veículo
+     */
+    public LocalDateTime inicioReserva(int indice) {
+        return inicioAgenda.plusDays((long) DIAS_ENTRE_RESERVAS * indice);
+    }
+
+    private void popular(int reservas) {
+        int quantidadeVeiculos = Math.max(1, reservas / RESERVAS_POR_VEICULO);
+        PasseioRepository passeioRepository = bean(PasseioRepository.class);
+        List<Passeio> veiculos = new ArrayList<>(quantidadeVeiculos);
+        for (int i = 0; i < quantidadeVeiculos; i++) {
+            veiculos.add(passeio(String.format("BMK%05d", i)));
+        }
+        passeioRepository.saveAll(veiculos).forEach(veiculo -> veiculoIds.add(veiculo.getId()));
+
+        Long clienteId = bean(PessoaFisicaRepository.class).save(pessoaFisica()).getId();
+
+        // Inserção direta em lotes: pelo JPA a carga de 1M de linhas dominaria o tempo do benchmark
+        JdbcTemplate jdbcTemplate = bean(JdbcTemplate.class);
+        String insert = String.format(INSERT_RESERVA,
+            URL_POSTGRESQL == null ? "NEXT VALUE FOR reservas_seq" : "nextval('reservas_seq')");
+        Date hoje = Date.valueOf(LocalDate.now());
+        List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (Long veiculoId : veiculoIds) {
+            for (int k = 0; k < RESERVAS_POR_VEICULO; k++) {
+                LocalDateTime inicio = inicioReserva(k);
+                lote.add(new Object[] {
+                    Timestamp.valueOf(inicio), Timestamp.valueOf(inicio.plusDays(DURACAO_DIAS)), veiculoId,
+                    clienteId, hoje, Reserva.StatusReserva.CONFIRMADA.name(), 300.0
+                });
+                if (lote.size() == TAMANHO_LOTE) {
+                    jdbcTemplate.batchUpdate(insert, lote);
+                    lote.clear();
+                }
+            }
+        }
+        if (!lote.isEmpty()) {
+            jdbcTemplate.batchUpdate(insert, lote);
+        }
+        if (URL_POSTGRESQL != null) {
+            // Sem estatísticas o planejador estima a tabela como vazia e ignora os índices
+            jdbcTemplate.execute("ANALYZE reservas");
+        }
+
+        // O índice e os resumos foram carregados com o banco vazio na inicialização
+        bean(IndiceConflitoReserva.class).carregar();
+        bean(ResumoReservaService.class).reconstruir();
+    }
+
+    @Override
+    public void close() {
+        contexto.close();
+    }
+
+    static Passeio passeio(String placa) {
+        Passeio passeio = new Passeio();
+        passeio.setPlaca(placa);
+        passeio.setModelo("Onix");
+        passeio.setMarca("Chevrolet");
+        passeio.setAnoFabricacao(2023);
+        passeio.setAnoModelo(2024);
+        passeio.setCor("Prata");
+        passeio.setDataAquisicao(LocalDate.of(2024, 1, 15));
+        passeio.setStatus(Veiculo.StatusVeiculo.DISPONIVEL);
+        passeio.setValor(80000.0);
+        passeio.setNumeroPortas(4);
+        passeio.setTipoCombustivel("Flex");
+        passeio.setCapacidadePassageiros(5);
+        passeio.setPossuiArCondicionado(true);
+        passeio.setPossuiDirecaoHidraulica(true);
+        return passeio;
+    }
+
+    static PessoaFisica pessoaFisica() {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua das Flores");
+        endereco.setNumero("100");
+        endereco.setBairro("Asa Norte");
+        endereco.setCidade("Brasília");
+        endereco.setEstado("DF");
+        endereco.setCep("70000-000");
+
+        PessoaFisica pessoa = new PessoaFisica();
+        pessoa.setNome("Cliente Benchmark");
+        pessoa.setCpf("12345678900");
+        pessoa.setRg("1234567");
+        pessoa.setEmail("benchmark@example.com");
+        pessoa.setTelefone("61999990000");
+        pessoa.setEndereco(endereco);
+        return pessoa;
+    }
+}
@@ -0,0 +1,79 @@
+package com.unb.projeto_tppe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Página de 500 reservas em /api/reservas/pagina pedida repetidamente, com e sem o cache de
+ * respostas serializadas ({@code respostas.cache.habilitado}). Sem o cache cada requisição consulta
+ * o banco e serializa o grafo de reservas de novo; com ele, só copia os bytes guardados.
+ * {@code gzip} pede o corpo comprimido, que o cache também guarda pronto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CacheRespostasBenchmark {
+
+    @Param({"10000"})
+    private int reservas;
+
+    @Param({"false", "true"})
+    private boolean cache;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private AmbienteBenchmark ambiente;
+
+    private HttpClient cliente;
+
+    private HttpRequest requisicao;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        ambiente = AmbienteBenchmark.iniciarServidor(reservas, "--respostas.cache.habilitado=" + cache);
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(
+            URI.create("http://localhost:" + ambiente.getPorta() + "/api/reservas/pagina?tamanho=500"));
+        if (gzip) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        requisicao = builder.GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        cliente.close();
+        ambiente.close();
+    }
+
+    @Benchmark
+    public byte[] paginaDeReservas() throws IOException, InterruptedException {
+        HttpResponse<byte[]> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofByteArray());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("Resposta " + resposta.statusCode());
+        }
+        return resposta.body();
+    }
+}
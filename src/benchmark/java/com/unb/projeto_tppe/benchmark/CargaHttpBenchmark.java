@@ -0,0 +1,94 @@
+package com.unb.projeto_tppe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga HTTP: {@value #CLIENTES} clientes simultâneos consultando /api/reservas/{id},
+ * com o Tomcat em threads de plataforma (pool padrão de 200) ou em threads virtuais com o semáforo
+ * de admissão na frente do pool de conexões.
+ *
+ * O modo Throughput dá as requisições atendidas por milissegundo e o SampleTime dá a distribuição
+ * da latência (p50, p99, p99.9). Com o H2 em memória o JDBC quase não bloqueia; para medir o
+ * cenário de produção use {@code -Dbenchmark.url} com um PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(CargaHttpBenchmark.CLIENTES)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CargaHttpBenchmark {
+
+    static final int CLIENTES = 400;
+
+    @Param({"10000"})
+    private int reservas;
+
+    @Param({"plataforma", "virtual"})
+    private String threads;
+
+    private AmbienteBenchmark ambiente;
+
+    private HttpClient cliente;
+
+    private String url;
+
+    private long[] reservaIds;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        ambiente = AmbienteBenchmark.iniciarServidor(reservas,
+            "--spring.threads.virtual.enabled=" + threads.equals("virtual"));
+        cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        url = "http://localhost:" + ambiente.getPorta() + "/api/reservas/";
+        reservaIds = ambiente.bean(JdbcTemplate.class).queryForList("SELECT id FROM reservas", Long.class)
+            .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        cliente.close();
+        ambiente.close();
+    }
+
+    @Benchmark
+    public String consultarReserva() throws IOException, InterruptedException {
+        long id = reservaIds[ThreadLocalRandom.current().nextInt(reservaIds.length)];
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(url + id))
+            .timeout(Duration.ofSeconds(60))
+            .GET()
+            .build();
+        HttpResponse<String> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("Resposta " + resposta.statusCode() + ": " + resposta.body());
+        }
+        return resposta.body();
+    }
+}
@@ -0,0 +1,203 @@
+package com.unb.projeto_tppe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Tempo até a primeira requisição: cada medida inicia uma JVM nova com a aplicação e espera a primeira
+ * resposta 200 de /api/veiculos.
+ *
+ * A aplicação roda a partir do JAR de target/ extraído, como no Dockerfile.inicio-rapido, sobre um H2 em
+ * memória. O modo {@code padrao} sobe como o Dockerfile; {@code inicio-rapido} ativa o perfil de mesmo nome
+ * e as classes do Spring AOT; {@code inicio-rapido-cds} usa também o arquivo CDS gerado por uma execução
+ * de treino no início do trial. Os modos rápidos exigem o JAR gerado com o perfil Maven inicio-rapido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InicializacaoBenchmark {
+
+    private static final Path DIRETORIO = Path.of("target", "inicializacao");
+
+    private static final Path LOG = DIRETORIO.resolve("aplicacao.log");
+
+    private static final String CLASSE_PRINCIPAL = "com.unb.projeto_tppe.ProjetoTppeApplication";
+
+    // Gerada pelo process-aot do perfil Maven inicio-rapido
+    private static final String INICIALIZADOR_AOT =
+        "BOOT-INF/classes/com/unb/projeto_tppe/ProjetoTppeApplication__ApplicationContextInitializer.class";
+
+    private static final Duration LIMITE = Duration.ofMinutes(2);
+
+    @Param({"padrao", "inicio-rapido", "inicio-rapido-cds"})
+    private String modo;
+
+    private final List<String> comando = new ArrayList<>();
+
+    private HttpClient cliente;
+
+    private Process processo;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException, InterruptedException {
+        Path jar = jarDaAplicacao();
+        Path extraido = DIRETORIO.resolve("app");
+        Files.createDirectories(DIRETORIO);
+        executar(List.of(java(), "-Djarmode=tools", "-jar", jar.toString(), "extract",
+                         "--destination", extraido.toString(), "--force"));
+
+        List<String> jvm = new ArrayList<>();
+        List<String> argumentos = new ArrayList<>(List.of(
+            "--spring.datasource.url=jdbc:h2:mem:inicializacao",
+            "--spring.datasource.driverClassName=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            // Com o AOT o Flyway não pode ser desligado; sem migrações no local, ele não altera nada
+            "--spring.flyway.enabled=false",
+            "--spring.flyway.locations=classpath:benchmark/sem-migracoes",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.format_sql=false",
+            "--spring.devtools.restart.enabled=false",
+            "--logging.level.root=WARN"));
+        if (!modo.equals("padrao")) {
+            try (JarFile conteudo = new JarFile(jar.toFile())) {
+                if (conteudo.getEntry(INICIALIZADOR_AOT) == null) {
+                    throw new IllegalStateException("O JAR não tem as classes do Spring AOT; gere com "
+                        + "mvn -Pbenchmark,inicio-rapido -DskipTests package");
+                }
+            }
+            jvm.add("-Dspring.aot.enabled=true");
+            argumentos.add("--spring.profiles.active=inicio-rapido");
+        }
+        // O H2 é dependência de teste e não está no JAR; o restante vem do Class-Path do JAR extraído
+        String classpath = extraido.resolve(jar.getFileName()) + File.pathSeparator + h2();
+        if (modo.equals("inicio-rapido-cds")) {
+            Path arquivo = DIRETORIO.resolve("app.jsa");
+            Files.deleteIfExists(arquivo);
+            List<String> treino = new ArrayList<>(List.of(java(), "-XX:ArchiveClassesAtExit=" + arquivo,
+                                                          "-Dspring.context.exit=onRefresh"));
+            treino.addAll(jvm);
+            treino.addAll(List.of("-cp", classpath, CLASSE_PRINCIPAL));
+            treino.addAll(argumentos);
+            executar(treino);
+            jvm.add("-XX:SharedArchiveFile=" + arquivo);
+        }
+        comando.add(java());
+        comando.addAll(jvm);
+        comando.addAll(List.of("-cp", classpath, CLASSE_PRINCIPAL));
+        comando.addAll(argumentos);
+        cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        cliente.close();
+    }
+
+    @TearDown(Level.Invocation)
+    public void encerrarAplicacao() throws InterruptedException {
+        if (processo != null) {
+            processo.destroy();
+            if (!processo.waitFor(30, TimeUnit.SECONDS)) {
+                processo.destroyForcibly().waitFor();
+            }
+            processo = null;
+        }
+    }
+
+    @Benchmark
+    public int primeiraRequisicao() throws IOException, InterruptedException {
+        int porta = portaLivre();
+        List<String> execucao = new ArrayList<>(comando);
+        execucao.add("--server.port=" + porta);
+        processo = new ProcessBuilder(execucao).redirectErrorStream(true).redirectOutput(LOG.toFile()).start();
+
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/veiculos"))
+            .timeout(LIMITE)
+            .GET()
+            .build();
+        long limite = System.nanoTime() + LIMITE.toNanos();
+        while (System.nanoTime() < limite) {
+            if (!processo.isAlive()) {
+                throw new IllegalStateException("A aplicação encerrou durante a inicialização; ver " + LOG);
+            }
+            try {
+                HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                if (resposta.statusCode() == 200) {
+                    return resposta.statusCode();
+                }
+            } catch (IOException e) {
+                // Porta ainda fechada
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Sem resposta em " + LIMITE + "; ver " + LOG);
+    }
+
+    private static Path jarDaAplicacao() throws IOException {
+        try (Stream<Path> arquivos = Files.list(Path.of("target"))) {
+            return arquivos.filter(arquivo -> arquivo.getFileName().toString().endsWith(".jar"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("JAR não encontrado em target/; execute o package"));
+        }
+    }
+
+    private static String h2() {
+        return Stream.of(System.getProperty("java.class.path").split(File.pathSeparator))
+            .filter(entrada -> Path.of(entrada).getFileName().toString().startsWith("h2-"))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("H2 não encontrado no classpath do benchmark"));
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void executar(List<String> comando) throws IOException, InterruptedException {
+        Process execucao = new ProcessBuilder(comando).redirectErrorStream(true).redirectOutput(LOG.toFile()).start();
+        if (execucao.waitFor() != 0) {
+            throw new IllegalStateException("Falha ao executar " + comando.get(1) + "; ver " + LOG);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.unb.projeto_tppe.benchmark;
+
+import com.unb.projeto_tppe.dto.ReservaDTO;
+import com.unb.projeto_tppe.dto.ResultadoLoteDTO;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.PessoaFisicaRepository;
+import com.unb.projeto_tppe.service.ReservaService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de inserção de veículos, pessoas e reservas com e sem agrupamento dos INSERTs.
+ *
+ * Com {@code tamanhoLote = 1} cada linha consome uma chamada à sequência e um INSERT próprio;
+ * com 50 os IDs são reservados em blocos e os INSERTs enviados em lotes JDBC. O H2 em memória
+ * não tem latência de rede, então o ganho medido aqui é um limite inferior do ganho no PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class InsercaoBenchmark {
+
+    private static final int LINHAS = 500;
+
+    @Param({"1", "50"})
+    private int tamanhoLote;
+
+    private AmbienteBenchmark ambiente;
+
+    private PasseioRepository passeioRepository;
+
+    private PessoaFisicaRepository pessoaFisicaRepository;
+
+    private ReservaService reservaService;
+
+    private Long clienteId;
+
+    private LocalDateTime proximoInicio;
+
+    // Garante placas, CPFs e períodos únicos entre as invocações
+    private int sequencial;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        ambiente = AmbienteBenchmark.iniciar(AmbienteBenchmark.RESERVAS_POR_VEICULO * 10,
+            "--spring.jpa.properties.hibernate.jdbc.batch_size=" + tamanhoLote,
+            "--spring.jpa.properties.projeto.id.tamanho_alocacao=" + tamanhoLote);
+        passeioRepository = ambiente.bean(PasseioRepository.class);
+        pessoaFisicaRepository = ambiente.bean(PessoaFisicaRepository.class);
+        reservaService = ambiente.bean(ReservaService.class);
+        clienteId = pessoaFisicaRepository.findAll().get(0).getId();
+        proximoInicio = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusYears(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        ambiente.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public int inserirVeiculos() {
+        List<Passeio> veiculos = new ArrayList<>(LINHAS);
+        for (int i = 0; i < LINHAS; i++) {
+            veiculos.add(AmbienteBenchmark.passeio(String.format("I%07d", sequencial++)));
+        }
+        return passeioRepository.saveAll(veiculos).size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public int inserirPessoas() {
+        List<PessoaFisica> pessoas = new ArrayList<>(LINHAS);
+        for (int i = 0; i < LINHAS; i++) {
+            PessoaFisica pessoa = AmbienteBenchmark.pessoaFisica();
+            pessoa.setCpf(String.format("%011d", sequencial++));
+            pessoas.add(pessoa);
+        }
+        return pessoaFisicaRepository.saveAll(pessoas).size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public int importarReservas() {
+        List<Long> veiculoIds = ambiente.getVeiculoIds();
+        List<ReservaDTO> reservas = new ArrayList<>(LINHAS);
+        for (int i = 0; i < LINHAS; i++) {
+            // Um período novo a cada volta pelos veículos, sem conflito com os anteriores
+            if (i % veiculoIds.size() == 0) {
+                proximoInicio = proximoInicio.plusDays(AmbienteBenchmark.DIAS_ENTRE_RESERVAS);
+            }
+            ReservaDTO dto = new ReservaDTO();
+            dto.setDataInicio(proximoInicio);
+            dto.setDataFim(proximoInicio.plusDays(AmbienteBenchmark.DURACAO_DIAS));
+            dto.setVeiculoId(veiculoIds.get(i % veiculoIds.size()));
+            dto.setPessoaFisicaId(clienteId);
+            dto.setValorTotal(300.0);
+            reservas.add(dto);
+        }
+        ResultadoLoteDTO resultado = reservaService.importarLote(reservas);
+        return resultado.criadas();
+    }
+}
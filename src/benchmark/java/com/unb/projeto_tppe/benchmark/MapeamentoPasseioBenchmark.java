@@ -0,0 +1,58 @@
+package com.unb.projeto_tppe.benchmark;
+
+import com.unb.projeto_tppe.controller.PasseioController;
+import com.unb.projeto_tppe.dto.PasseioDTO;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.Veiculo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de DTO para entidade feita no cadastro de veículos de passeio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoPasseioBenchmark {
+
+    private PasseioDTO passeioDTO;
+
+    @Setup
+    public void iniciar() {
+        passeioDTO = new PasseioDTO();
+        passeioDTO.setPlaca("ABC1D23");
+        passeioDTO.setModelo("Onix");
+        passeioDTO.setMarca("Chevrolet");
+        passeioDTO.setAnoFabricacao(2023);
+        passeioDTO.setAnoModelo(2024);
+        passeioDTO.setCor("Prata");
+        passeioDTO.setDataAquisicao(LocalDate.of(2024, 1, 15));
+        passeioDTO.setStatus(Veiculo.StatusVeiculo.DISPONIVEL);
+        passeioDTO.setValor(80000.0);
+        passeioDTO.setNumeroPortas(4);
+        passeioDTO.setTipoCombustivel("Flex");
+        passeioDTO.setCapacidadePassageiros(5);
+        passeioDTO.setPossuiArCondicionado(true);
+        passeioDTO.setPossuiDirecaoHidraulica(true);
+    }
+
+    @Benchmark
+    public Passeio converterDtoParaEntidade() {
+        return PasseioController.paraEntidade(passeioDTO);
+    }
+}
@@ -0,0 +1,96 @@
+package com.unb.projeto_tppe.benchmark;
+
+import com.unb.projeto_tppe.config.MedidorServicos;
+import com.unb.projeto_tppe.service.ReservaService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo das métricas dos serviços no caminho quente, com e sem {@link MedidorServicos}.
+ *
+ * {@code existeConflito} é a chamada real (proxy transacional + índice em memória) e
+ * {@code chamadaVazia} isola o interceptador sobre um método que não faz nada. Rode com
+ * {@code -prof gc}: a métrica {@code gc.alloc.rate.norm} deve ser a mesma nos dois modos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MetricasBenchmark {
+
+    @Param({"ligadas", "desligadas"})
+    private String metricas;
+
+    private AmbienteBenchmark ambiente;
+
+    private ReservaService reservaService;
+
+    private List<Long> veiculoIds;
+
+    private ServicoVazio servicoVazio;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        boolean ligadas = metricas.equals("ligadas");
+        ambiente = AmbienteBenchmark.iniciar(10_000, "--metricas.servicos.habilitadas=" + ligadas);
+        reservaService = ambiente.bean(ReservaService.class);
+        veiculoIds = ambiente.getVeiculoIds();
+
+        ProxyFactory fabrica = new ProxyFactory(new ServicoVazio());
+        fabrica.setProxyTargetClass(true);
+        if (ligadas) {
+            fabrica.addAdvice(new MedidorServicos(ambiente.provedor(MeterRegistry.class)));
+        }
+        servicoVazio = (ServicoVazio) fabrica.getProxy();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        ambiente.close();
+    }
+
+    @Benchmark
+    public boolean existeConflito() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        // Reservas futuras são respondidas pelo índice em memória
+        int posicao = aleatorio.nextInt(AmbienteBenchmark.RESERVAS_POR_VEICULO / 2 + 1,
+                                         AmbienteBenchmark.RESERVAS_POR_VEICULO - 1);
+        LocalDateTime inicio = ambiente.inicioReserva(posicao).plusHours(aleatorio.nextInt(72));
+        Long veiculoId = veiculoIds.get(aleatorio.nextInt(veiculoIds.size()));
+        return reservaService.existeConflito(inicio, inicio.plusDays(1), veiculoId);
+    }
+
+    @Benchmark
+    public long chamadaVazia() {
+        return servicoVazio.executar(ThreadLocalRandom.current().nextLong());
+    }
+
+    public static class ServicoVazio {
+
+        public long executar(long valor) {
+            return valor;
+        }
+    }
+}
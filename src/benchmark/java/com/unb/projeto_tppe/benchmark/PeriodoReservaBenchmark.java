@@ -0,0 +1,109 @@
+package com.unb.projeto_tppe.benchmark;
+
+import com.unb.projeto_tppe.dto.PaginaDTO;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.service.ReservaService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca de reservas por período: a consulta anterior (início ou fim dentro da janela, com OR)
+ * contra a de sobreposição usada hoje por {@code ReservaRepository}.
+ *
+ * As duas primeiras medições devolvem só os IDs, para comparar apenas o filtro; a terceira é a
+ * primeira página do endpoint /api/reservas/periodo. A comparação só faz sentido no PostgreSQL
+ * ({@code -Dbenchmark.url}), onde a consulta nova usa o índice GiST de tsrange (migração V4); o H2
+ * não tem índice capaz de delimitar as duas pontas do período.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PeriodoReservaBenchmark {
+
+    private static final String CONSULTA_ANTERIOR = "SELECT r.id FROM Reserva r "
+        + "WHERE r.dataInicio BETWEEN :inicio AND :fim OR r.dataFim BETWEEN :inicio AND :fim";
+
+    private static final String CONSULTA_SOBREPOSICAO = "SELECT r.id FROM Reserva r "
+        + "WHERE sobrepoe_periodo(r.dataInicio, r.dataFim, :inicio, :fim)";
+
+    @Param({"1000000"})
+    private int reservas;
+
+    @Param({"1", "30"})
+    private int diasJanela;
+
+    private AmbienteBenchmark ambiente;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private ReservaService reservaService;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        ambiente = AmbienteBenchmark.iniciar(reservas);
+        entityManagerFactory = ambiente.bean(EntityManagerFactory.class);
+        reservaService = ambiente.bean(ReservaService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        ambiente.close();
+    }
+
+    private LocalDateTime sortearInicio() {
+        int posicao = ThreadLocalRandom.current().nextInt(AmbienteBenchmark.RESERVAS_POR_VEICULO - 1);
+        return ambiente.inicioReserva(posicao).plusHours(ThreadLocalRandom.current().nextInt(24));
+    }
+
+    private List<Long> idsNoPeriodo(String consulta) {
+        LocalDateTime inicio = sortearInicio();
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery(consulta, Long.class)
+                .setParameter("inicio", inicio)
+                .setParameter("fim", inicio.plusDays(diasJanela))
+                .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<Long> consultaAnterior() {
+        return idsNoPeriodo(CONSULTA_ANTERIOR);
+    }
+
+    @Benchmark
+    public List<Long> consultaSobreposicao() {
+        return idsNoPeriodo(CONSULTA_SOBREPOSICAO);
+    }
+
+    @Benchmark
+    public PaginaDTO<Reserva> primeiraPagina() {
+        LocalDateTime inicio = sortearInicio();
+        return reservaService.buscarPaginaPorPeriodo(inicio, inicio.plusDays(diasJanela), null, null, null);
+    }
+}
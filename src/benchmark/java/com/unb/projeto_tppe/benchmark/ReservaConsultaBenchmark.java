@@ -0,0 +1,92 @@
+package com.unb.projeto_tppe.benchmark;
+
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.service.ReservaService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de reserva sobre massas de 10 mil, 100 mil e 1 milhão de linhas.
+ * Veículo e período são sorteados a cada chamada para não medir sempre a mesma linha em cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReservaConsultaBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int reservas;
+
+    private AmbienteBenchmark ambiente;
+
+    private ReservaService reservaService;
+
+    private List<Long> veiculoIds;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        ambiente = AmbienteBenchmark.iniciar(reservas);
+        reservaService = ambiente.bean(ReservaService.class);
+        veiculoIds = ambiente.getVeiculoIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        ambiente.close();
+    }
+
+    /**
+     * Período de um dia começando em uma hora qualquer do ciclo entre duas reservas
+     * da posição sorteada; cerca de dois terços dos sorteios conflitam
+     */
+    private LocalDateTime sortearInicio(int primeiraPosicao, int ultimaPosicao) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        int posicao = aleatorio.nextInt(primeiraPosicao, ultimaPosicao);
+        return ambiente.inicioReserva(posicao).plusHours(aleatorio.nextInt(AmbienteBenchmark.DIAS_ENTRE_RESERVAS * 24));
+    }
+
+    private Long sortearVeiculo() {
+        return veiculoIds.get(ThreadLocalRandom.current().nextInt(veiculoIds.size()));
+    }
+
+    @Benchmark
+    public boolean existeConflitoPeriodoFuturo() {
+        // Reservas futuras são respondidas pelo índice em memória
+        LocalDateTime inicio = sortearInicio(AmbienteBenchmark.RESERVAS_POR_VEICULO / 2 + 1,
+            AmbienteBenchmark.RESERVAS_POR_VEICULO - 1);
+        return reservaService.existeConflito(inicio, inicio.plusDays(1), sortearVeiculo());
+    }
+
+    @Benchmark
+    public boolean existeConflitoPeriodoPassado() {
+        // Períodos anteriores à carga do índice caem na consulta ao banco
+        LocalDateTime inicio = sortearInicio(0, AmbienteBenchmark.RESERVAS_POR_VEICULO / 2 - 1);
+        return reservaService.existeConflito(inicio, inicio.plusDays(1), sortearVeiculo());
+    }
+
+    @Benchmark
+    public List<Reserva> buscarPorPeriodo() {
+        LocalDateTime inicio = sortearInicio(0, AmbienteBenchmark.RESERVAS_POR_VEICULO - 1);
+        return reservaService.buscarPorPeriodo(inicio, inicio.plusDays(1));
+    }
+}
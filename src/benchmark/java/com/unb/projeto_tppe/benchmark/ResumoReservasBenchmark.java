@@ -0,0 +1,91 @@
+package com.unb.projeto_tppe.benchmark;
+
+import com.unb.projeto_tppe.dto.ResumoReservaDTO;
+import com.unb.projeto_tppe.service.ResumoReservaService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relatório de receita de um mês: os totais mantidos em memória por {@link ResumoReservaService}
+ * contra a agregação das reservas no banco, que é o que a soma manual sobre /api/reservas faz.
+ *
+ * {@code reconstruir} mede a reconstrução completa dos resumos, lida em blocos paralelos. Compare
+ * a agregação no PostgreSQL ({@code -Dbenchmark.url}): o H2 reaproveita o resultado de uma consulta
+ * repetida enquanto a tabela não muda.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ResumoReservasBenchmark {
+
+    private static final String AGREGACAO = "SELECT v.tipo_veiculo, r.status, COUNT(*), SUM(r.valor_total) "
+        + "FROM reservas r JOIN veiculo v ON v.id = r.veiculo_id "
+        + "WHERE r.data_inicio >= ? AND r.data_inicio < ? GROUP BY v.tipo_veiculo, r.status";
+
+    @Param({"100000", "1000000"})
+    private int reservas;
+
+    private AmbienteBenchmark ambiente;
+
+    private ResumoReservaService resumoReservaService;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDate inicio;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        ambiente = AmbienteBenchmark.iniciar(reservas);
+        resumoReservaService = ambiente.bean(ResumoReservaService.class);
+        jdbcTemplate = ambiente.bean(JdbcTemplate.class);
+        // Meio da agenda: o mês tem reservas de todos os veículos
+        inicio = ambiente.inicioReserva(AmbienteBenchmark.RESERVAS_POR_VEICULO / 2).toLocalDate();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        ambiente.close();
+    }
+
+    @Benchmark
+    public List<ResumoReservaDTO> totaisEmMemoria() {
+        return resumoReservaService.buscarTotais(inicio, inicio.plusDays(29), null, null);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> totaisPorConsulta() {
+        return jdbcTemplate.queryForList(AGREGACAO, Timestamp.valueOf(inicio.atStartOfDay()),
+                                         Timestamp.valueOf(inicio.plusDays(30).atStartOfDay()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public long reconstruir() {
+        return resumoReservaService.reconstruir();
+    }
+}
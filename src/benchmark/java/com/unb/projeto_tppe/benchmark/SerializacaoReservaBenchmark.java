@@ -0,0 +1,75 @@
+package com.unb.projeto_tppe.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.model.Reserva;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON de reservas completas (veículo, cliente e endereço), incluindo as datas
+ * com {@code @JsonFormat(pattern = "dd/MM/yyyy HH:mm")}. Usa o mesmo construtor de
+ * ObjectMapper que o Spring Boot, sem subir a aplicação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoReservaBenchmark {
+
+    @Param({"1", "100"})
+    private int quantidade;
+
+    private ObjectMapper objectMapper;
+
+    private List<Reserva> reservas;
+
+    @Setup
+    public void iniciar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        PessoaFisica cliente = AmbienteBenchmark.pessoaFisica();
+        cliente.setId(1L);
+        reservas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Passeio veiculo = AmbienteBenchmark.passeio(String.format("BMK%05d", i));
+            veiculo.setId((long) i + 1);
+
+            Reserva reserva = new Reserva();
+            reserva.setId((long) i + 1);
+            reserva.setDataInicio(LocalDateTime.of(2025, 3, 10, 9, 30).plusDays(i));
+            reserva.setDataFim(reserva.getDataInicio().plusDays(AmbienteBenchmark.DURACAO_DIAS));
+            reserva.setDataCriacao(LocalDate.of(2025, 3, 1));
+            reserva.setVeiculo(veiculo);
+            reserva.setPessoaFisica(cliente);
+            reserva.setStatus(Reserva.StatusReserva.CONFIRMADA);
+            reserva.setValorTotal(300.0);
+            reservas.add(reserva);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarReservas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reservas);
+    }
+}
@@ -0,0 +1,66 @@
+package com.unb.projeto_tppe.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.unb.projeto_tppe.controller.CacheRespostasFilter;
+import com.unb.projeto_tppe.controller.CacheRespostasFilter.RespostaGuardada;
+import com.unb.projeto_tppe.service.VersoesAgregados;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Cache opcional das respostas serializadas ({@link CacheRespostasFilter}), ligado com
+ * {@code respostas.cache.habilitado=true}.
+ *
+ * O limite é em bytes ({@code respostas.cache.tamanho-maximo}); ao atingi-lo o Caffeine descarta
+ * as entradas menos usadas. Acertos, falhas e descartes são medidos em {@code cache.gets} e
+ * {@code cache.evictions} (cache=respostas), a taxa de acertos em {@code respostas.cache.taxa.acertos}
+ * e a memória ocupada pelos corpos em {@code respostas.cache.bytes}.
+ *
+ * A chave leva as versões contadas por esta instância ({@link VersoesAgregados}), que não mudam com as
+ * escritas das demais; com {@code respostas.versoes.instancia-unica=false} o cache fica desligado mesmo
+ * com a propriedade acima.
+ */
+@Configuration
+@ConditionalOnExpression("${respostas.cache.habilitado:false} and ${respostas.versoes.instancia-unica:true}")
+public class CacheRespostasConfig {
+
+    @Bean
+    public Cache<String, RespostaGuardada> cacheRespostas(
+            @Value("${respostas.cache.tamanho-maximo:64MB}") DataSize tamanhoMaximo, MeterRegistry registro) {
+        Cache<String, RespostaGuardada> respostas = Caffeine.newBuilder()
+            .maximumWeight(tamanhoMaximo.toBytes())
+            .weigher((String chave, RespostaGuardada resposta) -> chave.length() + resposta.tamanho())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(registro, respostas, "respostas");
+        Gauge.builder("respostas.cache.taxa.acertos", respostas, cache -> cache.stats().hitRate())
+            .description("Fração dos GETs atendidos pelo cache de respostas")
+            .register(registro);
+        Gauge.builder("respostas.cache.bytes", respostas, cache -> cache.policy().eviction()
+                .map(limite -> limite.weightedSize().orElse(0L)).orElse(0L))
+            .description("Bytes ocupados pelas respostas guardadas")
+            .baseUnit("bytes")
+            .register(registro);
+        return respostas;
+    }
+
+    @Bean
+    public FilterRegistrationBean<CacheRespostasFilter> cacheRespostasFilter(
+            Cache<String, RespostaGuardada> cacheRespostas, VersoesAgregados versoes,
+            @Value("${respostas.cache.gzip:true}") boolean gzip) {
+        FilterRegistrationBean<CacheRespostasFilter> registro =
+            new FilterRegistrationBean<>(new CacheRespostasFilter(cacheRespostas, versoes, gzip));
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+}
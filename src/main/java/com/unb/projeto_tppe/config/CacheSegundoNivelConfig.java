@@ -0,0 +1,48 @@
+package com.unb.projeto_tppe.config;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+
+/**
+ * Gerenciador do cache de segundo nível do Hibernate, criado a partir do arquivo de
+ * {@code hibernate.javax.cache.uri} (caffeine.conf).
+ *
+ * O Hibernate resolveria esse nome para a URL do recurso, que dentro do JAR executável é uma URL
+ * {@code jar:}; o Caffeine só lê {@code file:} e {@code classpath:} e, sem as regiões configuradas,
+ * a inicialização falha. O gerenciador é criado aqui, pelo classpath, e entregue pronto ao Hibernate.
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheSegundoNivel(
+            @Value("${spring.jpa.properties.hibernate.javax.cache.provider}") String provedor,
+            @Value("${spring.jpa.properties.hibernate.javax.cache.uri}") String configuracao) {
+        CachingProvider caching = Caching.getCachingProvider(provedor);
+        return criar(caching, configuracao, caching.getDefaultClassLoader());
+    }
+
+    /**
+     * @param caching Provedor JCache
+     * @param configuracao Caminho do arquivo de configuração no classpath
+     * @param classLoader ClassLoader em que o arquivo é procurado
+     * @return Gerenciador com as regiões do arquivo
+     */
+    static CacheManager criar(CachingProvider caching, String configuracao, ClassLoader classLoader) {
+        return caching.getCacheManager(URI.create("classpath:" + configuracao), classLoader);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelHibernate(CacheManager cacheSegundoNivel) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheSegundoNivel);
+    }
+}
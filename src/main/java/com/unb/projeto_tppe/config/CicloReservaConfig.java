@@ -0,0 +1,18 @@
+package com.unb.projeto_tppe.config;
+
+import com.unb.projeto_tppe.service.CicloReservaService;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Liga a execução periódica do ciclo de vida das reservas ({@link CicloReservaService#executar()})
+ * a cada {@code reservas.ciclo.intervalo}. Com {@code reservas.ciclo.habilitado=false} a roda de
+ * vencimentos continua sendo mantida, mas nenhuma transição é aplicada.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "reservas.ciclo.habilitado", havingValue = "true", matchIfMissing = true)
+public class CicloReservaConfig {
+}
@@ -0,0 +1,121 @@
+package com.unb.projeto_tppe.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita quantas conexões podem estar emprestadas ao mesmo tempo com um semáforo justo (FIFO)
+ * na frente do pool.
+ *
+ * Com threads virtuais cada requisição tem sua própria thread, e milhares delas podem pedir
+ * conexão ao mesmo tempo. Aqui elas esperam em fila pela vaga, sem ocupar o pool, e são
+ * atendidas na ordem de chegada. A vaga é devolvida quando a conexão é fechada.
+ */
+public class DataSourceComAdmissao extends DelegatingDataSource {
+
+    private final Semaphore vagas;
+
+    private final Duration esperaMaxima;
+
+    public DataSourceComAdmissao(DataSource alvo, int permissoes, Duration esperaMaxima) {
+        super(alvo);
+        if (permissoes <= 0) {
+            throw new IllegalArgumentException("Quantidade de permissões deve ser maior que zero");
+        }
+        this.vagas = new Semaphore(permissoes, true);
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        admitir();
+        return liberarAoFechar(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        admitir();
+        return liberarAoFechar(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * @return Quantidade de vagas livres no momento
+     */
+    public int getVagasDisponiveis() {
+        return vagas.availablePermits();
+    }
+
+    /**
+     * @return Estimativa de quantas threads aguardam uma vaga
+     */
+    public int getThreadsAguardando() {
+        return vagas.getQueueLength();
+    }
+
+    private void admitir() throws SQLException {
+        try {
+            if (!vagas.tryAcquire(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                    "Nenhuma conexão liberada em " + esperaMaxima.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão", e);
+        }
+    }
+
+    private Connection liberarAoFechar(FonteConexao fonte) throws SQLException {
+        Connection conexao;
+        try {
+            conexao = fonte.obter();
+        } catch (SQLException | RuntimeException e) {
+            vagas.release();
+            throw e;
+        }
+        AtomicBoolean fechada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, (proxy, metodo, argumentos) -> {
+                switch (metodo.getName()) {
+                    case "equals":
+                        return proxy == argumentos[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "close":
+                        if (fechada.compareAndSet(false, true)) {
+                            try {
+                                return delegar(conexao, metodo, argumentos);
+                            } finally {
+                                vagas.release();
+                            }
+                        }
+                        return null;
+                    default:
+                        return delegar(conexao, metodo, argumentos);
+                }
+            });
+    }
+
+    private static Object delegar(Connection conexao, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(conexao, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface FonteConexao {
+        Connection obter() throws SQLException;
+    }
+}
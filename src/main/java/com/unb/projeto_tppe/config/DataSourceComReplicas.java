@@ -0,0 +1,245 @@
+package com.unb.projeto_tppe.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.ServletRequest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envia as transações somente leitura ({@code @Transactional(readOnly = true)}) às réplicas e as
+ * demais ao banco primário.
+ *
+ * A conexão real só é obtida no primeiro comando, quando o Spring já marcou a transação como
+ * somente leitura. As leituras são distribuídas em rodízio entre as réplicas saudáveis; a cada
+ * {@code intervaloVerificacao} cada réplica executa a consulta de atraso, e uma réplica que falha
+ * ou está atrasada além de {@code atrasoMaximo} deixa de receber leituras até a próxima verificação.
+ * Sem réplica saudável, as leituras vão ao primário.
+ *
+ * Depois de uma transação de escrita, as leituras da mesma requisição também vão ao primário,
+ * para que ela leia o que acabou de gravar. O mesmo vale para a requisição marcada por
+ * {@link #lerDoPrimario(ServletRequest)}, cuja resposta é identificada pelas versões em memória
+ * e não pode trazer dados mais antigos que elas.
+ */
+public class DataSourceComReplicas extends LazyConnectionDataSourceProxy implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSourceComReplicas.class);
+
+    // Atributo da requisição cujas leituras vão ao primário: já abriu uma transação de escrita ou foi marcada
+    private static final String PRIMARIO = DataSourceComReplicas.class.getName() + ".primario";
+
+    private final DataSource primario;
+
+    private final List<Replica> replicas;
+
+    private final Duration atrasoMaximo;
+
+    private final String consultaAtraso;
+
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    private final ScheduledExecutorService verificacao = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("replicas-verificacao").daemon().factory());
+
+    private final Counter leiturasReplica;
+
+    private final Counter leiturasPrimario;
+
+    /**
+     * @param primario Pool do banco primário
+     * @param replicas Pools das réplicas, identificados pelo nome
+     * @param atrasoMaximo Atraso de replicação acima do qual a réplica não recebe leituras
+     * @param consultaAtraso Consulta que retorna o atraso da réplica em segundos
+     * @param intervaloVerificacao Intervalo entre as verificações das réplicas
+     * @param registro Registro das métricas
+     */
+    public DataSourceComReplicas(DataSource primario, List<Replica> replicas, Duration atrasoMaximo,
+                                 String consultaAtraso, Duration intervaloVerificacao, MeterRegistry registro) {
+        this.primario = primario;
+        this.replicas = List.copyOf(replicas);
+        this.atrasoMaximo = atrasoMaximo;
+        this.consultaAtraso = consultaAtraso;
+        this.leiturasReplica = Counter.builder("banco.leituras").tag("destino", "replica")
+            .description("Transações somente leitura por destino").register(registro);
+        this.leiturasPrimario = Counter.builder("banco.leituras").tag("destino", "primario")
+            .description("Transações somente leitura por destino").register(registro);
+        Gauge.builder("banco.replicas.saudaveis", this.replicas,
+                      lista -> lista.stream().filter(Replica::isSaudavel).count())
+            .description("Réplicas recebendo leituras").register(registro);
+        setTargetDataSource(new Roteador());
+        afterPropertiesSet();
+        verificar();
+        verificacao.scheduleWithFixedDelay(this::verificar, intervaloVerificacao.toMillis(),
+            intervaloVerificacao.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Envia ao primário as leituras da requisição. Sem réplicas configuradas, não tem efeito
+     * @param requisicao Requisição em andamento
+     */
+    public static void lerDoPrimario(ServletRequest requisicao) {
+        requisicao.setAttribute(PRIMARIO, Boolean.TRUE);
+    }
+
+    /**
+     * Executa a consulta de atraso em cada réplica e atualiza quais recebem leituras
+     */
+    public void verificar() {
+        for (Replica replica : replicas) {
+            try (Connection conexao = replica.pool().getConnection();
+                 Statement comando = conexao.createStatement();
+                 ResultSet resultado = comando.executeQuery(consultaAtraso)) {
+                double segundos = resultado.next() ? resultado.getDouble(1) : 0;
+                replica.atualizar(Duration.ofMillis((long) (segundos * 1000)), atrasoMaximo);
+            } catch (SQLException | RuntimeException e) {
+                if (replica.isSaudavel()) {
+                    LOGGER.warn("Réplica {} indisponível: {}", replica.nome(), e.getMessage());
+                }
+                replica.falhar();
+            }
+        }
+    }
+
+    /**
+     * @return Réplicas configuradas, com o estado da última verificação
+     */
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void destroy() {
+        verificacao.shutdownNow();
+        fechar(primario);
+        replicas.forEach(replica -> fechar(replica.pool()));
+    }
+
+    private static void fechar(DataSource dataSource) {
+        if (dataSource instanceof Closeable fechavel) {
+            try {
+                fechavel.close();
+            } catch (IOException e) {
+                LOGGER.warn("Falha ao fechar o pool: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Chamado na obtenção da conexão real, já com o estado da transação definido
+    private Connection conectar() throws SQLException {
+        RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (requisicao != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                requisicao.setAttribute(PRIMARIO, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            }
+            return primario.getConnection();
+        }
+        if (requisicao == null || requisicao.getAttribute(PRIMARIO, RequestAttributes.SCOPE_REQUEST) == null) {
+            int inicio = Math.floorMod(proxima.getAndIncrement(), Math.max(1, replicas.size()));
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((inicio + i) % replicas.size());
+                if (!replica.isSaudavel()) {
+                    continue;
+                }
+                try {
+                    Connection conexao = replica.pool().getConnection();
+                    leiturasReplica.increment();
+                    return conexao;
+                } catch (SQLException e) {
+                    LOGGER.warn("Réplica {} recusou conexão: {}", replica.nome(), e.getMessage());
+                    replica.falhar();
+                }
+            }
+        }
+        leiturasPrimario.increment();
+        return primario.getConnection();
+    }
+
+    private final class Roteador extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return conectar();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Credenciais definidas em cada pool");
+        }
+    }
+
+    /**
+     * Réplica de leitura e o resultado da sua última verificação
+     */
+    public static final class Replica {
+
+        private final String nome;
+
+        private final DataSource pool;
+
+        private volatile boolean saudavel;
+
+        private volatile Duration atraso;
+
+        public Replica(String nome, DataSource pool) {
+            this.nome = nome;
+            this.pool = pool;
+        }
+
+        public String nome() {
+            return nome;
+        }
+
+        public DataSource pool() {
+            return pool;
+        }
+
+        public boolean isSaudavel() {
+            return saudavel;
+        }
+
+        /**
+         * @return Atraso medido na última verificação, ou null se ela falhou
+         */
+        public Duration getAtraso() {
+            return atraso;
+        }
+
+        void atualizar(Duration atraso, Duration atrasoMaximo) {
+            this.atraso = atraso;
+            boolean aceita = atraso.compareTo(atrasoMaximo) <= 0;
+            if (saudavel && !aceita) {
+                LOGGER.warn("Réplica {} atrasada {} ms; leituras vão ao primário", nome, atraso.toMillis());
+            }
+            this.saudavel = aceita;
+        }
+
+        void falhar() {
+            this.atraso = null;
+            this.saudavel = false;
+        }
+    }
+}
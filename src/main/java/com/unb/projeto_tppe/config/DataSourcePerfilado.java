@@ -0,0 +1,110 @@
+package com.unb.projeto_tppe.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Mede cada comando executado pelas conexões do DataSource e o entrega ao {@link PerfilSql}.
+ *
+ * As conexões e os comandos devolvidos são proxies: o texto do comando vem do
+ * {@code prepareStatement}/{@code prepareCall} ou do próprio {@code execute*}, e o tempo medido é o
+ * da chamada {@code execute*}, sem a leitura do ResultSet.
+ */
+public class DataSourcePerfilado extends DelegatingDataSource {
+
+    private final PerfilSql perfil;
+
+    public DataSourcePerfilado(DataSource alvo, PerfilSql perfil) {
+        super(alvo);
+        this.perfil = perfil;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return perfilar(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return perfilar(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection perfilar(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, (proxy, metodo, argumentos) -> {
+                switch (metodo.getName()) {
+                    case "equals":
+                        return proxy == argumentos[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "createStatement":
+                        return perfilar((Statement) delegar(conexao, metodo, argumentos), Statement.class, null);
+                    case "prepareStatement":
+                        return perfilar((Statement) delegar(conexao, metodo, argumentos), PreparedStatement.class,
+                                        (String) argumentos[0]);
+                    case "prepareCall":
+                        return perfilar((Statement) delegar(conexao, metodo, argumentos), CallableStatement.class,
+                                        (String) argumentos[0]);
+                    default:
+                        return delegar(conexao, metodo, argumentos);
+                }
+            });
+    }
+
+    private Statement perfilar(Statement comando, Class<? extends Statement> tipo, String preparado) {
+        // Statement simples: o lote leva o primeiro comando adicionado
+        String[] lote = new String[1];
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+            new Class<?>[] {tipo}, (proxy, metodo, argumentos) -> {
+                String nome = metodo.getName();
+                switch (nome) {
+                    case "equals":
+                        return proxy == argumentos[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "addBatch":
+                        if (preparado == null && lote[0] == null && argumentos != null) {
+                            lote[0] = (String) argumentos[0];
+                        }
+                        return delegar(comando, metodo, argumentos);
+                    default:
+                        if (!nome.startsWith("execute")) {
+                            return delegar(comando, metodo, argumentos);
+                        }
+                }
+                String sql = preparado;
+                if (sql == null) {
+                    sql = argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto
+                        ? texto : lote[0];
+                    lote[0] = null;
+                }
+                if (sql == null) {
+                    return delegar(comando, metodo, argumentos);
+                }
+                perfil.antesDeExecutar(sql);
+                long inicio = System.nanoTime();
+                try {
+                    return delegar(comando, metodo, argumentos);
+                } finally {
+                    perfil.executado(sql, System.nanoTime() - inicio);
+                }
+            });
+    }
+
+    private static Object delegar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
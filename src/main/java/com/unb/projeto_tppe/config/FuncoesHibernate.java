@@ -0,0 +1,40 @@
+package com.unb.projeto_tppe.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.sqm.produce.function.FunctionParameterType;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Funções adicionais disponíveis nas consultas JPQL/HQL do projeto.
+ * Registrada em {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class FuncoesHibernate implements FunctionContributor {
+
+    /**
+     * {@code sobrepoe_periodo(inicioA, fimA, inicioB, fimB)}: verdadeiro se os períodos fechados
+     * [inicioA, fimA] e [inicioB, fimB] têm algum instante em comum.
+     *
+     * No PostgreSQL é gerada como {@code tsrange(...) && tsrange(...)}, que usa o índice GiST
+     * idx_reservas_periodo (migração V4) em vez de percorrer metade da tabela por uma das datas.
+     * Nos demais bancos vira a comparação equivalente entre as datas.
+     */
+    public static final String SOBREPOE_PERIODO = "sobrepoe_periodo";
+
+    @Override
+    public void contributeFunctions(FunctionContributions contribuicoes) {
+        String padrao = contribuicoes.getDialect() instanceof PostgreSQLDialect
+            ? "(tsrange(?1, ?2, '[]') && tsrange(?3, ?4, '[]'))"
+            : "(?1 <= ?4 and ?2 >= ?3)";
+        BasicType<Boolean> booleano = contribuicoes.getTypeConfiguration().getBasicTypeRegistry()
+            .resolve(StandardBasicTypes.BOOLEAN);
+        contribuicoes.getFunctionRegistry().patternDescriptorBuilder(SOBREPOE_PERIODO, padrao)
+            .setInvariantType(booleano)
+            .setExactArgumentCount(4)
+            .setParameterTypes(FunctionParameterType.TEMPORAL, FunctionParameterType.TEMPORAL,
+                               FunctionParameterType.TEMPORAL, FunctionParameterType.TEMPORAL)
+            .register();
+    }
+}
@@ -0,0 +1,29 @@
+package com.unb.projeto_tppe.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Ajustes do perfil {@code inicio-rapido} (application-inicio-rapido.properties, Dockerfile.inicio-rapido).
+ *
+ * O arquivo CDS é gerado por uma execução de treino que sobe o contexto e encerra
+ * ({@code -Dspring.context.exit=onRefresh}), sem banco disponível. Com o Spring AOT o Flyway não pode
+ * ser desligado por propriedade nessa execução, já que as condições foram avaliadas na compilação;
+ * por isso as migrações são puladas aqui apenas no treino.
+ */
+@Configuration
+@Profile("inicio-rapido")
+public class InicioRapidoConfig {
+
+    @Bean
+    public FlywayMigrationStrategy migracaoForaDoTreino(@Value("${spring.context.exit:}") String saida) {
+        return flyway -> {
+            if (!"onRefresh".equals(saida)) {
+                flyway.migrate();
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.unb.projeto_tppe.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o tempo de cada chamada aos serviços no timer {@value #METRICA}, com as tags
+ * {@code servico}, {@code metodo} e {@code excecao}.
+ *
+ * Os timers de chamadas bem-sucedidas ficam em cache por classe e método, de modo que o
+ * caminho comum não monta tags nem consulta o registro: são duas leituras de mapa, dois
+ * {@link System#nanoTime()} e o registro no histograma. Só as chamadas que lançam exceção
+ * passam pelo registro para obter o timer da exceção.
+ */
+public class MedidorServicos implements MethodInterceptor {
+
+    public static final String METRICA = "servico.chamadas";
+
+    private static final String SEM_EXCECAO = "none";
+
+    private final ObjectProvider<MeterRegistry> registros;
+
+    private final ClassValue<ConcurrentMap<Method, Timer>> timersPorClasse = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<Method, Timer> computeValue(Class<?> classe) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    // Resolvido na primeira chamada: o advisor é criado antes do registro de métricas
+    private volatile MeterRegistry registro;
+
+    public MedidorServicos(ObjectProvider<MeterRegistry> registros) {
+        this.registros = registros;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocacao) throws Throwable {
+        long inicio = System.nanoTime();
+        Object resultado;
+        try {
+            resultado = invocacao.proceed();
+        } catch (Throwable e) {
+            timer(invocacao, e.getClass().getSimpleName()).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        timerSucesso(invocacao).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return resultado;
+    }
+
+    private Timer timerSucesso(MethodInvocation invocacao) {
+        ConcurrentMap<Method, Timer> timers = timersPorClasse.get(invocacao.getThis().getClass());
+        Timer timer = timers.get(invocacao.getMethod());
+        if (timer == null) {
+            timer = timers.computeIfAbsent(invocacao.getMethod(), metodo -> timer(invocacao, SEM_EXCECAO));
+        }
+        return timer;
+    }
+
+    private Timer timer(MethodInvocation invocacao, String excecao) {
+        return Timer.builder(METRICA)
+            .description("Tempo das chamadas aos serviços")
+            .tag("servico", ClassUtils.getUserClass(invocacao.getThis()).getSimpleName())
+            .tag("metodo", invocacao.getMethod().getName())
+            .tag("excecao", excecao)
+            .register(registro());
+    }
+
+    private MeterRegistry registro() {
+        MeterRegistry atual = registro;
+        if (atual == null) {
+            atual = registros.getObject();
+            registro = atual;
+        }
+        return atual;
+    }
+}
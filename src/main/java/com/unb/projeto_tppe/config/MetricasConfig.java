@@ -0,0 +1,51 @@
+package com.unb.projeto_tppe.config;
+
+import com.unb.projeto_tppe.service.PessoaService;
+import com.unb.projeto_tppe.service.ReservaService;
+import com.unb.projeto_tppe.service.VeiculoService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * Métricas próprias da aplicação, expostas junto com as do Spring Boot em /actuator/prometheus.
+ *
+ * Os métodos públicos das implementações de {@link ReservaService}, {@link VeiculoService} e
+ * {@link PessoaService} são medidos por {@link MedidorServicos}; as consultas dos repositórios,
+ * o pool do Hikari e as requisições HTTP já são medidos pelo próprio Spring Boot. As respostas
+ * 409 e 404 de reservas são contadas em {@code ContadorRespostasReserva}.
+ */
+@Configuration
+public class MetricasConfig {
+
+    private static final List<Class<?>> SERVICOS = List.of(ReservaService.class, VeiculoService.class,
+                                                           PessoaService.class);
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    @ConditionalOnProperty(name = "metricas.servicos.habilitadas", havingValue = "true", matchIfMissing = true)
+    public static Advisor medidorServicos(ObjectProvider<MeterRegistry> registros) {
+        StaticMethodMatcherPointcut metodosDosServicos = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method metodo, Class<?> classe) {
+                return Modifier.isPublic(metodo.getModifiers())
+                    && metodo.getDeclaringClass() != Object.class
+                    && SERVICOS.stream().anyMatch(servico -> servico.isAssignableFrom(classe));
+            }
+        };
+        return new DefaultPointcutAdvisor(metodosDosServicos, new MedidorServicos(registros));
+    }
+}
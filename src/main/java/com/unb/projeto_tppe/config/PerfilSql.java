@@ -0,0 +1,287 @@
+package com.unb.projeto_tppe.config;
+
+import com.unb.projeto_tppe.exception.OrcamentoConsultasExcedidoException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Perfil dos comandos SQL: cada comando executado pelo {@link DataSourcePerfilado} é atribuído ao endpoint
+ * da requisição corrente (ex.: {@code ReservaController.criar}) e medido no timer {@code sql.comandos}.
+ * A tag {@code comando} é um identificador curto do comando normalizado (literais trocados por {@code ?}),
+ * registrado no log junto com o comando na primeira execução.
+ *
+ * Como em {@link MedidorServicos}, os timers ficam em cache por endpoint e texto do comando: o caminho comum
+ * são duas leituras de mapa e o registro no histograma. O total de séries é limitado; passado o limite,
+ * os comandos novos de cada endpoint são medidos juntos, com {@code comando} igual a {@value #OUTROS}.
+ *
+ * Comandos mais lentos que {@code sql.perfil.lento} são registrados no log. Cada endpoint pode ter um
+ * orçamento de comandos por requisição ({@code sql.orcamento.padrao} e {@code sql.orcamento.endpoints.*});
+ * ao excedê-lo, a requisição é registrada no log e contada em {@code sql.orcamento.excedido} ou, com
+ * {@code sql.orcamento.acao=falha}, o comando que excede o orçamento não é executado.
+ */
+public class PerfilSql {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PerfilSql.class);
+
+    // Atributo da requisição com o endpoint e a contagem de comandos (PerfilSqlInterceptor)
+    static final String REQUISICAO = PerfilSql.class.getName() + ".requisicao";
+
+    // Comandos fora de requisições (tarefas agendadas, inicialização, NDJSON em outra thread)
+    static final String SEM_ENDPOINT = "nenhum";
+
+    // Tag dos comandos que passaram do limite de séries
+    static final String OUTROS = "outros";
+
+    private static final int LIMITE_NORMALIZADOS = 10_000;
+
+    private static final Pattern TEXTOS = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMEROS = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+
+    private static final Pattern LISTAS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    /**
+     * O que fazer quando um endpoint excede o orçamento de comandos
+     */
+    public enum Acao {
+        LOG,
+        FALHA
+    }
+
+    private final ObjectProvider<MeterRegistry> registros;
+
+    private final Duration lento;
+
+    private final int orcamentoPadrao;
+
+    private final Map<String, Integer> orcamentos = new ConcurrentHashMap<>();
+
+    private final Acao acao;
+
+    private final Map<String, String> normalizados = new ConcurrentHashMap<>();
+
+    private final int seriesMaximas;
+
+    // Timer de cada texto de comando, por endpoint
+    private final Map<String, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    // Timers criados, por endpoint e identificador do comando; limitado a seriesMaximas
+    private final Map<String, Timer> series = new ConcurrentHashMap<>();
+
+    /**
+     * @param registros Registro das métricas
+     * @param lento Duração a partir da qual o comando é registrado no log
+     * @param orcamentoPadrao Comandos por requisição dos endpoints sem orçamento próprio; negativo para nenhum
+     * @param orcamentos Comandos por requisição, por endpoint ({@code Controller.metodo}, sem distinção de caixa)
+     * @param acao O que fazer quando o orçamento é excedido
+     * @param seriesMaximas Quantidade máxima de pares endpoint e comando medidos separadamente
+     */
+    public PerfilSql(ObjectProvider<MeterRegistry> registros, Duration lento, int orcamentoPadrao,
+                     Map<String, Integer> orcamentos, Acao acao, int seriesMaximas) {
+        this.registros = registros;
+        this.lento = lento;
+        this.orcamentoPadrao = orcamentoPadrao;
+        orcamentos.forEach((endpoint, limite) -> this.orcamentos.put(endpoint.toLowerCase(Locale.ROOT), limite));
+        this.acao = acao;
+        this.seriesMaximas = seriesMaximas;
+    }
+
+    /**
+     * Conta o comando na requisição corrente, antes da execução
+     * @param sql Comando
+     * @throws OrcamentoConsultasExcedidoException Se o orçamento do endpoint foi excedido e a ação é FALHA
+     */
+    void antesDeExecutar(String sql) {
+        Requisicao requisicao = requisicao();
+        if (requisicao == null) {
+            return;
+        }
+        int comandos = requisicao.comandos.incrementAndGet();
+        int limite = orcamento(requisicao.endpoint);
+        if (acao == Acao.FALHA && limite >= 0 && comandos > limite) {
+            excedido(requisicao.endpoint);
+            throw new OrcamentoConsultasExcedidoException(String.format(
+                "%s excedeu o orçamento de %d comandos SQL por requisição: %s", requisicao.endpoint, limite,
+                normalizar(sql)));
+        }
+    }
+
+    /**
+     * Registra a execução do comando
+     * @param sql Comando
+     * @param nanos Duração da execução
+     */
+    void executado(String sql, long nanos) {
+        Requisicao requisicao = requisicao();
+        String endpoint = requisicao == null ? SEM_ENDPOINT : requisicao.endpoint;
+        Timer timer = timer(endpoint, sql);
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+        if (nanos >= lento.toNanos()) {
+            String comando = normalizado(sql);
+            LOGGER.warn("SQL lento ({} ms) em {} [{}]: {}", TimeUnit.NANOSECONDS.toMillis(nanos), endpoint,
+                        identificador(comando), comando);
+        }
+    }
+
+    private Timer timer(String endpoint, String sql) {
+        Map<String, Timer> doEndpoint = timers.get(endpoint);
+        if (doEndpoint == null) {
+            doEndpoint = timers.computeIfAbsent(endpoint, chave -> new ConcurrentHashMap<>());
+        }
+        Timer timer = doEndpoint.get(sql);
+        if (timer != null) {
+            return timer;
+        }
+        MeterRegistry registro = registros.getIfAvailable();
+        if (registro == null) {
+            return null;
+        }
+        String comando = normalizado(sql);
+        String id = identificador(comando);
+        timer = series.get(endpoint + ' ' + id);
+        if (timer == null) {
+            String tag = series.size() < seriesMaximas ? id : OUTROS;
+            timer = series.computeIfAbsent(endpoint + ' ' + tag, chave -> registrar(registro, endpoint, tag, comando));
+        }
+        // Os comandos do Hibernate são sempre os mesmos textos; o limite protege contra SQL montado com literais
+        if (doEndpoint.size() < LIMITE_NORMALIZADOS) {
+            doEndpoint.put(sql, timer);
+        }
+        return timer;
+    }
+
+    private Timer registrar(MeterRegistry registro, String endpoint, String tag, String comando) {
+        if (OUTROS.equals(tag)) {
+            LOGGER.warn("Limite de {} séries de sql.comandos atingido; novos comandos de {} medidos como '{}'",
+                        seriesMaximas, endpoint, OUTROS);
+        } else {
+            LOGGER.info("Comando SQL {}: {}", tag, comando);
+        }
+        return Timer.builder("sql.comandos")
+            .description("Comandos SQL executados, por endpoint e identificador do comando normalizado")
+            .tag("endpoint", endpoint)
+            .tag("comando", tag)
+            .register(registro);
+    }
+
+    /**
+     * Inicia a contagem de comandos de uma requisição
+     * @param atributos Atributos da requisição
+     * @param endpoint Endpoint que atende a requisição
+     */
+    public void iniciar(RequestAttributes atributos, String endpoint) {
+        atributos.setAttribute(REQUISICAO, new Requisicao(endpoint), RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * Encerra a contagem de uma requisição; com a ação LOG, registra o orçamento excedido
+     * @param atributos Atributos da requisição
+     */
+    public void concluir(RequestAttributes atributos) {
+        if (!(atributos.getAttribute(REQUISICAO, RequestAttributes.SCOPE_REQUEST) instanceof Requisicao requisicao)) {
+            return;
+        }
+        int limite = orcamento(requisicao.endpoint);
+        int comandos = requisicao.comandos.get();
+        if (acao == Acao.LOG && limite >= 0 && comandos > limite) {
+            excedido(requisicao.endpoint);
+            LOGGER.warn("{} executou {} comandos SQL; orçamento de {}", requisicao.endpoint, comandos, limite);
+        }
+    }
+
+    private int orcamento(String endpoint) {
+        return orcamentos.getOrDefault(endpoint.toLowerCase(Locale.ROOT), orcamentoPadrao);
+    }
+
+    private void excedido(String endpoint) {
+        MeterRegistry registro = registros.getIfAvailable();
+        if (registro != null) {
+            Counter.builder("sql.orcamento.excedido")
+                .description("Requisições que excederam o orçamento de comandos SQL do endpoint")
+                .tag("endpoint", endpoint)
+                .register(registro)
+                .increment();
+        }
+    }
+
+    private static Requisicao requisicao() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos == null) {
+            return null;
+        }
+        return atributos.getAttribute(REQUISICAO, RequestAttributes.SCOPE_REQUEST) instanceof Requisicao requisicao
+            ? requisicao : null;
+    }
+
+    // Os comandos do Hibernate são sempre os mesmos textos; o limite protege contra SQL montado com literais
+    private String normalizado(String sql) {
+        String comando = normalizados.get(sql);
+        if (comando == null) {
+            comando = normalizar(sql);
+            if (normalizados.size() < LIMITE_NORMALIZADOS) {
+                normalizados.put(sql, comando);
+            }
+        }
+        return comando;
+    }
+
+    /**
+     * @param comando Comando normalizado
+     * @return Identificador do comando na tag {@code comando}: os 8 primeiros dígitos hexadecimais do seu SHA-256
+     */
+    static String identificador(String comando) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(comando.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 4);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param sql Comando
+     * @return Comando em uma linha, com textos e números literais trocados por {@code ?} e listas
+     *         de parâmetros, como as do IN, reduzidas a {@code (?)}
+     */
+    static String normalizar(String sql) {
+        String comando = TEXTOS.matcher(sql).replaceAll("?");
+        comando = NUMEROS.matcher(comando).replaceAll("?");
+        comando = LISTAS.matcher(comando).replaceAll("(?)");
+        return ESPACOS.matcher(comando).replaceAll(" ").trim();
+    }
+
+    private static final class Requisicao {
+
+        private final String endpoint;
+
+        private final AtomicInteger comandos = new AtomicInteger();
+
+        Requisicao(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+}
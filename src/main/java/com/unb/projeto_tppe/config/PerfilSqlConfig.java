@@ -0,0 +1,68 @@
+package com.unb.projeto_tppe.config;
+
+import com.unb.projeto_tppe.controller.PerfilSqlInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Perfil dos comandos SQL por endpoint ({@link PerfilSql}): o DataSource é envolvido por um
+ * {@link DataSourcePerfilado} e cada requisição passa pelo {@link PerfilSqlInterceptor}.
+ * Ligado com {@code sql.perfil.habilitado=true}: cada comando passa pelos proxies do DataSource.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.perfil.habilitado", havingValue = "true")
+public class PerfilSqlConfig implements WebMvcConfigurer {
+
+    private final PerfilSql perfilSql;
+
+    public PerfilSqlConfig(PerfilSql perfilSql) {
+        this.perfilSql = perfilSql;
+    }
+
+    @Bean
+    public static PerfilSql perfilSql(ObjectProvider<MeterRegistry> registros, Environment ambiente,
+                                      @Value("${sql.perfil.lento:500ms}") Duration lento,
+                                      @Value("${sql.orcamento.padrao:-1}") int orcamentoPadrao,
+                                      @Value("${sql.orcamento.acao:log}") String acao,
+                                      @Value("${sql.perfil.series-maximas:500}") int seriesMaximas) {
+        Map<String, Integer> orcamentos = Binder.get(ambiente)
+            .bind("sql.orcamento.endpoints", Bindable.mapOf(String.class, Integer.class))
+            .orElse(Map.of());
+        return new PerfilSql(registros, lento, orcamentoPadrao, orcamentos,
+                             PerfilSql.Acao.valueOf(acao.trim().toUpperCase()), seriesMaximas);
+    }
+
+    @Bean
+    public static BeanPostProcessor perfilSqlDataSource(ObjectProvider<PerfilSql> perfilSql) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DataSourcePerfilado)) {
+                    return new DataSourcePerfilado(dataSource, perfilSql.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new PerfilSqlInterceptor(perfilSql)).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,76 @@
+package com.unb.projeto_tppe.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ativa as réplicas de leitura quando {@code banco.replicas.urls} é informado: o DataSource da
+ * aplicação passa a ser um {@link DataSourceComReplicas}, com o pool do primário criado a partir de
+ * {@code spring.datasource.*} e um pool por réplica, com as mesmas configurações do Hikari.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banco.replicas.urls")
+public class ReplicasConfig {
+
+    // Consulta de atraso do PostgreSQL: zero no primário e na réplica que já aplicou tudo o que recebeu
+    static final String ATRASO_POSTGRESQL =
+        "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+        + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    @Bean
+    public DataSourceComReplicas dataSource(
+            DataSourceProperties propriedades, Environment ambiente, MeterRegistry registro,
+            @Value("${banco.replicas.urls}") List<String> urls,
+            @Value("${banco.replicas.usuario:${spring.datasource.username:}}") String usuario,
+            @Value("${banco.replicas.senha:${spring.datasource.password:}}") String senha,
+            @Value("${banco.replicas.atraso-maximo:10s}") Duration atrasoMaximo,
+            @Value("${banco.replicas.intervalo-verificacao:5s}") Duration intervaloVerificacao,
+            @Value("${banco.replicas.consulta-atraso:" + ATRASO_POSTGRESQL + "}") String consultaAtraso) {
+        HikariDataSource primario = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        configurarPool(primario, ambiente, "primario");
+        List<DataSourceComReplicas.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(urls.get(i).trim()).username(usuario).password(senha).build();
+            configurarPool(pool, ambiente, "replica-" + (i + 1));
+            replicas.add(new DataSourceComReplicas.Replica(pool.getPoolName(), pool));
+        }
+        return new DataSourceComReplicas(primario, replicas, atrasoMaximo, consultaAtraso, intervaloVerificacao,
+                                         registro);
+    }
+
+    /**
+     * Com a conexão presa à sessão até o fim da requisição (open-in-view), a conexão de uma leitura na
+     * réplica seria reaproveitada pela escrita seguinte. Devolvida ao fim de cada transação, a próxima é
+     * escolhida de novo pelo estado da transação
+     */
+    @Bean
+    public HibernatePropertiesCustomizer conexaoPorTransacao() {
+        return propriedades -> propriedades.put(AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // As mesmas configurações de spring.datasource.hikari.* em todos os pools
+    private static void configurarPool(HikariDataSource pool, Environment ambiente, String nome) {
+        Binder.get(ambiente).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(nome);
+    }
+}
@@ -0,0 +1,34 @@
+package com.unb.projeto_tppe.config;
+
+import com.unb.projeto_tppe.controller.RespostaCondicionalInterceptor;
+import com.unb.projeto_tppe.service.VersoesAgregados;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * ETag e GET condicional ({@link RespostaCondicionalInterceptor}) nos endpoints de reservas, veículos
+ * e pessoas. Os agregados que cada grupo de endpoints lê estão no próprio interceptor.
+ *
+ * Com {@code respostas.versoes.instancia-unica=false} o interceptor não é registrado: as versões são contadas
+ * em cada instância e não mudam com as escritas das demais.
+ */
+@Configuration
+public class RespostaCondicionalConfig implements WebMvcConfigurer {
+
+    private final VersoesAgregados versoes;
+
+    @Autowired
+    public RespostaCondicionalConfig(VersoesAgregados versoes) {
+        this.versoes = versoes;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (versoes.instanciaUnica()) {
+            registry.addInterceptor(new RespostaCondicionalInterceptor(versoes)).addPathPatterns("/api/**");
+        }
+    }
+}
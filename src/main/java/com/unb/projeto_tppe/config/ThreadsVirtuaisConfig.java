@@ -0,0 +1,40 @@
+package com.unb.projeto_tppe.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Ativa a admissão ao banco quando a aplicação roda em threads virtuais
+ * ({@code spring.threads.virtual.enabled=true}).
+ *
+ * O próprio Spring Boot passa a atender as requisições do Tomcat e as tarefas assíncronas
+ * (como as respostas NDJSON) em threads virtuais; aqui o DataSource é envolvido por um
+ * {@link DataSourceComAdmissao}, para que a quantidade de threads não se transforme em
+ * uma disputa pelas conexões do pool.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ThreadsVirtuaisConfig {
+
+    @Bean
+    public static BeanPostProcessor admissaoBanco(
+            @Value("${banco.admissao.permissoes:${spring.datasource.hikari.maximum-pool-size:10}}") int permissoes,
+            @Value("${banco.admissao.espera-maxima:30s}") Duration esperaMaxima) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DataSourceComAdmissao)) {
+                    return new DataSourceComAdmissao(dataSource, permissoes, esperaMaxima);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package com.unb.projeto_tppe.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.unb.projeto_tppe.config.DataSourceComReplicas;
+import com.unb.projeto_tppe.service.VersoesAgregados;
+import com.unb.projeto_tppe.service.VersoesAgregados.Agregado;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache dos corpos já serializados das respostas JSON dos GETs de reservas, veículos e pessoas,
+ * para que uma listagem repetida não passe de novo pelo banco nem pelo Jackson.
+ *
+ * A chave é a ETag das versões dos agregados lidos pelo endpoint ({@link RespostaCondicionalInterceptor})
+ * mais o caminho e a query: depois de uma escrita a chave muda e as entradas antigas deixam de ser
+ * encontradas. Elas não são removidas na escrita, o que exigiria percorrer o cache a cada uma; saem
+ * pelo limite de bytes, como as menos usadas. Com gzip, o corpo comprimido é guardado junto e
+ * enviado a quem aceitar {@code Accept-Encoding: gzip}. Requisições com If-None-Match igual à ETag
+ * atual seguem para o interceptor, que responde 304.
+ *
+ * O corpo guardado sob uma chave é lido do primário: uma réplica atrasada o deixaria mais antigo que a chave.
+ * As versões valem só para esta instância, por isso o filtro não é registrado com
+ * {@code respostas.versoes.instancia-unica=false}.
+ */
+public class CacheRespostasFilter extends OncePerRequestFilter {
+
+    /**
+     * Corpo guardado de uma resposta
+     * @param tipo Content-Type da resposta
+     * @param corpo Corpo serializado
+     * @param corpoGzip Corpo comprimido, ou null sem gzip
+     */
+    public record RespostaGuardada(String tipo, byte[] corpo, byte[] corpoGzip) {
+
+        /**
+         * @return Bytes ocupados pelos corpos guardados
+         */
+        public int tamanho() {
+            return corpo.length + (corpoGzip == null ? 0 : corpoGzip.length);
+        }
+    }
+
+    private final Cache<String, RespostaGuardada> respostas;
+
+    private final VersoesAgregados versoes;
+
+    private final boolean gzip;
+
+    /**
+     * @param respostas Cache das respostas, limitado em bytes pelo chamador
+     * @param versoes Versões dos agregados
+     * @param gzip true para guardar e servir também o corpo comprimido
+     */
+    public CacheRespostasFilter(Cache<String, RespostaGuardada> respostas, VersoesAgregados versoes, boolean gzip) {
+        this.respostas = respostas;
+        this.versoes = versoes;
+        this.gzip = gzip;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // As exportações em NDJSON são assíncronas e podem ter qualquer tamanho
+        return !HttpMethod.GET.matches(request.getMethod()) || request.getRequestURI().endsWith("/stream");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Set<Agregado> agregados = RespostaCondicionalInterceptor.dependencias(request);
+        if (agregados.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        // Calculada antes da leitura, como no interceptor: os dados guardados nunca são mais antigos que a chave
+        String etag = versoes.etag(agregados);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String chave = etag + ' ' + request.getRequestURI()
+            + (request.getQueryString() == null ? "" : '?' + request.getQueryString());
+        RespostaGuardada guardada = respostas.getIfPresent(chave);
+        if (guardada != null) {
+            escrever(request, response, etag, guardada);
+            return;
+        }
+
+        DataSourceComReplicas.lerDoPrimario(request);
+        ContentCachingResponseWrapper copia = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, copia);
+        String tipo = copia.getContentType();
+        if (copia.getStatus() == HttpStatus.OK.value() && tipo != null
+                && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(tipo))) {
+            byte[] corpo = copia.getContentAsByteArray();
+            respostas.put(chave, new RespostaGuardada(tipo, corpo, gzip ? comprimir(corpo) : null));
+        }
+        copia.copyBodyToResponse();
+    }
+
+    private void escrever(HttpServletRequest request, HttpServletResponse response, String etag,
+                          RespostaGuardada guardada) throws IOException {
+        byte[] corpo = guardada.corpo();
+        if (guardada.corpoGzip() != null) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            String aceitas = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+            if (aceitas != null && aceitas.contains("gzip")) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                corpo = guardada.corpoGzip();
+            }
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setContentType(guardada.tipo());
+        response.setContentLength(corpo.length);
+        response.getOutputStream().write(corpo);
+    }
+
+    private static byte[] comprimir(byte[] corpo) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(corpo.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(corpo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+}
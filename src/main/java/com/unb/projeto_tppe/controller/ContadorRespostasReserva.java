@@ -0,0 +1,59 @@
+package com.unb.projeto_tppe.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Monta as respostas 409 (conflito de horário) e 404 (reserva, veículo ou cliente não
+ * encontrado) de {@link ReservaController}, contando cada uma nas métricas
+ * {@code reservas.conflitos} e {@code reservas.nao.encontradas}.
+ */
+@Component
+public class ContadorRespostasReserva {
+
+    private final Counter conflitos;
+
+    private final Counter naoEncontradas;
+
+    @Autowired
+    public ContadorRespostasReserva(MeterRegistry registro) {
+        this.conflitos = Counter.builder("reservas.conflitos")
+            .description("Respostas 409 dos endpoints de reservas")
+            .register(registro);
+        this.naoEncontradas = Counter.builder("reservas.nao.encontradas")
+            .description("Respostas 404 dos endpoints de reservas")
+            .register(registro);
+    }
+
+    /**
+     * @param mensagem Motivo do conflito
+     * @return Resposta 409 com a mensagem
+     */
+    public ResponseEntity<String> conflito(String mensagem) {
+        conflitos.increment();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(mensagem);
+    }
+
+    /**
+     * @param mensagem Recurso que não foi encontrado
+     * @return Resposta 404 com a mensagem
+     */
+    public ResponseEntity<String> naoEncontrada(String mensagem) {
+        naoEncontradas.increment();
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(mensagem);
+    }
+
+    /**
+     * @param <T> Tipo do corpo da resposta esperada pelo chamador
+     * @return Resposta 404 sem corpo
+     */
+    public <T> ResponseEntity<T> naoEncontrada() {
+        naoEncontradas.increment();
+        return ResponseEntity.notFound().build();
+    }
+}
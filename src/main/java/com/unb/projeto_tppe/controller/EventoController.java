@@ -0,0 +1,67 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.service.VersoesAgregados.Agregado;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/eventos")
+@Tag(name = "Eventos", description = "API para acompanhar alterações de reservas, veículos e pessoas em tempo real")
+public class EventoController {
+
+    @Autowired
+    private TransmissorEventos transmissor;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar alterações",
+               description = "Abre uma conexão Server-Sent Events que recebe um evento 'alteracao' a cada escrita "
+                           + "confirmada, com o agregado (RESERVAS, VEICULOS ou PESSOAS), o tipo (CRIACAO, ALTERACAO "
+                           + "ou EXCLUSAO) e os IDs alterados. Aceita filtro por um ou mais agregados. Ao reconectar, "
+                           + "o cabeçalho Last-Event-ID devolve os eventos perdidos; se já não estiverem no histórico, "
+                           + "chega um evento 'reinicio' e as listas devem ser recarregadas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Conexão de eventos aberta"),
+        @ApiResponse(responseCode = "400", description = "Agregado inválido (válidos: RESERVAS, VEICULOS, PESSOAS)")
+    })
+    public ResponseEntity<SseEmitter> acompanhar(
+            @RequestParam(required = false) List<String> agregados,
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEvento) {
+        Set<Agregado> filtro = EnumSet.noneOf(Agregado.class);
+        try {
+            if (agregados != null) {
+                for (String agregado : agregados) {
+                    filtro.add(Agregado.valueOf(agregado.trim().toUpperCase()));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // O corpo de uma resposta SSE só pode ser o emissor
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(transmissor.assinar(filtro, sequencia(ultimoEvento)));
+    }
+
+    // Um Last-Event-ID ilegível é tratado como conexão nova, que recebe o evento reinicio
+    private static Long sequencia(String ultimoEvento) {
+        if (ultimoEvento == null || ultimoEvento.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(ultimoEvento.trim());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.unb.projeto_tppe.controller;
 
+import com.unb.projeto_tppe.dto.PaginaDTO;
 import com.unb.projeto_tppe.dto.MotocicletaDTO;
+import com.unb.projeto_tppe.dto.VeiculoResumoDTO;
 import com.unb.projeto_tppe.model.Motocicleta;
 import com.unb.projeto_tppe.service.MotocicletaServiceImpl;
 
@@ -13,8 +15,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -28,6 +32,9 @@ public class MotocicletaController {
     @Autowired
     private MotocicletaServiceImpl motocicletaService;
 
+    @Autowired
+    private TransmissorNdjson transmissorNdjson;
+
     @PostMapping
     @Operation(summary = "Cadastrar nova motocicleta", 
                description = "Cadastra uma nova motocicleta no sistema")
@@ -76,6 +83,29 @@ public class MotocicletaController {
         return ResponseEntity.ok(motocicletaService.buscarTodos());
     }
 
+    @GetMapping("/pagina")
+    @Operation(summary = "Listar motocicletas paginadas", 
+               description = "Retorna uma página de motocicletas em ordem de ID; envie o proximoCursor da resposta para obter a página seguinte")
+    public ResponseEntity<PaginaDTO<Motocicleta>> listarPagina(@RequestParam(required = false) Long cursor,
+                                                               @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(motocicletaService.buscarPagina(cursor, tamanho));
+    }
+
+    @GetMapping("/resumo")
+    @Operation(summary = "Listar resumo das motocicletas", 
+               description = "Retorna uma página com apenas os campos usados em listagens, sem as entidades relacionadas")
+    public ResponseEntity<PaginaDTO<VeiculoResumoDTO>> listarResumos(@RequestParam(required = false) Long cursor,
+                                                                     @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(motocicletaService.buscarResumos(cursor, tamanho));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar motocicletas em NDJSON", 
+               description = "Transmite todas as motocicletas, uma por linha, sem carregar a tabela inteira em memória")
+    public ResponseEntity<StreamingResponseBody> transmitir() {
+        return transmissorNdjson.responder(motocicletaService::transmitirTodos);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar motocicleta por ID", 
                description = "Retorna uma motocicleta específica com base no ID fornecido")
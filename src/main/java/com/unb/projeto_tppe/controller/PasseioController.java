@@ -1,6 +1,8 @@
 package com.unb.projeto_tppe.controller;
 
+import com.unb.projeto_tppe.dto.PaginaDTO;
 import com.unb.projeto_tppe.dto.PasseioDTO;
+import com.unb.projeto_tppe.dto.VeiculoResumoDTO;
 import com.unb.projeto_tppe.model.Passeio;
 import com.unb.projeto_tppe.service.PasseioServiceImpl;
 
@@ -13,8 +15,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -28,6 +32,9 @@ public class PasseioController {
     @Autowired
     private PasseioServiceImpl passeioService;
 
+    @Autowired
+    private TransmissorNdjson transmissorNdjson;
+
     @PostMapping
     @Operation(summary = "Cadastrar novo veículo de passeio", 
                description = "Cadastra um novo veículo de passeio no sistema")
@@ -46,6 +53,20 @@ public class PasseioController {
         }
         
         // Converte DTO para entidade
+        Passeio passeio = paraEntidade(passeioDTO);
+        
+        // Salva o veículo de passeio
+        Passeio passeioSalvo = passeioService.salvar(passeio);
+        
+        return ResponseEntity.status(HttpStatus.CREATED).body(passeioSalvo);
+    }
+
+    /**
+     * Converte o DTO recebido em uma nova entidade de passeio, sem ID
+     * @param passeioDTO Dados do veículo
+     * @return Entidade preenchida
+     */
+    public static Passeio paraEntidade(PasseioDTO passeioDTO) {
         Passeio passeio = new Passeio();
         passeio.setPlaca(passeioDTO.getPlaca());
         passeio.setModelo(passeioDTO.getModelo());
@@ -56,18 +77,14 @@ public class PasseioController {
         passeio.setDataAquisicao(passeioDTO.getDataAquisicao());
         passeio.setStatus(passeioDTO.getStatus());
         passeio.setValor(passeioDTO.getValor());
-        
+
         // Atributos específicos de Passeio
         passeio.setNumeroPortas(passeioDTO.getNumeroPortas());
         passeio.setTipoCombustivel(passeioDTO.getTipoCombustivel());
         passeio.setCapacidadePassageiros(passeioDTO.getCapacidadePassageiros());
         passeio.setPossuiArCondicionado(passeioDTO.getPossuiArCondicionado());
         passeio.setPossuiDirecaoHidraulica(passeioDTO.getPossuiDirecaoHidraulica());
-        
-        // Salva o veículo de passeio
-        Passeio passeioSalvo = passeioService.salvar(passeio);
-        
-        return ResponseEntity.status(HttpStatus.CREATED).body(passeioSalvo);
+        return passeio;
     }
 
     @GetMapping
@@ -77,6 +94,29 @@ public class PasseioController {
         return ResponseEntity.ok(passeioService.buscarTodos());
     }
 
+    @GetMapping("/pagina")
+    @Operation(summary = "Listar veículos de passeio paginados", 
+               description = "Retorna uma página de veículos de passeio em ordem de ID; envie o proximoCursor da resposta para obter a página seguinte")
+    public ResponseEntity<PaginaDTO<Passeio>> listarPagina(@RequestParam(required = false) Long cursor,
+                                                           @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(passeioService.buscarPagina(cursor, tamanho));
+    }
+
+    @GetMapping("/resumo")
+    @Operation(summary = "Listar resumo dos veículos de passeio", 
+               description = "Retorna uma página com apenas os campos usados em listagens, sem as entidades relacionadas")
+    public ResponseEntity<PaginaDTO<VeiculoResumoDTO>> listarResumos(@RequestParam(required = false) Long cursor,
+                                                                     @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(passeioService.buscarResumos(cursor, tamanho));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar veículos de passeio em NDJSON", 
+               description = "Transmite todos os veículos de passeio, um por linha, sem carregar a tabela inteira em memória")
+    public ResponseEntity<StreamingResponseBody> transmitir() {
+        return transmissorNdjson.responder(passeioService::transmitirTodos);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar veículo de passeio por ID", 
                description = "Retorna um veículo de passeio específico com base no ID fornecido")
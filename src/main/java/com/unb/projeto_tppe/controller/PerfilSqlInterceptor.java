@@ -0,0 +1,38 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.config.PerfilSql;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Identifica o endpoint de cada requisição ({@code Controller.metodo}) para o {@link PerfilSql}, que atribui
+ * a ele os comandos SQL executados, e confere o orçamento de comandos ao final da requisição.
+ */
+public class PerfilSqlInterceptor implements HandlerInterceptor {
+
+    private final PerfilSql perfil;
+
+    public PerfilSqlInterceptor(PerfilSql perfil) {
+        this.perfil = perfil;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod metodo) {
+            perfil.iniciar(new ServletRequestAttributes(request),
+                           metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        perfil.concluir(new ServletRequestAttributes(request));
+    }
+}
@@ -1,6 +1,8 @@
 package com.unb.projeto_tppe.controller;
 
+import com.unb.projeto_tppe.dto.PaginaDTO;
 import com.unb.projeto_tppe.dto.PessoaFisicaDTO;
+import com.unb.projeto_tppe.dto.PessoaFisicaResumoDTO;
 import com.unb.projeto_tppe.model.Endereco;
 import com.unb.projeto_tppe.model.PessoaFisica;
 import com.unb.projeto_tppe.service.PessoaFisicaService;
@@ -14,8 +16,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -28,9 +32,12 @@ public class PessoaFisicaController {
 
     private final PessoaFisicaService pessoaFisicaService;
 
+    private final TransmissorNdjson transmissorNdjson;
+
     @Autowired
-    public PessoaFisicaController(PessoaFisicaService pessoaFisicaService) {
+    public PessoaFisicaController(PessoaFisicaService pessoaFisicaService, TransmissorNdjson transmissorNdjson) {
         this.pessoaFisicaService = pessoaFisicaService;
+        this.transmissorNdjson = transmissorNdjson;
     }
 
     @PostMapping
@@ -79,6 +86,29 @@ public class PessoaFisicaController {
         return ResponseEntity.ok(pessoaFisicaService.listarTodos());
     }
 
+    @GetMapping("/pagina")
+    @Operation(summary = "Listar pessoas físicas paginadas", 
+               description = "Retorna uma página de pessoas físicas em ordem de ID; envie o proximoCursor da resposta para obter a página seguinte")
+    public ResponseEntity<PaginaDTO<PessoaFisica>> listarPagina(@RequestParam(required = false) Long cursor,
+                                                                @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(pessoaFisicaService.listarPagina(cursor, tamanho));
+    }
+
+    @GetMapping("/resumo")
+    @Operation(summary = "Listar resumo das pessoas físicas", 
+               description = "Retorna uma página com apenas os campos usados em listagens, sem as entidades relacionadas")
+    public ResponseEntity<PaginaDTO<PessoaFisicaResumoDTO>> listarResumos(@RequestParam(required = false) Long cursor,
+                                                                          @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(pessoaFisicaService.listarResumos(cursor, tamanho));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar pessoas físicas em NDJSON", 
+               description = "Transmite todas as pessoas físicas, uma por linha, sem carregar a tabela inteira em memória")
+    public ResponseEntity<StreamingResponseBody> transmitir() {
+        return transmissorNdjson.responder(pessoaFisicaService::transmitirTodos);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar pessoa física por ID", 
                description = "Retorna uma pessoa física específica com base no ID fornecido")
@@ -1,6 +1,8 @@
 package com.unb.projeto_tppe.controller;
 
+import com.unb.projeto_tppe.dto.PaginaDTO;
 import com.unb.projeto_tppe.dto.PessoaJuridicaDTO;
+import com.unb.projeto_tppe.dto.PessoaJuridicaResumoDTO;
 import com.unb.projeto_tppe.model.Endereco;
 import com.unb.projeto_tppe.model.PessoaJuridica;
 import com.unb.projeto_tppe.service.PessoaJuridicaService;
@@ -14,8 +16,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -28,9 +32,12 @@ public class PessoaJuridicaController {
 
     private final PessoaJuridicaService pessoaJuridicaService;
 
+    private final TransmissorNdjson transmissorNdjson;
+
     @Autowired
-    public PessoaJuridicaController(PessoaJuridicaService pessoaJuridicaService) {
+    public PessoaJuridicaController(PessoaJuridicaService pessoaJuridicaService, TransmissorNdjson transmissorNdjson) {
         this.pessoaJuridicaService = pessoaJuridicaService;
+        this.transmissorNdjson = transmissorNdjson;
     }
 
     @PostMapping
@@ -79,6 +86,29 @@ public class PessoaJuridicaController {
         return ResponseEntity.ok(pessoaJuridicaService.listarTodos());
     }
 
+    @GetMapping("/pagina")
+    @Operation(summary = "Listar pessoas jurídicas paginadas", 
+               description = "Retorna uma página de pessoas jurídicas em ordem de ID; envie o proximoCursor da resposta para obter a página seguinte")
+    public ResponseEntity<PaginaDTO<PessoaJuridica>> listarPagina(@RequestParam(required = false) Long cursor,
+                                                                  @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(pessoaJuridicaService.listarPagina(cursor, tamanho));
+    }
+
+    @GetMapping("/resumo")
+    @Operation(summary = "Listar resumo das pessoas jurídicas", 
+               description = "Retorna uma página com apenas os campos usados em listagens, sem as entidades relacionadas")
+    public ResponseEntity<PaginaDTO<PessoaJuridicaResumoDTO>> listarResumos(@RequestParam(required = false) Long cursor,
+                                                                            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(pessoaJuridicaService.listarResumos(cursor, tamanho));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar pessoas jurídicas em NDJSON", 
+               description = "Transmite todas as pessoas jurídicas, uma por linha, sem carregar a tabela inteira em memória")
+    public ResponseEntity<StreamingResponseBody> transmitir() {
+        return transmissorNdjson.responder(pessoaJuridicaService::transmitirTodos);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar pessoa jurídica por ID", 
                description = "Retorna uma pessoa jurídica específica com base no ID fornecido")
@@ -0,0 +1,77 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.service.ResumoReservaService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/relatorios")
+@Tag(name = "Relatórios", description = "API de relatórios de receita e ocupação da frota")
+public class RelatorioController {
+
+    @Autowired
+    private ResumoReservaService resumoReservaService;
+
+    @GetMapping("/reservas/diario")
+    @Operation(summary = "Resumo diário de reservas",
+               description = "Retorna, para cada dia do período (datas no formato yyyy-MM-dd), a quantidade e a receita "
+                           + "das reservas que começam no dia e as horas reservadas no dia, por tipo de veículo e status. "
+                           + "Aceita filtro por tipo (PASSEIO, UTILITARIO ou MOTOCICLETA) e por um ou mais status")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resumos de cada dia do período"),
+        @ApiResponse(responseCode = "400", description = "Período ou tipo inválido")
+    })
+    public ResponseEntity<?> buscarDiario(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) String tipo,
+            @RequestParam(required = false) List<Reserva.StatusReserva> status) {
+        try {
+            return ResponseEntity.ok(resumoReservaService.buscarDiario(inicio, fim, tipo, status));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/reservas/totais")
+    @Operation(summary = "Totais de reservas no período",
+               description = "Retorna a quantidade, a receita e as horas reservadas no período inteiro (datas no formato "
+                           + "yyyy-MM-dd), por tipo de veículo e status, com os mesmos filtros do resumo diário")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Totais do período"),
+        @ApiResponse(responseCode = "400", description = "Período ou tipo inválido")
+    })
+    public ResponseEntity<?> buscarTotais(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) String tipo,
+            @RequestParam(required = false) List<Reserva.StatusReserva> status) {
+        try {
+            return ResponseEntity.ok(resumoReservaService.buscarTotais(inicio, fim, tipo, status));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/reservas/reconstruir")
+    @Operation(summary = "Reconstruir resumos de reservas",
+               description = "Recalcula todos os resumos a partir das reservas gravadas no banco. Os relatórios continuam "
+                           + "respondendo com os resumos atuais até o fim da reconstrução")
+    @ApiResponse(responseCode = "200", description = "Resumos reconstruídos; retorna a quantidade de reservas lidas")
+    public ResponseEntity<?> reconstruir() {
+        return ResponseEntity.ok(Map.of("reservasLidas", resumoReservaService.reconstruir()));
+    }
+}
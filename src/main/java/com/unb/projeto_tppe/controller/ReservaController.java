@@ -1,15 +1,24 @@
 package com.unb.projeto_tppe.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unb.projeto_tppe.dto.PaginaDTO;
 import com.unb.projeto_tppe.dto.ReservaDTO;
+import com.unb.projeto_tppe.dto.ReservaResumoDTO;
+import com.unb.projeto_tppe.dto.ResultadoLoteDTO;
+import com.unb.projeto_tppe.exception.ConflitoReservaException;
+import com.unb.projeto_tppe.exception.PreCondicaoFalhouException;
+import com.unb.projeto_tppe.exception.RecursoNaoEncontradoException;
 import com.unb.projeto_tppe.model.Reserva;
 import com.unb.projeto_tppe.model.Veiculo;
 import com.unb.projeto_tppe.model.PessoaFisica;
 import com.unb.projeto_tppe.model.PessoaJuridica;
 import com.unb.projeto_tppe.service.ReservaService;
-import com.unb.projeto_tppe.service.VeiculoService;
 import com.unb.projeto_tppe.service.GenericVeiculoServiceImpl;
 import com.unb.projeto_tppe.service.PessoaFisicaService;
 import com.unb.projeto_tppe.service.PessoaJuridicaService;
+import com.unb.projeto_tppe.service.PainelReservaService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,13 +28,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -45,6 +63,18 @@ public class ReservaController {
     @Autowired
     private GenericVeiculoServiceImpl veiculoService;
 
+    @Autowired
+    private PainelReservaService painelReservaService;
+
+    @Autowired
+    private TransmissorNdjson transmissorNdjson;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ContadorRespostasReserva contadorRespostas;
+
     @PostMapping
     @Operation(summary = "Criar nova reserva", 
                description = "Cadastra uma nova reserva de veículo no sistema")
@@ -57,62 +87,86 @@ public class ReservaController {
         @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
     })
     public ResponseEntity<?> criar(@Valid @RequestBody ReservaDTO reservaDTO) {
-        // Verificar se existe conflito de horário
-        if (reservaService.existeConflito(
-                reservaDTO.getDataInicio(), 
-                reservaDTO.getDataFim(), 
-                reservaDTO.getVeiculoId())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                .body("Já existe uma reserva para este veículo no período solicitado");
+        try {
+            Reserva reservaSalva = reservaService.criar(reservaDTO);
+            return ResponseEntity.status(HttpStatus.CREATED).body(reservaSalva);
+        } catch (ConflitoReservaException e) {
+            return contadorRespostas.conflito(e.getMessage());
+        } catch (RecursoNaoEncontradoException e) {
+            return contadorRespostas.naoEncontrada(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
-        
-        // Verificar se o veículo existe
-        Optional<Veiculo> veiculoOpt = veiculoService.buscarPorId(reservaDTO.getVeiculoId());
-        if (veiculoOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body("Veículo não encontrado com o ID: " + reservaDTO.getVeiculoId());
+    }
+
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Importar reservas em lote", 
+               description = "Cria várias reservas a partir de um array JSON. Linhas inválidas ou em conflito "
+                           + "são rejeitadas sem impedir a gravação das demais; o resultado traz uma entrada por linha")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado; veja o resultado de cada linha",
+                     content = @Content(schema = @Schema(implementation = ResultadoLoteDTO.class))),
+        @ApiResponse(responseCode = "400", description = "JSON inválido ou lote acima do tamanho máximo")
+    })
+    public ResponseEntity<?> importarLote(@RequestBody List<ReservaDTO> reservas) {
+        return responderLote(reservas);
+    }
+
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Importar reservas em lote (NDJSON)", 
+               description = "Igual à importação em lote, recebendo uma reserva por linha")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado; veja o resultado de cada linha",
+                     content = @Content(schema = @Schema(implementation = ResultadoLoteDTO.class))),
+        @ApiResponse(responseCode = "400", description = "JSON inválido ou lote acima do tamanho máximo")
+    })
+    public ResponseEntity<?> importarLoteNdjson(InputStream corpo) throws IOException {
+        List<ReservaDTO> reservas;
+        try (MappingIterator<ReservaDTO> linhas = objectMapper.readerFor(ReservaDTO.class).readValues(corpo)) {
+            reservas = linhas.readAll();
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest()
+                .body("JSON inválido na linha " + e.getLocation().getLineNr() + ": " + e.getOriginalMessage());
         }
-        
-        // Criar objeto Reserva
-        Reserva reserva = new Reserva();
-        reserva.setDataInicio(reservaDTO.getDataInicio());
-        reserva.setDataFim(reservaDTO.getDataFim());
-        reserva.setVeiculo(veiculoOpt.get());
-        reserva.setValorTotal(reservaDTO.getValorTotal());
-        reserva.setObservacoes(reservaDTO.getObservacoes());
-        
-        if (reservaDTO.getStatus() != null) {
-            reserva.setStatus(reservaDTO.getStatus());
-        } else {
-            reserva.setStatus(Reserva.StatusReserva.PENDENTE);
+        return responderLote(reservas);
+    }
+
+    private ResponseEntity<?> responderLote(List<ReservaDTO> reservas) {
+        try {
+            return ResponseEntity.ok(reservaService.importarLote(reservas));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
-        
-        // Verificar se foi fornecido ID de pessoa física ou jurídica
-        if (reservaDTO.getPessoaFisicaId() != null) {
-            Optional<PessoaFisica> pessoaFisicaOpt = pessoaFisicaService.buscarPorId(reservaDTO.getPessoaFisicaId());
-            if (pessoaFisicaOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body("Pessoa física não encontrada com o ID: " + reservaDTO.getPessoaFisicaId());
-            }
-            reserva.setPessoaFisica(pessoaFisicaOpt.get());
-            
-        } else if (reservaDTO.getPessoaJuridicaId() != null) {
-            Optional<PessoaJuridica> pessoaJuridicaOpt = pessoaJuridicaService.buscarPorId(reservaDTO.getPessoaJuridicaId());
-            if (pessoaJuridicaOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body("Pessoa jurídica não encontrada com o ID: " + reservaDTO.getPessoaJuridicaId());
+    }
+
+    // If-Match com uma ou mais ETags de GET /api/reservas/{id}, que são o campo versao da reserva entre aspas
+    // (aceito também sem aspas); ausente ou "*" não confere a versão. Com uma só versão, o serviço a compara
+    // com a linha lida na transação da alteração. Com várias, vale a que for igual à versão atual.
+    // ETags fracas ou de outro formato não conferem com nenhuma versão
+    private Long versao(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        List<Long> aceitas = new ArrayList<>();
+        for (String etag : ifMatch.split(",")) {
+            try {
+                aceitas.add(Long.valueOf(etag.trim().replace("\"", "")));
+            } catch (NumberFormatException e) {
+                // Não é uma versão de reserva
             }
-            reserva.setPessoaJuridica(pessoaJuridicaOpt.get());
-            
-        } else {
-            return ResponseEntity.badRequest()
-                .body("É necessário fornecer o ID de uma pessoa física ou jurídica para a reserva");
         }
-        
-        // Salvar a reserva
-        Reserva reservaSalva = reservaService.salvar(reserva);
-        
-        return ResponseEntity.status(HttpStatus.CREATED).body(reservaSalva);
+        if (aceitas.size() == 1) {
+            return aceitas.get(0);
+        }
+        Optional<Long> atual = reservaService.buscarVersao(id);
+        if (atual.isEmpty()) {
+            return null;
+        }
+        if (!aceitas.contains(atual.get())) {
+            throw new PreCondicaoFalhouException("A reserva não está mais em nenhuma das versões do If-Match; "
+                                                 + "carregue-a novamente e repita a alteração");
+        }
+        return atual.get();
     }
 
     @GetMapping
@@ -122,13 +176,126 @@ public class ReservaController {
         return ResponseEntity.ok(reservaService.buscarTodas());
     }
 
+    @GetMapping("/pagina")
+    @Operation(summary = "Listar reservas paginadas", 
+               description = "Retorna uma página de reservas em ordem de ID; envie o proximoCursor da resposta para obter a página seguinte")
+    public ResponseEntity<PaginaDTO<Reserva>> listarPagina(@RequestParam(required = false) Long cursor,
+                                                           @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(reservaService.buscarPagina(cursor, tamanho));
+    }
+
+    @GetMapping("/alteracoes")
+    @Operation(summary = "Sincronizar reservas alteradas",
+               description = "Retorna as reservas criadas ou alteradas e os IDs das excluídas depois do token informado "
+                           + "em desde, com o token a enviar na próxima sincronização. Sem desde, retorna todas as "
+                           + "reservas. Enquanto haMais for true, repita com o novo token para buscar o restante")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Alterações desde o token"),
+        @ApiResponse(responseCode = "400", description = "Token inválido ou desconhecido; sincronize desde o início"),
+        @ApiResponse(responseCode = "409", description = "Sincronização desligada ou reservas gravadas por mais de uma "
+                                                       + "instância")
+    })
+    public ResponseEntity<?> listarAlteracoes(@RequestParam(required = false) String desde,
+                                              @RequestParam(required = false) Integer tamanho) {
+        try {
+            return ResponseEntity.ok(reservaService.buscarAlteracoes(desde, tamanho));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/resumo")
+    @Operation(summary = "Listar resumo das reservas", 
+               description = "Retorna uma página com apenas os campos usados em listagens, sem as entidades relacionadas")
+    public ResponseEntity<PaginaDTO<ReservaResumoDTO>> listarResumos(@RequestParam(required = false) Long cursor,
+                                                                     @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(reservaService.buscarResumos(cursor, tamanho));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar reservas em NDJSON", 
+               description = "Transmite todas as reservas, uma por linha, sem carregar a tabela inteira em memória")
+    public ResponseEntity<StreamingResponseBody> transmitir() {
+        return transmissorNdjson.responder(reservaService::transmitirTodas);
+    }
+
+    @GetMapping("/periodo")
+    @Operation(summary = "Buscar reservas por período", 
+               description = "Retorna uma página das reservas que se sobrepõem ao período (datas no formato "
+                           + "yyyy-MM-ddTHH:mm), inclusive as que começam antes dele e terminam depois. "
+                           + "Aceita um ou mais status para filtrar; envie o proximoCursor da resposta para a página seguinte")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de reservas do período"),
+        @ApiResponse(responseCode = "400", description = "Período inválido")
+    })
+    public ResponseEntity<?> buscarPorPeriodo(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(required = false) List<Reserva.StatusReserva> status,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        try {
+            return ResponseEntity.ok(reservaService.buscarPaginaPorPeriodo(inicio, fim, status, cursor, tamanho));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/painel")
+    @Operation(summary = "Painel de reservas",
+               description = "Retorna uma página das reservas com placa, marca e modelo do veículo e nome ou razão social "
+                           + "do cliente já resolvidos. A busca procura o trecho no nome do cliente e na placa, sem diferenciar "
+                           + "maiúsculas; aceita também um ou mais status e um período opcional (datas no formato "
+                           + "yyyy-MM-ddTHH:mm). Envie o proximoCursor da resposta para a página seguinte")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página do painel de reservas"),
+        @ApiResponse(responseCode = "400", description = "Período inválido")
+    })
+    public ResponseEntity<?> buscarPainel(
+            @RequestParam(required = false) String busca,
+            @RequestParam(required = false) List<Reserva.StatusReserva> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        try {
+            return ResponseEntity.ok(painelReservaService.buscarPagina(busca, status, inicio, fim, cursor, tamanho));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/painel/reconstruir")
+    @Operation(summary = "Reconstruir painel de reservas",
+               description = "Recria a tabela do painel a partir das reservas gravadas no banco, por exemplo depois de "
+                           + "alterações feitas direto no banco. Disponível somente com reservas.painel.tabela=true")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Painel recriado; retorna a quantidade de reservas copiadas"),
+        @ApiResponse(responseCode = "409", description = "Tabela do painel desligada")
+    })
+    public ResponseEntity<?> reconstruirPainel() {
+        try {
+            return ResponseEntity.ok(Map.of("reservasCopiadas", painelReservaService.reconstruir()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar reserva por ID", 
-               description = "Retorna uma reserva específica com base no ID fornecido")
+               description = "Retorna uma reserva específica com base no ID fornecido. A ETag é a versao da reserva, "
+                           + "aceita no If-Match do PUT e do PATCH de status")
     public ResponseEntity<?> buscarPorId(@PathVariable Long id) {
+        // A ETag identifica a versão da própria reserva e não muda com escritas em outras reservas, veículos
+        // ou pessoas; If-None-Match igual a ela recebe 304
         return reservaService.buscarPorId(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+                .<ResponseEntity<?>>map(reserva -> ResponseEntity.ok()
+                    .eTag(Long.toString(reserva.getVersao()))
+                    .cacheControl(CacheControl.noCache())
+                    .body(reserva))
+                .orElseGet(contadorRespostas::naoEncontrada);
     }
 
     @GetMapping("/veiculo/{veiculoId}")
@@ -137,7 +304,7 @@ public class ReservaController {
     public ResponseEntity<?> buscarPorVeiculo(@PathVariable Long veiculoId) {
         Optional<Veiculo> veiculoOpt = veiculoService.buscarPorId(veiculoId);
         if (veiculoOpt.isEmpty()) {
-            return ResponseEntity.notFound().build();
+            return contadorRespostas.naoEncontrada();
         }
         
         List<Reserva> reservas = reservaService.buscarPorVeiculo(veiculoOpt.get());
@@ -150,7 +317,7 @@ public class ReservaController {
     public ResponseEntity<?> buscarPorPessoaFisica(@PathVariable Long pessoaFisicaId) {
         Optional<PessoaFisica> pessoaFisicaOpt = pessoaFisicaService.buscarPorId(pessoaFisicaId);
         if (pessoaFisicaOpt.isEmpty()) {
-            return ResponseEntity.notFound().build();
+            return contadorRespostas.naoEncontrada();
         }
         
         List<Reserva> reservas = reservaService.buscarPorPessoaFisica(pessoaFisicaOpt.get());
@@ -163,7 +330,7 @@ public class ReservaController {
     public ResponseEntity<?> buscarPorPessoaJuridica(@PathVariable Long pessoaJuridicaId) {
         Optional<PessoaJuridica> pessoaJuridicaOpt = pessoaJuridicaService.buscarPorId(pessoaJuridicaId);
         if (pessoaJuridicaOpt.isEmpty()) {
-            return ResponseEntity.notFound().build();
+            return contadorRespostas.naoEncontrada();
         }
         
         List<Reserva> reservas = reservaService.buscarPorPessoaJuridica(pessoaJuridicaOpt.get());
@@ -180,96 +347,56 @@ public class ReservaController {
 
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar reserva", 
-               description = "Atualiza os dados de uma reserva existente com base no ID")
+               description = "Atualiza os dados de uma reserva existente com base no ID. Com If-Match igual à ETag "
+                           + "de GET /api/reservas/{id} (o campo versao), a alteração só é feita se a reserva não "
+                           + "mudou desde a leitura")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Reserva atualizada com sucesso",
                      content = @Content(schema = @Schema(implementation = Reserva.class))),
         @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos"),
         @ApiResponse(responseCode = "404", description = "Reserva, veículo ou cliente não encontrado"),
-        @ApiResponse(responseCode = "409", description = "Conflito de horário para o veículo"),
+        @ApiResponse(responseCode = "409", description = "Conflito de horário para o veículo, ou a reserva foi "
+                                                       + "alterada por outra operação durante a atualização"),
+        @ApiResponse(responseCode = "412", description = "A reserva não está mais na versão do If-Match"),
         @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
     })
-    public ResponseEntity<?> atualizar(@PathVariable Long id, @Valid @RequestBody ReservaDTO reservaDTO) {
-        Optional<Reserva> reservaExistente = reservaService.buscarPorId(id);
-        
-        if (reservaExistente.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
-        
-        Reserva reserva = reservaExistente.get();
-        
-        // Verificar se existe conflito de horário (excluindo a reserva atual)
-        if (!reserva.getVeiculo().getId().equals(reservaDTO.getVeiculoId()) ||
-            !reserva.getDataInicio().equals(reservaDTO.getDataInicio()) ||
-            !reserva.getDataFim().equals(reservaDTO.getDataFim())) {
-            
-            if (reservaService.existeConflito(
-                    reservaDTO.getDataInicio(), 
-                    reservaDTO.getDataFim(), 
-                    reservaDTO.getVeiculoId())) {
-                return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body("Já existe uma reserva para este veículo no período solicitado");
-            }
-        }
-        
-        // Verificar se o veículo existe
-        Optional<Veiculo> veiculoOpt = veiculoService.buscarPorId(reservaDTO.getVeiculoId());
-        if (veiculoOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body("Veículo não encontrado com o ID: " + reservaDTO.getVeiculoId());
-        }
-        
-        // Atualizar os dados da reserva
-        reserva.setDataInicio(reservaDTO.getDataInicio());
-        reserva.setDataFim(reservaDTO.getDataFim());
-        reserva.setVeiculo(veiculoOpt.get());
-        reserva.setValorTotal(reservaDTO.getValorTotal());
-        reserva.setObservacoes(reservaDTO.getObservacoes());
-        
-        if (reservaDTO.getStatus() != null) {
-            reserva.setStatus(reservaDTO.getStatus());
-        }
-        
-        // Atualizar pessoa física ou jurídica, se fornecida
-        if (reservaDTO.getPessoaFisicaId() != null) {
-            Optional<PessoaFisica> pessoaFisicaOpt = pessoaFisicaService.buscarPorId(reservaDTO.getPessoaFisicaId());
-            if (pessoaFisicaOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body("Pessoa física não encontrada com o ID: " + reservaDTO.getPessoaFisicaId());
-            }
-            reserva.setPessoaFisica(pessoaFisicaOpt.get());
-            reserva.setPessoaJuridica(null);
-            
-        } else if (reservaDTO.getPessoaJuridicaId() != null) {
-            Optional<PessoaJuridica> pessoaJuridicaOpt = pessoaJuridicaService.buscarPorId(reservaDTO.getPessoaJuridicaId());
-            if (pessoaJuridicaOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body("Pessoa jurídica não encontrada com o ID: " + reservaDTO.getPessoaJuridicaId());
-            }
-            reserva.setPessoaJuridica(pessoaJuridicaOpt.get());
-            reserva.setPessoaFisica(null);
+    public ResponseEntity<?> atualizar(@PathVariable Long id, @Valid @RequestBody ReservaDTO reservaDTO,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Reserva reservaAtualizada = reservaService.atualizar(id, reservaDTO, versao(id, ifMatch));
+            return ResponseEntity.ok(reservaAtualizada);
+        } catch (ConflitoReservaException e) {
+            return contadorRespostas.conflito(e.getMessage());
+        } catch (RecursoNaoEncontradoException e) {
+            return contadorRespostas.naoEncontrada(e.getMessage());
         }
-        
-        // Salvar a reserva atualizada
-        Reserva reservaAtualizada = reservaService.salvar(reserva);
-        return ResponseEntity.ok(reservaAtualizada);
     }
     
     @PatchMapping("/{id}/status")
     @Operation(summary = "Atualizar status da reserva", 
-               description = "Atualiza apenas o status de uma reserva existente")
+               description = "Atualiza apenas o status de uma reserva existente. Aceita If-Match com a ETag ou o "
+                           + "campo versao, como a atualização da reserva")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Status da reserva atualizado com sucesso",
                      content = @Content(schema = @Schema(implementation = Reserva.class))),
         @ApiResponse(responseCode = "404", description = "Reserva não encontrada"),
+        @ApiResponse(responseCode = "409", description = "Reativar a reserva causaria conflito de horário, ou a reserva "
+                                                       + "foi alterada por outra operação durante a atualização"),
+        @ApiResponse(responseCode = "412", description = "A reserva não está mais na versão do If-Match"),
         @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
     })
-    public ResponseEntity<?> atualizarStatus(@PathVariable Long id, @RequestParam Reserva.StatusReserva status) {
+    public ResponseEntity<?> atualizarStatus(@PathVariable Long id, @RequestParam Reserva.StatusReserva status,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Reserva reserva = reservaService.atualizarStatus(id, status);
+            Reserva reserva = reservaService.atualizarStatus(id, status, versao(id, ifMatch));
             return ResponseEntity.ok(reserva);
+        } catch (ConflitoReservaException e) {
+            return contadorRespostas.conflito(e.getMessage());
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.notFound().build();
+            return contadorRespostas.naoEncontrada();
+        } catch (org.springframework.dao.DataIntegrityViolationException e) {
+            // Restrição reservas_sem_sobreposicao do banco
+            return contadorRespostas.conflito("Já existe uma reserva para este veículo no período solicitado");
         }
     }
     
@@ -284,15 +411,14 @@ public class ReservaController {
     })
     public ResponseEntity<?> excluir(@PathVariable Long id) {
         if (!reservaService.buscarPorId(id).isPresent()) {
-            return ResponseEntity.notFound().build();
+            return contadorRespostas.naoEncontrada();
         }
         
         try {
             reservaService.excluir(id);
             return ResponseEntity.noContent().build();
         } catch (org.springframework.dao.DataIntegrityViolationException e) {
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                .body("Não é possível excluir esta reserva");
+            return contadorRespostas.conflito("Não é possível excluir esta reserva");
         }
     }
 }
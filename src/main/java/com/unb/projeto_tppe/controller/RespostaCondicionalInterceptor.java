@@ -0,0 +1,82 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.config.DataSourceComReplicas;
+import com.unb.projeto_tppe.service.VersoesAgregados;
+import com.unb.projeto_tppe.service.VersoesAgregados.Agregado;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * GET condicional pelas versões dos agregados: a resposta leva a ETag das versões atuais e um
+ * If-None-Match igual a ela é respondido com 304 antes de chegar ao controller, sem consulta ao banco.
+ *
+ * A ETag é calculada antes da leitura. Uma escrita que termine durante a requisição deixa a resposta
+ * com dados novos e ETag antiga, e o próximo GET condicional apenas busca tudo de novo; o contrário
+ * (ETag nova com dados antigos) não acontece porque as versões só mudam após o commit e essas
+ * requisições leem do primário, nunca de uma réplica atrasada.
+ */
+public class RespostaCondicionalInterceptor implements HandlerInterceptor {
+
+    private static final PathMatcher CAMINHOS = new AntPathMatcher();
+
+    // Agregados lidos por cada grupo de endpoints, do mais específico ao mais geral: as reservas
+    // trazem o veículo e o cliente, e a disponibilidade de veículos depende das reservas.
+    // O detalhe da reserva fica de fora: sua ETag é a versao da própria reserva, devolvida pelo controller
+    private static final Map<String, Set<Agregado>> DEPENDENCIAS = new LinkedHashMap<>();
+
+    static {
+        DEPENDENCIAS.put("/api/reservas/{id:\\d+}", Set.of());
+        DEPENDENCIAS.put("/api/reservas/**", EnumSet.allOf(Agregado.class));
+        DEPENDENCIAS.put("/api/veiculos/disponiveis", EnumSet.of(Agregado.VEICULOS, Agregado.RESERVAS));
+        DEPENDENCIAS.put("/api/veiculos/**", EnumSet.of(Agregado.VEICULOS));
+        DEPENDENCIAS.put("/api/pessoas-fisicas/**", EnumSet.of(Agregado.PESSOAS));
+        DEPENDENCIAS.put("/api/pessoas-juridicas/**", EnumSet.of(Agregado.PESSOAS));
+    }
+
+    private final VersoesAgregados versoes;
+
+    public RespostaCondicionalInterceptor(VersoesAgregados versoes) {
+        this.versoes = versoes;
+    }
+
+    /**
+     * @param request Requisição
+     * @return Agregados lidos pelo endpoint da requisição; vazio se ele não tem ETag
+     */
+    public static Set<Agregado> dependencias(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        return DEPENDENCIAS.entrySet().stream()
+            .filter(dependencia -> CAMINHOS.match(dependencia.getKey(), caminho))
+            .map(Map.Entry::getValue)
+            .findFirst()
+            .orElse(Set.of());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        Set<Agregado> agregados = dependencias(request);
+        if (agregados.isEmpty()) {
+            return true;
+        }
+        DataSourceComReplicas.lerDoPrimario(request);
+        // Sem prazo de validade: o cliente guarda a resposta, mas revalida a cada uso
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(versoes.etag(agregados));
+    }
+}
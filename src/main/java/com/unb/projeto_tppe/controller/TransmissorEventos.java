@@ -0,0 +1,207 @@
+package com.unb.projeto_tppe.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unb.projeto_tppe.dto.EventoAlteracaoDTO;
+import com.unb.projeto_tppe.service.FeedAlteracoes;
+import com.unb.projeto_tppe.service.VersoesAgregados.Agregado;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Distribui os eventos de {@link FeedAlteracoes} aos clientes conectados em /api/eventos (Server-Sent Events).
+ *
+ * Cada evento é serializado uma vez e colocado, sem bloquear, na fila limitada ({@code eventos.buffer}) de cada
+ * assinante interessado no agregado. A escrita na conexão é feita por uma thread virtual por assinante, apenas
+ * enquanto a fila tem eventos; assim um cliente lento atrasa somente a própria fila. Quando a fila de um
+ * assinante enche, ele é desconectado e, ao reconectar com {@code Last-Event-ID}, recebe o que perdeu se ainda
+ * estiver no histórico do feed, ou um evento {@code reinicio} para recarregar as listas.
+ *
+ * A cada {@code eventos.pulsacao} um comentário vazio é enviado a todos, mantendo a conexão aberta em proxies
+ * e revelando clientes que já se desconectaram.
+ */
+@Component
+public class TransmissorEventos {
+
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService envio = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ScheduledExecutorService pulsacao = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("eventos-pulsacao").daemon().factory());
+
+    private final FeedAlteracoes feed;
+
+    private final ObjectMapper objectMapper;
+
+    private final int tamanhoBuffer;
+
+    private final Duration tempoConexao;
+
+    private final Counter descartados;
+
+    @Autowired
+    public TransmissorEventos(FeedAlteracoes feed, ObjectMapper objectMapper, MeterRegistry registro,
+                              @Value("${eventos.buffer:256}") int tamanhoBuffer,
+                              @Value("${eventos.tempo-conexao:30m}") Duration tempoConexao,
+                              @Value("${eventos.pulsacao:15s}") Duration intervaloPulsacao) {
+        this.feed = feed;
+        this.objectMapper = objectMapper;
+        this.tamanhoBuffer = Math.max(1, tamanhoBuffer);
+        this.tempoConexao = tempoConexao;
+        this.descartados = Counter.builder("eventos.assinantes.descartados")
+            .description("Assinantes desconectados por não acompanharem os eventos")
+            .register(registro);
+        Gauge.builder("eventos.assinantes", assinantes, Set::size)
+            .description("Clientes conectados em /api/eventos")
+            .register(registro);
+        feed.aoPublicar(this::difundir);
+        Set<DataWithMediaType> comentario = SseEmitter.event().comment("").build();
+        pulsacao.scheduleWithFixedDelay(() -> assinantes.forEach(assinante -> assinante.enfileirar(comentario)),
+            intervaloPulsacao.toMillis(), intervaloPulsacao.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Conecta um novo assinante
+     * @param agregados Agregados acompanhados; vazio para todos
+     * @param ultimaSequencia Último evento recebido antes de uma reconexão ({@code Last-Event-ID}), ou null
+     * @return Conexão SSE
+     */
+    public SseEmitter assinar(Set<Agregado> agregados, Long ultimaSequencia) {
+        SseEmitter emissor = new SseEmitter(tempoConexao.toMillis());
+        Assinante assinante = new Assinante(emissor, agregados.isEmpty() ? Set.of(Agregado.values()) : agregados);
+        emissor.onCompletion(() -> assinantes.remove(assinante));
+        emissor.onTimeout(() -> assinantes.remove(assinante));
+        emissor.onError(erro -> assinantes.remove(assinante));
+        // Sob a trava do feed: nenhum evento é publicado entre a leitura dos perdidos e o registro.
+        // O evento conectado vem por último, para que o último ID recebido seja a sequência atual
+        feed.acompanhar(ultimaSequencia, (sequencia, perdidos) -> {
+            assinantes.add(assinante);
+            perdidos.ifPresentOrElse(
+                eventos -> eventos.forEach(evento -> assinante.enviarSeAceito(evento.agregado(), quadro(evento))),
+                () -> assinante.enfileirar(controle("reinicio", sequencia)));
+            assinante.enfileirar(controle("conectado", sequencia));
+        });
+        return emissor;
+    }
+
+    /**
+     * @return Quantidade de assinantes conectados
+     */
+    public int assinantes() {
+        return assinantes.size();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pulsacao.shutdownNow();
+        assinantes.forEach(assinante -> assinante.emissor.complete());
+        envio.shutdownNow();
+    }
+
+    private void difundir(EventoAlteracaoDTO evento) {
+        Set<DataWithMediaType> quadro = quadro(evento);
+        assinantes.forEach(assinante -> assinante.enviarSeAceito(evento.agregado(), quadro));
+    }
+
+    private static Set<DataWithMediaType> controle(String nome, long sequencia) {
+        return SseEmitter.event().id(Long.toString(sequencia)).name(nome).data(Long.toString(sequencia)).build();
+    }
+
+    // O JSON é gerado uma vez por evento e o mesmo quadro é enviado a todos os assinantes
+    private Set<DataWithMediaType> quadro(EventoAlteracaoDTO evento) {
+        try {
+            return SseEmitter.event().id(Long.toString(evento.sequencia())).name("alteracao")
+                .data(objectMapper.writeValueAsString(evento)).build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class Assinante {
+
+        private final SseEmitter emissor;
+
+        private final Set<Agregado> agregados;
+
+        private final Queue<Set<DataWithMediaType>> fila = new ArrayBlockingQueue<>(tamanhoBuffer);
+
+        private final AtomicBoolean enviando = new AtomicBoolean();
+
+        private volatile boolean descartado;
+
+        Assinante(SseEmitter emissor, Set<Agregado> agregados) {
+            this.emissor = emissor;
+            this.agregados = agregados;
+        }
+
+        void enviarSeAceito(Agregado agregado, Set<DataWithMediaType> quadro) {
+            if (agregados.contains(agregado)) {
+                enfileirar(quadro);
+            }
+        }
+
+        // Nunca bloqueia: com a fila cheia o assinante é descartado
+        void enfileirar(Set<DataWithMediaType> quadro) {
+            if (descartado) {
+                return;
+            }
+            if (!fila.offer(quadro)) {
+                descartar();
+                return;
+            }
+            if (enviando.compareAndSet(false, true)) {
+                envio.execute(this::esvaziar);
+            }
+        }
+
+        private void esvaziar() {
+            do {
+                Set<DataWithMediaType> quadro;
+                while (!descartado && (quadro = fila.poll()) != null) {
+                    try {
+                        emissor.send(quadro);
+                    } catch (IOException | IllegalStateException e) {
+                        // Conexão fechada pelo cliente; o onError/onCompletion remove o assinante
+                        descartado = true;
+                        assinantes.remove(this);
+                    }
+                }
+                enviando.set(false);
+            } while (!descartado && !fila.isEmpty() && enviando.compareAndSet(false, true));
+        }
+
+        private void descartar() {
+            descartado = true;
+            if (assinantes.remove(this)) {
+                descartados.increment();
+                fila.clear();
+                // Pode esperar o fim de um envio em andamento; não ocupa a thread de quem publicou
+                envio.execute(emissor::complete);
+            }
+        }
+    }
+}
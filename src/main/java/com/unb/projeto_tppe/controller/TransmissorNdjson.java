@@ -0,0 +1,52 @@
+package com.unb.projeto_tppe.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Monta respostas em NDJSON (um objeto JSON por linha) a partir dos métodos
+ * {@code transmitirTodos} dos serviços, escrevendo cada registro assim que é lido do banco.
+ */
+@Component
+public class TransmissorNdjson {
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public TransmissorNdjson(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Cria a resposta em fluxo
+     * @param fonte Método do serviço que entrega cada registro ao consumidor informado
+     * @return Resposta NDJSON que é escrita de forma assíncrona
+     */
+    public ResponseEntity<StreamingResponseBody> responder(Consumer<Consumer<Object>> fonte) {
+        StreamingResponseBody corpo = saida -> {
+            JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida);
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gerador.setRootValueSeparator(null);
+            fonte.accept(registro -> {
+                try {
+                    objectMapper.writeValue(gerador, registro);
+                    gerador.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            gerador.close();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
+    }
+}
@@ -0,0 +1,30 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.exception.PreCondicaoFalhouException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Responde com 409 às escritas recusadas pela coluna {@code versao}: a linha foi alterada por outra
+ * transação (por exemplo, pela confirmação automática de reservas) entre a leitura e o commit.
+ * Quando a escrita trazia If-Match e a versão enviada não é mais a gravada, a resposta é 412,
+ * como pede a RFC 9110 para uma pré-condição que não confere.
+ */
+@RestControllerAdvice
+public class TratadorConcorrencia {
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> alteracaoConcorrente(ObjectOptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body("O registro foi alterado por outra operação; carregue-o novamente e repita a alteração");
+    }
+
+    @ExceptionHandler(PreCondicaoFalhouException.class)
+    public ResponseEntity<String> preCondicaoFalhou(PreCondicaoFalhouException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+    }
+}
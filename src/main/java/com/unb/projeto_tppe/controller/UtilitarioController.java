@@ -1,6 +1,8 @@
 package com.unb.projeto_tppe.controller;
 
+import com.unb.projeto_tppe.dto.PaginaDTO;
 import com.unb.projeto_tppe.dto.UtilitarioDTO;
+import com.unb.projeto_tppe.dto.VeiculoResumoDTO;
 import com.unb.projeto_tppe.model.Utilitario;
 import com.unb.projeto_tppe.service.UtilitarioServiceImpl;
 
@@ -13,8 +15,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -28,6 +32,9 @@ public class UtilitarioController {
     @Autowired
     private UtilitarioServiceImpl utilitarioService;
 
+    @Autowired
+    private TransmissorNdjson transmissorNdjson;
+
     @PostMapping
     @Operation(summary = "Cadastrar novo utilitário", 
                description = "Cadastra um novo veículo utilitário no sistema")
@@ -76,6 +83,29 @@ public class UtilitarioController {
         return ResponseEntity.ok(utilitarioService.buscarTodos());
     }
 
+    @GetMapping("/pagina")
+    @Operation(summary = "Listar utilitários paginados", 
+               description = "Retorna uma página de utilitários em ordem de ID; envie o proximoCursor da resposta para obter a página seguinte")
+    public ResponseEntity<PaginaDTO<Utilitario>> listarPagina(@RequestParam(required = false) Long cursor,
+                                                              @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(utilitarioService.buscarPagina(cursor, tamanho));
+    }
+
+    @GetMapping("/resumo")
+    @Operation(summary = "Listar resumo dos utilitários", 
+               description = "Retorna uma página com apenas os campos usados em listagens, sem as entidades relacionadas")
+    public ResponseEntity<PaginaDTO<VeiculoResumoDTO>> listarResumos(@RequestParam(required = false) Long cursor,
+                                                                     @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(utilitarioService.buscarResumos(cursor, tamanho));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar utilitários em NDJSON", 
+               description = "Transmite todos os utilitários, um por linha, sem carregar a tabela inteira em memória")
+    public ResponseEntity<StreamingResponseBody> transmitir() {
+        return transmissorNdjson.responder(utilitarioService::transmitirTodos);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar utilitário por ID", 
                description = "Retorna um utilitário específico com base no ID fornecido")
@@ -0,0 +1,85 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.dto.PaginaDTO;
+import com.unb.projeto_tppe.dto.VeiculoResumoDTO;
+import com.unb.projeto_tppe.service.DisponibilidadeVeiculoService;
+import com.unb.projeto_tppe.service.GenericVeiculoServiceImpl;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/veiculos")
+@Tag(name = "Veículos", description = "API para consultas sobre todos os tipos de veículo")
+public class VeiculoController {
+
+    @Autowired
+    private DisponibilidadeVeiculoService disponibilidadeService;
+
+    @Autowired
+    private GenericVeiculoServiceImpl veiculoService;
+
+    @GetMapping
+    @Operation(summary = "Listar veículos de todos os tipos",
+               description = "Retorna uma página com o resumo de passeios, utilitários e motocicletas, lidos em uma única "
+                           + "consulta. Aceita filtro por um ou mais tipos (PASSEIO, UTILITARIO ou MOTOCICLETA), ordenação "
+                           + "por qualquer campo do resumo (ordenarPor e direcao asc/desc) e a lista de campos a retornar "
+                           + "(campos=id,placa,modelo). Envie o proximoCursor da resposta como pagina para a página seguinte")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de veículos"),
+        @ApiResponse(responseCode = "400", description = "Tipo, campo, ordenação ou página inválidos")
+    })
+    public ResponseEntity<?> listar(
+            @RequestParam(required = false) List<String> tipo,
+            @RequestParam(required = false) List<String> campos,
+            @RequestParam(required = false) String ordenarPor,
+            @RequestParam(required = false) String direcao,
+            @RequestParam(required = false) Integer pagina,
+            @RequestParam(required = false) Integer tamanho) {
+        try {
+            if (campos != null && !VeiculoResumoDTO.CAMPOS.containsAll(campos)) {
+                throw new IllegalArgumentException("Campos válidos: " + String.join(", ", VeiculoResumoDTO.CAMPOS));
+            }
+            PaginaDTO<VeiculoResumoDTO> veiculos = veiculoService.buscarResumosPorTipo(
+                tipo, pagina, tamanho, ordenarPor, direcao);
+            if (campos == null || campos.isEmpty()) {
+                return ResponseEntity.ok(veiculos);
+            }
+            return ResponseEntity.ok(new PaginaDTO<>(
+                veiculos.itens().stream().map(veiculo -> veiculo.projetar(campos)).toList(),
+                veiculos.proximoCursor()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/disponiveis")
+    @Operation(summary = "Buscar veículos disponíveis", 
+               description = "Retorna os veículos sem reserva ativa no período informado (datas no formato "
+                           + "yyyy-MM-ddTHH:mm), opcionalmente filtrados por tipo: PASSEIO, UTILITARIO ou MOTOCICLETA")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Veículos disponíveis no período"),
+        @ApiResponse(responseCode = "400", description = "Período ou tipo inválido")
+    })
+    public ResponseEntity<?> buscarDisponiveis(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(required = false) String tipo) {
+        try {
+            List<VeiculoResumoDTO> veiculos = disponibilidadeService.buscarDisponiveis(inicio, fim, tipo);
+            return ResponseEntity.ok(veiculos);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
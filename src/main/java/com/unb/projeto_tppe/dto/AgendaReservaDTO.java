@@ -0,0 +1,12 @@
+package com.unb.projeto_tppe.dto;
+
+import com.unb.projeto_tppe.model.Reserva.StatusReserva;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de uma reserva usada para agendar as transições automáticas de status
+ * (ver {@code CicloReservaService}): apenas o ID, o status e o período.
+ */
+public record AgendaReservaDTO(Long id, StatusReserva status, LocalDateTime dataInicio, LocalDateTime dataFim) {
+}
@@ -0,0 +1,51 @@
+package com.unb.projeto_tppe.dto;
+
+import com.unb.projeto_tppe.model.Reserva;
+
+import java.util.List;
+
+/**
+ * Alterações de reservas posteriores a um token da sincronização incremental.
+ * @param alteradas Reservas criadas ou alteradas, em ordem de alteração
+ * @param excluidas IDs das reservas excluídas
+ * @param token Valor a enviar como {@code desde} na próxima sincronização
+ * @param haMais true se o limite da página foi atingido e há mais alterações a buscar imediatamente
+ */
+public record AlteracoesReservaDTO(List<Reserva> alteradas, List<Long> excluidas, String token, boolean haMais) {
+
+    /**
+     * Posição na ordem de alteração (número de alteração, ID). O token de uma posição no meio de
+     * uma transação leva os dois valores ("sequencia.id"); o de uma transação lida por inteiro, só o número
+     * @param sequencia Número de alteração
+     * @param id Última reserva lida com esse número, ou {@link Long#MAX_VALUE} se todas foram lidas
+     */
+    public record Posicao(long sequencia, long id) {
+
+        public static final Posicao INICIO = new Posicao(0, 0);
+
+        /**
+         * @param token Token recebido em uma sincronização anterior, ou null para todas as reservas
+         * @return Posição do token
+         * @throws IllegalArgumentException se o token for inválido
+         */
+        public static Posicao ler(String token) {
+            if (token == null || token.isBlank()) {
+                return INICIO;
+            }
+            try {
+                int separador = token.indexOf('.');
+                if (separador < 0) {
+                    return new Posicao(Long.parseLong(token.trim()), Long.MAX_VALUE);
+                }
+                return new Posicao(Long.parseLong(token.substring(0, separador).trim()),
+                                   Long.parseLong(token.substring(separador + 1).trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Token de alteração inválido: " + token);
+            }
+        }
+
+        public String token() {
+            return id == Long.MAX_VALUE ? Long.toString(sequencia) : sequencia + "." + id;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.unb.projeto_tppe.dto;
+
+import com.unb.projeto_tppe.model.Reserva.StatusReserva;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Projeção de uma reserva com apenas o que entra nos resumos de receita e ocupação.
+ * O tipo corresponde ao valor da coluna discriminadora do veículo (PASSEIO, UTILITARIO ou MOTOCICLETA).
+ */
+public record ContribuicaoReservaDTO(
+    LocalDateTime dataInicio,
+    LocalDateTime dataFim,
+    StatusReserva status,
+    Double valorTotal,
+    String tipo
+) {
+
+    /**
+     * Construtor usado pelas consultas JPQL, que recebem o tipo como {@code TYPE(v)}
+     */
+    public ContribuicaoReservaDTO(LocalDateTime dataInicio, LocalDateTime dataFim, StatusReserva status,
+                                  Double valorTotal, Class<?> tipo) {
+        this(dataInicio, dataFim, status, valorTotal, tipo.getSimpleName().toUpperCase(Locale.ROOT));
+    }
+}
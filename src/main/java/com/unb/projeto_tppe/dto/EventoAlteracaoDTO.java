@@ -0,0 +1,21 @@
+package com.unb.projeto_tppe.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.unb.projeto_tppe.service.VersoesAgregados.Agregado;
+
+import java.util.List;
+
+/**
+ * Evento do feed de alterações (/api/eventos): um agregado teve registros criados, alterados ou excluídos.
+ * @param sequencia Número crescente do evento, enviado como ID do evento SSE
+ * @param agregado Agregado alterado
+ * @param tipo Tipo da alteração
+ * @param ids IDs alterados; omitido quando passam de {@link #LIMITE_IDS}, caso em que o cliente deve recarregar a lista
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EventoAlteracaoDTO(long sequencia, Agregado agregado, Tipo tipo, List<Long> ids) {
+
+    public static final int LIMITE_IDS = 100;
+
+    public enum Tipo { CRIACAO, ALTERACAO, EXCLUSAO }
+}
@@ -0,0 +1,10 @@
+package com.unb.projeto_tppe.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção mínima de uma reserva usada pelo índice de conflitos:
+ * apenas o ID, o veículo e o período, sem carregar a entidade completa.
+ */
+public record IntervaloReservaDTO(Long id, Long veiculoId, LocalDateTime dataInicio, LocalDateTime dataFim) {
+}
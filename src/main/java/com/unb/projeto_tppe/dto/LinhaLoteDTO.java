@@ -0,0 +1,19 @@
+package com.unb.projeto_tppe.dto;
+
+/**
+ * Resultado de uma linha de uma importação em lote.
+ * @param linha Posição da reserva no lote enviado, a partir de 1
+ * @param criada true se a reserva foi gravada
+ * @param reservaId ID da reserva criada, ou null se a linha foi rejeitada
+ * @param erro Motivo da rejeição, ou null se a reserva foi criada
+ */
+public record LinhaLoteDTO(int linha, boolean criada, Long reservaId, String erro) {
+
+    public static LinhaLoteDTO sucesso(int linha, Long reservaId) {
+        return new LinhaLoteDTO(linha, true, reservaId, null);
+    }
+
+    public static LinhaLoteDTO falha(int linha, String erro) {
+        return new LinhaLoteDTO(linha, false, null, erro);
+    }
+}
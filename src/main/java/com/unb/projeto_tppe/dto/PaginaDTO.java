@@ -0,0 +1,60 @@
+package com.unb.projeto_tppe.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem paginada por cursor.
+ * @param itens Registros da página, em ordem de ID
+ * @param proximoCursor Valor a enviar como {@code cursor} para obter a próxima página, ou null se esta for a última.
+ *                      Nas listagens por número de página (ver {@link #de(Slice)}) é o número da página seguinte
+ * @param <T> Tipo dos registros
+ */
+public record PaginaDTO<T>(List<T> itens, Long proximoCursor) {
+
+    public static final int TAMANHO_PADRAO = 50;
+
+    public static final int TAMANHO_MAXIMO = 500;
+
+    /**
+     * Ajusta o tamanho de página solicitado ao intervalo permitido
+     * @param tamanho Tamanho solicitado (pode ser null)
+     * @return Tamanho entre 1 e {@link #TAMANHO_MAXIMO}
+     */
+    public static int limitarTamanho(Integer tamanho) {
+        if (tamanho == null || tamanho <= 0) {
+            return TAMANHO_PADRAO;
+        }
+        return Math.min(tamanho, TAMANHO_MAXIMO);
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que buscou um registro a mais que o tamanho,
+     * usado apenas para saber se existe próxima página
+     * @param registros Resultado da consulta (até {@code tamanho + 1} registros)
+     * @param tamanho Tamanho da página
+     * @param id Função que extrai o ID usado como cursor
+     * @param <T> Tipo dos registros
+     * @return Página com no máximo {@code tamanho} itens
+     */
+    public static <T> PaginaDTO<T> de(List<T> registros, int tamanho, Function<T, Long> id) {
+        if (registros.size() <= tamanho) {
+            return new PaginaDTO<>(registros, null);
+        }
+        List<T> itens = registros.subList(0, tamanho);
+        return new PaginaDTO<>(itens, id.apply(itens.get(tamanho - 1)));
+    }
+
+    /**
+     * Monta a página a partir de uma consulta por número de página, usada quando a ordenação
+     * não é pelo ID e o cursor não pode ser o último ID lido
+     * @param fatia Resultado da consulta
+     * @param <T> Tipo dos registros
+     * @return Página com o número da página seguinte como próximo cursor
+     */
+    public static <T> PaginaDTO<T> de(Slice<T> fatia) {
+        return new PaginaDTO<>(fatia.getContent(), fatia.hasNext() ? (long) fatia.getNumber() + 1 : null);
+    }
+}
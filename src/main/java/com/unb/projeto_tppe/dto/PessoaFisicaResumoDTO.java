@@ -0,0 +1,7 @@
+package com.unb.projeto_tppe.dto;
+
+/**
+ * Visão de leitura de uma pessoa física para listagens, sem o endereço
+ */
+public record PessoaFisicaResumoDTO(Long id, String nome, String cpf, String email, String telefone) {
+}
@@ -0,0 +1,8 @@
+package com.unb.projeto_tppe.dto;
+
+/**
+ * Visão de leitura de uma pessoa jurídica para listagens, sem o endereço
+ */
+public record PessoaJuridicaResumoDTO(Long id, String razaoSocial, String nomeFantasia, String cnpj,
+                                      String email, String telefone) {
+}
@@ -0,0 +1,28 @@
+package com.unb.projeto_tppe.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.unb.projeto_tppe.model.Reserva.StatusReserva;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha do painel de reservas: a reserva com o veículo e o cliente já resolvidos, com tudo o que
+ * a tela de gerenciamento exibe e edita. O nome do cliente é o nome da pessoa física ou a razão
+ * social da pessoa jurídica.
+ */
+public record ReservaPainelDTO(
+    Long id,
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm") LocalDateTime dataInicio,
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm") LocalDateTime dataFim,
+    StatusReserva status,
+    Double valorTotal,
+    String observacoes,
+    Long veiculoId,
+    String veiculoPlaca,
+    String veiculoMarca,
+    String veiculoModelo,
+    Long pessoaFisicaId,
+    Long pessoaJuridicaId,
+    String clienteNome
+) {
+}
@@ -0,0 +1,26 @@
+package com.unb.projeto_tppe.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.unb.projeto_tppe.model.Reserva.StatusReserva;
+
+import java.time.LocalDateTime;
+
+/**
+ * Visão de leitura de uma reserva para listagens: apenas as colunas exibidas,
+ * com o veículo e o cliente reduzidos a identificação e nome.
+ */
+public record ReservaResumoDTO(
+    Long id,
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm") LocalDateTime dataInicio,
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm") LocalDateTime dataFim,
+    StatusReserva status,
+    Double valorTotal,
+    Long veiculoId,
+    String veiculoPlaca,
+    String veiculoModelo,
+    Long pessoaFisicaId,
+    String pessoaFisicaNome,
+    Long pessoaJuridicaId,
+    String pessoaJuridicaRazaoSocial
+) {
+}
@@ -0,0 +1,20 @@
+package com.unb.projeto_tppe.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação de reservas em lote, com uma entrada por linha enviada.
+ * @param total Quantidade de linhas recebidas
+ * @param criadas Quantidade de reservas gravadas
+ * @param rejeitadas Quantidade de linhas rejeitadas
+ * @param linhas Resultado de cada linha, na ordem do lote
+ */
+public record ResultadoLoteDTO(int total, int criadas, int rejeitadas, List<LinhaLoteDTO> linhas) {
+
+    public static final int TAMANHO_MAXIMO = 10_000;
+
+    public static ResultadoLoteDTO de(List<LinhaLoteDTO> linhas) {
+        int criadas = (int) linhas.stream().filter(LinhaLoteDTO::criada).count();
+        return new ResultadoLoteDTO(linhas.size(), criadas, linhas.size() - criadas, linhas);
+    }
+}
@@ -0,0 +1,25 @@
+package com.unb.projeto_tppe.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.unb.projeto_tppe.model.Reserva.StatusReserva;
+
+import java.time.LocalDate;
+
+/**
+ * Totais de reservas de um tipo de veículo e status. Nos relatórios diários o dia é o de início
+ * das reservas contadas; nos totais do período ele é omitido.
+ * @param quantidade Reservas que começam no dia (ou no período)
+ * @param receita Soma do valor total dessas reservas
+ * @param horasReservadas Horas reservadas dentro do dia (ou do período), de qualquer reserva que o ocupe
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ResumoReservaDTO(
+    @JsonFormat(pattern = "dd/MM/yyyy") LocalDate dia,
+    String tipo,
+    StatusReserva status,
+    long quantidade,
+    double receita,
+    double horasReservadas
+) {
+}
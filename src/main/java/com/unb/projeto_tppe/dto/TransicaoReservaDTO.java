@@ -0,0 +1,29 @@
+package com.unb.projeto_tppe.dto;
+
+import com.unb.projeto_tppe.model.Reserva.StatusReserva;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reserva travada para uma transição automática de status, com o veículo e o estado anterior
+ * usado para atualizar os resumos de receita e ocupação.
+ */
+public record TransicaoReservaDTO(Long id, Long veiculoId, ContribuicaoReservaDTO anterior) {
+
+    /**
+     * Construtor usado pelas consultas JPQL, que recebem o tipo do veículo como {@code TYPE(v)}
+     */
+    public TransicaoReservaDTO(Long id, Long veiculoId, LocalDateTime dataInicio, LocalDateTime dataFim,
+                               StatusReserva status, Double valorTotal, Class<?> tipo) {
+        this(id, veiculoId, new ContribuicaoReservaDTO(dataInicio, dataFim, status, valorTotal, tipo));
+    }
+
+    /**
+     * @param status Status gravado pela transição
+     * @return Contribuição da reserva depois da transição
+     */
+    public ContribuicaoReservaDTO atual(StatusReserva status) {
+        return new ContribuicaoReservaDTO(anterior.dataInicio(), anterior.dataFim(), status,
+                                          anterior.valorTotal(), anterior.tipo());
+    }
+}
@@ -0,0 +1,72 @@
+package com.unb.projeto_tppe.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.unb.projeto_tppe.model.Veiculo.StatusVeiculo;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Visão de leitura de um veículo para listagens, com apenas os dados da tabela base.
+ * O tipo corresponde ao valor da coluna discriminadora (PASSEIO, UTILITARIO ou MOTOCICLETA).
+ */
+public record VeiculoResumoDTO(
+    Long id,
+    String tipo,
+    String placa,
+    String marca,
+    String modelo,
+    Integer anoModelo,
+    String cor,
+    @JsonFormat(pattern = "dd/MM/yyyy") LocalDate dataAquisicao,
+    StatusVeiculo status,
+    Double valor
+) {
+
+    /**
+     * Campos que podem ser pedidos em {@link #projetar(Collection)}
+     */
+    public static final List<String> CAMPOS = List.of(
+        "id", "tipo", "placa", "marca", "modelo", "anoModelo", "cor", "dataAquisicao", "status", "valor");
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /**
+     * Construtor usado pelas consultas JPQL, que recebem o tipo como {@code TYPE(v)}
+     */
+    public VeiculoResumoDTO(Long id, Class<?> tipo, String placa, String marca, String modelo, Integer anoModelo,
+                            String cor, LocalDate dataAquisicao, StatusVeiculo status, Double valor) {
+        this(id, tipo.getSimpleName().toUpperCase(Locale.ROOT), placa, marca, modelo, anoModelo,
+             cor, dataAquisicao, status, valor);
+    }
+
+    /**
+     * Copia apenas os campos pedidos, na ordem informada
+     * @param campos Nomes dos campos, entre os de {@link #CAMPOS}
+     * @return Mapa campo → valor, serializado pelo Jackson como um objeto com esses campos
+     */
+    public Map<String, Object> projetar(Collection<String> campos) {
+        Map<String, Object> projecao = new LinkedHashMap<>();
+        for (String campo : campos) {
+            projecao.put(campo, switch (campo) {
+                case "id" -> id;
+                case "tipo" -> tipo;
+                case "placa" -> placa;
+                case "marca" -> marca;
+                case "modelo" -> modelo;
+                case "anoModelo" -> anoModelo;
+                case "cor" -> cor;
+                case "dataAquisicao" -> dataAquisicao == null ? null : FORMATO_DATA.format(dataAquisicao);
+                case "status" -> status;
+                case "valor" -> valor;
+                default -> throw new IllegalArgumentException("Campo inválido: " + campo);
+            });
+        }
+        return projecao;
+    }
+}
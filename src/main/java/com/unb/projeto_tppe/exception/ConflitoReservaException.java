@@ -0,0 +1,13 @@
+package com.unb.projeto_tppe.exception;
+
+/**
+ * Lançada quando o veículo já possui reserva ativa no período solicitado
+ */
+public class ConflitoReservaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConflitoReservaException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,14 @@
+package com.unb.projeto_tppe.exception;
+
+/**
+ * Lançada quando uma requisição executa mais comandos SQL que o orçamento do seu endpoint
+ * ({@code sql.orcamento.acao=falha})
+ */
+public class OrcamentoConsultasExcedidoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public OrcamentoConsultasExcedidoException(String mensagem) {
+        super(mensagem);
+    }
+}
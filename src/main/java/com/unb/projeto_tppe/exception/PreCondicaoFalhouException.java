@@ -0,0 +1,13 @@
+package com.unb.projeto_tppe.exception;
+
+/**
+ * Lançada quando a versão enviada no If-Match não é mais a versão gravada da entidade
+ */
+public class PreCondicaoFalhouException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PreCondicaoFalhouException(String mensagem) {
+        super(mensagem);
+    }
+}
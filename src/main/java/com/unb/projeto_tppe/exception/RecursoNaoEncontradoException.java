@@ -0,0 +1,13 @@
+package com.unb.projeto_tppe.exception;
+
+/**
+ * Lançada quando uma entidade referenciada por ID não existe
+ */
+public class RecursoNaoEncontradoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RecursoNaoEncontradoException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -1,12 +1,14 @@
 package com.unb.projeto_tppe.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -14,10 +16,13 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "enderecos")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Endereco {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenciaAgrupada("enderecos_seq")
     private Long id;
     
     @NotBlank(message = "Rua é obrigatória")
@@ -0,0 +1,26 @@
+package com.unb.projeto_tppe.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estado da tabela do painel de reservas ({@link PainelReserva}), compartilhado pelas instâncias.
+ * Há uma única linha; {@code desatualizado} indica que a tabela precisa ser recriada a partir das reservas.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "painel_reservas_estado")
+public class EstadoPainelReservas {
+
+    // ID da única linha
+    public static final Integer ID = 1;
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "desatualizado", nullable = false)
+    private boolean desatualizado;
+}
@@ -0,0 +1,43 @@
+package com.unb.projeto_tppe.model;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Gerador usado por {@link SequenciaAgrupada}: um {@link SequenceStyleGenerator} cujo tamanho
+ * de alocação vem da configuração em vez de ficar fixo na anotação de cada entidade.
+ *
+ * O INCREMENT BY da sequência no banco precisa ser igual ao tamanho de alocação; ao alterá-lo
+ * em um banco existente, a sequência deve ser ajustada junto.
+ */
+public class GeradorSequenciaAgrupada extends SequenceStyleGenerator {
+
+    public static final String TAMANHO_ALOCACAO = "projeto.id.tamanho_alocacao";
+
+    public static final int TAMANHO_ALOCACAO_PADRAO = 50;
+
+    private final String sequencia;
+
+    public GeradorSequenciaAgrupada(SequenciaAgrupada config) {
+        this.sequencia = config.value();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry)
+            throws MappingException {
+        int tamanhoAlocacao = serviceRegistry.requireService(ConfigurationService.class)
+            .getSetting(TAMANHO_ALOCACAO, StandardConverters.INTEGER, TAMANHO_ALOCACAO_PADRAO);
+        if (tamanhoAlocacao <= 0) {
+            throw new MappingException("Tamanho de alocação de IDs deve ser maior que zero: " + tamanhoAlocacao);
+        }
+        parameters.setProperty(SEQUENCE_PARAM, sequencia);
+        parameters.setProperty(INCREMENT_PARAM, Integer.toString(tamanhoAlocacao));
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
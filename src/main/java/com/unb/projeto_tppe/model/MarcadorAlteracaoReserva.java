@@ -0,0 +1,27 @@
+package com.unb.projeto_tppe.model;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Grava em cada reserva inserida ou alterada o número de alteração da transação corrente
+ * (ver {@link NumeradorAlteracoes}). Os UPDATEs em massa atribuem o número na própria consulta.
+ * Criado pelo Hibernate através do contêiner do Spring.
+ */
+public class MarcadorAlteracaoReserva {
+
+    private final NumeradorAlteracoes numerador;
+
+    @Autowired
+    public MarcadorAlteracaoReserva(NumeradorAlteracoes numerador) {
+        this.numerador = numerador;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void marcar(Reserva reserva) {
+        reserva.setSequenciaAlteracao(numerador.atual());
+    }
+}
@@ -0,0 +1,13 @@
+package com.unb.projeto_tppe.model;
+
+/**
+ * Origem dos números de alteração gravados por {@link MarcadorAlteracaoReserva}, implementada
+ * pela camada de serviço.
+ */
+public interface NumeradorAlteracoes {
+
+    /**
+     * @return Número da transação corrente, o mesmo em todas as chamadas dentro dela
+     */
+    long atual();
+}
@@ -0,0 +1,80 @@
+package com.unb.projeto_tppe.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cópia desnormalizada de uma reserva para o painel de reservas, com a placa, a marca e o modelo do
+ * veículo e o nome do cliente gravados na própria linha: a listagem do painel não precisa de junções.
+ * Mantida por {@code PainelReservaService} quando {@code reservas.painel.tabela=true}.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "painel_reservas", indexes = {
+    @Index(name = "idx_painel_reservas_veiculo", columnList = "veiculo_id"),
+    @Index(name = "idx_painel_reservas_pessoa_fisica", columnList = "pessoa_fisica_id"),
+    @Index(name = "idx_painel_reservas_pessoa_juridica", columnList = "pessoa_juridica_id")
+})
+public class PainelReserva implements Persistable<Long> {
+
+    // Mesmo ID da reserva, atribuído pela aplicação
+    @Id
+    @Column(name = "reserva_id")
+    private Long reservaId;
+
+    @Column(name = "data_inicio", nullable = false)
+    private LocalDateTime dataInicio;
+
+    @Column(name = "data_fim", nullable = false)
+    private LocalDateTime dataFim;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Reserva.StatusReserva status;
+
+    @Column(name = "valor_total", nullable = false)
+    private Double valorTotal;
+
+    @Column(name = "observacoes", length = 500)
+    private String observacoes;
+
+    @Column(name = "veiculo_id", nullable = false)
+    private Long veiculoId;
+
+    @Column(name = "veiculo_placa")
+    private String veiculoPlaca;
+
+    @Column(name = "veiculo_marca")
+    private String veiculoMarca;
+
+    @Column(name = "veiculo_modelo")
+    private String veiculoModelo;
+
+    @Column(name = "pessoa_fisica_id")
+    private Long pessoaFisicaId;
+
+    @Column(name = "pessoa_juridica_id")
+    private Long pessoaJuridicaId;
+
+    @Column(name = "cliente_nome")
+    private String clienteNome;
+
+    // Linhas de reservas recém-criadas são inseridas direto, sem o SELECT que o merge faria
+    @Transient
+    private boolean nova;
+
+    @Override
+    public Long getId() {
+        return reservaId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nova;
+    }
+}
@@ -1,17 +1,22 @@
 package com.unb.projeto_tppe.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -20,11 +25,18 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Inheritance(strategy = InheritanceType.JOINED)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pessoas")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public abstract class Pessoa {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenciaAgrupada("pessoas_seq")
     private Long id;
+
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
     
     @Email(message = "Email deve ser válido")
     @NotBlank(message = "Email é obrigatório")
@@ -33,7 +45,7 @@ public abstract class Pessoa {
     @NotBlank(message = "Telefone é obrigatório")
     private String telefone;
     
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "endereco_id")
     private Endereco endereco;
 }
@@ -14,13 +14,49 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "reservas")
+// Índices da migração V2 que também valem no esquema gerado pelo Hibernate (testes e benchmarks no H2);
+// os parciais e o GiST de período existem apenas nas migrações do PostgreSQL
+@Table(name = "reservas", indexes = {
+    @Index(name = "idx_reservas_veiculo_periodo", columnList = "veiculo_id, data_inicio, data_fim"),
+    @Index(name = "idx_reservas_status", columnList = "status"),
+    @Index(name = "idx_reservas_sequencia_alteracao", columnList = "sequencia_alteracao, id")
+})
+@EntityListeners(MarcadorAlteracaoReserva.class)
+@NamedEntityGraph(
+    name = Reserva.GRAFO_COMPLETO,
+    attributeNodes = {
+        @NamedAttributeNode("veiculo"),
+        @NamedAttributeNode(value = "pessoaFisica", subgraph = "pessoa"),
+        @NamedAttributeNode(value = "pessoaJuridica", subgraph = "pessoa")
+    },
+    subgraphs = @NamedSubgraph(name = "pessoa", attributeNodes = @NamedAttributeNode("endereco"))
+)
 public class Reserva {
 
+    /**
+     * Plano de busca usado por toda consulta que devolve entidades Reserva para a API (listagens e detalhe):
+     * veículo e cliente com endereço em um único SELECT. As listagens usam o mesmo plano do detalhe porque
+     * serializam a mesma entidade, com o endereço do cliente; sem ele no plano, cada linha carregaria o
+     * endereço à parte. A listagem enxuta é a de resumos ({@code ReservaRepository.findResumos}), uma
+     * projeção que não carrega entidades, e a verificação de conflito só conta linhas
+     * ({@code ReservaRepository.existeReservaConflitante}); nenhuma das duas precisa de plano.
+     */
+    public static final String GRAFO_COMPLETO = "Reserva.completa";
+
+    // Sequência com alocação em blocos: IDENTITY impediria o Hibernate de agrupar os INSERTs em lote
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenciaAgrupada("reservas_seq")
     private Long id;
 
+    // Devolvida no corpo; o PUT e o PATCH de status a aceitam no If-Match
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
+    // Número da última transação que gravou a linha, atribuído por MarcadorAlteracaoReserva
+    @Column(name = "sequencia_alteracao", nullable = false)
+    private Long sequenciaAlteracao;
+
     @NotNull(message = "Data de início é obrigatória")
     @JsonFormat(pattern = "dd/MM/yyyy HH:mm")
     @Column(name = "data_inicio", nullable = false)
@@ -32,15 +68,15 @@ public class Reserva {
     private LocalDateTime dataFim;
 
     @NotNull(message = "Veículo é obrigatório")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "veiculo_id", nullable = false)
     private Veiculo veiculo;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pessoa_fisica_id")
     private PessoaFisica pessoaFisica;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pessoa_juridica_id")
     private PessoaJuridica pessoaJuridica;
 
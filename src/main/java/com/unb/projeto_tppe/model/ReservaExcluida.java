@@ -0,0 +1,40 @@
+package com.unb.projeto_tppe.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Registro de uma reserva excluída, para que a sincronização incremental (GET /api/reservas/alteracoes)
+ * informe a exclusão a quem já tinha a reserva. Gravado por {@code ReservaServiceImpl.excluir}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "reservas_excluidas", indexes = {
+    @Index(name = "idx_reservas_excluidas_sequencia", columnList = "sequencia_alteracao")
+})
+public class ReservaExcluida implements Persistable<Long> {
+
+    // Mesmo ID da reserva excluída
+    @Id
+    @Column(name = "reserva_id")
+    private Long reservaId;
+
+    @Column(name = "sequencia_alteracao", nullable = false)
+    private Long sequenciaAlteracao;
+
+    @Override
+    public Long getId() {
+        return reservaId;
+    }
+
+    // Sempre uma linha nova: é inserida direto, sem o SELECT que o merge faria
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
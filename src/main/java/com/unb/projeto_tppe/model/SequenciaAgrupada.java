@@ -0,0 +1,27 @@
+package com.unb.projeto_tppe.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Gera o ID da entidade a partir de uma sequência do banco reservada em blocos.
+ *
+ * Cada chamada à sequência reserva {@code tamanho_alocacao} IDs, que são distribuídos em memória;
+ * assim vários INSERTs podem ser enviados no mesmo lote JDBC, o que IDENTITY não permite.
+ * O tamanho do bloco é lido da propriedade {@value GeradorSequenciaAgrupada#TAMANHO_ALOCACAO}
+ * e o otimizador (pooled ou pooled-lo) de {@code hibernate.id.optimizer.pooled.preferred}.
+ */
+@IdGeneratorType(GeradorSequenciaAgrupada.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SequenciaAgrupada {
+
+    /**
+     * @return Nome da sequência no banco
+     */
+    String value();
+}
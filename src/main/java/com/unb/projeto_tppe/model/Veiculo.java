@@ -1,5 +1,6 @@
 package com.unb.projeto_tppe.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -9,6 +10,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
@@ -19,11 +22,18 @@ import java.time.LocalDate;
 @SuperBuilder
 @Inheritance(strategy = InheritanceType.JOINED)
 @DiscriminatorColumn(name = "tipo_veiculo")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "veiculos")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public abstract class Veiculo {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenciaAgrupada("veiculos_seq")
     private Long id;
+
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
     
     @NotBlank(message = "Placa é obrigatória")
     @Size(min = 7, max = 8, message = "Placa deve ter entre 7 e 8 caracteres")
@@ -0,0 +1,26 @@
+package com.unb.projeto_tppe.repository;
+
+import com.unb.projeto_tppe.model.EstadoPainelReservas;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface EstadoPainelReservasRepository extends JpaRepository<EstadoPainelReservas, Integer> {
+
+    // Travada até o fim da transação: só uma instância recria o painel por vez
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM EstadoPainelReservas e WHERE e.id = :id")
+    Optional<EstadoPainelReservas> travar(@Param("id") Integer id);
+
+    @Modifying
+    @Query("UPDATE EstadoPainelReservas e SET e.desatualizado = true WHERE e.id = :id AND e.desatualizado = false")
+    int marcarDesatualizado(@Param("id") Integer id);
+}
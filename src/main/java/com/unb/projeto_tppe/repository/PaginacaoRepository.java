@@ -0,0 +1,36 @@
+package com.unb.projeto_tppe.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Consultas de listagem comuns a todos os repositórios: paginação por cursor (keyset)
+ * sobre o ID e leitura em fluxo, ambas sem carregar a tabela inteira em memória.
+ * @param <T> Tipo da entidade
+ */
+@NoRepositoryBean
+public interface PaginacaoRepository<T> extends JpaRepository<T, Long> {
+
+    /**
+     * Busca as entidades com ID maior que o cursor, em ordem de ID
+     * @param cursor Último ID já lido
+     * @param limite Quantidade máxima de registros
+     * @return Próximos registros após o cursor
+     */
+    List<T> findByIdGreaterThanOrderByIdAsc(Long cursor, Limit limite);
+
+    /**
+     * Lê todas as entidades em ordem de ID usando um cursor do banco.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * @return Fluxo com todas as entidades
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<T> streamAllByOrderByIdAsc();
+}
@@ -0,0 +1,69 @@
+package com.unb.projeto_tppe.repository;
+
+import com.unb.projeto_tppe.dto.ReservaPainelDTO;
+import com.unb.projeto_tppe.model.PainelReserva;
+import com.unb.projeto_tppe.model.Reserva;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PainelReservaRepository extends JpaRepository<PainelReserva, Long> {
+
+    // Mesmos filtros de ReservaRepository.findPainel, sem nenhuma junção
+    @Query("SELECT new com.unb.projeto_tppe.dto.ReservaPainelDTO(p.reservaId, p.dataInicio, p.dataFim, p.status, "
+         + "p.valorTotal, p.observacoes, p.veiculoId, p.veiculoPlaca, p.veiculoMarca, p.veiculoModelo, "
+         + "p.pessoaFisicaId, p.pessoaJuridicaId, p.clienteNome) "
+         + "FROM PainelReserva p WHERE p.reservaId > :cursor AND p.status IN :status "
+         + "AND (:busca IS NULL OR LOWER(p.clienteNome) LIKE :busca OR LOWER(p.veiculoPlaca) LIKE :busca) "
+         + "AND (CAST(:inicio AS LocalDateTime) IS NULL OR p.dataFim >= :inicio) "
+         + "AND (CAST(:fim AS LocalDateTime) IS NULL OR p.dataInicio <= :fim) "
+         + "ORDER BY p.reservaId")
+    List<ReservaPainelDTO> findPagina(
+        @Param("busca") String busca,
+        @Param("status") Collection<Reserva.StatusReserva> status,
+        @Param("inicio") LocalDateTime inicio,
+        @Param("fim") LocalDateTime fim,
+        @Param("cursor") Long cursor,
+        Limit limite
+    );
+
+    @Modifying
+    @Query("INSERT INTO PainelReserva (reservaId, dataInicio, dataFim, status, valorTotal, observacoes, veiculoId, "
+         + "veiculoPlaca, veiculoMarca, veiculoModelo, pessoaFisicaId, pessoaJuridicaId, clienteNome) "
+         + "SELECT r.id, r.dataInicio, r.dataFim, r.status, r.valorTotal, r.observacoes, v.id, v.placa, v.marca, "
+         + "v.modelo, pf.id, pj.id, COALESCE(pf.nome, pj.razaoSocial) "
+         + "FROM Reserva r JOIN r.veiculo v LEFT JOIN r.pessoaFisica pf LEFT JOIN r.pessoaJuridica pj")
+    int copiarReservas();
+
+    @Modifying
+    @Query("UPDATE PainelReserva p SET p.veiculoPlaca = :placa, p.veiculoMarca = :marca, p.veiculoModelo = :modelo "
+         + "WHERE p.veiculoId = :veiculoId")
+    int atualizarVeiculo(
+        @Param("veiculoId") Long veiculoId,
+        @Param("placa") String placa,
+        @Param("marca") String marca,
+        @Param("modelo") String modelo
+    );
+
+    @Modifying
+    @Query("UPDATE PainelReserva p SET p.status = :status WHERE p.reservaId IN :reservaIds")
+    int atualizarStatus(@Param("reservaIds") Collection<Long> reservaIds,
+                        @Param("status") Reserva.StatusReserva status);
+
+    @Modifying
+    @Query("UPDATE PainelReserva p SET p.clienteNome = :nome WHERE p.pessoaFisicaId = :pessoaId")
+    int atualizarPessoaFisica(@Param("pessoaId") Long pessoaId, @Param("nome") String nome);
+
+    @Modifying
+    @Query("UPDATE PainelReserva p SET p.clienteNome = :razaoSocial WHERE p.pessoaJuridicaId = :pessoaId")
+    int atualizarPessoaJuridica(@Param("pessoaId") Long pessoaId, @Param("razaoSocial") String razaoSocial);
+}
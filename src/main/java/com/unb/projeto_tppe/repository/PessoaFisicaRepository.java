@@ -1,16 +1,49 @@
 package com.unb.projeto_tppe.repository;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.unb.projeto_tppe.dto.PessoaFisicaResumoDTO;
 import com.unb.projeto_tppe.model.PessoaFisica;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface PessoaFisicaRepository extends JpaRepository<PessoaFisica, Long> {
+public interface PessoaFisicaRepository extends PaginacaoRepository<PessoaFisica> {
     
+    // O endereço é LAZY; toda consulta que devolve a entidade para a API já o traz no mesmo SELECT
+    
+    @Override
+    @EntityGraph(attributePaths = "endereco")
+    List<PessoaFisica> findAll();
+    
+    @Override
+    @EntityGraph(attributePaths = "endereco")
+    Optional<PessoaFisica> findById(Long id);
+    
+    @Override
+    @EntityGraph(attributePaths = "endereco")
+    List<PessoaFisica> findByIdGreaterThanOrderByIdAsc(Long cursor, Limit limite);
+    
+    @Override
+    @EntityGraph(attributePaths = "endereco")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<PessoaFisica> streamAllByOrderByIdAsc();
+    
+    @EntityGraph(attributePaths = "endereco")
     Optional<PessoaFisica> findByCpf(String cpf);
     
     boolean existsByCpf(String cpf);
+    
+    @Query("SELECT new com.unb.projeto_tppe.dto.PessoaFisicaResumoDTO(p.id, p.nome, p.cpf, p.email, p.telefone) "
+         + "FROM PessoaFisica p WHERE p.id > :cursor ORDER BY p.id")
+    List<PessoaFisicaResumoDTO> findResumos(@Param("cursor") Long cursor, Limit limite);
 }
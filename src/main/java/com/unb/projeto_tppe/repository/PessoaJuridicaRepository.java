@@ -1,16 +1,50 @@
 package com.unb.projeto_tppe.repository;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.unb.projeto_tppe.dto.PessoaJuridicaResumoDTO;
 import com.unb.projeto_tppe.model.PessoaJuridica;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface PessoaJuridicaRepository extends JpaRepository<PessoaJuridica, Long> {
+public interface PessoaJuridicaRepository extends PaginacaoRepository<PessoaJuridica> {
     
+    // O endereço é LAZY; toda consulta que devolve a entidade para a API já o traz no mesmo SELECT
+    
+    @Override
+    @EntityGraph(attributePaths = "endereco")
+    List<PessoaJuridica> findAll();
+    
+    @Override
+    @EntityGraph(attributePaths = "endereco")
+    Optional<PessoaJuridica> findById(Long id);
+    
+    @Override
+    @EntityGraph(attributePaths = "endereco")
+    List<PessoaJuridica> findByIdGreaterThanOrderByIdAsc(Long cursor, Limit limite);
+    
+    @Override
+    @EntityGraph(attributePaths = "endereco")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<PessoaJuridica> streamAllByOrderByIdAsc();
+    
+    @EntityGraph(attributePaths = "endereco")
     Optional<PessoaJuridica> findByCnpj(String cnpj);
     
     boolean existsByCnpj(String cnpj);
+    
+    @Query("SELECT new com.unb.projeto_tppe.dto.PessoaJuridicaResumoDTO(p.id, p.razaoSocial, p.nomeFantasia, p.cnpj, "
+         + "p.email, p.telefone) "
+         + "FROM PessoaJuridica p WHERE p.id > :cursor ORDER BY p.id")
+    List<PessoaJuridicaResumoDTO> findResumos(@Param("cursor") Long cursor, Limit limite);
 }
@@ -0,0 +1,21 @@
+package com.unb.projeto_tppe.repository;
+
+import com.unb.projeto_tppe.model.ReservaExcluida;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReservaExcluidaRepository extends JpaRepository<ReservaExcluida, Long> {
+
+    @Query("SELECT e.reservaId FROM ReservaExcluida e "
+         + "WHERE e.sequenciaAlteracao > :desde AND e.sequenciaAlteracao <= :ate ORDER BY e.sequenciaAlteracao, e.reservaId")
+    List<Long> findIdsExcluidas(@Param("desde") long desde, @Param("ate") long ate);
+
+    @Query("SELECT COALESCE(MAX(e.sequenciaAlteracao), 0) FROM ReservaExcluida e")
+    long findMaiorSequenciaAlteracao();
+}
@@ -1,39 +1,232 @@
 package com.unb.projeto_tppe.repository;
 
+import com.unb.projeto_tppe.dto.AgendaReservaDTO;
+import com.unb.projeto_tppe.dto.ContribuicaoReservaDTO;
+import com.unb.projeto_tppe.dto.IntervaloReservaDTO;
+import com.unb.projeto_tppe.dto.ReservaPainelDTO;
+import com.unb.projeto_tppe.dto.ReservaResumoDTO;
+import com.unb.projeto_tppe.dto.TransicaoReservaDTO;
 import com.unb.projeto_tppe.model.Reserva;
 import com.unb.projeto_tppe.model.Veiculo;
 import com.unb.projeto_tppe.model.PessoaFisica;
 import com.unb.projeto_tppe.model.PessoaJuridica;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ReservaRepository extends JpaRepository<Reserva, Long> {
+public interface ReservaRepository extends PaginacaoRepository<Reserva> {
     
+    @Override
+    @EntityGraph(Reserva.GRAFO_COMPLETO)
+    List<Reserva> findAll();
+    
+    @Override
+    @EntityGraph(Reserva.GRAFO_COMPLETO)
+    Optional<Reserva> findById(Long id);
+    
+    @Override
+    @EntityGraph(Reserva.GRAFO_COMPLETO)
+    List<Reserva> findByIdGreaterThanOrderByIdAsc(Long cursor, Limit limite);
+    
+    @Override
+    @EntityGraph(Reserva.GRAFO_COMPLETO)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Reserva> streamAllByOrderByIdAsc();
+    
+    @EntityGraph(Reserva.GRAFO_COMPLETO)
     List<Reserva> findByVeiculo(Veiculo veiculo);
     
+    @EntityGraph(Reserva.GRAFO_COMPLETO)
     List<Reserva> findByPessoaFisica(PessoaFisica pessoaFisica);
     
+    @EntityGraph(Reserva.GRAFO_COMPLETO)
     List<Reserva> findByPessoaJuridica(PessoaJuridica pessoaJuridica);
     
+    @EntityGraph(Reserva.GRAFO_COMPLETO)
     List<Reserva> findByStatus(Reserva.StatusReserva status);
     
-    @Query("SELECT r FROM Reserva r WHERE r.dataInicio <= :dataFim AND r.dataFim >= :dataInicio AND r.veiculo.id = :veiculoId")
-    List<Reserva> findReservasConflitantes(
+    @Query("SELECT COUNT(r) > 0 FROM Reserva r WHERE r.dataInicio <= :dataFim AND r.dataFim >= :dataInicio "
+         + "AND r.veiculo.id = :veiculoId AND r.status <> :statusIgnorado "
+         + "AND (:reservaIgnoradaId IS NULL OR r.id <> :reservaIgnoradaId)")
+    boolean existeReservaConflitante(
+        @Param("dataInicio") LocalDateTime dataInicio,
+        @Param("dataFim") LocalDateTime dataFim,
+        @Param("veiculoId") Long veiculoId,
+        @Param("reservaIgnoradaId") Long reservaIgnoradaId,
+        @Param("statusIgnorado") Reserva.StatusReserva statusIgnorado
+    );
+    
+    @Query("SELECT r.versao FROM Reserva r WHERE r.id = :id")
+    Optional<Long> findVersao(@Param("id") Long id);
+    
+    @Query("SELECT r.veiculo.id FROM Reserva r WHERE r.id = :id")
+    Optional<Long> findVeiculoId(@Param("id") Long id);
+    
+    @Query("SELECT DISTINCT r.veiculo.id FROM Reserva r WHERE r.dataInicio <= :dataFim AND r.dataFim >= :dataInicio "
+         + "AND r.status <> :statusIgnorado")
+    List<Long> findVeiculosOcupados(
+        @Param("dataInicio") LocalDateTime dataInicio,
+        @Param("dataFim") LocalDateTime dataFim,
+        @Param("statusIgnorado") Reserva.StatusReserva statusIgnorado
+    );
+    
+    @Query("SELECT new com.unb.projeto_tppe.dto.IntervaloReservaDTO(r.id, r.veiculo.id, r.dataInicio, r.dataFim) "
+         + "FROM Reserva r WHERE r.veiculo.id IN :veiculoIds AND r.dataInicio <= :dataFim "
+         + "AND r.dataFim >= :dataInicio AND r.status <> :statusIgnorado")
+    List<IntervaloReservaDTO> findIntervalosAtivos(
+        @Param("veiculoIds") Collection<Long> veiculoIds,
         @Param("dataInicio") LocalDateTime dataInicio,
         @Param("dataFim") LocalDateTime dataFim,
-        @Param("veiculoId") Long veiculoId
+        @Param("statusIgnorado") Reserva.StatusReserva statusIgnorado
     );
     
-    @Query("SELECT r FROM Reserva r WHERE r.dataInicio BETWEEN :inicio AND :fim OR r.dataFim BETWEEN :inicio AND :fim")
+    @Query("SELECT new com.unb.projeto_tppe.dto.IntervaloReservaDTO(r.id, r.veiculo.id, r.dataInicio, r.dataFim) "
+         + "FROM Reserva r WHERE r.dataFim >= :aPartirDe AND r.status <> :statusIgnorado")
+    Stream<IntervaloReservaDTO> streamIntervalosAtivos(
+        @Param("aPartirDe") LocalDateTime aPartirDe,
+        @Param("statusIgnorado") Reserva.StatusReserva statusIgnorado
+    );
+
+    @Query("SELECT new com.unb.projeto_tppe.dto.ReservaResumoDTO(r.id, r.dataInicio, r.dataFim, r.status, "
+         + "r.valorTotal, v.id, v.placa, v.modelo, pf.id, pf.nome, pj.id, pj.razaoSocial) "
+         + "FROM Reserva r JOIN r.veiculo v LEFT JOIN r.pessoaFisica pf LEFT JOIN r.pessoaJuridica pj "
+         + "WHERE r.id > :cursor ORDER BY r.id")
+    List<ReservaResumoDTO> findResumos(@Param("cursor") Long cursor, Limit limite);
+
+    // Painel de reservas: busca por nome do cliente ou placa (padrão LIKE já em minúsculas) e período opcional.
+    // O CAST dá tipo às datas nulas, que o driver do PostgreSQL envia sem tipo
+    @Query("SELECT new com.unb.projeto_tppe.dto.ReservaPainelDTO(r.id, r.dataInicio, r.dataFim, r.status, "
+         + "r.valorTotal, r.observacoes, v.id, v.placa, v.marca, v.modelo, pf.id, pj.id, "
+         + "COALESCE(pf.nome, pj.razaoSocial)) "
+         + "FROM Reserva r JOIN r.veiculo v LEFT JOIN r.pessoaFisica pf LEFT JOIN r.pessoaJuridica pj "
+         + "WHERE r.id > :cursor AND r.status IN :status "
+         + "AND (:busca IS NULL OR LOWER(pf.nome) LIKE :busca OR LOWER(pj.razaoSocial) LIKE :busca "
+         + "OR LOWER(v.placa) LIKE :busca) "
+         + "AND (CAST(:inicio AS LocalDateTime) IS NULL OR r.dataFim >= :inicio) "
+         + "AND (CAST(:fim AS LocalDateTime) IS NULL OR r.dataInicio <= :fim) "
+         + "ORDER BY r.id")
+    List<ReservaPainelDTO> findPainel(
+        @Param("busca") String busca,
+        @Param("status") Collection<Reserva.StatusReserva> status,
+        @Param("inicio") LocalDateTime inicio,
+        @Param("fim") LocalDateTime fim,
+        @Param("cursor") Long cursor,
+        Limit limite
+    );
+
+    // Sobreposição de intervalos, e não apenas início ou fim dentro do período: uma reserva que começa
+    // antes e termina depois da janela também pertence a ela. Ver FuncoesHibernate.SOBREPOE_PERIODO
+    @EntityGraph(Reserva.GRAFO_COMPLETO)
+    @Query("SELECT r FROM Reserva r WHERE sobrepoe_periodo(r.dataInicio, r.dataFim, :inicio, :fim) "
+         + "ORDER BY r.dataInicio, r.id")
     List<Reserva> findByPeriodo(
         @Param("inicio") LocalDateTime inicio, 
         @Param("fim") LocalDateTime fim
     );
+
+    @EntityGraph(Reserva.GRAFO_COMPLETO)
+    @Query("SELECT r FROM Reserva r WHERE sobrepoe_periodo(r.dataInicio, r.dataFim, :inicio, :fim) "
+         + "AND r.status IN :status AND r.id > :cursor ORDER BY r.id")
+    List<Reserva> findPaginaPorPeriodo(
+        @Param("inicio") LocalDateTime inicio,
+        @Param("fim") LocalDateTime fim,
+        @Param("status") Collection<Reserva.StatusReserva> status,
+        @Param("cursor") Long cursor,
+        Limit limite
+    );
+
+    // Lê a linha gravada no banco, sem descarregar antes as alterações pendentes da própria reserva:
+    // é o estado anterior usado para atualizar os resumos de receita e ocupação
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT new com.unb.projeto_tppe.dto.ContribuicaoReservaDTO(r.dataInicio, r.dataFim, r.status, "
+         + "r.valorTotal, TYPE(v)) FROM Reserva r JOIN r.veiculo v WHERE r.id = :id")
+    Optional<ContribuicaoReservaDTO> findContribuicao(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.unb.projeto_tppe.dto.ContribuicaoReservaDTO(r.dataInicio, r.dataFim, r.status, "
+         + "r.valorTotal, TYPE(v)) FROM Reserva r JOIN r.veiculo v WHERE r.id BETWEEN :primeiroId AND :ultimoId")
+    Stream<ContribuicaoReservaDTO> streamContribuicoes(
+        @Param("primeiroId") Long primeiroId,
+        @Param("ultimoId") Long ultimoId
+    );
+
+    // Ciclo de vida (CicloReservaService): confirmadas que começam até :ate (retirada e conclusão)
+    // e pendentes que começam até :limitePendente (expiração)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.unb.projeto_tppe.dto.AgendaReservaDTO(r.id, r.status, r.dataInicio, r.dataFim) "
+         + "FROM Reserva r WHERE (r.status = :confirmada AND r.dataInicio <= :ate) "
+         + "OR (r.status = :pendente AND r.dataInicio <= :limitePendente)")
+    Stream<AgendaReservaDTO> streamAgenda(
+        @Param("confirmada") Reserva.StatusReserva confirmada,
+        @Param("ate") LocalDateTime ate,
+        @Param("pendente") Reserva.StatusReserva pendente,
+        @Param("limitePendente") LocalDateTime limitePendente
+    );
+
+    // Trava as reservas do bloco que ainda estão no status esperado e já terminaram; só essas
+    // mudam de status, e a trava impede que mudem entre esta leitura e o UPDATE
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.unb.projeto_tppe.dto.TransicaoReservaDTO(r.id, v.id, r.dataInicio, r.dataFim, r.status, "
+         + "r.valorTotal, TYPE(v)) FROM Reserva r JOIN r.veiculo v "
+         + "WHERE r.id IN :ids AND r.status = :status AND r.dataFim <= :agora")
+    List<TransicaoReservaDTO> travarTerminadas(
+        @Param("ids") Collection<Long> ids,
+        @Param("status") Reserva.StatusReserva status,
+        @Param("agora") LocalDateTime agora
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.unb.projeto_tppe.dto.TransicaoReservaDTO(r.id, v.id, r.dataInicio, r.dataFim, r.status, "
+         + "r.valorTotal, TYPE(v)) FROM Reserva r JOIN r.veiculo v "
+         + "WHERE r.id IN :ids AND r.status = :status AND r.dataInicio <= :limite")
+    List<TransicaoReservaDTO> travarIniciadasAte(
+        @Param("ids") Collection<Long> ids,
+        @Param("status") Reserva.StatusReserva status,
+        @Param("limite") LocalDateTime limite
+    );
+
+    // VERSIONED incrementa a versão das linhas, como o UPDATE de cada entidade faria; o número de
+    // alteração é o que MarcadorAlteracaoReserva gravaria
+    @Modifying
+    @Query("UPDATE VERSIONED Reserva r SET r.status = :status, r.sequenciaAlteracao = :sequencia WHERE r.id IN :ids")
+    int atualizarStatus(@Param("ids") Collection<Long> ids, @Param("status") Reserva.StatusReserva status,
+                        @Param("sequencia") long sequencia);
+
+    // Posição (sequência, id) posterior à informada, até a última sequência confirmada.
+    // Ver idx_reservas_sequencia_alteracao
+    @EntityGraph(Reserva.GRAFO_COMPLETO)
+    @Query("SELECT r FROM Reserva r WHERE (r.sequenciaAlteracao > :sequencia "
+         + "OR (r.sequenciaAlteracao = :sequencia AND r.id > :cursor)) AND r.sequenciaAlteracao <= :ate "
+         + "ORDER BY r.sequenciaAlteracao, r.id")
+    List<Reserva> findAlteradas(
+        @Param("sequencia") long sequencia,
+        @Param("cursor") long cursor,
+        @Param("ate") long ate,
+        Limit limite
+    );
+
+    @Query("SELECT COALESCE(MAX(r.sequenciaAlteracao), 0) FROM Reserva r")
+    long findMaiorSequenciaAlteracao();
+
+    @Query("SELECT MIN(r.id) FROM Reserva r")
+    Long findMenorId();
+
+    @Query("SELECT MAX(r.id) FROM Reserva r")
+    Long findMaiorId();
 }
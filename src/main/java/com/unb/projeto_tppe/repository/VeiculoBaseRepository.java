@@ -1,13 +1,56 @@
 package com.unb.projeto_tppe.repository;
 
+import com.unb.projeto_tppe.dto.VeiculoResumoDTO;
+import com.unb.projeto_tppe.model.Reserva;
 import com.unb.projeto_tppe.model.Veiculo;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.unb.projeto_tppe.model.Veiculo.StatusVeiculo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.Collection;
 
 @Repository
-public interface VeiculoBaseRepository extends JpaRepository<Veiculo, Long> {
-    Optional<Veiculo> findByPlaca(String placa);
-    boolean existsByPlaca(String placa);
+public interface VeiculoBaseRepository extends VeiculoRepository<Veiculo> {
+
+    // Uma única consulta na tabela base para todos os tipos: o tipo vem da coluna discriminadora
+    // (tipo_veiculo), sem junção com as tabelas das subclasses
+    @Query("SELECT new com.unb.projeto_tppe.dto.VeiculoResumoDTO(v.id, TYPE(v), v.placa, v.marca, v.modelo, "
+         + "v.anoModelo, v.cor, v.dataAquisicao, v.status, v.valor) "
+         + "FROM Veiculo v WHERE TYPE(v) IN :tipos")
+    Slice<VeiculoResumoDTO> findResumosPorTipo(
+        @Param("tipos") Collection<Class<? extends Veiculo>> tipos,
+        Pageable pagina
+    );
+
+    // Ciclo de vida das reservas: os veículos disponíveis das reservas confirmadas em andamento
+    // passam a alugados. Como todo UPDATE em massa do Hibernate, descarta a região veiculos do cache
+    @Modifying
+    @Query("UPDATE VERSIONED Veiculo v SET v.status = :alugado WHERE v.status = :disponivel AND v.id IN "
+         + "(SELECT r.veiculo.id FROM Reserva r WHERE r.id IN :reservaIds AND r.status = :confirmada "
+         + "AND r.dataInicio <= :agora AND r.dataFim > :agora)")
+    int marcarAlugados(
+        @Param("reservaIds") Collection<Long> reservaIds,
+        @Param("confirmada") Reserva.StatusReserva confirmada,
+        @Param("agora") LocalDateTime agora,
+        @Param("disponivel") StatusVeiculo disponivel,
+        @Param("alugado") StatusVeiculo alugado
+    );
+
+    // Os veículos alugados voltam a disponíveis, exceto os que já estão em outra reserva confirmada em andamento
+    @Modifying
+    @Query("UPDATE VERSIONED Veiculo v SET v.status = :disponivel WHERE v.status = :alugado AND v.id IN :veiculoIds "
+         + "AND NOT EXISTS (SELECT 1 FROM Reserva r WHERE r.veiculo.id = v.id AND r.status = :confirmada "
+         + "AND r.dataInicio <= :agora AND r.dataFim > :agora)")
+    int liberar(
+        @Param("veiculoIds") Collection<Long> veiculoIds,
+        @Param("confirmada") Reserva.StatusReserva confirmada,
+        @Param("agora") LocalDateTime agora,
+        @Param("alugado") StatusVeiculo alugado,
+        @Param("disponivel") StatusVeiculo disponivel
+    );
 }
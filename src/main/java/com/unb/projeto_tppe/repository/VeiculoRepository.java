@@ -1,15 +1,31 @@
 package com.unb.projeto_tppe.repository;
 
+import com.unb.projeto_tppe.dto.VeiculoResumoDTO;
 import com.unb.projeto_tppe.model.Veiculo;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.unb.projeto_tppe.model.Veiculo.StatusVeiculo;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @NoRepositoryBean
-public interface VeiculoRepository<T extends Veiculo> extends JpaRepository<T, Long> {
+public interface VeiculoRepository<T extends Veiculo> extends PaginacaoRepository<T> {
     
     Optional<T> findByPlaca(String placa);
     
     boolean existsByPlaca(String placa);
+    
+    @Query("SELECT new com.unb.projeto_tppe.dto.VeiculoResumoDTO(v.id, TYPE(v), v.placa, v.marca, v.modelo, "
+         + "v.anoModelo, v.cor, v.dataAquisicao, v.status, v.valor) "
+         + "FROM #{#entityName} v WHERE v.id > :cursor ORDER BY v.id")
+    List<VeiculoResumoDTO> findResumos(@Param("cursor") Long cursor, Limit limite);
+    
+    @Query("SELECT new com.unb.projeto_tppe.dto.VeiculoResumoDTO(v.id, TYPE(v), v.placa, v.marca, v.modelo, "
+         + "v.anoModelo, v.cor, v.dataAquisicao, v.status, v.valor) "
+         + "FROM #{#entityName} v WHERE v.status IN :status ORDER BY v.id")
+    List<VeiculoResumoDTO> findResumosPorStatus(@Param("status") Collection<StatusVeiculo> status);
 }
@@ -0,0 +1,65 @@
+package com.unb.projeto_tppe.service;
+
+import com.unb.projeto_tppe.dto.IntervaloReservaDTO;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Períodos ocupados de cada veículo durante a validação de um lote de reservas.
+ *
+ * Os períodos de um mesmo veículo são mantidos disjuntos e ordenados pelo início; assim
+ * também ficam ordenados pelo fim, e basta comparar um novo período com o último que
+ * começa até o seu fim para saber se há sobreposição.
+ */
+final class AgendaLote {
+
+    private final Map<Long, TreeMap<LocalDateTime, LocalDateTime>> porVeiculo = new HashMap<>();
+
+    /**
+     * Marca como ocupados os períodos de reservas já gravadas, unindo os que se sobrepõem
+     * @param intervalos Reservas ativas dos veículos do lote
+     */
+    void carregar(List<IntervaloReservaDTO> intervalos) {
+        List<IntervaloReservaDTO> ordenados = intervalos.stream()
+            .sorted(Comparator.comparing(IntervaloReservaDTO::veiculoId)
+                .thenComparing(IntervaloReservaDTO::dataInicio))
+            .toList();
+        for (IntervaloReservaDTO intervalo : ordenados) {
+            TreeMap<LocalDateTime, LocalDateTime> agenda = agenda(intervalo.veiculoId());
+            Map.Entry<LocalDateTime, LocalDateTime> ultimo = agenda.lastEntry();
+            if (ultimo != null && !ultimo.getValue().isBefore(intervalo.dataInicio())) {
+                if (intervalo.dataFim().isAfter(ultimo.getValue())) {
+                    agenda.put(ultimo.getKey(), intervalo.dataFim());
+                }
+            } else {
+                agenda.put(intervalo.dataInicio(), intervalo.dataFim());
+            }
+        }
+    }
+
+    /**
+     * Ocupa o período se ele estiver livre
+     * @param veiculoId ID do veículo
+     * @param dataInicio Data de início
+     * @param dataFim Data de fim
+     * @return true se o período foi ocupado, false se conflita com outro já ocupado
+     */
+    boolean ocupar(Long veiculoId, LocalDateTime dataInicio, LocalDateTime dataFim) {
+        TreeMap<LocalDateTime, LocalDateTime> agenda = agenda(veiculoId);
+        Map.Entry<LocalDateTime, LocalDateTime> anterior = agenda.floorEntry(dataFim);
+        if (anterior != null && !anterior.getValue().isBefore(dataInicio)) {
+            return false;
+        }
+        agenda.put(dataInicio, dataFim);
+        return true;
+    }
+
+    private TreeMap<LocalDateTime, LocalDateTime> agenda(Long veiculoId) {
+        return porVeiculo.computeIfAbsent(veiculoId, id -> new TreeMap<>());
+    }
+}
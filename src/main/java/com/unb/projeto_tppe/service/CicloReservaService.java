@@ -0,0 +1,335 @@
+package com.unb.projeto_tppe.service;
+
+import com.unb.projeto_tppe.dto.AgendaReservaDTO;
+import com.unb.projeto_tppe.dto.EventoAlteracaoDTO;
+import com.unb.projeto_tppe.dto.TransicaoReservaDTO;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.model.Reserva.StatusReserva;
+import com.unb.projeto_tppe.model.Veiculo.StatusVeiculo;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+import com.unb.projeto_tppe.repository.VeiculoBaseRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Ciclo de vida automático das reservas:
+ * <ul>
+ *   <li>retirada: no início de uma reserva confirmada, o veículo disponível passa a ALUGADO;</li>
+ *   <li>conclusão: no fim de uma reserva confirmada, ela passa a CONCLUIDA e o veículo volta a
+ *       DISPONIVEL, se não estiver em outra reserva confirmada em andamento;</li>
+ *   <li>expiração: uma reserva ainda PENDENTE {@code reservas.ciclo.expiracao-pendente} depois do
+ *       início é cancelada.</li>
+ * </ul>
+ *
+ * Os vencimentos ficam em uma {@link RodaTemporal} em memória, de modo que cada execução só trata as
+ * reservas que venceram desde a anterior, sem varrer a tabela. A roda guarda apenas os vencimentos até
+ * {@code reservas.ciclo.horizonte} à frente; ela é recarregada do banco na inicialização e sempre que
+ * metade do horizonte passa, e cada escrita confirmada em {@link ReservaServiceImpl} agenda a reserva
+ * alterada. A recarga também traz de volta vencimentos já passados que ainda não foram aplicados.
+ *
+ * As reservas vencidas são alteradas em blocos de {@code reservas.ciclo.lote} IDs, cada um na sua
+ * transação: as linhas do bloco são travadas e lidas em uma consulta, e o status das reservas, dos
+ * veículos e do painel muda com um UPDATE em massa para o bloco inteiro. As travas duram apenas um
+ * bloco, e as condições das consultas descartam os vencimentos que deixaram de valer (reserva
+ * alterada, cancelada ou excluída depois de agendada).
+ */
+@Service
+public class CicloReservaService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CicloReservaService.class);
+
+    private static final long DURACAO_TICK = Duration.ofSeconds(1).toMillis();
+
+    enum Transicao { RETIRADA, CONCLUSAO, EXPIRACAO }
+
+    private record Vencimento(long reservaId, Transicao transicao) {
+    }
+
+    /**
+     * Quantidades alteradas em uma execução do ciclo
+     * @param veiculosAlugados Veículos que passaram a ALUGADO na retirada
+     * @param concluidas Reservas que passaram a CONCLUIDA
+     * @param expiradas Reservas pendentes canceladas
+     */
+    public record ResultadoCiclo(int veiculosAlugados, int concluidas, int expiradas) {
+    }
+
+    private final ReservaRepository reservaRepository;
+
+    private final VeiculoBaseRepository veiculoRepository;
+
+    private final IndiceConflitoReserva indiceConflito;
+
+    private final ResumoReservaService resumoReservas;
+
+    private final PainelReservaService painelReservas;
+
+    private final VersoesAgregados versoes;
+
+    private final FeedAlteracoes feed;
+
+    private final SequenciaAlteracoes sequencias;
+
+    private final TransactionTemplate transacao;
+
+    private final TransactionTemplate leitura;
+
+    private final Duration expiracaoPendente;
+
+    private final Duration horizonte;
+
+    private final int lote;
+
+    private final Map<Transicao, Counter> transicoes = new EnumMap<>(Transicao.class);
+
+    private final RodaTemporal<Vencimento> roda =
+        new RodaTemporal<>(DURACAO_TICK, milissegundos(LocalDateTime.now()));
+
+    // Vencimentos até este instante estão na roda; null antes da primeira carga
+    private volatile LocalDateTime carregadoAte;
+
+    @Autowired
+    public CicloReservaService(ReservaRepository reservaRepository,
+                               VeiculoBaseRepository veiculoRepository,
+                               IndiceConflitoReserva indiceConflito,
+                               ResumoReservaService resumoReservas,
+                               PainelReservaService painelReservas,
+                               VersoesAgregados versoes,
+                               FeedAlteracoes feed,
+                               SequenciaAlteracoes sequencias,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry registro,
+                               @Value("${reservas.ciclo.expiracao-pendente:1h}") Duration expiracaoPendente,
+                               @Value("${reservas.ciclo.horizonte:6h}") Duration horizonte,
+                               @Value("${reservas.ciclo.lote:1000}") int lote) {
+        this.reservaRepository = reservaRepository;
+        this.veiculoRepository = veiculoRepository;
+        this.indiceConflito = indiceConflito;
+        this.resumoReservas = resumoReservas;
+        this.painelReservas = painelReservas;
+        this.versoes = versoes;
+        this.feed = feed;
+        this.sequencias = sequencias;
+        this.transacao = new TransactionTemplate(transactionManager);
+        // Não é somente leitura para ir ao primário: uma réplica atrasada deixaria de fora da roda
+        // vencimentos já confirmados, e a roda só volta a buscá-los quando o horizonte avança
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.expiracaoPendente = expiracaoPendente;
+        this.horizonte = horizonte;
+        this.lote = Math.max(1, lote);
+        for (Transicao transicao : Transicao.values()) {
+            transicoes.put(transicao, Counter.builder("reservas.ciclo.transicoes")
+                .description("Reservas alteradas pelo ciclo de vida automático")
+                .tag("tipo", transicao.name().toLowerCase(Locale.ROOT))
+                .register(registro));
+        }
+        Gauge.builder("reservas.ciclo.agendadas", roda, RodaTemporal::tamanho)
+            .description("Vencimentos de reservas aguardando na roda temporal")
+            .register(registro);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        carregar(LocalDateTime.now());
+    }
+
+    /**
+     * Execução periódica, ativa com {@code reservas.ciclo.habilitado=true}
+     */
+    @Scheduled(fixedDelayString = "${reservas.ciclo.intervalo:30s}",
+               initialDelayString = "${reservas.ciclo.intervalo:30s}")
+    public void executar() {
+        ResultadoCiclo resultado = avancar(LocalDateTime.now());
+        if (resultado.veiculosAlugados() + resultado.concluidas() + resultado.expiradas() > 0) {
+            LOGGER.info("Ciclo de reservas: {} veículos alugados, {} reservas concluídas, {} expiradas",
+                        resultado.veiculosAlugados(), resultado.concluidas(), resultado.expiradas());
+        }
+    }
+
+    /**
+     * Aplica as transições vencidas até o instante informado
+     * @param agora Instante atual
+     * @return Quantidades alteradas
+     */
+    public synchronized ResultadoCiclo avancar(LocalDateTime agora) {
+        Map<Transicao, Set<Long>> vencidas = new EnumMap<>(Transicao.class);
+        for (Transicao transicao : Transicao.values()) {
+            vencidas.put(transicao, new TreeSet<>());
+        }
+        if (carregadoAte == null || agora.plus(horizonte.dividedBy(2)).isAfter(carregadoAte)) {
+            carregar(agora);
+        }
+        for (Vencimento vencimento : roda.avancar(milissegundos(agora))) {
+            vencidas.get(vencimento.transicao()).add(vencimento.reservaId());
+        }
+
+        // Conclusões antes das retiradas: o veículo de uma reserva que termina quando outra começa
+        // continua alugado, em vez de ser liberado depois de marcado
+        int concluidas = emBlocos(vencidas.get(Transicao.CONCLUSAO), ids -> concluir(ids, agora));
+        int alugados = emBlocos(vencidas.get(Transicao.RETIRADA), ids -> retirar(ids, agora));
+        int expiradas = emBlocos(vencidas.get(Transicao.EXPIRACAO), ids -> expirar(ids, agora));
+        transicoes.get(Transicao.CONCLUSAO).increment(concluidas);
+        transicoes.get(Transicao.RETIRADA).increment(alugados);
+        transicoes.get(Transicao.EXPIRACAO).increment(expiradas);
+        return new ResultadoCiclo(alugados, concluidas, expiradas);
+    }
+
+    /**
+     * Agenda as transições de uma reserva gravada. Deve ser chamado somente depois do commit;
+     * os vencimentos além do horizonte carregado ficam para a próxima recarga
+     * @param reserva Reserva salva
+     */
+    public void agendar(Reserva reserva) {
+        LocalDateTime ate = carregadoAte;
+        if (ate != null) {
+            agendar(reserva.getId(), reserva.getStatus(), reserva.getDataInicio(), reserva.getDataFim(),
+                    vencimento -> !vencimento.isAfter(ate));
+        }
+    }
+
+    /**
+     * @return Quantidade de vencimentos aguardando na roda
+     */
+    public int agendadas() {
+        return roda.tamanho();
+    }
+
+    // Carrega os vencimentos até agora + horizonte que ainda não estão na roda, mais os já vencidos
+    private void carregar(LocalDateTime agora) {
+        LocalDateTime anterior = carregadoAte;
+        LocalDateTime ate = agora.plus(horizonte);
+        int tamanhoAntes = roda.tamanho();
+        leitura.executeWithoutResult(status -> {
+            try (Stream<AgendaReservaDTO> agenda = reservaRepository.streamAgenda(
+                     StatusReserva.CONFIRMADA, ate, StatusReserva.PENDENTE, ate.minus(expiracaoPendente))) {
+                agenda.forEach(reserva -> agendar(reserva.id(), reserva.status(), reserva.dataInicio(),
+                    reserva.dataFim(), vencimento -> !vencimento.isAfter(ate)
+                        && (anterior == null || vencimento.isAfter(anterior) || !vencimento.isAfter(agora))));
+            }
+        });
+        carregadoAte = ate;
+        LOGGER.debug("Roda de reservas carregada até {} com {} novos vencimentos", ate, roda.tamanho() - tamanhoAntes);
+    }
+
+    private void agendar(Long reservaId, StatusReserva status, LocalDateTime dataInicio, LocalDateTime dataFim,
+                         Predicate<LocalDateTime> aceito) {
+        if (status == StatusReserva.CONFIRMADA) {
+            agendar(reservaId, Transicao.RETIRADA, dataInicio, aceito);
+            agendar(reservaId, Transicao.CONCLUSAO, dataFim, aceito);
+        } else if (status == StatusReserva.PENDENTE) {
+            agendar(reservaId, Transicao.EXPIRACAO, dataInicio.plus(expiracaoPendente), aceito);
+        }
+    }
+
+    private void agendar(Long reservaId, Transicao transicao, LocalDateTime vencimento,
+                         Predicate<LocalDateTime> aceito) {
+        if (aceito.test(vencimento)) {
+            roda.agendar(milissegundos(vencimento), new Vencimento(reservaId, transicao));
+        }
+    }
+
+    private int emBlocos(Set<Long> ids, ToIntFunction<List<Long>> acao) {
+        List<Long> ordenados = new ArrayList<>(ids);
+        int alterados = 0;
+        for (int i = 0; i < ordenados.size(); i += lote) {
+            List<Long> bloco = ordenados.subList(i, Math.min(ordenados.size(), i + lote));
+            alterados += transacao.execute(status -> acao.applyAsInt(bloco));
+        }
+        return alterados;
+    }
+
+    private int concluir(List<Long> ids, LocalDateTime agora) {
+        List<TransicaoReservaDTO> reservas = reservaRepository.travarTerminadas(ids, StatusReserva.CONFIRMADA, agora);
+        if (reservas.isEmpty()) {
+            return 0;
+        }
+        mudarStatus(reservas, StatusReserva.CONCLUIDA);
+        Set<Long> veiculoIds = reservas.stream().map(TransicaoReservaDTO::veiculoId).collect(Collectors.toSet());
+        if (veiculoRepository.liberar(veiculoIds, StatusReserva.CONFIRMADA, agora,
+                                      StatusVeiculo.ALUGADO, StatusVeiculo.DISPONIVEL) > 0) {
+            registrarVeiculosAlterados(veiculoIds);
+        }
+        return reservas.size();
+    }
+
+    private int retirar(List<Long> ids, LocalDateTime agora) {
+        int alugados = veiculoRepository.marcarAlugados(ids, StatusReserva.CONFIRMADA, agora,
+                                                         StatusVeiculo.DISPONIVEL, StatusVeiculo.ALUGADO);
+        if (alugados > 0) {
+            registrarVeiculosAlterados(null);
+        }
+        return alugados;
+    }
+
+    private int expirar(List<Long> ids, LocalDateTime agora) {
+        List<TransicaoReservaDTO> reservas = reservaRepository.travarIniciadasAte(
+            ids, StatusReserva.PENDENTE, agora.minus(expiracaoPendente));
+        if (reservas.isEmpty()) {
+            return 0;
+        }
+        mudarStatus(reservas, StatusReserva.CANCELADA);
+        aposCommit(() -> reservas.forEach(reserva -> indiceConflito.remover(reserva.id())));
+        return reservas.size();
+    }
+
+    private void mudarStatus(List<TransicaoReservaDTO> reservas, StatusReserva status) {
+        List<Long> ids = reservas.stream().map(TransicaoReservaDTO::id).toList();
+        reservaRepository.atualizarStatus(ids, status, sequencias.atual());
+        painelReservas.atualizarStatus(ids, status);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.RESERVAS);
+        feed.publicar(VersoesAgregados.Agregado.RESERVAS, EventoAlteracaoDTO.Tipo.ALTERACAO, ids);
+        resumoReservas.substituir(reservas.stream().map(reserva -> new ResumoReservaService.Substituicao(
+            reserva.id(), reserva.anterior(), reserva.atual(status))).toList());
+    }
+
+    // O UPDATE em massa não informa quais veículos mudaram: vão os candidatos, ou nenhum ID quando não se sabe
+    private void registrarVeiculosAlterados(Collection<Long> veiculoIds) {
+        versoes.registrarEscrita(VersoesAgregados.Agregado.VEICULOS);
+        feed.publicar(VersoesAgregados.Agregado.VEICULOS, EventoAlteracaoDTO.Tipo.ALTERACAO, veiculoIds);
+    }
+
+    // Como em ReservaServiceImpl: o índice só reflete escritas confirmadas
+    private static void aposCommit(Runnable acao) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    private static long milissegundos(LocalDateTime instante) {
+        return instante.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,102 @@
+package com.unb.projeto_tppe.service;
+
+import com.unb.projeto_tppe.dto.VeiculoResumoDTO;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.model.Veiculo.StatusVeiculo;
+import com.unb.projeto_tppe.repository.MotocicletaRepository;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+import com.unb.projeto_tppe.repository.UtilitarioRepository;
+import com.unb.projeto_tppe.repository.VeiculoBaseRepository;
+import com.unb.projeto_tppe.repository.VeiculoRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Busca de veículos livres em um período.
+ *
+ * Os veículos reserváveis do tipo pedido são lidos em uma única consulta de projeção e filtrados
+ * pelo calendário de ocupação do {@link IndiceConflitoReserva}. Para períodos que o índice não
+ * cobre, os veículos ocupados são obtidos em uma única consulta ao banco.
+ */
+@Service
+public class DisponibilidadeVeiculoService {
+
+    // Veículos em manutenção ou vendidos nunca aparecem como disponíveis
+    private static final Set<StatusVeiculo> STATUS_RESERVAVEIS =
+        EnumSet.of(StatusVeiculo.DISPONIVEL, StatusVeiculo.ALUGADO);
+
+    private final VeiculoBaseRepository veiculoRepository;
+
+    private final PasseioRepository passeioRepository;
+
+    private final UtilitarioRepository utilitarioRepository;
+
+    private final MotocicletaRepository motocicletaRepository;
+
+    private final ReservaRepository reservaRepository;
+
+    private final IndiceConflitoReserva indiceConflito;
+
+    @Autowired
+    public DisponibilidadeVeiculoService(VeiculoBaseRepository veiculoRepository,
+                                         PasseioRepository passeioRepository,
+                                         UtilitarioRepository utilitarioRepository,
+                                         MotocicletaRepository motocicletaRepository,
+                                         ReservaRepository reservaRepository,
+                                         IndiceConflitoReserva indiceConflito) {
+        this.veiculoRepository = veiculoRepository;
+        this.passeioRepository = passeioRepository;
+        this.utilitarioRepository = utilitarioRepository;
+        this.motocicletaRepository = motocicletaRepository;
+        this.reservaRepository = reservaRepository;
+        this.indiceConflito = indiceConflito;
+    }
+
+    /**
+     * Busca os veículos sem reserva ativa que se sobreponha ao período
+     * @param inicio Data de início do período
+     * @param fim Data de fim do período
+     * @param tipo PASSEIO, UTILITARIO ou MOTOCICLETA; null para todos os tipos
+     * @return Veículos disponíveis em ordem de ID
+     */
+    @Transactional(readOnly = true)
+    public List<VeiculoResumoDTO> buscarDisponiveis(LocalDateTime inicio, LocalDateTime fim, String tipo) {
+        if (!inicio.isBefore(fim)) {
+            throw new IllegalArgumentException("A data de início deve ser anterior à data de fim");
+        }
+        List<VeiculoResumoDTO> candidatos = repositorioPorTipo(tipo).findResumosPorStatus(STATUS_RESERVAVEIS);
+
+        if (indiceConflito.cobre(inicio)) {
+            return candidatos.stream()
+                .filter(veiculo -> !indiceConflito.estaOcupado(inicio, fim, veiculo.id()))
+                .toList();
+        }
+        Set<Long> ocupados = new HashSet<>(
+            reservaRepository.findVeiculosOcupados(inicio, fim, Reserva.StatusReserva.CANCELADA));
+        return candidatos.stream()
+            .filter(veiculo -> !ocupados.contains(veiculo.id()))
+            .toList();
+    }
+
+    private VeiculoRepository<?> repositorioPorTipo(String tipo) {
+        if (tipo == null || tipo.isBlank()) {
+            return veiculoRepository;
+        }
+        return switch (tipo.toUpperCase(Locale.ROOT)) {
+            case "PASSEIO" -> passeioRepository;
+            case "UTILITARIO" -> utilitarioRepository;
+            case "MOTOCICLETA" -> motocicletaRepository;
+            default -> throw new IllegalArgumentException("Tipo de veículo inválido: " + tipo);
+        };
+    }
+}
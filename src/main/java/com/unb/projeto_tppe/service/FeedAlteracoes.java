@@ -0,0 +1,122 @@
+package com.unb.projeto_tppe.service;
+
+import com.unb.projeto_tppe.dto.EventoAlteracaoDTO;
+import com.unb.projeto_tppe.service.VersoesAgregados.Agregado;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Feed das alterações feitas pelos serviços em reservas, veículos e pessoas.
+ *
+ * Cada escrita publica um evento compacto (agregado, tipo e IDs), entregue somente após o commit,
+ * na ordem de publicação e com um número de sequência crescente. Os últimos {@code eventos.historico}
+ * eventos ficam guardados para que um cliente reconectado receba o que perdeu
+ * ({@link #acompanhar(Long, BiConsumer)}). A sequência parte do relógio, em milésimos de milissegundo,
+ * para que uma inicialização nova comece acima de qualquer sequência da anterior.
+ */
+@Component
+public class FeedAlteracoes {
+
+    private final List<Consumer<EventoAlteracaoDTO>> ouvintes = new CopyOnWriteArrayList<>();
+
+    private final Deque<EventoAlteracaoDTO> historico = new ArrayDeque<>();
+
+    private final int tamanhoHistorico;
+
+    private long sequencia;
+
+    @Autowired
+    public FeedAlteracoes(@Value("${eventos.historico:1024}") int tamanhoHistorico) {
+        this.tamanhoHistorico = Math.max(1, tamanhoHistorico);
+        this.sequencia = System.currentTimeMillis() * 1000;
+    }
+
+    /**
+     * Publica a alteração de um registro
+     * @param agregado Agregado alterado
+     * @param tipo Tipo da alteração
+     * @param id ID do registro
+     */
+    public void publicar(Agregado agregado, EventoAlteracaoDTO.Tipo tipo, Long id) {
+        publicar(agregado, tipo, List.of(id));
+    }
+
+    /**
+     * Publica a alteração de vários registros. Dentro de uma transação o evento só é
+     * entregue após o commit, e não é entregue se houver rollback
+     * @param agregado Agregado alterado
+     * @param tipo Tipo da alteração
+     * @param ids IDs dos registros; null quando não se sabe quais mudaram
+     */
+    public void publicar(Agregado agregado, EventoAlteracaoDTO.Tipo tipo, Collection<Long> ids) {
+        if (ids != null && ids.isEmpty()) {
+            return;
+        }
+        List<Long> enviados = ids == null || ids.size() > EventoAlteracaoDTO.LIMITE_IDS ? null : List.copyOf(ids);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            entregar(agregado, tipo, enviados);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entregar(agregado, tipo, enviados);
+            }
+        });
+    }
+
+    /**
+     * Registra quem recebe cada evento publicado. O ouvinte é chamado na ordem da sequência,
+     * pela thread que fez o commit, e não deve bloquear
+     * @param ouvinte Recebe os eventos
+     */
+    public void aoPublicar(Consumer<EventoAlteracaoDTO> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    /**
+     * Lê os eventos perdidos por um cliente e executa uma ação sem que nenhum evento novo seja
+     * entregue no meio: um ouvinte registrado pela ação recebe exatamente os eventos seguintes
+     * @param ultimaSequencia Sequência do último evento recebido pelo cliente; null para nenhum
+     * @param acao Recebe a sequência atual e os eventos posteriores a {@code ultimaSequencia}, em ordem,
+     *             ou vazio se algum deles já saiu do histórico ou a sequência é de outra inicialização
+     */
+    public synchronized void acompanhar(Long ultimaSequencia,
+                                        BiConsumer<Long, Optional<List<EventoAlteracaoDTO>>> acao) {
+        acao.accept(sequencia, perdidos(ultimaSequencia));
+    }
+
+    private Optional<List<EventoAlteracaoDTO>> perdidos(Long ultimaSequencia) {
+        if (ultimaSequencia == null || ultimaSequencia == sequencia) {
+            return Optional.of(List.of());
+        }
+        boolean foraDoHistorico = historico.isEmpty() || historico.peekFirst().sequencia() > ultimaSequencia + 1;
+        if (ultimaSequencia > sequencia || foraDoHistorico) {
+            return Optional.empty();
+        }
+        return Optional.of(historico.stream().filter(evento -> evento.sequencia() > ultimaSequencia).toList());
+    }
+
+    // Sob a trava: a sequência e a ordem de entrega aos ouvintes são as mesmas
+    private synchronized void entregar(Agregado agregado, EventoAlteracaoDTO.Tipo tipo, List<Long> ids) {
+        EventoAlteracaoDTO evento = new EventoAlteracaoDTO(++sequencia, agregado, tipo, ids);
+        historico.addLast(evento);
+        if (historico.size() > tamanhoHistorico) {
+            historico.removeFirst();
+        }
+        ouvintes.forEach(ouvinte -> ouvinte.accept(evento));
+    }
+}
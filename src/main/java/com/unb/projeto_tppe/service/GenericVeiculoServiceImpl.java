@@ -1,29 +1,71 @@
 package com.unb.projeto_tppe.service;
 
+import com.unb.projeto_tppe.dto.EventoAlteracaoDTO;
+import com.unb.projeto_tppe.dto.PaginaDTO;
+import com.unb.projeto_tppe.dto.VeiculoResumoDTO;
+import com.unb.projeto_tppe.model.Motocicleta;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.Utilitario;
 import com.unb.projeto_tppe.model.Veiculo;
 import com.unb.projeto_tppe.repository.VeiculoBaseRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class GenericVeiculoServiceImpl implements VeiculoService<Veiculo> {
 
+    private static final Map<String, Class<? extends Veiculo>> TIPOS = Map.of(
+        "PASSEIO", Passeio.class, "UTILITARIO", Utilitario.class, "MOTOCICLETA", Motocicleta.class);
+
     private final VeiculoBaseRepository veiculoRepository;
 
+    private final LeituraEmFluxo leituraEmFluxo;
+
+    private final PainelReservaService painelReservas;
+
+    private final VersoesAgregados versoes;
+
+    private final FeedAlteracoes feed;
+
     @Autowired
-    public GenericVeiculoServiceImpl(VeiculoBaseRepository veiculoRepository) {
+    public GenericVeiculoServiceImpl(VeiculoBaseRepository veiculoRepository, LeituraEmFluxo leituraEmFluxo,
+                                     PainelReservaService painelReservas, VersoesAgregados versoes,
+                                     FeedAlteracoes feed) {
         this.veiculoRepository = veiculoRepository;
+        this.leituraEmFluxo = leituraEmFluxo;
+        this.painelReservas = painelReservas;
+        this.versoes = versoes;
+        this.feed = feed;
     }
 
     @Override
     @Transactional
     public Veiculo salvar(Veiculo veiculo) {
-        return veiculoRepository.save(veiculo);
+        boolean existente = veiculo.getId() != null;
+        Veiculo veiculoSalvo = veiculoRepository.save(veiculo);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.VEICULOS);
+        feed.publicar(VersoesAgregados.Agregado.VEICULOS,
+                      existente ? EventoAlteracaoDTO.Tipo.ALTERACAO : EventoAlteracaoDTO.Tipo.CRIACAO,
+                      veiculoSalvo.getId());
+        if (existente) {
+            painelReservas.atualizarVeiculo(veiculoSalvo);
+        }
+        return veiculoSalvo;
     }
 
     @Override
@@ -32,12 +74,92 @@ public class GenericVeiculoServiceImpl implements VeiculoService<Veiculo> {
         return veiculoRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<Veiculo> buscarPagina(Long cursor, Integer tamanho) {
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        List<Veiculo> registros = veiculoRepository.findByIdGreaterThanOrderByIdAsc(
+            cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.de(registros, limite, Veiculo::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<VeiculoResumoDTO> buscarResumos(Long cursor, Integer tamanho) {
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        List<VeiculoResumoDTO> registros = veiculoRepository.findResumos(
+            cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.de(registros, limite, VeiculoResumoDTO::id);
+    }
+
+    /**
+     * Lista o resumo de veículos de todos os tipos em uma única consulta, ordenado por qualquer campo
+     * do resumo e paginado por número de página
+     * @param tipos PASSEIO, UTILITARIO ou MOTOCICLETA; null ou vazio para todos os tipos
+     * @param pagina Número da página, a partir de 0
+     * @param tamanho Tamanho da página
+     * @param ordenarPor Campo do resumo usado na ordenação (padrão: id); empates são desfeitos pelo ID
+     * @param direcao asc ou desc (padrão: asc)
+     * @return Página de resumos com o número da página seguinte como cursor
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<VeiculoResumoDTO> buscarResumosPorTipo(Collection<String> tipos, Integer pagina, Integer tamanho,
+                                                             String ordenarPor, String direcao) {
+        if (pagina != null && pagina < 0) {
+            throw new IllegalArgumentException("A página deve ser maior ou igual a zero");
+        }
+        PageRequest pedido = PageRequest.of(pagina == null ? 0 : pagina, PaginaDTO.limitarTamanho(tamanho),
+                                            ordenacao(ordenarPor, direcao));
+        return PaginaDTO.de(veiculoRepository.findResumosPorTipo(classes(tipos), pedido));
+    }
+
+    private static Collection<Class<? extends Veiculo>> classes(Collection<String> tipos) {
+        if (tipos == null || tipos.isEmpty()) {
+            return TIPOS.values();
+        }
+        Set<Class<? extends Veiculo>> classes = new LinkedHashSet<>();
+        for (String tipo : tipos) {
+            Class<? extends Veiculo> classe = TIPOS.get(tipo.toUpperCase(Locale.ROOT));
+            if (classe == null) {
+                throw new IllegalArgumentException("Tipo de veículo inválido: " + tipo);
+            }
+            classes.add(classe);
+        }
+        return classes;
+    }
+
+    private static Sort ordenacao(String ordenarPor, String direcao) {
+        String campo = ordenarPor == null || ordenarPor.isBlank() ? "id" : ordenarPor;
+        if (!VeiculoResumoDTO.CAMPOS.contains(campo)) {
+            throw new IllegalArgumentException("Campo de ordenação inválido: " + ordenarPor);
+        }
+        Sort.Direction sentido = direcao == null || direcao.isBlank()
+            ? Sort.Direction.ASC
+            : Sort.Direction.fromOptionalString(direcao).orElseThrow(
+                () -> new IllegalArgumentException("Direção de ordenação inválida: " + direcao));
+        // O tipo não é um atributo: a ordenação é pela coluna discriminadora
+        Sort sort = campo.equals("tipo") ? JpaSort.unsafe(sentido, "TYPE(v)") : Sort.by(sentido, campo);
+        return campo.equals("id") ? sort : sort.and(Sort.by(sentido, "id"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void transmitirTodos(Consumer<? super Veiculo> consumidor) {
+        leituraEmFluxo.transmitir(veiculoRepository.streamAllByOrderByIdAsc(), consumidor);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Veiculo> buscarPorId(Long id) {
         return veiculoRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Veiculo> buscarPorIds(Collection<Long> ids) {
+        return veiculoRepository.findAllById(ids);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Veiculo> buscarPorPlaca(String placa) {
@@ -54,5 +176,7 @@ public class GenericVeiculoServiceImpl implements VeiculoService<Veiculo> {
     @Transactional
     public void excluir(Long id) {
         veiculoRepository.deleteById(id);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.VEICULOS);
+        feed.publicar(VersoesAgregados.Agregado.VEICULOS, EventoAlteracaoDTO.Tipo.EXCLUSAO, id);
     }
 }
@@ -0,0 +1,327 @@
+package com.unb.projeto_tppe.service;
+
+import com.unb.projeto_tppe.dto.IntervaloReservaDTO;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Índice em memória dos períodos reservados de cada veículo.
+ *
+ * Para cada veículo é mantido um mapa ordenado pela data de início das reservas ativas
+ * (qualquer status diferente de CANCELADA) e a maior duração já registrada. Uma consulta
+ * de sobreposição só precisa percorrer as reservas que começam entre
+ * {@code inicio - maiorDuracao} e {@code fim}, o que dá O(log n) para agendas sem
+ * sobreposição, sem acessar o banco.
+ *
+ * Cada agenda também mantém um bitmap das horas ocupadas, usado na busca de veículos
+ * disponíveis: um veículo sem nenhuma hora marcada no período está livre sem que seja
+ * preciso percorrer suas reservas.
+ *
+ * O índice é carregado na inicialização apenas com reservas que terminam a partir
+ * daquele momento; consultas que começam antes disso devem usar o banco
+ * (ver {@link #cobre(LocalDateTime)}). A cada {@code reservas.indice.limpeza} esse limite avança
+ * para o momento atual e as reservas que já terminaram saem do índice.
+ *
+ * O índice só enxerga as escritas desta instância. Com várias instâncias gravando reservas,
+ * {@code reservas.conflitos.instancia-unica=false} o desliga: {@link #cobre(LocalDateTime)} passa a
+ * responder false e toda verificação vai ao banco, onde a restrição {@code reservas_sem_sobreposicao}
+ * recusa no commit a reserva sobreposta gravada ao mesmo tempo por outra instância.
+ *
+ * Toda alteração de uma reserva passa por {@code intervalosPorReserva.compute}, que atualiza a agenda
+ * do veículo sob a trava daquele ID: a carga, as escritas e a limpeza nunca intercalam sobre a mesma reserva.
+ */
+@Component
+public class IndiceConflitoReserva implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndiceConflitoReserva.class);
+
+    private final ReservaRepository reservaRepository;
+
+    private final TransactionTemplate leitura;
+
+    private final ConcurrentMap<Long, AgendaVeiculo> agendas = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Long, IntervaloReservaDTO> intervalosPorReserva = new ConcurrentHashMap<>();
+
+    // IDs gravados ou excluídos enquanto a carga não terminou; a carga não os adiciona. Null depois dela
+    private volatile Set<Long> alteradasNaCarga = ConcurrentHashMap.newKeySet();
+
+    private volatile LocalDateTime cobertoDesde;
+
+    private final Duration intervaloLimpeza;
+
+    private final boolean instanciaUnica;
+
+    private final ScheduledExecutorService limpeza = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("indice-conflitos-limpeza").daemon().factory());
+
+    @Autowired
+    public IndiceConflitoReserva(ReservaRepository reservaRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${reservas.indice.limpeza:1h}") Duration intervaloLimpeza,
+                                 @Value("${reservas.conflitos.instancia-unica:true}") boolean instanciaUnica) {
+        this.reservaRepository = reservaRepository;
+        this.intervaloLimpeza = intervaloLimpeza;
+        this.instanciaUnica = instanciaUnica;
+        // Não é somente leitura para ir ao primário: a partir da carga o índice responde sozinho pelos
+        // conflitos, e uma réplica atrasada deixaria de fora reservas já confirmadas
+        this.leitura = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Carrega no índice as reservas ativas que ainda não terminaram
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        if (!instanciaUnica) {
+            LOGGER.info("Índice de conflitos desligado (reservas.conflitos.instancia-unica=false); "
+                        + "conflitos verificados no banco");
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        leitura.executeWithoutResult(status -> {
+            try (Stream<IntervaloReservaDTO> intervalos = reservaRepository.streamIntervalosAtivos(
+                    agora, Reserva.StatusReserva.CANCELADA)) {
+                // Escritas concorrentes à carga têm precedência sobre o que foi lido do banco, inclusive
+                // exclusões e cancelamentos, que não deixam intervalo no mapa
+                Set<Long> alteradas = alteradasNaCarga;
+                intervalos.forEach(intervalo -> intervalosPorReserva.compute(intervalo.id(), (id, atual) -> {
+                    if (atual != null || alteradas.contains(id)) {
+                        return atual;
+                    }
+                    agenda(intervalo.veiculoId()).adicionar(intervalo);
+                    return intervalo;
+                }));
+            }
+        });
+        cobertoDesde = agora;
+        alteradasNaCarga = null;
+        LOGGER.info("Índice de conflitos carregado com {} reservas ativas", intervalosPorReserva.size());
+        limpeza.scheduleWithFixedDelay(this::limpar, intervaloLimpeza.toMillis(), intervaloLimpeza.toMillis(),
+                                       TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Avança o início da cobertura para o momento atual e remove do índice as reservas que terminaram antes dele
+     */
+    public void limpar() {
+        LocalDateTime limite = LocalDateTime.now();
+        // Primeiro a cobertura: quem consultar antes do limite já vai ao banco, e nenhuma consulta a partir
+        // dele conflita com uma reserva que terminou antes
+        cobertoDesde = limite;
+        int removidas = 0;
+        for (IntervaloReservaDTO intervalo : intervalosPorReserva.values()) {
+            if (intervalo.dataFim().isBefore(limite)
+                    && intervalosPorReserva.computeIfPresent(intervalo.id(), (id, atual) -> {
+                        if (atual != intervalo) {
+                            return atual;
+                        }
+                        agenda(atual.veiculoId()).remover(atual);
+                        return null;
+                    }) == null) {
+                removidas++;
+            }
+        }
+        LOGGER.debug("Índice de conflitos coberto desde {}; {} reservas terminadas removidas", limite, removidas);
+    }
+
+    @Override
+    public void destroy() {
+        limpeza.shutdownNow();
+    }
+
+    /**
+     * Indica se o índice tem todas as reservas capazes de conflitar com um período
+     * que começa na data informada
+     * @param dataInicio Data de início do período consultado
+     * @return true se a consulta pode ser respondida apenas pelo índice
+     */
+    public boolean cobre(LocalDateTime dataInicio) {
+        LocalDateTime desde = cobertoDesde;
+        return desde != null && !dataInicio.isBefore(desde);
+    }
+
+    /**
+     * Verifica se existe reserva ativa do veículo que se sobrepõe ao período
+     * @param dataInicio Data de início do período
+     * @param dataFim Data de fim do período
+     * @param veiculoId ID do veículo
+     * @param reservaIgnoradaId ID de uma reserva a desconsiderar (a própria reserva em edição), ou null
+     * @return true se existir conflito, false caso contrário
+     */
+    public boolean existeConflito(LocalDateTime dataInicio, LocalDateTime dataFim, Long veiculoId,
+                                  Long reservaIgnoradaId) {
+        AgendaVeiculo agenda = agendas.get(veiculoId);
+        return agenda != null && agenda.existeConflito(dataInicio, dataFim, reservaIgnoradaId);
+    }
+
+    /**
+     * Verifica se o veículo está ocupado em algum momento do período, consultando
+     * primeiro o bitmap de horas ocupadas
+     * @param dataInicio Data de início do período
+     * @param dataFim Data de fim do período
+     * @param veiculoId ID do veículo
+     * @return true se alguma reserva ativa se sobrepõe ao período
+     */
+    public boolean estaOcupado(LocalDateTime dataInicio, LocalDateTime dataFim, Long veiculoId) {
+        AgendaVeiculo agenda = agendas.get(veiculoId);
+        return agenda != null && agenda.estaOcupado(dataInicio, dataFim);
+    }
+
+    /**
+     * Registra o estado atual de uma reserva, substituindo o período anterior.
+     * Reservas canceladas são apenas removidas do índice.
+     * @param reserva Reserva salva
+     */
+    public void registrar(Reserva reserva) {
+        substituir(reserva.getId(), reserva.getStatus() == Reserva.StatusReserva.CANCELADA ? null
+            : new IntervaloReservaDTO(reserva.getId(), reserva.getVeiculo().getId(),
+                                      reserva.getDataInicio(), reserva.getDataFim()));
+    }
+
+    /**
+     * Remove uma reserva do índice
+     * @param reservaId ID da reserva
+     */
+    public void remover(Long reservaId) {
+        substituir(reservaId, null);
+    }
+
+    private void substituir(Long reservaId, IntervaloReservaDTO intervalo) {
+        if (!instanciaUnica) {
+            return;
+        }
+        // Marcada antes da alteração: se a carga chegar a esta reserva depois, já encontra a marca
+        Set<Long> alteradas = alteradasNaCarga;
+        if (alteradas != null) {
+            alteradas.add(reservaId);
+        }
+        intervalosPorReserva.compute(reservaId, (id, anterior) -> {
+            if (anterior != null) {
+                agenda(anterior.veiculoId()).remover(anterior);
+            }
+            if (intervalo != null) {
+                agenda(intervalo.veiculoId()).adicionar(intervalo);
+            }
+            return intervalo;
+        });
+    }
+
+    private AgendaVeiculo agenda(Long veiculoId) {
+        return agendas.computeIfAbsent(veiculoId, id -> new AgendaVeiculo());
+    }
+
+    /**
+     * Reservas ativas de um único veículo, ordenadas por data de início
+     */
+    private static final class AgendaVeiculo {
+
+        private final ConcurrentSkipListMap<Chave, IntervaloReservaDTO> porInicio = new ConcurrentSkipListMap<>();
+
+        // Nunca diminui: manter um valor maior que o real só amplia a faixa percorrida
+        private final AtomicLong maiorDuracaoSegundos = new AtomicLong();
+
+        // Uma hora fica marcada se alguma reserva ativa ocupa ao menos parte dela.
+        // RoaringBitmap não é thread-safe: todo acesso é sincronizado no próprio bitmap.
+        private final RoaringBitmap horasOcupadas = new RoaringBitmap();
+
+        void adicionar(IntervaloReservaDTO intervalo) {
+            long duracao = Duration.between(intervalo.dataInicio(), intervalo.dataFim()).getSeconds();
+            maiorDuracaoSegundos.accumulateAndGet(duracao, Math::max);
+            porInicio.put(new Chave(intervalo.dataInicio(), intervalo.id()), intervalo);
+            synchronized (horasOcupadas) {
+                horasOcupadas.add(hora(intervalo.dataInicio()), hora(intervalo.dataFim()) + 1);
+            }
+        }
+
+        void remover(IntervaloReservaDTO intervalo) {
+            porInicio.remove(new Chave(intervalo.dataInicio(), intervalo.id()));
+            long primeira = hora(intervalo.dataInicio());
+            long ultima = hora(intervalo.dataFim());
+            synchronized (horasOcupadas) {
+                horasOcupadas.remove(primeira, ultima + 1);
+                // Reservas vizinhas podem compartilhar as horas das pontas; remarca o que ainda está ocupado
+                for (IntervaloReservaDTO restante : candidatos(intervalo.dataInicio(), intervalo.dataFim())) {
+                    if (restante.dataFim().isBefore(intervalo.dataInicio())) {
+                        continue;
+                    }
+                    horasOcupadas.add(Math.max(primeira, hora(restante.dataInicio())),
+                                      Math.min(ultima, hora(restante.dataFim())) + 1);
+                }
+            }
+        }
+
+        boolean existeConflito(LocalDateTime dataInicio, LocalDateTime dataFim, Long reservaIgnoradaId) {
+            for (IntervaloReservaDTO intervalo : candidatos(dataInicio, dataFim)) {
+                if (!intervalo.dataFim().isBefore(dataInicio) && !intervalo.id().equals(reservaIgnoradaId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean estaOcupado(LocalDateTime dataInicio, LocalDateTime dataFim) {
+            long primeira = hora(dataInicio);
+            long ultima = hora(dataFim);
+            synchronized (horasOcupadas) {
+                if (!horasOcupadas.intersects(primeira, ultima + 1)) {
+                    return false;
+                }
+                // Uma hora interna marcada está inteira dentro do período, então há sobreposição
+                if (ultima - primeira > 1 && horasOcupadas.intersects(primeira + 1, ultima)) {
+                    return true;
+                }
+            }
+            // Só as horas das pontas estão marcadas: a reserva pode terminar antes do início
+            // (ou começar depois do fim) dentro da mesma hora
+            return existeConflito(dataInicio, dataFim, null);
+        }
+
+        // Reservas que começam entre (início - maior duração) e o fim; ainda é preciso descartar
+        // as que terminam antes do início
+        private Collection<IntervaloReservaDTO> candidatos(LocalDateTime dataInicio, LocalDateTime dataFim) {
+            Chave de = new Chave(dataInicio.minusSeconds(maiorDuracaoSegundos.get()), Long.MIN_VALUE);
+            Chave ate = new Chave(dataFim, Long.MAX_VALUE);
+            return porInicio.subMap(de, true, ate, true).values();
+        }
+
+        private static long hora(LocalDateTime data) {
+            return Math.floorDiv(data.toEpochSecond(ZoneOffset.UTC), 3600);
+        }
+    }
+
+    private record Chave(LocalDateTime inicio, Long reservaId) implements Comparable<Chave> {
+
+        @Override
+        public int compareTo(Chave outra) {
+            int comparacao = inicio.compareTo(outra.inicio);
+            return comparacao != 0 ? comparacao : reservaId.compareTo(outra.reservaId);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.unb.projeto_tppe.service;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Consome um fluxo de entidades vindo do repositório mantendo o uso de memória constante:
+ * a cada {@code exportacoes.limpeza} entidades entregues ao consumidor, o contexto de persistência
+ * é limpo, levando junto as associações carregadas (veículo, clientes, endereços).
+ *
+ * O fluxo mantém a transação e a conexão abertas enquanto o consumidor escreve; para que um cliente
+ * lento não as segure indefinidamente, a leitura é interrompida depois de {@code exportacoes.duracao-maxima}.
+ * Deve ser chamado dentro de uma transação somente leitura, já que a limpeza descarta alterações pendentes.
+ */
+@Component
+public class LeituraEmFluxo {
+
+    private final EntityManager entityManager;
+
+    private final int limpeza;
+
+    private final Duration duracaoMaxima;
+
+    @Autowired
+    public LeituraEmFluxo(EntityManager entityManager,
+                          @Value("${exportacoes.limpeza:500}") int limpeza,
+                          @Value("${exportacoes.duracao-maxima:5m}") Duration duracaoMaxima) {
+        this.entityManager = entityManager;
+        this.limpeza = limpeza;
+        this.duracaoMaxima = duracaoMaxima;
+    }
+
+    /**
+     * Entrega cada entidade do fluxo ao consumidor e fecha o fluxo ao final
+     * @param fluxo Fluxo de entidades
+     * @param consumidor Consumidor das entidades
+     * @param <T> Tipo da entidade
+     * @throws QueryTimeoutException Se a leitura passar de {@code exportacoes.duracao-maxima}
+     */
+    public <T> void transmitir(Stream<T> fluxo, Consumer<? super T> consumidor) {
+        long limite = System.nanoTime() + duracaoMaxima.toNanos();
+        int[] entregues = {0};
+        try (fluxo) {
+            fluxo.forEach(entidade -> {
+                if (System.nanoTime() - limite > 0) {
+                    throw new QueryTimeoutException(String.format(
+                        "Exportação interrompida depois de %d registros: limite de %s", entregues[0], duracaoMaxima));
+                }
+                consumidor.accept(entidade);
+                if (++entregues[0] % limpeza == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+    }
+}
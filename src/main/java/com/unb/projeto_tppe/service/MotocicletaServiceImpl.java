@@ -1,29 +1,58 @@
 package com.unb.projeto_tppe.service;
 
+import com.unb.projeto_tppe.dto.EventoAlteracaoDTO;
+import com.unb.projeto_tppe.dto.PaginaDTO;
+import com.unb.projeto_tppe.dto.VeiculoResumoDTO;
 import com.unb.projeto_tppe.model.Motocicleta;
 import com.unb.projeto_tppe.repository.MotocicletaRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class MotocicletaServiceImpl implements VeiculoService<Motocicleta> {
 
     private final MotocicletaRepository motocicletaRepository;
 
+    private final LeituraEmFluxo leituraEmFluxo;
+
+    private final PainelReservaService painelReservas;
+
+    private final VersoesAgregados versoes;
+
+    private final FeedAlteracoes feed;
+
     @Autowired
-    public MotocicletaServiceImpl(MotocicletaRepository motocicletaRepository) {
+    public MotocicletaServiceImpl(MotocicletaRepository motocicletaRepository, LeituraEmFluxo leituraEmFluxo,
+                                  PainelReservaService painelReservas, VersoesAgregados versoes,
+                                  FeedAlteracoes feed) {
         this.motocicletaRepository = motocicletaRepository;
+        this.leituraEmFluxo = leituraEmFluxo;
+        this.painelReservas = painelReservas;
+        this.versoes = versoes;
+        this.feed = feed;
     }
 
     @Override
     @Transactional
     public Motocicleta salvar(Motocicleta motocicleta) {
-        return motocicletaRepository.save(motocicleta);
+        boolean existente = motocicleta.getId() != null;
+        Motocicleta motocicletaSalvo = motocicletaRepository.save(motocicleta);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.VEICULOS);
+        feed.publicar(VersoesAgregados.Agregado.VEICULOS,
+                      existente ? EventoAlteracaoDTO.Tipo.ALTERACAO : EventoAlteracaoDTO.Tipo.CRIACAO,
+                      motocicletaSalvo.getId());
+        if (existente) {
+            painelReservas.atualizarVeiculo(motocicletaSalvo);
+        }
+        return motocicletaSalvo;
     }
 
     @Override
@@ -32,12 +61,42 @@ public class MotocicletaServiceImpl implements VeiculoService<Motocicleta> {
         return motocicletaRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<Motocicleta> buscarPagina(Long cursor, Integer tamanho) {
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        List<Motocicleta> registros = motocicletaRepository.findByIdGreaterThanOrderByIdAsc(
+            cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.de(registros, limite, Motocicleta::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<VeiculoResumoDTO> buscarResumos(Long cursor, Integer tamanho) {
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        List<VeiculoResumoDTO> registros = motocicletaRepository.findResumos(
+            cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.de(registros, limite, VeiculoResumoDTO::id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void transmitirTodos(Consumer<? super Motocicleta> consumidor) {
+        leituraEmFluxo.transmitir(motocicletaRepository.streamAllByOrderByIdAsc(), consumidor);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Motocicleta> buscarPorId(Long id) {
         return motocicletaRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Motocicleta> buscarPorIds(Collection<Long> ids) {
+        return motocicletaRepository.findAllById(ids);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Motocicleta> buscarPorPlaca(String placa) {
@@ -54,5 +113,7 @@ public class MotocicletaServiceImpl implements VeiculoService<Motocicleta> {
     @Transactional
     public void excluir(Long id) {
         motocicletaRepository.deleteById(id);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.VEICULOS);
+        feed.publicar(VersoesAgregados.Agregado.VEICULOS, EventoAlteracaoDTO.Tipo.EXCLUSAO, id);
     }
 }
@@ -0,0 +1,237 @@
+package com.unb.projeto_tppe.service;
+
+import com.unb.projeto_tppe.dto.PaginaDTO;
+import com.unb.projeto_tppe.dto.ReservaPainelDTO;
+import com.unb.projeto_tppe.model.EstadoPainelReservas;
+import com.unb.projeto_tppe.model.PainelReserva;
+import com.unb.projeto_tppe.model.Pessoa;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.model.PessoaJuridica;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.model.Veiculo;
+import com.unb.projeto_tppe.repository.EstadoPainelReservasRepository;
+import com.unb.projeto_tppe.repository.PainelReservaRepository;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Painel de reservas: listagem paginada das reservas com o veículo e o cliente já resolvidos,
+ * filtrada no servidor, em uma única consulta.
+ *
+ * Por padrão a listagem é uma junção de {@link ReservaRepository}. Com {@code reservas.painel.tabela=true}
+ * ela é lida da tabela desnormalizada {@link PainelReserva}, atualizada na mesma transação de cada
+ * escrita de reserva e de cada alteração de veículo ou cliente. Como as escritas feitas com a tabela
+ * desligada não são copiadas, uma instância que inicia com ela desligada a marca como desatualizada
+ * ({@link EstadoPainelReservas}); a tabela é recriada a partir das reservas na inicialização somente
+ * quando está marcada, ou sob demanda ({@link #reconstruir()}).
+ */
+@Service
+public class PainelReservaService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PainelReservaService.class);
+
+    private final ReservaRepository reservaRepository;
+
+    private final PainelReservaRepository painelRepository;
+
+    private final EstadoPainelReservasRepository estadoRepository;
+
+    private final VersoesAgregados versoes;
+
+    private final boolean tabela;
+
+    @Autowired
+    public PainelReservaService(ReservaRepository reservaRepository,
+                                PainelReservaRepository painelRepository,
+                                EstadoPainelReservasRepository estadoRepository,
+                                VersoesAgregados versoes,
+                                @Value("${reservas.painel.tabela:false}") boolean tabela) {
+        this.reservaRepository = reservaRepository;
+        this.painelRepository = painelRepository;
+        this.estadoRepository = estadoRepository;
+        this.versoes = versoes;
+        this.tabela = tabela;
+    }
+
+    /**
+     * Na inicialização, recria a tabela do painel se ela estiver marcada como desatualizada.
+     * Com a tabela desligada, apenas a marca, já que as escritas desta instância não serão copiadas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void carregar() {
+        if (!tabela) {
+            estadoRepository.marcarDesatualizado(EstadoPainelReservas.ID);
+            return;
+        }
+        EstadoPainelReservas estado = travarEstado();
+        if (!estado.isDesatualizado()) {
+            LOGGER.info("Painel de reservas em dia; tabela mantida");
+            return;
+        }
+        recriar(estado);
+    }
+
+    /**
+     * Recria a tabela do painel a partir das reservas, por exemplo depois de alterações feitas direto no banco.
+     * As instâncias que recriam a tabela ao mesmo tempo são executadas uma de cada vez.
+     * @return Quantidade de reservas copiadas
+     * @throws IllegalStateException se a tabela estiver desligada
+     */
+    @Transactional
+    public int reconstruir() {
+        if (!tabela) {
+            throw new IllegalStateException("Tabela do painel desligada (reservas.painel.tabela=false)");
+        }
+        return recriar(travarEstado());
+    }
+
+    // A linha é criada pela migração V8; sem ela (esquema gerado pelo Hibernate), a tabela é tida como desatualizada
+    private EstadoPainelReservas travarEstado() {
+        return estadoRepository.travar(EstadoPainelReservas.ID).orElseGet(() -> {
+            EstadoPainelReservas estado = new EstadoPainelReservas();
+            estado.setId(EstadoPainelReservas.ID);
+            estado.setDesatualizado(true);
+            return estadoRepository.save(estado);
+        });
+    }
+
+    // Chamado com a linha de estado travada
+    private int recriar(EstadoPainelReservas estado) {
+        painelRepository.deleteAllInBatch();
+        int copiadas = painelRepository.copiarReservas();
+        estado.setDesatualizado(false);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.RESERVAS);
+        LOGGER.info("Painel de reservas recriado com {} reservas", copiadas);
+        return copiadas;
+    }
+
+    /**
+     * Busca uma página do painel de reservas
+     * @param busca Trecho do nome do cliente ou da placa, sem diferenciar maiúsculas; null para todas
+     * @param status Status aceitos; null ou vazio para todos
+     * @param inicio Apenas reservas que terminam a partir desta data; null para não limitar
+     * @param fim Apenas reservas que começam até esta data; null para não limitar
+     * @param cursor Último ID já lido
+     * @param tamanho Tamanho da página
+     * @return Página de reservas em ordem de ID
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<ReservaPainelDTO> buscarPagina(String busca, Collection<Reserva.StatusReserva> status,
+                                                    LocalDateTime inicio, LocalDateTime fim,
+                                                    Long cursor, Integer tamanho) {
+        if (inicio != null && fim != null && inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("A data de início deve ser anterior ou igual à data de fim");
+        }
+        String padrao = busca == null || busca.isBlank() ? null : "%" + busca.trim().toLowerCase(Locale.ROOT) + "%";
+        Collection<Reserva.StatusReserva> aceitos = status == null || status.isEmpty()
+            ? EnumSet.allOf(Reserva.StatusReserva.class) : status;
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        Long aPartirDe = cursor == null ? 0L : cursor;
+        List<ReservaPainelDTO> registros = tabela
+            ? painelRepository.findPagina(padrao, aceitos, inicio, fim, aPartirDe, Limit.of(limite + 1))
+            : reservaRepository.findPainel(padrao, aceitos, inicio, fim, aPartirDe, Limit.of(limite + 1));
+        return PaginaDTO.de(registros, limite, ReservaPainelDTO::id);
+    }
+
+    /**
+     * Copia para o painel o estado de reservas gravadas na transação corrente
+     * @param reservas Reservas já salvas, com ID
+     * @param novas true se todas acabaram de ser criadas (dispensa a leitura da linha atual)
+     */
+    @Transactional
+    public void registrar(Collection<Reserva> reservas, boolean novas) {
+        if (tabela) {
+            painelRepository.saveAll(reservas.stream().map(reserva -> linha(reserva, novas)).toList());
+        }
+    }
+
+    /**
+     * Remove uma reserva do painel
+     * @param reservaId ID da reserva excluída
+     */
+    @Transactional
+    public void remover(Long reservaId) {
+        if (tabela) {
+            painelRepository.deleteAllByIdInBatch(List.of(reservaId));
+        }
+    }
+
+    /**
+     * Grava o novo status de reservas alteradas em massa na transação corrente
+     * @param reservaIds IDs das reservas
+     * @param status Novo status
+     */
+    @Transactional
+    public void atualizarStatus(Collection<Long> reservaIds, Reserva.StatusReserva status) {
+        if (tabela) {
+            painelRepository.atualizarStatus(reservaIds, status);
+        }
+    }
+
+    /**
+     * Atualiza a placa, a marca e o modelo nas linhas das reservas do veículo
+     * @param veiculo Veículo salvo
+     */
+    @Transactional
+    public void atualizarVeiculo(Veiculo veiculo) {
+        if (tabela) {
+            painelRepository.atualizarVeiculo(veiculo.getId(), veiculo.getPlaca(), veiculo.getMarca(),
+                                              veiculo.getModelo());
+        }
+    }
+
+    /**
+     * Atualiza o nome do cliente nas linhas das reservas da pessoa
+     * @param pessoa Pessoa física ou jurídica salva
+     */
+    @Transactional
+    public void atualizarCliente(Pessoa pessoa) {
+        if (!tabela) {
+            return;
+        }
+        if (pessoa instanceof PessoaFisica pessoaFisica) {
+            painelRepository.atualizarPessoaFisica(pessoaFisica.getId(), pessoaFisica.getNome());
+        } else if (pessoa instanceof PessoaJuridica pessoaJuridica) {
+            painelRepository.atualizarPessoaJuridica(pessoaJuridica.getId(), pessoaJuridica.getRazaoSocial());
+        }
+    }
+
+    private static PainelReserva linha(Reserva reserva, boolean nova) {
+        PainelReserva linha = new PainelReserva();
+        linha.setReservaId(reserva.getId());
+        linha.setDataInicio(reserva.getDataInicio());
+        linha.setDataFim(reserva.getDataFim());
+        linha.setStatus(reserva.getStatus());
+        linha.setValorTotal(reserva.getValorTotal());
+        linha.setObservacoes(reserva.getObservacoes());
+        linha.setVeiculoId(reserva.getVeiculo().getId());
+        linha.setVeiculoPlaca(reserva.getVeiculo().getPlaca());
+        linha.setVeiculoMarca(reserva.getVeiculo().getMarca());
+        linha.setVeiculoModelo(reserva.getVeiculo().getModelo());
+        if (reserva.getPessoaFisica() != null) {
+            linha.setPessoaFisicaId(reserva.getPessoaFisica().getId());
+            linha.setClienteNome(reserva.getPessoaFisica().getNome());
+        } else if (reserva.getPessoaJuridica() != null) {
+            linha.setPessoaJuridicaId(reserva.getPessoaJuridica().getId());
+            linha.setClienteNome(reserva.getPessoaJuridica().getRazaoSocial());
+        }
+        linha.setNova(nova);
+        return linha;
+    }
+}
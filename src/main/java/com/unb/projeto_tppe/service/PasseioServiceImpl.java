@@ -1,29 +1,58 @@
 package com.unb.projeto_tppe.service;
 
+import com.unb.projeto_tppe.dto.EventoAlteracaoDTO;
+import com.unb.projeto_tppe.dto.PaginaDTO;
+import com.unb.projeto_tppe.dto.VeiculoResumoDTO;
 import com.unb.projeto_tppe.model.Passeio;
 import com.unb.projeto_tppe.repository.PasseioRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class PasseioServiceImpl implements VeiculoService<Passeio> {
 
     private final PasseioRepository passeioRepository;
 
+    private final LeituraEmFluxo leituraEmFluxo;
+
+    private final PainelReservaService painelReservas;
+
+    private final VersoesAgregados versoes;
+
+    private final FeedAlteracoes feed;
+
     @Autowired
-    public PasseioServiceImpl(PasseioRepository passeioRepository) {
+    public PasseioServiceImpl(PasseioRepository passeioRepository, LeituraEmFluxo leituraEmFluxo,
+                              PainelReservaService painelReservas, VersoesAgregados versoes,
+                              FeedAlteracoes feed) {
         this.passeioRepository = passeioRepository;
+        this.leituraEmFluxo = leituraEmFluxo;
+        this.painelReservas = painelReservas;
+        this.versoes = versoes;
+        this.feed = feed;
     }
 
     @Override
     @Transactional
     public Passeio salvar(Passeio passeio) {
-        return passeioRepository.save(passeio);
+        boolean existente = passeio.getId() != null;
+        Passeio passeioSalvo = passeioRepository.save(passeio);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.VEICULOS);
+        feed.publicar(VersoesAgregados.Agregado.VEICULOS,
+                      existente ? EventoAlteracaoDTO.Tipo.ALTERACAO : EventoAlteracaoDTO.Tipo.CRIACAO,
+                      passeioSalvo.getId());
+        if (existente) {
+            painelReservas.atualizarVeiculo(passeioSalvo);
+        }
+        return passeioSalvo;
     }
 
     @Override
@@ -32,12 +61,42 @@ public class PasseioServiceImpl implements VeiculoService<Passeio> {
         return passeioRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<Passeio> buscarPagina(Long cursor, Integer tamanho) {
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        List<Passeio> registros = passeioRepository.findByIdGreaterThanOrderByIdAsc(
+            cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.de(registros, limite, Passeio::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<VeiculoResumoDTO> buscarResumos(Long cursor, Integer tamanho) {
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        List<VeiculoResumoDTO> registros = passeioRepository.findResumos(
+            cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.de(registros, limite, VeiculoResumoDTO::id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void transmitirTodos(Consumer<? super Passeio> consumidor) {
+        leituraEmFluxo.transmitir(passeioRepository.streamAllByOrderByIdAsc(), consumidor);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Passeio> buscarPorId(Long id) {
         return passeioRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Passeio> buscarPorIds(Collection<Long> ids) {
+        return passeioRepository.findAllById(ids);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Passeio> buscarPorPlaca(String placa) {
@@ -54,5 +113,7 @@ public class PasseioServiceImpl implements VeiculoService<Passeio> {
     @Transactional
     public void excluir(Long id) {
         passeioRepository.deleteById(id);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.VEICULOS);
+        feed.publicar(VersoesAgregados.Agregado.VEICULOS, EventoAlteracaoDTO.Tipo.EXCLUSAO, id);
     }
 }
@@ -1,26 +1,57 @@
 package com.unb.projeto_tppe.service;
 
+import com.unb.projeto_tppe.dto.EventoAlteracaoDTO;
+import com.unb.projeto_tppe.dto.PaginaDTO;
+import com.unb.projeto_tppe.dto.PessoaFisicaResumoDTO;
 import com.unb.projeto_tppe.model.PessoaFisica;
 import com.unb.projeto_tppe.repository.PessoaFisicaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class PessoaFisicaService implements PessoaService<PessoaFisica> {
 
     private final PessoaFisicaRepository pessoaFisicaRepository;
 
+    private final LeituraEmFluxo leituraEmFluxo;
+
+    private final PainelReservaService painelReservas;
+
+    private final VersoesAgregados versoes;
+
+    private final FeedAlteracoes feed;
+
     @Autowired
-    public PessoaFisicaService(PessoaFisicaRepository pessoaFisicaRepository) {
+    public PessoaFisicaService(PessoaFisicaRepository pessoaFisicaRepository, LeituraEmFluxo leituraEmFluxo,
+                               PainelReservaService painelReservas, VersoesAgregados versoes,
+                               FeedAlteracoes feed) {
         this.pessoaFisicaRepository = pessoaFisicaRepository;
+        this.leituraEmFluxo = leituraEmFluxo;
+        this.painelReservas = painelReservas;
+        this.versoes = versoes;
+        this.feed = feed;
     }
 
     @Override
+    @Transactional
     public PessoaFisica salvar(PessoaFisica pessoaFisica) {
-        return pessoaFisicaRepository.save(pessoaFisica);
+        boolean existente = pessoaFisica.getId() != null;
+        PessoaFisica pessoaFisicaSalva = pessoaFisicaRepository.save(pessoaFisica);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.PESSOAS);
+        feed.publicar(VersoesAgregados.Agregado.PESSOAS,
+                      existente ? EventoAlteracaoDTO.Tipo.ALTERACAO : EventoAlteracaoDTO.Tipo.CRIACAO,
+                      pessoaFisicaSalva.getId());
+        if (existente) {
+            painelReservas.atualizarCliente(pessoaFisicaSalva);
+        }
+        return pessoaFisicaSalva;
     }
 
     @Override
@@ -28,14 +59,45 @@ public class PessoaFisicaService implements PessoaService<PessoaFisica> {
         return pessoaFisicaRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<PessoaFisica> listarPagina(Long cursor, Integer tamanho) {
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        List<PessoaFisica> registros = pessoaFisicaRepository.findByIdGreaterThanOrderByIdAsc(
+            cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.de(registros, limite, PessoaFisica::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaDTO<PessoaFisicaResumoDTO> listarResumos(Long cursor, Integer tamanho) {
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        List<PessoaFisicaResumoDTO> registros = pessoaFisicaRepository.findResumos(
+            cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.de(registros, limite, PessoaFisicaResumoDTO::id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void transmitirTodos(Consumer<? super PessoaFisica> consumidor) {
+        leituraEmFluxo.transmitir(pessoaFisicaRepository.streamAllByOrderByIdAsc(), consumidor);
+    }
+
     @Override
     public Optional<PessoaFisica> buscarPorId(Long id) {
         return pessoaFisicaRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<PessoaFisica> buscarPorIds(Collection<Long> ids) {
+        return pessoaFisicaRepository.findAllById(ids);
+    }
+
     @Override
     public void excluir(Long id) {
         pessoaFisicaRepository.deleteById(id);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.PESSOAS);
+        feed.publicar(VersoesAgregados.Agregado.PESSOAS, EventoAlteracaoDTO.Tipo.EXCLUSAO, id);
     }
 
     public Optional<PessoaFisica> buscarPorCpf(String cpf) {
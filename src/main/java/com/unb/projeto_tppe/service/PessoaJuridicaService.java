@@ -1,26 +1,57 @@
 package com.unb.projeto_tppe.service;
 
+import com.unb.projeto_tppe.dto.EventoAlteracaoDTO;
+import com.unb.projeto_tppe.dto.PaginaDTO;
+import com.unb.projeto_tppe.dto.PessoaJuridicaResumoDTO;
 import com.unb.projeto_tppe.model.PessoaJuridica;
 import com.unb.projeto_tppe.repository.PessoaJuridicaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class PessoaJuridicaService implements PessoaService<PessoaJuridica> {
 
     private final PessoaJuridicaRepository pessoaJuridicaRepository;
 
+    private final LeituraEmFluxo leituraEmFluxo;
+
+    private final PainelReservaService painelReservas;
+
+    private final VersoesAgregados versoes;
+
+    private final FeedAlteracoes feed;
+
     @Autowired
-    public PessoaJuridicaService(PessoaJuridicaRepository pessoaJuridicaRepository) {
+    public PessoaJuridicaService(PessoaJuridicaRepository pessoaJuridicaRepository, LeituraEmFluxo leituraEmFluxo,
+                                 PainelReservaService painelReservas, VersoesAgregados versoes,
+                                 FeedAlteracoes feed) {
         this.pessoaJuridicaRepository = pessoaJuridicaRepository;
+        this.leituraEmFluxo = leituraEmFluxo;
+        this.painelReservas = painelReservas;
+        this.versoes = versoes;
+        this.feed = feed;
     }
 
     @Override
+    @Transactional
     public PessoaJuridica salvar(PessoaJuridica pessoaJuridica) {
-        return pessoaJuridicaRepository.save(pessoaJuridica);
+        boolean existente = pessoaJuridica.getId() != null;
+        PessoaJuridica pessoaJuridicaSalva = pessoaJuridicaRepository.save(pessoaJuridica);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.PESSOAS);
+        feed.publicar(VersoesAgregados.Agregado.PESSOAS,
+                      existente ? EventoAlteracaoDTO.Tipo.ALTERACAO : EventoAlteracaoDTO.Tipo.CRIACAO,
+                      pessoaJuridicaSalva.getId());
+        if (existente) {
+            painelReservas.atualizarCliente(pessoaJuridicaSalva);
+        }
+        return pessoaJuridicaSalva;
     }
 
     @Override
@@ -28,14 +59,45 @@ public class PessoaJuridicaService implements PessoaService<PessoaJuridica> {
         return pessoaJuridicaRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<PessoaJuridica> listarPagina(Long cursor, Integer tamanho) {
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        List<PessoaJuridica> registros = pessoaJuridicaRepository.findByIdGreaterThanOrderByIdAsc(
+            cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.de(registros, limite, PessoaJuridica::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaDTO<PessoaJuridicaResumoDTO> listarResumos(Long cursor, Integer tamanho) {
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        List<PessoaJuridicaResumoDTO> registros = pessoaJuridicaRepository.findResumos(
+            cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.de(registros, limite, PessoaJuridicaResumoDTO::id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void transmitirTodos(Consumer<? super PessoaJuridica> consumidor) {
+        leituraEmFluxo.transmitir(pessoaJuridicaRepository.streamAllByOrderByIdAsc(), consumidor);
+    }
+
     @Override
     public Optional<PessoaJuridica> buscarPorId(Long id) {
         return pessoaJuridicaRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<PessoaJuridica> buscarPorIds(Collection<Long> ids) {
+        return pessoaJuridicaRepository.findAllById(ids);
+    }
+
     @Override
     public void excluir(Long id) {
         pessoaJuridicaRepository.deleteById(id);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.PESSOAS);
+        feed.publicar(VersoesAgregados.Agregado.PESSOAS, EventoAlteracaoDTO.Tipo.EXCLUSAO, id);
     }
 
     public Optional<PessoaJuridica> buscarPorCnpj(String cnpj) {
@@ -1,7 +1,11 @@
 package com.unb.projeto_tppe.service;
 
+import com.unb.projeto_tppe.dto.PaginaDTO;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface PessoaService<T> {
     
@@ -9,7 +13,13 @@ public interface PessoaService<T> {
     
     List<T> listarTodos();
     
+    PaginaDTO<T> listarPagina(Long cursor, Integer tamanho);
+    
+    void transmitirTodos(Consumer<? super T> consumidor);
+    
     Optional<T> buscarPorId(Long id);
     
+    List<T> buscarPorIds(Collection<Long> ids);
+    
     void excluir(Long id);
 }
@@ -1,13 +1,20 @@
 package com.unb.projeto_tppe.service;
 
+import com.unb.projeto_tppe.dto.AlteracoesReservaDTO;
+import com.unb.projeto_tppe.dto.PaginaDTO;
+import com.unb.projeto_tppe.dto.ReservaDTO;
+import com.unb.projeto_tppe.dto.ReservaResumoDTO;
+import com.unb.projeto_tppe.dto.ResultadoLoteDTO;
 import com.unb.projeto_tppe.model.Reserva;
 import com.unb.projeto_tppe.model.Veiculo;
 import com.unb.projeto_tppe.model.PessoaFisica;
 import com.unb.projeto_tppe.model.PessoaJuridica;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ReservaService {
     
@@ -18,12 +25,91 @@ public interface ReservaService {
      */
     Reserva salvar(Reserva reserva);
     
+    /**
+     * Cria uma reserva a partir dos dados informados. A verificação de conflito e a gravação
+     * acontecem na mesma transação, serializadas por veículo.
+     * @param reservaDTO Dados da reserva
+     * @return Reserva criada
+     * @throws com.unb.projeto_tppe.exception.ConflitoReservaException se o veículo já estiver reservado no período
+     * @throws com.unb.projeto_tppe.exception.RecursoNaoEncontradoException se o veículo ou o cliente não existir
+     * @throws IllegalArgumentException se nenhum cliente for informado
+     */
+    Reserva criar(ReservaDTO reservaDTO);
+    
+    /**
+     * Atualiza uma reserva existente, com as mesmas garantias de {@link #criar(ReservaDTO)}
+     * @param id ID da reserva
+     * @param reservaDTO Novos dados da reserva
+     * @return Reserva atualizada
+     * @throws com.unb.projeto_tppe.exception.ConflitoReservaException se o veículo já estiver reservado no período
+     * @throws com.unb.projeto_tppe.exception.RecursoNaoEncontradoException se a reserva, o veículo ou o cliente não existir
+     */
+    Reserva atualizar(Long id, ReservaDTO reservaDTO);
+    
+    /**
+     * Atualiza uma reserva existente se ela ainda estiver na versão informada
+     * @param id ID da reserva
+     * @param reservaDTO Novos dados da reserva
+     * @param versao Versão que o cliente leu, ou null para não conferir
+     * @return Reserva atualizada
+     * @throws com.unb.projeto_tppe.exception.PreCondicaoFalhouException se a reserva estiver em outra versão
+     *         ou for alterada por outra transação antes do commit
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException sem versão, se a reserva for alterada
+     *         por outra transação antes do commit
+     */
+    Reserva atualizar(Long id, ReservaDTO reservaDTO, Long versao);
+    
+    /**
+     * Cria várias reservas de uma vez. Cada linha é validada isoladamente, contra as reservas
+     * já gravadas e contra as linhas anteriores do mesmo veículo no lote; as demais são rejeitadas
+     * com o motivo. As linhas válidas são gravadas em partes, cada uma em sua transação e com as
+     * travas de no máximo {@code reservas.lote.travas} grupos de veículos, para que um lote grande
+     * não bloqueie as demais escritas de reservas até o fim.
+     * @param reservas Dados das reservas, na ordem do lote
+     * @return Resultado de cada linha
+     * @throws IllegalArgumentException se o lote exceder {@link ResultadoLoteDTO#TAMANHO_MAXIMO} linhas
+     */
+    ResultadoLoteDTO importarLote(List<ReservaDTO> reservas);
+    
     /**
      * Busca todas as reservas cadastradas
      * @return Lista de reservas
      */
     List<Reserva> buscarTodas();
     
+    /**
+     * Busca uma página de reservas a partir de um cursor
+     * @param cursor ID da última reserva da página anterior, ou null para a primeira página
+     * @param tamanho Quantidade de reservas por página (limitada a {@link PaginaDTO#TAMANHO_MAXIMO})
+     * @return Página de reservas em ordem de ID
+     */
+    PaginaDTO<Reserva> buscarPagina(Long cursor, Integer tamanho);
+
+    /**
+     * Busca as reservas criadas, alteradas ou excluídas depois de uma sincronização anterior
+     * @param desde Token devolvido pela sincronização anterior, ou null para todas as reservas
+     * @param tamanho Quantidade máxima de reservas alteradas (limitada a {@link PaginaDTO#TAMANHO_MAXIMO})
+     * @return Alterações em ordem e o token da próxima sincronização
+     * @throws IllegalArgumentException se o token for inválido ou posterior às alterações confirmadas
+     * @throws IllegalStateException se a sincronização estiver desligada ou outra instância gravar reservas
+     */
+    AlteracoesReservaDTO buscarAlteracoes(String desde, Integer tamanho);
+    
+    /**
+     * Busca uma página de reservas já projetadas para listagem, com placa/modelo do veículo
+     * e nome do cliente, sem carregar as entidades
+     * @param cursor ID da última reserva da página anterior, ou null para a primeira página
+     * @param tamanho Quantidade de reservas por página (limitada a {@link PaginaDTO#TAMANHO_MAXIMO})
+     * @return Página de resumos em ordem de ID
+     */
+    PaginaDTO<ReservaResumoDTO> buscarResumos(Long cursor, Integer tamanho);
+    
+    /**
+     * Percorre todas as reservas em ordem de ID sem carregá-las de uma vez em memória
+     * @param consumidor Recebe cada reserva lida
+     */
+    void transmitirTodas(Consumer<? super Reserva> consumidor);
+    
     /**
      * Busca uma reserva pelo seu ID
      * @param id ID da reserva
@@ -31,6 +117,13 @@ public interface ReservaService {
      */
     Optional<Reserva> buscarPorId(Long id);
     
+    /**
+     * Busca no banco primário a versão atual de uma reserva
+     * @param id ID da reserva
+     * @return Optional com a versão, se a reserva existir
+     */
+    Optional<Long> buscarVersao(Long id);
+    
     /**
      * Busca todas as reservas de um veículo
      * @param veiculo Veículo
@@ -60,13 +153,28 @@ public interface ReservaService {
     List<Reserva> buscarPorStatus(Reserva.StatusReserva status);
     
     /**
-     * Busca todas as reservas em um período
+     * Busca todas as reservas que se sobrepõem a um período, inclusive as que começam antes
+     * do início e terminam depois do fim
      * @param inicio Data de início
      * @param fim Data de fim
-     * @return Lista de reservas no período
+     * @return Lista de reservas no período, ordenada por data de início
      */
     List<Reserva> buscarPorPeriodo(LocalDateTime inicio, LocalDateTime fim);
     
+    /**
+     * Busca uma página das reservas que se sobrepõem a um período
+     * @param inicio Data de início
+     * @param fim Data de fim
+     * @param status Status aceitos; null ou vazio para todos
+     * @param cursor ID da última reserva da página anterior, ou null para a primeira página
+     * @param tamanho Quantidade de reservas por página (limitada a {@link PaginaDTO#TAMANHO_MAXIMO})
+     * @return Página de reservas em ordem de ID
+     * @throws IllegalArgumentException se o início for posterior ao fim
+     */
+    PaginaDTO<Reserva> buscarPaginaPorPeriodo(LocalDateTime inicio, LocalDateTime fim,
+                                              Collection<Reserva.StatusReserva> status,
+                                              Long cursor, Integer tamanho);
+    
     /**
      * Verifica se existe conflito de horário para uma reserva
      * @param dataInicio Data de início da reserva
@@ -76,6 +184,16 @@ public interface ReservaService {
      */
     boolean existeConflito(LocalDateTime dataInicio, LocalDateTime dataFim, Long veiculoId);
     
+    /**
+     * Verifica se existe conflito de horário desconsiderando uma reserva específica
+     * @param dataInicio Data de início da reserva
+     * @param dataFim Data de fim da reserva
+     * @param veiculoId ID do veículo
+     * @param reservaIgnoradaId ID da reserva a desconsiderar (a própria reserva em edição)
+     * @return true se existir conflito, false caso contrário
+     */
+    boolean existeConflito(LocalDateTime dataInicio, LocalDateTime dataFim, Long veiculoId, Long reservaIgnoradaId);
+    
     /**
      * Atualiza o status de uma reserva
      * @param id ID da reserva
@@ -84,6 +202,19 @@ public interface ReservaService {
      */
     Reserva atualizarStatus(Long id, Reserva.StatusReserva status);
     
+    /**
+     * Atualiza o status de uma reserva se ela ainda estiver na versão informada
+     * @param id ID da reserva
+     * @param status Novo status
+     * @param versao Versão que o cliente leu, ou null para não conferir
+     * @return Reserva atualizada
+     * @throws com.unb.projeto_tppe.exception.PreCondicaoFalhouException se a reserva estiver em outra versão
+     *         ou for alterada por outra transação antes do commit
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException sem versão, se a reserva for alterada
+     *         por outra transação antes do commit
+     */
+    Reserva atualizarStatus(Long id, Reserva.StatusReserva status, Long versao);
+    
     /**
      * Exclui uma reserva pelo seu ID
      * @param id ID da reserva a excluir
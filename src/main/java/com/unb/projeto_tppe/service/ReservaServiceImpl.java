@@ -1,33 +1,433 @@
 package com.unb.projeto_tppe.service;
 
+import com.unb.projeto_tppe.dto.AlteracoesReservaDTO;
+import com.unb.projeto_tppe.dto.ContribuicaoReservaDTO;
+import com.unb.projeto_tppe.dto.EventoAlteracaoDTO;
+import com.unb.projeto_tppe.dto.PaginaDTO;
+import com.unb.projeto_tppe.dto.ReservaDTO;
+import com.unb.projeto_tppe.dto.ReservaResumoDTO;
+import com.unb.projeto_tppe.dto.LinhaLoteDTO;
+import com.unb.projeto_tppe.dto.ResultadoLoteDTO;
+import com.unb.projeto_tppe.exception.ConflitoReservaException;
+import com.unb.projeto_tppe.exception.PreCondicaoFalhouException;
+import com.unb.projeto_tppe.exception.RecursoNaoEncontradoException;
 import com.unb.projeto_tppe.model.Reserva;
 import com.unb.projeto_tppe.model.Veiculo;
 import com.unb.projeto_tppe.model.PessoaFisica;
 import com.unb.projeto_tppe.model.PessoaJuridica;
+import com.unb.projeto_tppe.model.ReservaExcluida;
 import com.unb.projeto_tppe.repository.ReservaRepository;
+import com.unb.projeto_tppe.repository.ReservaExcluidaRepository;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class ReservaServiceImpl implements ReservaService {
 
+    private static final String MENSAGEM_CONFLITO = "Já existe uma reserva para este veículo no período solicitado";
+
+    private static final String MENSAGEM_VERSAO =
+        "A reserva não está mais na versão do If-Match; carregue-a novamente e repita a alteração";
+
+    // SQLSTATE do PostgreSQL para violação de restrição de exclusão (reservas_sem_sobreposicao)
+    private static final String SQLSTATE_EXCLUSAO = "23P01";
+
     private final ReservaRepository reservaRepository;
 
+    private final IndiceConflitoReserva indiceConflito;
+
+    private final TravaPorVeiculo travaPorVeiculo;
+
+    private final ResumoReservaService resumoReservas;
+
+    private final PainelReservaService painelReservas;
+
+    private final VersoesAgregados versoes;
+
+    private final CicloReservaService cicloReservas;
+
+    private final FeedAlteracoes feed;
+
+    private final SequenciaAlteracoes sequencias;
+
+    private final ReservaExcluidaRepository reservaExcluidaRepository;
+
+    private final GenericVeiculoServiceImpl veiculoService;
+
+    private final PessoaFisicaService pessoaFisicaService;
+
+    private final PessoaJuridicaService pessoaJuridicaService;
+
+    private final LeituraEmFluxo leituraEmFluxo;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int travasPorParte;
+
     @Autowired
-    public ReservaServiceImpl(ReservaRepository reservaRepository) {
+    public ReservaServiceImpl(ReservaRepository reservaRepository,
+                              IndiceConflitoReserva indiceConflito,
+                              TravaPorVeiculo travaPorVeiculo,
+                              ResumoReservaService resumoReservas,
+                              PainelReservaService painelReservas,
+                              VersoesAgregados versoes,
+                              CicloReservaService cicloReservas,
+                              FeedAlteracoes feed,
+                              SequenciaAlteracoes sequencias,
+                              ReservaExcluidaRepository reservaExcluidaRepository,
+                              GenericVeiculoServiceImpl veiculoService,
+                              PessoaFisicaService pessoaFisicaService,
+                              PessoaJuridicaService pessoaJuridicaService,
+                              LeituraEmFluxo leituraEmFluxo,
+                              Validator validator,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${reservas.lote.travas:64}") int travasPorParte) {
         this.reservaRepository = reservaRepository;
+        this.indiceConflito = indiceConflito;
+        this.travaPorVeiculo = travaPorVeiculo;
+        this.resumoReservas = resumoReservas;
+        this.painelReservas = painelReservas;
+        this.versoes = versoes;
+        this.cicloReservas = cicloReservas;
+        this.feed = feed;
+        this.sequencias = sequencias;
+        this.reservaExcluidaRepository = reservaExcluidaRepository;
+        this.veiculoService = veiculoService;
+        this.pessoaFisicaService = pessoaFisicaService;
+        this.pessoaJuridicaService = pessoaJuridicaService;
+        this.leituraEmFluxo = leituraEmFluxo;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.travasPorParte = travasPorParte;
     }
 
     @Override
     @Transactional
     public Reserva salvar(Reserva reserva) {
-        return reservaRepository.save(reserva);
+        // A entidade pode já ter sido alterada nesta transação; o estado anterior vem do banco
+        ContribuicaoReservaDTO anterior = reserva.getId() == null
+            ? null : reservaRepository.findContribuicao(reserva.getId()).orElse(null);
+        Reserva reservaSalva = reservaRepository.save(reserva);
+        painelReservas.registrar(List.of(reservaSalva), anterior == null);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.RESERVAS);
+        feed.publicar(VersoesAgregados.Agregado.RESERVAS,
+                      anterior == null ? EventoAlteracaoDTO.Tipo.CRIACAO : EventoAlteracaoDTO.Tipo.ALTERACAO,
+                      reservaSalva.getId());
+        resumoReservas.substituir(reservaSalva.getId(), anterior, ResumoReservaService.contribuicao(reservaSalva));
+        aposCommit(() -> {
+            indiceConflito.registrar(reservaSalva);
+            cicloReservas.agendar(reservaSalva);
+        });
+        return reservaSalva;
+    }
+
+    // A trava é adquirida fora da transação e liberada só depois do commit (e da atualização
+    // do índice), para que a próxima operação sobre o mesmo veículo já enxergue esta reserva.
+    @Override
+    public Reserva criar(ReservaDTO reservaDTO) {
+        return travaPorVeiculo.executar(reservaDTO.getVeiculoId(), () -> emTransacao(status -> {
+            verificarConflito(reservaDTO, null);
+            
+            Reserva reserva = new Reserva();
+            preencher(reserva, reservaDTO);
+            if (reservaDTO.getStatus() == null) {
+                reserva.setStatus(Reserva.StatusReserva.PENDENTE);
+            }
+            
+            if (reservaDTO.getPessoaFisicaId() == null && reservaDTO.getPessoaJuridicaId() == null) {
+                throw new IllegalArgumentException(
+                    "É necessário fornecer o ID de uma pessoa física ou jurídica para a reserva");
+            }
+            preencherCliente(reserva, reservaDTO);
+            
+            return salvar(reserva);
+        }));
+    }
+
+    @Override
+    public Reserva atualizar(Long id, ReservaDTO reservaDTO) {
+        return atualizar(id, reservaDTO, null);
+    }
+
+    @Override
+    public Reserva atualizar(Long id, ReservaDTO reservaDTO, Long versao) {
+        Long veiculoId = reservaDTO.getVeiculoId();
+        return condicional(versao, () -> travaPorVeiculo.executar(veiculoId, () -> emTransacao(status -> {
+            Reserva reserva = reservaRepository.findById(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Reserva não encontrada com o ID: " + id));
+            conferirVersao(reserva, versao);
+            
+            verificarConflito(reservaDTO, id);
+            preencher(reserva, reservaDTO);
+            preencherCliente(reserva, reservaDTO);
+            
+            return salvar(reserva);
+        })));
+    }
+
+    // O lote é gravado em partes, cada uma com os veículos de no máximo reservas.lote.travas travas e
+    // em transação própria; as travas de uma parte ficam retidas até o seu commit, como em criar.
+    // Todas as linhas de um veículo ficam na mesma parte, onde são comparadas entre si
+    @Override
+    public ResultadoLoteDTO importarLote(List<ReservaDTO> reservas) {
+        if (reservas.size() > ResultadoLoteDTO.TAMANHO_MAXIMO) {
+            throw new IllegalArgumentException(
+                "O lote excede o limite de " + ResultadoLoteDTO.TAMANHO_MAXIMO + " reservas");
+        }
+        LinhaLoteDTO[] linhas = new LinhaLoteDTO[reservas.size()];
+        Map<Long, List<Integer>> linhasPorVeiculo = new HashMap<>();
+        for (int i = 0; i < reservas.size(); i++) {
+            String erro = validarLinha(reservas.get(i));
+            if (erro == null) {
+                linhasPorVeiculo.computeIfAbsent(reservas.get(i).getVeiculoId(), id -> new ArrayList<>()).add(i);
+            } else {
+                linhas[i] = LinhaLoteDTO.falha(i + 1, erro);
+            }
+        }
+
+        for (List<Long> veiculoIds : travaPorVeiculo.agrupar(linhasPorVeiculo.keySet(), travasPorParte)) {
+            List<Integer> parte = veiculoIds.stream()
+                .flatMap(veiculoId -> linhasPorVeiculo.get(veiculoId).stream()).sorted().toList();
+            try {
+                travaPorVeiculo.executar(veiculoIds, () -> emTransacao(status -> {
+                    gravarLote(reservas, parte, Set.copyOf(veiculoIds), linhas);
+                    return null;
+                }));
+            } catch (ConflitoReservaException e) {
+                // Outra instância gravou ao mesmo tempo uma reserva sobreposta e a parte inteira foi desfeita
+                parte.forEach(i -> linhas[i] = LinhaLoteDTO.falha(i + 1, MENSAGEM_CONFLITO));
+            }
+        }
+        return ResultadoLoteDTO.de(Arrays.asList(linhas));
+    }
+
+    // As travas só valem dentro desta instância; com várias instâncias, a restrição de exclusão
+    // do banco rejeita no commit a reserva que se sobrepõe a outra gravada ao mesmo tempo
+    private <T> T emTransacao(TransactionCallback<T> acao) {
+        try {
+            return transactionTemplate.execute(acao);
+        } catch (DataIntegrityViolationException e) {
+            if (violouExclusao(e)) {
+                throw new ConflitoReservaException(MENSAGEM_CONFLITO);
+            }
+            throw e;
+        }
+    }
+
+    private static boolean violouExclusao(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sql) {
+                for (SQLException atual = sql; atual != null; atual = atual.getNextException()) {
+                    if (SQLSTATE_EXCLUSAO.equals(atual.getSQLState())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // Grava as linhas já validadas de uma parte do lote e preenche o resultado de cada uma
+    private void gravarLote(List<ReservaDTO> reservas, List<Integer> validas, Set<Long> veiculoIds,
+                            LinhaLoteDTO[] linhas) {
+        List<ReservaDTO> daParte = validas.stream().map(reservas::get).toList();
+
+        // Uma consulta por tabela para toda a parte, em vez de uma por linha
+        Map<Long, Veiculo> veiculos = porId(veiculoService.buscarPorIds(veiculoIds), Veiculo::getId);
+        Map<Long, PessoaFisica> pessoasFisicas = porId(pessoaFisicaService.buscarPorIds(
+            idsInformados(daParte, ReservaDTO::getPessoaFisicaId)), PessoaFisica::getId);
+        Map<Long, PessoaJuridica> pessoasJuridicas = porId(pessoaJuridicaService.buscarPorIds(
+            idsInformados(daParte, ReservaDTO::getPessoaJuridicaId)), PessoaJuridica::getId);
+
+        AgendaLote agenda = new AgendaLote();
+        if (!validas.isEmpty()) {
+            LocalDateTime inicioLote = validas.stream().map(i -> reservas.get(i).getDataInicio())
+                .min(Comparator.naturalOrder()).orElseThrow();
+            LocalDateTime fimLote = validas.stream().map(i -> reservas.get(i).getDataFim())
+                .max(Comparator.naturalOrder()).orElseThrow();
+            agenda.carregar(reservaRepository.findIntervalosAtivos(
+                veiculoIds, inicioLote, fimLote, Reserva.StatusReserva.CANCELADA));
+        }
+
+        List<Reserva> novas = new ArrayList<>(validas.size());
+        List<Integer> posicoes = new ArrayList<>(validas.size());
+        for (int i : validas) {
+            ReservaDTO reservaDTO = reservas.get(i);
+            Veiculo veiculo = veiculos.get(reservaDTO.getVeiculoId());
+            PessoaFisica pessoaFisica = reservaDTO.getPessoaFisicaId() == null
+                ? null : pessoasFisicas.get(reservaDTO.getPessoaFisicaId());
+            PessoaJuridica pessoaJuridica = reservaDTO.getPessoaFisicaId() != null
+                ? null : pessoasJuridicas.get(reservaDTO.getPessoaJuridicaId());
+
+            String erro = null;
+            if (veiculo == null) {
+                erro = "Veículo não encontrado com o ID: " + reservaDTO.getVeiculoId();
+            } else if (reservaDTO.getPessoaFisicaId() != null && pessoaFisica == null) {
+                erro = "Pessoa física não encontrada com o ID: " + reservaDTO.getPessoaFisicaId();
+            } else if (reservaDTO.getPessoaFisicaId() == null && pessoaJuridica == null) {
+                erro = "Pessoa jurídica não encontrada com o ID: " + reservaDTO.getPessoaJuridicaId();
+            } else if (reservaDTO.getStatus() != Reserva.StatusReserva.CANCELADA
+                    && !agenda.ocupar(veiculo.getId(), reservaDTO.getDataInicio(), reservaDTO.getDataFim())) {
+                erro = MENSAGEM_CONFLITO;
+            }
+            if (erro != null) {
+                linhas[i] = LinhaLoteDTO.falha(i + 1, erro);
+                continue;
+            }
+
+            Reserva reserva = new Reserva();
+            copiar(reserva, reservaDTO, veiculo);
+            if (reserva.getStatus() == null) {
+                reserva.setStatus(Reserva.StatusReserva.PENDENTE);
+            }
+            reserva.setPessoaFisica(pessoaFisica);
+            reserva.setPessoaJuridica(pessoaJuridica);
+            novas.add(reserva);
+            posicoes.add(i);
+        }
+
+        // Os IDs vêm da sequência já no persist; os INSERTs são enviados em lote no commit
+        List<Reserva> gravadas = reservaRepository.saveAll(novas);
+        painelReservas.registrar(gravadas, true);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.RESERVAS);
+        feed.publicar(VersoesAgregados.Agregado.RESERVAS, EventoAlteracaoDTO.Tipo.CRIACAO,
+                      gravadas.stream().map(Reserva::getId).toList());
+        for (int j = 0; j < gravadas.size(); j++) {
+            int i = posicoes.get(j);
+            linhas[i] = LinhaLoteDTO.sucesso(i + 1, gravadas.get(j).getId());
+        }
+        resumoReservas.substituir(gravadas.stream().map(reserva -> new ResumoReservaService.Substituicao(
+            reserva.getId(), null, ResumoReservaService.contribuicao(reserva))).toList());
+        aposCommit(() -> {
+            gravadas.forEach(indiceConflito::registrar);
+            gravadas.forEach(cicloReservas::agendar);
+        });
+    }
+
+    // Regras que dependem apenas da própria linha; devolve a mensagem de erro ou null
+    private String validarLinha(ReservaDTO reservaDTO) {
+        if (reservaDTO == null) {
+            return "Linha vazia";
+        }
+        Set<ConstraintViolation<ReservaDTO>> violacoes = validator.validate(reservaDTO);
+        if (!violacoes.isEmpty()) {
+            return violacoes.stream().map(ConstraintViolation::getMessage).sorted()
+                .collect(Collectors.joining("; "));
+        }
+        if (reservaDTO.getDataFim().isBefore(reservaDTO.getDataInicio())) {
+            return "Data de fim deve ser posterior à data de início";
+        }
+        if (reservaDTO.getPessoaFisicaId() == null && reservaDTO.getPessoaJuridicaId() == null) {
+            return "É necessário fornecer o ID de uma pessoa física ou jurídica para a reserva";
+        }
+        return null;
+    }
+
+    private static Set<Long> idsInformados(List<ReservaDTO> reservas, Function<ReservaDTO, Long> id) {
+        return reservas.stream().filter(Objects::nonNull).map(id).filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    }
+
+    private static <T> Map<Long, T> porId(List<T> entidades, Function<T, Long> id) {
+        return entidades.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    // O If-Match é conferido contra a versão lida; uma alteração feita depois da leitura é recusada
+    // pelo próprio UPDATE com a versão, no commit
+    private static void conferirVersao(Reserva reserva, Long versao) {
+        if (versao != null && !versao.equals(reserva.getVersao())) {
+            throw new PreCondicaoFalhouException(MENSAGEM_VERSAO);
+        }
+    }
+
+    // Com If-Match, a recusa do UPDATE no commit também significa que a reserva saiu da versão enviada
+    private static <T> T condicional(Long versao, Supplier<T> escrita) {
+        try {
+            return escrita.get();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            if (versao == null) {
+                throw e;
+            }
+            throw new PreCondicaoFalhouException(MENSAGEM_VERSAO);
+        }
+    }
+
+    private void verificarConflito(ReservaDTO reservaDTO, Long reservaIgnoradaId) {
+        if (existeConflito(reservaDTO.getDataInicio(), reservaDTO.getDataFim(),
+                reservaDTO.getVeiculoId(), reservaIgnoradaId)) {
+            throw new ConflitoReservaException(MENSAGEM_CONFLITO);
+        }
+    }
+
+    private void preencher(Reserva reserva, ReservaDTO reservaDTO) {
+        Veiculo veiculo = veiculoService.buscarPorId(reservaDTO.getVeiculoId())
+            .orElseThrow(() -> new RecursoNaoEncontradoException(
+                "Veículo não encontrado com o ID: " + reservaDTO.getVeiculoId()));
+        copiar(reserva, reservaDTO, veiculo);
+    }
+
+    private static void copiar(Reserva reserva, ReservaDTO reservaDTO, Veiculo veiculo) {
+        reserva.setDataInicio(reservaDTO.getDataInicio());
+        reserva.setDataFim(reservaDTO.getDataFim());
+        reserva.setVeiculo(veiculo);
+        reserva.setValorTotal(reservaDTO.getValorTotal());
+        reserva.setObservacoes(reservaDTO.getObservacoes());
+        
+        if (reservaDTO.getStatus() != null) {
+            reserva.setStatus(reservaDTO.getStatus());
+        }
+    }
+
+    // Pessoa física tem precedência; sem nenhum ID o cliente atual é mantido
+    private void preencherCliente(Reserva reserva, ReservaDTO reservaDTO) {
+        if (reservaDTO.getPessoaFisicaId() != null) {
+            PessoaFisica pessoaFisica = pessoaFisicaService.buscarPorId(reservaDTO.getPessoaFisicaId())
+                .orElseThrow(() -> new RecursoNaoEncontradoException(
+                    "Pessoa física não encontrada com o ID: " + reservaDTO.getPessoaFisicaId()));
+            reserva.setPessoaFisica(pessoaFisica);
+            reserva.setPessoaJuridica(null);
+            
+        } else if (reservaDTO.getPessoaJuridicaId() != null) {
+            PessoaJuridica pessoaJuridica = pessoaJuridicaService.buscarPorId(reservaDTO.getPessoaJuridicaId())
+                .orElseThrow(() -> new RecursoNaoEncontradoException(
+                    "Pessoa jurídica não encontrada com o ID: " + reservaDTO.getPessoaJuridicaId()));
+            reserva.setPessoaJuridica(pessoaJuridica);
+            reserva.setPessoaFisica(null);
+        }
     }
 
     @Override
@@ -36,12 +436,68 @@ public class ReservaServiceImpl implements ReservaService {
         return reservaRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<Reserva> buscarPagina(Long cursor, Integer tamanho) {
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        List<Reserva> registros = reservaRepository.findByIdGreaterThanOrderByIdAsc(
+            cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.de(registros, limite, Reserva::getId);
+    }
+
+    // No primário, como a leitura do último número em SequenciaAlteracoes: uma réplica atrasada
+    // devolveria um token que pula alterações já confirmadas
+    @Override
+    @Transactional
+    public AlteracoesReservaDTO buscarAlteracoes(String desde, Integer tamanho) {
+        AlteracoesReservaDTO.Posicao inicio = AlteracoesReservaDTO.Posicao.ler(desde);
+        // Lido antes das consultas: tudo até ele já foi confirmado e está visível
+        long confirmada = sequencias.confirmada();
+        if (inicio.sequencia() > confirmada) {
+            throw new IllegalArgumentException("Token de alteração desconhecido; sincronize novamente desde o início");
+        }
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        List<Reserva> registros = reservaRepository.findAlteradas(
+            inicio.sequencia(), inicio.id(), confirmada, Limit.of(limite + 1));
+        boolean haMais = registros.size() > limite;
+        List<Reserva> alteradas = haMais ? registros.subList(0, limite) : registros;
+        AlteracoesReservaDTO.Posicao fim = haMais
+            ? new AlteracoesReservaDTO.Posicao(alteradas.get(limite - 1).getSequenciaAlteracao(),
+                                               alteradas.get(limite - 1).getId())
+            : new AlteracoesReservaDTO.Posicao(confirmada, Long.MAX_VALUE);
+        // As exclusões de uma transação vão inteiras na página em que ela começa a ser lida
+        List<Long> excluidas = reservaExcluidaRepository.findIdsExcluidas(inicio.sequencia(), fim.sequencia());
+        return new AlteracoesReservaDTO(alteradas, excluidas, fim.token(), haMais);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<ReservaResumoDTO> buscarResumos(Long cursor, Integer tamanho) {
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        List<ReservaResumoDTO> registros = reservaRepository.findResumos(
+            cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.de(registros, limite, ReservaResumoDTO::id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void transmitirTodas(Consumer<? super Reserva> consumidor) {
+        leituraEmFluxo.transmitir(reservaRepository.streamAllByOrderByIdAsc(), consumidor);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Reserva> buscarPorId(Long id) {
         return reservaRepository.findById(id);
     }
 
+    // No primário: uma réplica atrasada devolveria uma versão antiga e recusaria o If-Match da versão atual
+    @Override
+    @Transactional
+    public Optional<Long> buscarVersao(Long id) {
+        return reservaRepository.findVersao(id);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Reserva> buscarPorVeiculo(Veiculo veiculo) {
@@ -72,28 +528,123 @@ public class ReservaServiceImpl implements ReservaService {
         return reservaRepository.findByPeriodo(inicio, fim);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<Reserva> buscarPaginaPorPeriodo(LocalDateTime inicio, LocalDateTime fim,
+                                                     Collection<Reserva.StatusReserva> status,
+                                                     Long cursor, Integer tamanho) {
+        if (inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("A data de início deve ser anterior ou igual à data de fim");
+        }
+        // Sem filtro, todos os status: evita um IN vazio e mantém uma única forma de consulta
+        Collection<Reserva.StatusReserva> aceitos = status == null || status.isEmpty()
+            ? EnumSet.allOf(Reserva.StatusReserva.class) : status;
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        List<Reserva> registros = reservaRepository.findPaginaPorPeriodo(
+            inicio, fim, aceitos, cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.de(registros, limite, Reserva::getId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean existeConflito(LocalDateTime dataInicio, LocalDateTime dataFim, Long veiculoId) {
-        List<Reserva> reservasConflitantes = reservaRepository.findReservasConflitantes(dataInicio, dataFim, veiculoId);
-        return !reservasConflitantes.isEmpty();
+        return existeConflito(dataInicio, dataFim, veiculoId, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existeConflito(LocalDateTime dataInicio, LocalDateTime dataFim, Long veiculoId,
+                                  Long reservaIgnoradaId) {
+        if (indiceConflito.cobre(dataInicio)) {
+            return indiceConflito.existeConflito(dataInicio, dataFim, veiculoId, reservaIgnoradaId);
+        }
+        return reservaRepository.existeReservaConflitante(
+            dataInicio, dataFim, veiculoId, reservaIgnoradaId, Reserva.StatusReserva.CANCELADA);
     }
 
     @Override
-    @Transactional
     public Reserva atualizarStatus(Long id, Reserva.StatusReserva status) {
-        Optional<Reserva> reservaOpt = reservaRepository.findById(id);
-        if (reservaOpt.isPresent()) {
-            Reserva reserva = reservaOpt.get();
-            reserva.setStatus(status);
-            return reservaRepository.save(reserva);
+        return atualizarStatus(id, status, null);
+    }
+
+    // Cancelar só libera o período. Qualquer outro status volta a ocupar o veículo (a reserva pode estar
+    // cancelada e o período já ter sido reservado por outra), então a verificação de conflito e o commit
+    // acontecem sob a trava do veículo, como em criar e atualizar
+    @Override
+    public Reserva atualizarStatus(Long id, Reserva.StatusReserva status, Long versao) {
+        if (status == Reserva.StatusReserva.CANCELADA) {
+            return condicional(versao, () -> emTransacao(s -> alterarStatus(id, status, versao, null)));
+        }
+        while (true) {
+            Long veiculoId = reservaRepository.findVeiculoId(id)
+                .orElseThrow(() -> new IllegalArgumentException("Reserva não encontrada com o ID: " + id));
+            Reserva reservaSalva = condicional(versao, () -> travaPorVeiculo.executar(veiculoId, () -> emTransacao(
+                s -> alterarStatus(id, status, versao, veiculoId))));
+            if (reservaSalva != null) {
+                return reservaSalva;
+            }
+            // A reserva mudou de veículo entre a leitura e a trava; trava o veículo atual
         }
-        throw new IllegalArgumentException("Reserva não encontrada com o ID: " + id);
+    }
+
+    // Com veiculoTravado, confere o conflito no período da reserva e devolve null se ela não é
+    // mais daquele veículo
+    private Reserva alterarStatus(Long id, Reserva.StatusReserva status, Long versao, Long veiculoTravado) {
+        Reserva reserva = reservaRepository.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Reserva não encontrada com o ID: " + id));
+        conferirVersao(reserva, versao);
+        if (veiculoTravado != null) {
+            if (!veiculoTravado.equals(reserva.getVeiculo().getId())) {
+                return null;
+            }
+            if (existeConflito(reserva.getDataInicio(), reserva.getDataFim(), veiculoTravado, id)) {
+                throw new ConflitoReservaException(MENSAGEM_CONFLITO);
+            }
+        }
+        ContribuicaoReservaDTO anterior = ResumoReservaService.contribuicao(reserva);
+        reserva.setStatus(status);
+        Reserva reservaSalva = reservaRepository.save(reserva);
+        painelReservas.registrar(List.of(reservaSalva), false);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.RESERVAS);
+        feed.publicar(VersoesAgregados.Agregado.RESERVAS, EventoAlteracaoDTO.Tipo.ALTERACAO, id);
+        resumoReservas.substituir(id, anterior, ResumoReservaService.contribuicao(reservaSalva));
+        aposCommit(() -> {
+            indiceConflito.registrar(reservaSalva);
+            cicloReservas.agendar(reservaSalva);
+        });
+        return reservaSalva;
     }
 
     @Override
     @Transactional
     public void excluir(Long id) {
+        Optional<ContribuicaoReservaDTO> anterior = reservaRepository.findContribuicao(id);
         reservaRepository.deleteById(id);
+        if (anterior.isPresent()) {
+            reservaExcluidaRepository.save(new ReservaExcluida(id, sequencias.atual()));
+        }
+        painelReservas.remover(id);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.RESERVAS);
+        feed.publicar(VersoesAgregados.Agregado.RESERVAS, EventoAlteracaoDTO.Tipo.EXCLUSAO, id);
+        anterior.ifPresent(contribuicao -> resumoReservas.substituir(id, contribuicao, null));
+        aposCommit(() -> indiceConflito.remover(id));
+    }
+
+    /**
+     * Executa a ação somente após o commit da transação corrente, para que o índice
+     * e o ciclo em memória nunca reflitam uma escrita que sofreu rollback
+     * (os resumos fazem o mesmo em {@link ResumoReservaService#substituir})
+     */
+    private void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
     }
 }
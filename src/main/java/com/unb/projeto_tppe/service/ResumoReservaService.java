@@ -0,0 +1,464 @@
+package com.unb.projeto_tppe.service;
+
+import com.unb.projeto_tppe.dto.ContribuicaoReservaDTO;
+import com.unb.projeto_tppe.dto.ResumoReservaDTO;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.model.Reserva.StatusReserva;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Resumos de receita e ocupação das reservas, por dia, tipo de veículo e status.
+ *
+ * Cada reserva conta uma vez, com seu valor total, no dia em que começa; as horas reservadas são
+ * repartidas entre os dias que ela ocupa. Os totais ficam em memória e são atualizados a cada
+ * escrita confirmada em {@link ReservaServiceImpl}, de modo que os relatórios percorrem apenas
+ * os dias do período pedido, sem consultar as reservas.
+ *
+ * Os resumos são reconstruídos a partir do banco na inicialização e sob demanda
+ * ({@link #reconstruir()}), em blocos de IDs lidos em paralelo. As alterações confirmadas durante uma
+ * reconstrução continuam indo para os totais atuais e também ficam guardadas; antes da troca, a nova
+ * tabela recebe as que o bloco da reserva não leu. Para saber quais são, o início da leitura de cada
+ * bloco e os commits das escritas são ordenados por uma trava: a consulta do bloco só começa quando
+ * nenhuma escrita está entre o commit e o registro da sua alteração.
+ */
+@Service
+public class ResumoReservaService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResumoReservaService.class);
+
+    private static final Set<String> TIPOS = Set.of("PASSEIO", "UTILITARIO", "MOTOCICLETA");
+
+    private final ReservaRepository reservaRepository;
+
+    private final AsyncTaskExecutor executor;
+
+    private final TransactionTemplate leitura;
+
+    private final int blocos;
+
+    // Compartilhada pelas escritas, do commit ao registro da alteração; exclusiva no início de cada bloco
+    private final ReentrantReadWriteLock commits = new ReentrantReadWriteLock();
+
+    private volatile Tabela tabela = new Tabela();
+
+    private volatile Reconstrucao reconstrucao;
+
+    @Autowired
+    public ResumoReservaService(ReservaRepository reservaRepository,
+                                @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                AsyncTaskExecutor executor,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${relatorios.reconstrucao.blocos:4}") int blocos) {
+        this.reservaRepository = reservaRepository;
+        this.executor = executor;
+        // Não é somente leitura para ir ao primário, o mesmo banco cujos commits são ordenados com os blocos
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.blocos = Math.max(1, blocos);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        reconstruir();
+    }
+
+    /**
+     * Recalcula todos os resumos a partir do banco e substitui os atuais.
+     * O intervalo de IDs é dividido em blocos, cada um lido na sua própria transação; as alterações
+     * confirmadas depois do início da leitura de um bloco são reaplicadas na nova tabela antes da troca.
+     * @return Quantidade de reservas lidas
+     */
+    public synchronized long reconstruir() {
+        Tabela nova = new Tabela();
+        LongAdder lidas = new LongAdder();
+        // Registrada antes de buscar os limites: reservas criadas depois deles ficam fora dos blocos
+        Reconstrucao atual = new Reconstrucao();
+        reconstrucao = atual;
+        try {
+            Long menorId = reservaRepository.findMenorId();
+            Long maiorId = reservaRepository.findMaiorId();
+            if (menorId != null) {
+                atual.dividir(menorId, maiorId, blocos);
+                List<Future<?>> tarefas = new ArrayList<>(blocos);
+                for (int bloco = 0; bloco < atual.inicios.length; bloco++) {
+                    int indice = bloco;
+                    tarefas.add(executor.submit(() -> leitura.executeWithoutResult(status -> {
+                        try (Stream<ContribuicaoReservaDTO> contribuicoes = iniciarBloco(atual, indice)) {
+                            contribuicoes.forEach(contribuicao -> {
+                                nova.aplicar(contribuicao, 1);
+                                lidas.increment();
+                            });
+                        }
+                    })));
+                }
+                aguardar(tarefas);
+            }
+            commits.writeLock().lock();
+            try {
+                int reaplicadas = atual.reaplicar(nova);
+                tabela = nova;
+                LOGGER.info("Resumos de reservas reconstruídos a partir de {} reservas e {} alterações concorrentes",
+                            lidas.sum(), reaplicadas);
+            } finally {
+                commits.writeLock().unlock();
+            }
+        } finally {
+            reconstrucao = null;
+        }
+        return lidas.sum();
+    }
+
+    // A consulta é executada sem nenhuma escrita entre o commit e o registro da alteração,
+    // de modo que as alterações até o marco estão no bloco e as seguintes não
+    private Stream<ContribuicaoReservaDTO> iniciarBloco(Reconstrucao atual, int bloco) {
+        commits.writeLock().lock();
+        try {
+            atual.marcos[bloco] = atual.ordem.get();
+            return reservaRepository.streamContribuicoes(atual.inicios[bloco], atual.fins[bloco]);
+        } finally {
+            commits.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Troca a contribuição anterior de uma reserva pela atual depois do commit da transação corrente,
+     * ou imediatamente fora de uma transação. Deve ser chamado pela transação da escrita, e não depois dela,
+     * para que o commit seja ordenado com as leituras de uma reconstrução em andamento.
+     * @param reservaId ID da reserva
+     * @param anterior Estado gravado antes da escrita, ou null para reservas novas
+     * @param atual Estado gravado pela escrita, ou null para reservas excluídas
+     */
+    public void substituir(Long reservaId, ContribuicaoReservaDTO anterior, ContribuicaoReservaDTO atual) {
+        substituir(List.of(new Substituicao(reservaId, anterior, atual)));
+    }
+
+    /**
+     * Troca as contribuições de várias reservas, como em {@link #substituir(Long, ContribuicaoReservaDTO,
+     * ContribuicaoReservaDTO)}
+     * @param substituicoes Estados anterior e atual de cada reserva
+     */
+    public void substituir(List<Substituicao> substituicoes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commits.readLock().lock();
+            try {
+                registrar(substituicoes);
+            } finally {
+                commits.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            private boolean travado;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commits.readLock().lock();
+                travado = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                registrar(substituicoes);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (travado) {
+                    travado = false;
+                    commits.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    private void registrar(List<Substituicao> substituicoes) {
+        Tabela atualTabela = tabela;
+        Reconstrucao atual = reconstrucao;
+        for (Substituicao substituicao : substituicoes) {
+            substituicao.aplicar(atualTabela);
+            if (atual != null) {
+                atual.guardar(substituicao);
+            }
+        }
+    }
+
+    /**
+     * Totais de cada dia do período, por tipo de veículo e status
+     * @param inicio Primeiro dia
+     * @param fim Último dia, inclusive
+     * @param tipo PASSEIO, UTILITARIO ou MOTOCICLETA; null para todos os tipos
+     * @param status Status aceitos; null ou vazio para todos
+     * @return Resumos em ordem de dia, tipo e status, sem os grupos zerados
+     */
+    public List<ResumoReservaDTO> buscarDiario(LocalDate inicio, LocalDate fim, String tipo,
+                                               Collection<StatusReserva> status) {
+        String tipoAceito = validar(inicio, fim, tipo);
+        List<ResumoReservaDTO> resumos = new ArrayList<>();
+        tabela.dias(inicio, fim).forEach((dia, grupos) -> new TreeMap<>(grupos).forEach((grupo, acumulador) -> {
+            if (grupo.aceito(tipoAceito, status) && !acumulador.vazio()) {
+                resumos.add(acumulador.resumo(dia, grupo));
+            }
+        }));
+        return resumos;
+    }
+
+    /**
+     * Totais do período inteiro, por tipo de veículo e status
+     * @param inicio Primeiro dia
+     * @param fim Último dia, inclusive
+     * @param tipo PASSEIO, UTILITARIO ou MOTOCICLETA; null para todos os tipos
+     * @param status Status aceitos; null ou vazio para todos
+     * @return Resumos em ordem de tipo e status, sem os grupos zerados
+     */
+    public List<ResumoReservaDTO> buscarTotais(LocalDate inicio, LocalDate fim, String tipo,
+                                               Collection<StatusReserva> status) {
+        String tipoAceito = validar(inicio, fim, tipo);
+        Map<Grupo, Acumulador> totais = new TreeMap<>();
+        tabela.dias(inicio, fim).values().forEach(grupos -> grupos.forEach((grupo, acumulador) -> {
+            if (grupo.aceito(tipoAceito, status)) {
+                totais.computeIfAbsent(grupo, g -> new Acumulador()).somar(acumulador);
+            }
+        }));
+        return totais.entrySet().stream()
+            .filter(total -> !total.getValue().vazio())
+            .map(total -> total.getValue().resumo(null, total.getKey()))
+            .toList();
+    }
+
+    /**
+     * Estado de uma reserva como ele entra nos resumos
+     * @param reserva Reserva com o veículo associado
+     * @return Contribuição da reserva
+     */
+    static ContribuicaoReservaDTO contribuicao(Reserva reserva) {
+        return new ContribuicaoReservaDTO(reserva.getDataInicio(), reserva.getDataFim(), reserva.getStatus(),
+                                          reserva.getValorTotal(), Hibernate.getClass(reserva.getVeiculo()));
+    }
+
+    private static String validar(LocalDate inicio, LocalDate fim, String tipo) {
+        if (inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("A data de início deve ser anterior ou igual à data de fim");
+        }
+        if (tipo == null || tipo.isBlank()) {
+            return null;
+        }
+        String normalizado = tipo.toUpperCase(Locale.ROOT);
+        if (!TIPOS.contains(normalizado)) {
+            throw new IllegalArgumentException("Tipo de veículo inválido: " + tipo);
+        }
+        return normalizado;
+    }
+
+    private static void aguardar(List<Future<?>> tarefas) {
+        try {
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconstrução dos resumos interrompida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Falha na reconstrução dos resumos", e.getCause());
+        }
+    }
+
+    /**
+     * Estados anterior e atual de uma reserva alterada
+     * @param reservaId ID da reserva
+     * @param anterior Estado gravado antes da escrita, ou null para reservas novas
+     * @param atual Estado gravado pela escrita, ou null para reservas excluídas
+     */
+    public record Substituicao(Long reservaId, ContribuicaoReservaDTO anterior, ContribuicaoReservaDTO atual) {
+
+        private void aplicar(Tabela tabela) {
+            if (anterior != null) {
+                tabela.aplicar(anterior, -1);
+            }
+            if (atual != null) {
+                tabela.aplicar(atual, 1);
+            }
+        }
+    }
+
+    /**
+     * Blocos de uma reconstrução em andamento e as alterações confirmadas enquanto ela lê o banco.
+     * Cada alteração recebe um número de ordem; o marco de um bloco é o último número atribuído
+     * quando a sua consulta começou.
+     */
+    private static final class Reconstrucao {
+
+        private final AtomicLong ordem = new AtomicLong();
+
+        private final Queue<Guardada> guardadas = new ConcurrentLinkedQueue<>();
+
+        private long[] inicios = new long[0];
+
+        private long[] fins = new long[0];
+
+        private long[] marcos = new long[0];
+
+        private record Guardada(long ordem, Substituicao substituicao) {
+        }
+
+        void dividir(long menorId, long maiorId, int blocos) {
+            long tamanhoBloco = (maiorId - menorId) / blocos + 1;
+            int quantidade = (int) ((maiorId - menorId) / tamanhoBloco + 1);
+            inicios = new long[quantidade];
+            fins = new long[quantidade];
+            marcos = new long[quantidade];
+            for (int bloco = 0; bloco < quantidade; bloco++) {
+                inicios[bloco] = menorId + bloco * tamanhoBloco;
+                fins[bloco] = Math.min(maiorId, inicios[bloco] + tamanhoBloco - 1);
+            }
+        }
+
+        void guardar(Substituicao substituicao) {
+            guardadas.add(new Guardada(ordem.incrementAndGet(), substituicao));
+        }
+
+        // Reaplica as alterações que o bloco da reserva não leu; reservas fora dos blocos não foram lidas
+        int reaplicar(Tabela nova) {
+            int reaplicadas = 0;
+            for (Guardada guardada : guardadas) {
+                int bloco = bloco(guardada.substituicao().reservaId());
+                if (bloco < 0 || guardada.ordem() > marcos[bloco]) {
+                    guardada.substituicao().aplicar(nova);
+                    reaplicadas++;
+                }
+            }
+            return reaplicadas;
+        }
+
+        private int bloco(long reservaId) {
+            for (int bloco = 0; bloco < inicios.length; bloco++) {
+                if (reservaId >= inicios[bloco] && reservaId <= fins[bloco]) {
+                    return bloco;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Acumuladores de todos os dias, ordenados por data
+     */
+    private static final class Tabela {
+
+        private final ConcurrentSkipListMap<LocalDate, ConcurrentMap<Grupo, Acumulador>> porDia =
+            new ConcurrentSkipListMap<>();
+
+        Map<LocalDate, ConcurrentMap<Grupo, Acumulador>> dias(LocalDate inicio, LocalDate fim) {
+            return porDia.subMap(inicio, true, fim, true);
+        }
+
+        // sinal 1 soma a reserva aos totais e -1 a retira
+        void aplicar(ContribuicaoReservaDTO contribuicao, int sinal) {
+            Grupo grupo = new Grupo(contribuicao.tipo(), contribuicao.status());
+            Acumulador doInicio = acumulador(contribuicao.dataInicio().toLocalDate(), grupo);
+            doInicio.quantidade.add(sinal);
+            doInicio.centavos.add(sinal * centavos(contribuicao.valorTotal()));
+
+            LocalDateTime trecho = contribuicao.dataInicio();
+            while (trecho.isBefore(contribuicao.dataFim())) {
+                LocalDateTime proximoDia = trecho.toLocalDate().plusDays(1).atStartOfDay();
+                LocalDateTime fimTrecho = proximoDia.isBefore(contribuicao.dataFim())
+                    ? proximoDia : contribuicao.dataFim();
+                acumulador(trecho.toLocalDate(), grupo).segundos
+                    .add(sinal * Duration.between(trecho, fimTrecho).getSeconds());
+                trecho = fimTrecho;
+            }
+        }
+
+        private Acumulador acumulador(LocalDate dia, Grupo grupo) {
+            return porDia.computeIfAbsent(dia, d -> new ConcurrentHashMap<>())
+                .computeIfAbsent(grupo, g -> new Acumulador());
+        }
+
+        // Em centavos, para que somar e subtrair a mesma reserva volte exatamente ao valor anterior
+        private static long centavos(Double valor) {
+            return valor == null ? 0 : Math.round(valor * 100);
+        }
+    }
+
+    private record Grupo(String tipo, StatusReserva status) implements Comparable<Grupo> {
+
+        private static final Comparator<Grupo> ORDEM =
+            Comparator.comparing(Grupo::tipo).thenComparing(Grupo::status);
+
+        boolean aceito(String tipoAceito, Collection<StatusReserva> statusAceitos) {
+            return (tipoAceito == null || tipoAceito.equals(tipo))
+                && (statusAceitos == null || statusAceitos.isEmpty() || statusAceitos.contains(status));
+        }
+
+        @Override
+        public int compareTo(Grupo outro) {
+            return ORDEM.compare(this, outro);
+        }
+    }
+
+    private static final class Acumulador {
+
+        private final LongAdder quantidade = new LongAdder();
+
+        private final LongAdder centavos = new LongAdder();
+
+        private final LongAdder segundos = new LongAdder();
+
+        void somar(Acumulador outro) {
+            quantidade.add(outro.quantidade.sum());
+            centavos.add(outro.centavos.sum());
+            segundos.add(outro.segundos.sum());
+        }
+
+        boolean vazio() {
+            return quantidade.sum() == 0 && centavos.sum() == 0 && segundos.sum() == 0;
+        }
+
+        ResumoReservaDTO resumo(LocalDate dia, Grupo grupo) {
+            return new ResumoReservaDTO(dia, grupo.tipo(), grupo.status(), quantidade.sum(),
+                                        centavos.sum() / 100.0, segundos.sum() / 3600.0);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.unb.projeto_tppe.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Roda temporal hierárquica: agenda itens para um instante (em milissegundos) e devolve,
+ * a cada avanço do relógio, os que já venceram.
+ *
+ * Cada nível tem 64 posições; uma posição do nível 0 cobre um tick, e uma posição do nível
+ * seguinte cobre uma volta inteira do anterior. Um item entra no nível mais baixo cujo alcance
+ * contém o seu vencimento, e desce de nível à medida que o relógio se aproxima dele. Agendar
+ * custa O(1) por nível, e um avanço visita no máximo 64 posições por nível, independentemente
+ * de quantos itens estão agendados. Novos níveis são criados conforme a distância dos vencimentos.
+ *
+ * Os itens não podem ser desagendados: quem os consome deve conferir se ainda valem.
+ */
+final class RodaTemporal<T> {
+
+    private static final int POSICOES = 64;
+
+    private record Agendado<T>(long vencimento, T item) {
+    }
+
+    private final long duracaoTick;
+
+    private final List<Nivel<T>> niveis = new ArrayList<>();
+
+    // Itens agendados para um instante que o relógio já alcançou
+    private List<Agendado<T>> vencidos = new ArrayList<>();
+
+    private long agora;
+
+    private int tamanho;
+
+    /**
+     * @param duracaoTick Duração de uma posição do nível 0, em milissegundos
+     * @param agora Instante inicial do relógio
+     */
+    RodaTemporal(long duracaoTick, long agora) {
+        this.duracaoTick = duracaoTick;
+        this.agora = agora;
+        niveis.add(new Nivel<>(duracaoTick, agora));
+    }
+
+    /**
+     * Agenda um item. Um vencimento já alcançado pelo relógio é entregue no próximo avanço
+     * @param vencimento Instante em que o item vence
+     * @param item Item agendado
+     */
+    synchronized void agendar(long vencimento, T item) {
+        inserir(new Agendado<>(vencimento, item));
+        tamanho++;
+    }
+
+    /**
+     * Avança o relógio e retira os itens vencidos. Um instante anterior ao relógio não o faz
+     * voltar, mas só entrega os itens que vencem até ele
+     * @param instante Instante atual
+     * @return Itens com vencimento até o instante informado
+     */
+    synchronized List<T> avancar(long instante) {
+        List<Agendado<T>> retirados = vencidos;
+        vencidos = new ArrayList<>();
+        if (instante > agora) {
+            agora = instante;
+            for (Nivel<T> nivel : niveis) {
+                nivel.avancar(instante, retirados);
+            }
+        }
+        List<T> entregues = new ArrayList<>();
+        for (Agendado<T> agendado : retirados) {
+            if (agendado.vencimento() <= instante) {
+                entregues.add(agendado.item());
+            } else {
+                inserir(agendado);
+            }
+        }
+        tamanho -= entregues.size();
+        return entregues;
+    }
+
+    /**
+     * @return Quantidade de itens agendados e ainda não entregues
+     */
+    synchronized int tamanho() {
+        return tamanho;
+    }
+
+    private void inserir(Agendado<T> agendado) {
+        if (agendado.vencimento() <= agora) {
+            vencidos.add(agendado);
+            return;
+        }
+        for (int i = 0; ; i++) {
+            if (i == niveis.size()) {
+                niveis.add(new Nivel<>(niveis.get(i - 1).duracaoVolta(), agora));
+            }
+            if (niveis.get(i).aceitar(agendado)) {
+                return;
+            }
+        }
+    }
+
+    private static final class Nivel<T> {
+
+        private final long duracaoPosicao;
+
+        @SuppressWarnings("unchecked")
+        private final List<Agendado<T>>[] posicoes = new List[POSICOES];
+
+        // Índice absoluto (instante / duracaoPosicao) da posição que contém o relógio
+        private long atual;
+
+        Nivel(long duracaoPosicao, long agora) {
+            this.duracaoPosicao = duracaoPosicao;
+            this.atual = agora / duracaoPosicao;
+        }
+
+        long duracaoVolta() {
+            return duracaoPosicao * POSICOES;
+        }
+
+        boolean aceitar(Agendado<T> agendado) {
+            long indice = agendado.vencimento() / duracaoPosicao;
+            if (indice >= atual + POSICOES) {
+                return false;
+            }
+            int posicao = (int) (indice % POSICOES);
+            if (posicoes[posicao] == null) {
+                posicoes[posicao] = new ArrayList<>();
+            }
+            posicoes[posicao].add(agendado);
+            return true;
+        }
+
+        // Esvazia as posições alcançadas pelo relógio; os itens voltam a ser inseridos pela roda,
+        // que os entrega ou os coloca em um nível mais baixo
+        void avancar(long agora, List<Agendado<T>> retirados) {
+            long novo = agora / duracaoPosicao;
+            long ultimo = Math.min(novo, atual + POSICOES - 1);
+            for (long indice = atual; indice <= ultimo; indice++) {
+                int posicao = (int) (indice % POSICOES);
+                if (posicoes[posicao] != null) {
+                    retirados.addAll(posicoes[posicao]);
+                    posicoes[posicao] = null;
+                }
+            }
+            atual = novo;
+        }
+    }
+}
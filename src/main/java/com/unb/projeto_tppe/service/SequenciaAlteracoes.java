@@ -0,0 +1,149 @@
+package com.unb.projeto_tppe.service;
+
+import com.unb.projeto_tppe.model.NumeradorAlteracoes;
+import com.unb.projeto_tppe.repository.ReservaExcluidaRepository;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Números de alteração das reservas, usados como token da sincronização incremental
+ * (GET /api/reservas/alteracoes).
+ *
+ * Cada transação que grava reservas recebe um único número, crescente, gravado em todas as linhas
+ * que ela insere, altera ({@code Reserva.sequenciaAlteracao}) ou exclui ({@code ReservaExcluida}).
+ * Como as transações não terminam na ordem dos seus números, {@link #confirmada()} devolve o maior
+ * número abaixo do qual todas já terminaram: uma leitura limitada a ele nunca pula uma alteração
+ * que ainda vai aparecer com número menor.
+ *
+ * O último número é lido do banco no primeiro uso e os seguintes são contados em memória, assim como
+ * as transações em andamento: só uma instância da aplicação pode gravar reservas. Com várias,
+ * {@code reservas.alteracoes.instancia-unica=false} desliga a sincronização incremental; se ela
+ * continuar ligada, {@link #confirmada()} recusa a leitura ao encontrar números que esta instância
+ * não entregou.
+ */
+@Component
+public class SequenciaAlteracoes implements NumeradorAlteracoes {
+
+    private final ReservaRepository reservaRepository;
+
+    private final ReservaExcluidaRepository reservaExcluidaRepository;
+
+    private final boolean instanciaUnica;
+
+    // Números de transações ainda em andamento
+    private final NavigableSet<Long> pendentes = new TreeSet<>();
+
+    // Último número entregue; null até a leitura do banco
+    private Long ultima;
+
+    // @Lazy: o listener das reservas é criado junto com o EntityManagerFactory, antes dos repositórios
+    @Autowired
+    public SequenciaAlteracoes(@Lazy ReservaRepository reservaRepository,
+                               @Lazy ReservaExcluidaRepository reservaExcluidaRepository,
+                               @Value("${reservas.alteracoes.instancia-unica:true}") boolean instanciaUnica) {
+        this.reservaRepository = reservaRepository;
+        this.reservaExcluidaRepository = reservaExcluidaRepository;
+        this.instanciaUnica = instanciaUnica;
+    }
+
+    /**
+     * @return Número da transação corrente, atribuído na primeira chamada dentro dela
+     */
+    @Override
+    public long atual() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return alocar();
+        }
+        Long numero = (Long) TransactionSynchronizationManager.getResource(this);
+        if (numero != null) {
+            return numero;
+        }
+        long alocado = alocar();
+        TransactionSynchronizationManager.bindResource(this, alocado);
+        TransactionSynchronizationManager.registerSynchronization(new Liberacao(alocado));
+        return alocado;
+    }
+
+    /**
+     * @return Maior número tal que todas as transações com número até ele já terminaram
+     * @throws IllegalStateException se a sincronização estiver desligada ou outra instância gravar reservas
+     */
+    public long confirmada() {
+        if (!instanciaUnica) {
+            throw new IllegalStateException(
+                "Sincronização incremental desligada: reservas.alteracoes.instancia-unica=false");
+        }
+        // Lido antes do último número entregue, que só cresce: um número maior no banco veio de outra instância
+        long gravada = maiorGravada();
+        synchronized (this) {
+            long ultimaAlocada = carregar(gravada);
+            if (gravada > ultimaAlocada) {
+                throw new IllegalStateException(String.format(
+                    "Número de alteração %d gravado por outra instância (o último desta é %d); a sincronização "
+                    + "incremental exige uma única instância gravando reservas", gravada, ultimaAlocada));
+            }
+            return pendentes.isEmpty() ? ultimaAlocada : pendentes.first() - 1;
+        }
+    }
+
+    private synchronized long alocar() {
+        ultima = (ultima == null ? maiorGravada() : ultima) + 1;
+        pendentes.add(ultima);
+        return ultima;
+    }
+
+    private long carregar(long gravada) {
+        if (ultima == null) {
+            ultima = gravada;
+        }
+        return ultima;
+    }
+
+    // Na transação de quem chama, que não pode ser somente leitura: com réplicas, ela iria a uma réplica
+    // atrasada e o número voltaria para trás. Sem transação, as consultas vão ao primário
+    private long maiorGravada() {
+        return Math.max(reservaRepository.findMaiorSequenciaAlteracao(),
+                        reservaExcluidaRepository.findMaiorSequenciaAlteracao());
+    }
+
+    private synchronized void liberar(long numero) {
+        pendentes.remove(numero);
+    }
+
+    // Antes das demais sincronizações: quem é avisado do commit (VersoesAgregados, FeedAlteracoes)
+    // já encontra o número confirmado
+    private final class Liberacao implements TransactionSynchronization {
+
+        private final long numero;
+
+        Liberacao(long numero) {
+            this.numero = numero;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void afterCommit() {
+            liberar(numero);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(SequenciaAlteracoes.this);
+            liberar(numero);
+        }
+    }
+}
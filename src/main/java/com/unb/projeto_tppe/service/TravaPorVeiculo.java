@@ -0,0 +1,118 @@
+package com.unb.projeto_tppe.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializa operações sobre o mesmo veículo usando um conjunto fixo de travas (lock striping).
+ *
+ * Cada veículo é mapeado para uma das travas; operações sobre veículos que caem em travas
+ * diferentes executam em paralelo, e a memória usada não cresce com o número de veículos.
+ *
+ * As travas só valem dentro desta instância. Com várias instâncias gravando reservas, a verificação de
+ * conflito vai ao banco ({@code reservas.conflitos.instancia-unica=false}) e duas reservas sobrepostas
+ * gravadas ao mesmo tempo em instâncias diferentes são separadas pela restrição de exclusão do PostgreSQL.
+ */
+@Component
+public class TravaPorVeiculo {
+
+    private final ReentrantLock[] travas;
+
+    public TravaPorVeiculo(@Value("${reservas.travas.quantidade:1024}") int quantidade) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade de travas deve ser maior que zero");
+        }
+        this.travas = new ReentrantLock[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            travas[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Executa a ação mantendo a trava do veículo durante toda a execução
+     * @param veiculoId ID do veículo
+     * @param acao Ação a executar
+     * @param <T> Tipo do resultado
+     * @return Resultado da ação
+     */
+    public <T> T executar(Long veiculoId, Supplier<T> acao) {
+        ReentrantLock trava = travas[indice(veiculoId)];
+        trava.lock();
+        try {
+            return acao.get();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Executa a ação mantendo as travas de todos os veículos informados.
+     * As travas são adquiridas em ordem crescente de índice, de modo que duas operações
+     * sobre conjuntos que se cruzam não entram em deadlock.
+     * @param veiculoIds IDs dos veículos
+     * @param acao Ação a executar
+     * @param <T> Tipo do resultado
+     * @return Resultado da ação
+     */
+    public <T> T executar(Collection<Long> veiculoIds, Supplier<T> acao) {
+        int[] indices = veiculoIds.stream().mapToInt(this::indice).distinct().sorted().toArray();
+        int adquiridas = 0;
+        try {
+            for (int indice : indices) {
+                travas[indice].lock();
+                adquiridas++;
+            }
+            return acao.get();
+        } finally {
+            for (int i = adquiridas - 1; i >= 0; i--) {
+                travas[indices[i]].unlock();
+            }
+        }
+    }
+
+    /**
+     * Divide os veículos em grupos que ocupam no máximo {@code maximoTravas} travas cada, para que uma
+     * operação sobre muitos veículos seja feita em partes sem reter todas as travas ao mesmo tempo.
+     * Veículos que caem na mesma trava ficam sempre no mesmo grupo.
+     * @param veiculoIds IDs dos veículos
+     * @param maximoTravas Quantidade máxima de travas por grupo
+     * @return Grupos de IDs, em ordem crescente de índice das travas
+     */
+    public List<List<Long>> agrupar(Collection<Long> veiculoIds, int maximoTravas) {
+        SortedMap<Integer, List<Long>> porTrava = new TreeMap<>();
+        for (Long veiculoId : veiculoIds) {
+            porTrava.computeIfAbsent(indice(veiculoId), indice -> new ArrayList<>()).add(veiculoId);
+        }
+        List<List<Long>> grupos = new ArrayList<>();
+        List<Long> grupo = new ArrayList<>();
+        int travasDoGrupo = 0;
+        for (List<Long> ids : porTrava.values()) {
+            if (travasDoGrupo == maximoTravas) {
+                grupos.add(grupo);
+                grupo = new ArrayList<>();
+                travasDoGrupo = 0;
+            }
+            grupo.addAll(ids);
+            travasDoGrupo++;
+        }
+        if (!grupo.isEmpty()) {
+            grupos.add(grupo);
+        }
+        return grupos;
+    }
+
+    private int indice(Long veiculoId) {
+        int hash = veiculoId.hashCode();
+        // Espalha os bits altos para que IDs sequenciais não se concentrem em poucas travas
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, travas.length);
+    }
+}
@@ -1,29 +1,58 @@
 package com.unb.projeto_tppe.service;
 
+import com.unb.projeto_tppe.dto.EventoAlteracaoDTO;
+import com.unb.projeto_tppe.dto.PaginaDTO;
+import com.unb.projeto_tppe.dto.VeiculoResumoDTO;
 import com.unb.projeto_tppe.model.Utilitario;
 import com.unb.projeto_tppe.repository.UtilitarioRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class UtilitarioServiceImpl implements VeiculoService<Utilitario> {
 
     private final UtilitarioRepository utilitarioRepository;
 
+    private final LeituraEmFluxo leituraEmFluxo;
+
+    private final PainelReservaService painelReservas;
+
+    private final VersoesAgregados versoes;
+
+    private final FeedAlteracoes feed;
+
     @Autowired
-    public UtilitarioServiceImpl(UtilitarioRepository utilitarioRepository) {
+    public UtilitarioServiceImpl(UtilitarioRepository utilitarioRepository, LeituraEmFluxo leituraEmFluxo,
+                                 PainelReservaService painelReservas, VersoesAgregados versoes,
+                                 FeedAlteracoes feed) {
         this.utilitarioRepository = utilitarioRepository;
+        this.leituraEmFluxo = leituraEmFluxo;
+        this.painelReservas = painelReservas;
+        this.versoes = versoes;
+        this.feed = feed;
     }
 
     @Override
     @Transactional
     public Utilitario salvar(Utilitario utilitario) {
-        return utilitarioRepository.save(utilitario);
+        boolean existente = utilitario.getId() != null;
+        Utilitario utilitarioSalvo = utilitarioRepository.save(utilitario);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.VEICULOS);
+        feed.publicar(VersoesAgregados.Agregado.VEICULOS,
+                      existente ? EventoAlteracaoDTO.Tipo.ALTERACAO : EventoAlteracaoDTO.Tipo.CRIACAO,
+                      utilitarioSalvo.getId());
+        if (existente) {
+            painelReservas.atualizarVeiculo(utilitarioSalvo);
+        }
+        return utilitarioSalvo;
     }
 
     @Override
@@ -32,12 +61,42 @@ public class UtilitarioServiceImpl implements VeiculoService<Utilitario> {
         return utilitarioRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<Utilitario> buscarPagina(Long cursor, Integer tamanho) {
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        List<Utilitario> registros = utilitarioRepository.findByIdGreaterThanOrderByIdAsc(
+            cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.de(registros, limite, Utilitario::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<VeiculoResumoDTO> buscarResumos(Long cursor, Integer tamanho) {
+        int limite = PaginaDTO.limitarTamanho(tamanho);
+        List<VeiculoResumoDTO> registros = utilitarioRepository.findResumos(
+            cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.de(registros, limite, VeiculoResumoDTO::id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void transmitirTodos(Consumer<? super Utilitario> consumidor) {
+        leituraEmFluxo.transmitir(utilitarioRepository.streamAllByOrderByIdAsc(), consumidor);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Utilitario> buscarPorId(Long id) {
         return utilitarioRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Utilitario> buscarPorIds(Collection<Long> ids) {
+        return utilitarioRepository.findAllById(ids);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Utilitario> buscarPorPlaca(String placa) {
@@ -54,5 +113,7 @@ public class UtilitarioServiceImpl implements VeiculoService<Utilitario> {
     @Transactional
     public void excluir(Long id) {
         utilitarioRepository.deleteById(id);
+        versoes.registrarEscrita(VersoesAgregados.Agregado.VEICULOS);
+        feed.publicar(VersoesAgregados.Agregado.VEICULOS, EventoAlteracaoDTO.Tipo.EXCLUSAO, id);
     }
 }
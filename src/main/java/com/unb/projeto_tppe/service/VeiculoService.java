@@ -1,9 +1,13 @@
 package com.unb.projeto_tppe.service;
 
+import com.unb.projeto_tppe.dto.PaginaDTO;
+import com.unb.projeto_tppe.dto.VeiculoResumoDTO;
 import com.unb.projeto_tppe.model.Veiculo;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Interface genérica para serviços de veículos
@@ -24,6 +28,28 @@ public interface VeiculoService<T extends Veiculo> {
      */
     List<T> buscarTodos();
     
+    /**
+     * Busca uma página de veículos a partir de um cursor
+     * @param cursor ID do último veículo da página anterior, ou null para a primeira página
+     * @param tamanho Quantidade de veículos por página (limitada a {@link PaginaDTO#TAMANHO_MAXIMO})
+     * @return Página de veículos em ordem de ID
+     */
+    PaginaDTO<T> buscarPagina(Long cursor, Integer tamanho);
+    
+    /**
+     * Busca uma página de veículos já projetados para listagem, sem carregar as entidades
+     * @param cursor ID do último veículo da página anterior, ou null para a primeira página
+     * @param tamanho Quantidade de veículos por página (limitada a {@link PaginaDTO#TAMANHO_MAXIMO})
+     * @return Página de resumos em ordem de ID
+     */
+    PaginaDTO<VeiculoResumoDTO> buscarResumos(Long cursor, Integer tamanho);
+    
+    /**
+     * Percorre todos os veículos em ordem de ID sem carregá-los de uma vez em memória
+     * @param consumidor Recebe cada veículo lido
+     */
+    void transmitirTodos(Consumer<? super T> consumidor);
+    
     /**
      * Busca um veículo pelo seu ID
      * @param id ID do veículo
@@ -31,6 +57,13 @@ public interface VeiculoService<T extends Veiculo> {
      */
     Optional<T> buscarPorId(Long id);
     
+    /**
+     * Busca vários veículos em uma única consulta; IDs inexistentes são ignorados
+     * @param ids IDs dos veículos
+     * @return Veículos encontrados, em qualquer ordem
+     */
+    List<T> buscarPorIds(Collection<Long> ids);
+    
     /**
      * Busca um veículo pela sua placa
      * @param placa Placa do veículo
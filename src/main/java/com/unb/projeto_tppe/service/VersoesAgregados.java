@@ -0,0 +1,94 @@
+package com.unb.projeto_tppe.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Versão de cada agregado (reservas, veículos e pessoas), incrementada após o commit de toda
+ * escrita feita pelos serviços. As respostas dos GETs levam como ETag as versões dos agregados
+ * de que dependem, e um If-None-Match com a ETag atual é respondido com 304 sem consultar o banco.
+ *
+ * Os contadores ficam em memória e voltam a zero a cada inicialização; por isso a ETag leva também
+ * a geração da instância, e as ETags anteriores a um reinício deixam de valer. Alterações feitas
+ * direto no banco não mudam as versões.
+ *
+ * Os contadores também são de cada instância: uma escrita feita em outra instância não muda as versões
+ * desta, que continuaria respondendo 304 com dados já alterados. Só uma instância da aplicação pode gravar;
+ * com várias, {@code respostas.versoes.instancia-unica=false} desliga o GET condicional
+ * ({@code RespostaCondicionalConfig}) e o cache de respostas ({@code CacheRespostasConfig}). O detalhe da reserva
+ * não usa estas versões: sua ETag é a coluna {@code versao} da linha.
+ */
+@Component
+public class VersoesAgregados {
+
+    public enum Agregado { RESERVAS, VEICULOS, PESSOAS }
+
+    private final Map<Agregado, AtomicLong> versoes = new EnumMap<>(Agregado.class);
+
+    private final String geracao = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final boolean instanciaUnica;
+
+    public VersoesAgregados(@Value("${respostas.versoes.instancia-unica:true}") boolean instanciaUnica) {
+        this.instanciaUnica = instanciaUnica;
+        for (Agregado agregado : Agregado.values()) {
+            versoes.put(agregado, new AtomicLong());
+        }
+    }
+
+    /**
+     * @return true se só esta instância grava e as versões podem identificar as respostas
+     */
+    public boolean instanciaUnica() {
+        return instanciaUnica;
+    }
+
+    /**
+     * Registra uma escrita no agregado. Dentro de uma transação o incremento só acontece após o
+     * commit: antes dele, uma leitura concorrente ainda veria os dados antigos com a versão nova
+     * @param agregado Agregado alterado
+     */
+    public void registrarEscrita(Agregado agregado) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            incrementar(agregado);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                incrementar(agregado);
+            }
+        });
+    }
+
+    private void incrementar(Agregado agregado) {
+        versoes.get(agregado).incrementAndGet();
+    }
+
+    /**
+     * @param agregado Agregado
+     * @return Versão atual do agregado
+     */
+    public long versao(Agregado agregado) {
+        return versoes.get(agregado).get();
+    }
+
+    /**
+     * Monta a ETag forte de uma resposta que depende dos agregados informados
+     * @param agregados Agregados lidos pela resposta
+     * @return ETag entre aspas, no formato {@code "geração-versão.versão"}
+     */
+    public String etag(Collection<Agregado> agregados) {
+        return agregados.stream()
+            .map(agregado -> Long.toString(versao(agregado)))
+            .collect(Collectors.joining(".", "\"" + geracao + "-", "\""));
+    }
+}
@@ -0,0 +1,119 @@
+-- Esquema inicial, equivalente ao que o Hibernate criava com ddl-auto=update.
+-- Idempotente: em bancos que já existiam antes do Flyway só cria o que estiver faltando.
+
+CREATE SEQUENCE IF NOT EXISTS veiculos_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS pessoas_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS enderecos_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS reservas_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS veiculo (
+    id               BIGINT           NOT NULL,
+    tipo_veiculo     VARCHAR(31)      NOT NULL,
+    placa            VARCHAR(8)       NOT NULL,
+    modelo           VARCHAR(255)     NOT NULL,
+    marca            VARCHAR(255)     NOT NULL,
+    ano_fabricacao   INTEGER          NOT NULL,
+    ano_modelo       INTEGER          NOT NULL,
+    cor              VARCHAR(255)     NOT NULL,
+    data_aquisicao   DATE             NOT NULL,
+    status           VARCHAR(255)     NOT NULL
+        CHECK (status IN ('DISPONIVEL', 'ALUGADO', 'MANUTENCAO', 'VENDIDO')),
+    valor            DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_veiculo_placa UNIQUE (placa)
+);
+
+CREATE TABLE IF NOT EXISTS passeio (
+    id                        BIGINT       NOT NULL,
+    numero_portas             INTEGER      NOT NULL,
+    tipo_combustivel          VARCHAR(255) NOT NULL,
+    capacidade_passageiros    INTEGER      NOT NULL,
+    possui_ar_condicionado    BOOLEAN      NOT NULL,
+    possui_direcao_hidraulica BOOLEAN      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_passeio_veiculo FOREIGN KEY (id) REFERENCES veiculo
+);
+
+CREATE TABLE IF NOT EXISTS utilitario (
+    id                BIGINT           NOT NULL,
+    capacidade_carga  DOUBLE PRECISION NOT NULL,
+    volume_carga      DOUBLE PRECISION NOT NULL,
+    tipo_carroceria   VARCHAR(255)     NOT NULL,
+    numero_eixos      INTEGER          NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_utilitario_veiculo FOREIGN KEY (id) REFERENCES veiculo
+);
+
+CREATE TABLE IF NOT EXISTS motocicleta (
+    id               BIGINT       NOT NULL,
+    cilindrada       INTEGER      NOT NULL,
+    tipo             VARCHAR(255) NOT NULL,
+    partida_eletrica BOOLEAN      NOT NULL,
+    sistema_freios   VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_motocicleta_veiculo FOREIGN KEY (id) REFERENCES veiculo
+);
+
+CREATE TABLE IF NOT EXISTS endereco (
+    id          BIGINT       NOT NULL,
+    rua         VARCHAR(255) NOT NULL,
+    numero      VARCHAR(255) NOT NULL,
+    complemento VARCHAR(255),
+    bairro      VARCHAR(255) NOT NULL,
+    cidade      VARCHAR(255) NOT NULL,
+    estado      VARCHAR(2)   NOT NULL,
+    cep         VARCHAR(9)   NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS pessoa (
+    id          BIGINT       NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    telefone    VARCHAR(255) NOT NULL,
+    endereco_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_pessoa_endereco UNIQUE (endereco_id),
+    CONSTRAINT fk_pessoa_endereco FOREIGN KEY (endereco_id) REFERENCES endereco
+);
+
+CREATE TABLE IF NOT EXISTS pessoa_fisica (
+    id   BIGINT       NOT NULL,
+    nome VARCHAR(255) NOT NULL,
+    cpf  VARCHAR(255) NOT NULL,
+    rg   VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_pessoa_fisica_pessoa FOREIGN KEY (id) REFERENCES pessoa
+);
+
+CREATE TABLE IF NOT EXISTS pessoa_juridica (
+    id            BIGINT       NOT NULL,
+    razao_social  VARCHAR(255) NOT NULL,
+    nome_fantasia VARCHAR(255) NOT NULL,
+    cnpj          VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_pessoa_juridica_pessoa FOREIGN KEY (id) REFERENCES pessoa
+);
+
+CREATE TABLE IF NOT EXISTS reservas (
+    id                 BIGINT           NOT NULL,
+    data_inicio        TIMESTAMP(6)     NOT NULL,
+    data_fim           TIMESTAMP(6)     NOT NULL,
+    veiculo_id         BIGINT           NOT NULL,
+    pessoa_fisica_id   BIGINT,
+    pessoa_juridica_id BIGINT,
+    data_criacao       DATE             NOT NULL,
+    status             VARCHAR(255)     NOT NULL
+        CHECK (status IN ('PENDENTE', 'CONFIRMADA', 'CANCELADA', 'CONCLUIDA')),
+    valor_total        DOUBLE PRECISION NOT NULL,
+    observacoes        VARCHAR(500),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_reservas_veiculo FOREIGN KEY (veiculo_id) REFERENCES veiculo,
+    CONSTRAINT fk_reservas_pessoa_fisica FOREIGN KEY (pessoa_fisica_id) REFERENCES pessoa_fisica,
+    CONSTRAINT fk_reservas_pessoa_juridica FOREIGN KEY (pessoa_juridica_id) REFERENCES pessoa_juridica
+);
+
+-- Bancos antigos geravam IDs por IDENTITY: as sequências passam a começar depois do maior ID existente
+SELECT setval('veiculos_seq', COALESCE(MAX(id), 0) + 1, false) FROM veiculo;
+SELECT setval('pessoas_seq', COALESCE(MAX(id), 0) + 1, false) FROM pessoa;
+SELECT setval('enderecos_seq', COALESCE(MAX(id), 0) + 1, false) FROM endereco;
+SELECT setval('reservas_seq', COALESCE(MAX(id), 0) + 1, false) FROM reservas;
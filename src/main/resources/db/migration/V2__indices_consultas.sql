@@ -0,0 +1,37 @@
+-- Índices das consultas mais frequentes. As chaves estrangeiras não ganham índice automaticamente
+-- no PostgreSQL, então sem eles cada busca por veículo, cliente ou status percorre a tabela inteira.
+
+-- Verificação de conflito, busca por veículo e intervalos ativos do lote (veiculo_id + período)
+CREATE INDEX IF NOT EXISTS idx_reservas_veiculo_periodo
+    ON reservas (veiculo_id, data_inicio, data_fim);
+
+-- Carga do índice em memória (data_fim >= agora) e veículos ocupados no período, sempre sem canceladas
+CREATE INDEX IF NOT EXISTS idx_reservas_ativas_fim
+    ON reservas (data_fim, data_inicio) INCLUDE (veiculo_id)
+    WHERE status <> 'CANCELADA';
+
+-- Busca por período
+CREATE INDEX IF NOT EXISTS idx_reservas_data_inicio
+    ON reservas (data_inicio);
+
+CREATE INDEX IF NOT EXISTS idx_reservas_status
+    ON reservas (status);
+
+-- Cada reserva tem apenas um dos dois clientes; o outro é sempre nulo e fica fora do índice
+CREATE INDEX IF NOT EXISTS idx_reservas_pessoa_fisica
+    ON reservas (pessoa_fisica_id)
+    WHERE pessoa_fisica_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_reservas_pessoa_juridica
+    ON reservas (pessoa_juridica_id)
+    WHERE pessoa_juridica_id IS NOT NULL;
+
+-- Busca de cliente por documento e listagem de veículos reserváveis
+CREATE INDEX IF NOT EXISTS idx_pessoa_fisica_cpf
+    ON pessoa_fisica (cpf);
+
+CREATE INDEX IF NOT EXISTS idx_pessoa_juridica_cnpj
+    ON pessoa_juridica (cnpj);
+
+CREATE INDEX IF NOT EXISTS idx_veiculo_status
+    ON veiculo (status);
@@ -0,0 +1,12 @@
+-- Garante no próprio banco que um veículo nunca tenha duas reservas ativas sobrepostas,
+-- mesmo com várias instâncias da aplicação gravando ao mesmo tempo.
+-- Os intervalos são fechados ('[]'), como na verificação feita pela aplicação: uma reserva que
+-- começa no instante exato em que outra termina também é considerada conflito.
+-- A migração falha se já houver sobreposições gravadas; elas precisam ser corrigidas antes.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE reservas
+    ADD CONSTRAINT reservas_sem_sobreposicao
+    EXCLUDE USING gist (veiculo_id WITH =, tsrange(data_inicio, data_fim, '[]') WITH &&)
+    WHERE (status <> 'CANCELADA');
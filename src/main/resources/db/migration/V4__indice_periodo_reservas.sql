@@ -0,0 +1,6 @@
+-- Busca de reservas por período (sobrepoe_periodo em ReservaRepository, gerada como tsrange && tsrange).
+-- Com índices btree em data_inicio ou data_fim, a condição de sobreposição só limita uma das pontas e
+-- a varredura cobre tudo o que começou antes do fim da janela; o GiST indexa o intervalo inteiro.
+
+CREATE INDEX IF NOT EXISTS idx_reservas_periodo
+    ON reservas USING gist (tsrange(data_inicio, data_fim, '[]'));
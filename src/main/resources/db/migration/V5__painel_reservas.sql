@@ -0,0 +1,34 @@
+-- Painel de reservas desnormalizado (PainelReserva), usado com reservas.painel.tabela=true.
+-- Cada linha repete a placa, a marca e o modelo do veículo e o nome ou a razão social do cliente,
+-- para que a listagem do painel seja lida de uma única tabela, sem junções. A tabela é recriada
+-- a partir de reservas na inicialização da aplicação e não tem chaves estrangeiras.
+
+CREATE TABLE IF NOT EXISTS painel_reservas (
+    reserva_id         BIGINT           NOT NULL,
+    data_inicio        TIMESTAMP(6)     NOT NULL,
+    data_fim           TIMESTAMP(6)     NOT NULL,
+    status             VARCHAR(255)     NOT NULL
+        CHECK (status IN ('PENDENTE', 'CONFIRMADA', 'CANCELADA', 'CONCLUIDA')),
+    valor_total        DOUBLE PRECISION NOT NULL,
+    observacoes        VARCHAR(500),
+    veiculo_id         BIGINT           NOT NULL,
+    veiculo_placa      VARCHAR(255),
+    veiculo_marca      VARCHAR(255),
+    veiculo_modelo     VARCHAR(255),
+    pessoa_fisica_id   BIGINT,
+    pessoa_juridica_id BIGINT,
+    cliente_nome       VARCHAR(255),
+    PRIMARY KEY (reserva_id)
+);
+
+-- Propagação de alterações de veículo e de cliente para as linhas das suas reservas
+CREATE INDEX IF NOT EXISTS idx_painel_reservas_veiculo
+    ON painel_reservas (veiculo_id);
+
+CREATE INDEX IF NOT EXISTS idx_painel_reservas_pessoa_fisica
+    ON painel_reservas (pessoa_fisica_id)
+    WHERE pessoa_fisica_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_painel_reservas_pessoa_juridica
+    ON painel_reservas (pessoa_juridica_id)
+    WHERE pessoa_juridica_id IS NOT NULL;
@@ -0,0 +1,8 @@
+-- Controle de concorrência otimista (@Version em Reserva, Veiculo e Pessoa): cada UPDATE confere e
+-- incrementa a versão da linha. As linhas existentes começam na versão 0.
+
+ALTER TABLE reservas ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE veiculo ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE pessoa ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
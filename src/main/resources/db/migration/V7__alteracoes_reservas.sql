@@ -0,0 +1,18 @@
+-- Sincronização incremental de reservas (GET /api/reservas/alteracoes): cada transação que grava
+-- reservas recebe um número crescente, gravado em sequencia_alteracao das linhas que ela insere ou
+-- altera. As exclusões ficam em reservas_excluidas com o mesmo número. As linhas existentes começam
+-- em 0 e são entregues na primeira sincronização.
+
+ALTER TABLE reservas ADD COLUMN IF NOT EXISTS sequencia_alteracao BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_reservas_sequencia_alteracao
+    ON reservas (sequencia_alteracao, id);
+
+CREATE TABLE IF NOT EXISTS reservas_excluidas (
+    reserva_id          BIGINT NOT NULL,
+    sequencia_alteracao BIGINT NOT NULL,
+    PRIMARY KEY (reserva_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_reservas_excluidas_sequencia
+    ON reservas_excluidas (sequencia_alteracao);
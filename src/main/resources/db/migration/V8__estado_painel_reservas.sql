@@ -0,0 +1,13 @@
+-- Estado da tabela painel_reservas (EstadoPainelReservas), em uma única linha. Instâncias com
+-- reservas.painel.tabela=false marcam a tabela como desatualizada ao iniciar, já que não copiam as
+-- suas escritas; a primeira instância com a tabela ligada recria a tabela somente nesse caso.
+-- A linha começa desatualizada para que a tabela seja preenchida na primeira inicialização.
+
+CREATE TABLE IF NOT EXISTS painel_reservas_estado (
+    id            INTEGER NOT NULL,
+    desatualizado BOOLEAN NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO painel_reservas_estado (id, desatualizado)
+SELECT 1, TRUE WHERE NOT EXISTS (SELECT 1 FROM painel_reservas_estado WHERE id = 1);
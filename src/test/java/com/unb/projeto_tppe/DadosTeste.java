@@ -0,0 +1,85 @@
+package com.unb.projeto_tppe;
+
+import com.unb.projeto_tppe.model.Endereco;
+import com.unb.projeto_tppe.model.Motocicleta;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.model.PessoaJuridica;
+import com.unb.projeto_tppe.model.Veiculo;
+
+import java.time.LocalDate;
+
+/**
+ * Entidades válidas para os testes.
+ * Cada teste informa apenas o que as distingue (placa, documento, nome) e ajusta o restante pelos setters.
+ */
+public final class DadosTeste {
+
+    private DadosTeste() {
+    }
+
+    public static Passeio passeio(String placa) {
+        Passeio passeio = new Passeio();
+        preencher(passeio, placa, 80000.0);
+        passeio.setNumeroPortas(4);
+        passeio.setTipoCombustivel("Flex");
+        passeio.setCapacidadePassageiros(5);
+        passeio.setPossuiArCondicionado(true);
+        passeio.setPossuiDirecaoHidraulica(true);
+        return passeio;
+    }
+
+    public static Motocicleta motocicleta(String placa) {
+        Motocicleta motocicleta = new Motocicleta();
+        preencher(motocicleta, placa, 20000.0);
+        motocicleta.setCilindrada(300);
+        motocicleta.setTipo("street");
+        motocicleta.setPartidaEletrica(true);
+        motocicleta.setSistemaFreios("ABS");
+        return motocicleta;
+    }
+
+    public static Endereco endereco() {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua de Teste");
+        endereco.setNumero("100");
+        endereco.setBairro("Bairro Teste");
+        endereco.setCidade("Brasília");
+        endereco.setEstado("DF");
+        endereco.setCep("70000-000");
+        return endereco;
+    }
+
+    public static PessoaFisica pessoaFisica(String nome, String cpf, String email) {
+        PessoaFisica pessoa = new PessoaFisica();
+        pessoa.setNome(nome);
+        pessoa.setCpf(cpf);
+        pessoa.setEmail(email);
+        pessoa.setTelefone("61999990000");
+        pessoa.setEndereco(endereco());
+        return pessoa;
+    }
+
+    public static PessoaJuridica pessoaJuridica(String razaoSocial, String cnpj, String email) {
+        PessoaJuridica pessoa = new PessoaJuridica();
+        pessoa.setRazaoSocial(razaoSocial);
+        pessoa.setNomeFantasia(razaoSocial);
+        pessoa.setCnpj(cnpj);
+        pessoa.setEmail(email);
+        pessoa.setTelefone("6133330000");
+        pessoa.setEndereco(endereco());
+        return pessoa;
+    }
+
+    private static void preencher(Veiculo veiculo, String placa, double valor) {
+        veiculo.setPlaca(placa);
+        veiculo.setModelo("Modelo Teste");
+        veiculo.setMarca("Marca Teste");
+        veiculo.setAnoFabricacao(2023);
+        veiculo.setAnoModelo(2024);
+        veiculo.setCor("Prata");
+        veiculo.setDataAquisicao(LocalDate.now());
+        veiculo.setStatus(Veiculo.StatusVeiculo.DISPONIVEL);
+        veiculo.setValor(valor);
+    }
+}
@@ -0,0 +1,93 @@
+package com.unb.projeto_tppe.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do gerenciador do cache de segundo nível.
+ * As regiões devem vir do arquivo de configuração também quando ele está dentro de um JAR,
+ * como no JAR executável da imagem Docker.
+ */
+@SpringBootTest
+public class CacheSegundoNivelConfigTest {
+
+    private static final String PROVEDOR = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+    @Autowired
+    private CacheManager cacheSegundoNivel;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @TempDir
+    private Path diretorio;
+
+    // JAR com um arquivo de configuração que só existe nele
+    private URLClassLoader classLoaderComJar() throws Exception {
+        Path jar = diretorio.resolve("regioes.jar");
+        try (JarOutputStream saida = new JarOutputStream(Files.newOutputStream(jar))) {
+            saida.putNextEntry(new JarEntry("regioes-jar.conf"));
+            saida.write("caffeine.jcache { regiao-do-jar { policy.maximum.size = 10 } }"
+                .getBytes(StandardCharsets.UTF_8));
+            saida.closeEntry();
+        }
+        return new URLClassLoader(new URL[] {jar.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Hibernate deve usar o gerenciador criado com as regiões de caffeine.conf")
+    void testHibernateUsaGerenciadorConfigurado() {
+        // Act
+        Object gerenciador = entityManagerFactory.getProperties().get(ConfigSettings.CACHE_MANAGER);
+
+        // Assert
+        assertSame(cacheSegundoNivel, gerenciador);
+        assertNotNull(cacheSegundoNivel.getCache("veiculos"));
+        assertNotNull(cacheSegundoNivel.getCache("pessoas"));
+        assertNotNull(cacheSegundoNivel.getCache("enderecos"));
+    }
+
+    @Test
+    @DisplayName("Configuração dentro de um JAR deve ser lida pelo classpath, e não pela URL jar:")
+    void testConfiguracaoDentroDoJar() throws Exception {
+        // Arrange
+        CachingProvider caching = Caching.getCachingProvider(PROVEDOR);
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        // O Caffeine procura os recursos do classpath no ClassLoader da thread, como na aplicação
+        try (URLClassLoader classLoader = classLoaderComJar()) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+            URI urlDoRecurso = classLoader.getResource("regioes-jar.conf").toURI();
+
+            // Act
+            try (CacheManager pelaUrl = caching.getCacheManager(urlDoRecurso, classLoader);
+                 CacheManager peloClasspath = CacheSegundoNivelConfig.criar(caching, "regioes-jar.conf", classLoader)) {
+
+                // Assert
+                assertEquals("jar", urlDoRecurso.getScheme());
+                assertNull(pelaUrl.getCache("regiao-do-jar"));
+                assertNotNull(peloClasspath.getCache("regiao-do-jar"));
+            }
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+}
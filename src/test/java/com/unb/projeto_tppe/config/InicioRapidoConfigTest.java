@@ -0,0 +1,76 @@
+package com.unb.projeto_tppe.config;
+
+import com.unb.projeto_tppe.service.CicloReservaService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do perfil de inicialização rápida.
+ * Os beans devem ser criados no primeiro uso, sem que o ciclo de vida das reservas deixe de ser agendado.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    // O perfil fixa o dialeto do PostgreSQL; aqui ele volta a ser detectado pela conexão do teste
+    "spring.jpa.database-platform=",
+    "spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=true",
+    "reservas.ciclo.habilitado=true",
+    "reservas.ciclo.intervalo=1h"
+})
+@ActiveProfiles("inicio-rapido")
+public class InicioRapidoConfigTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Autowired
+    private List<ScheduledTaskHolder> agendadores;
+
+    @Test
+    @DisplayName("Controlador deve ser criado apenas na primeira requisição")
+    void testControladorCriadoNoPrimeiroUso() {
+        // Arrange
+        boolean criadoAntes = beanFactory.containsSingleton("veiculoController");
+
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            "http://localhost:" + port + "/api/veiculos", String.class);
+
+        // Assert
+        assertTrue(beanFactory.getBeanDefinition("veiculoController").isLazyInit());
+        assertFalse(criadoAntes);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(beanFactory.containsSingleton("veiculoController"));
+    }
+
+    @Test
+    @DisplayName("Ciclo de vida das reservas deve continuar agendado com a criação preguiçosa dos beans")
+    void testCicloAgendado() {
+        // Act
+        List<String> tarefas = agendadores.stream()
+            .flatMap(agendador -> agendador.getScheduledTasks().stream())
+            .map(ScheduledTask::toString)
+            .toList();
+
+        // Assert
+        assertTrue(tarefas.contains(CicloReservaService.class.getName() + ".executar"), tarefas::toString);
+    }
+}
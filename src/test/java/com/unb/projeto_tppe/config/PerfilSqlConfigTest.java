@@ -0,0 +1,117 @@
+package com.unb.projeto_tppe.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do perfil de SQL.
+ * Cada comando deve ser medido com o endpoint que o executou e o identificador do comando normalizado,
+ * o número de séries deve ser limitado e o endpoint que excede o orçamento de comandos deve falhar.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "sql.perfil.habilitado=true",
+    "sql.orcamento.acao=falha",
+    "sql.orcamento.endpoints.PessoaFisicaController.buscarPorId=0"
+})
+public class PerfilSqlConfigTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Comandos devem ser medidos por endpoint e comando normalizado")
+    void testComandosPorEndpoint() {
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            "http://localhost:" + port + "/api/veiculos", String.class);
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservas WHERE valor_total > 2000", Long.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Collection<Timer> doEndpoint = meterRegistry.find("sql.comandos")
+            .tag("endpoint", "VeiculoController.listar").timers();
+        assertFalse(doEndpoint.isEmpty());
+        assertTrue(doEndpoint.stream().allMatch(timer -> timer.count() > 0));
+        assertNotNull(meterRegistry.find("sql.comandos")
+            .tags("endpoint", PerfilSql.SEM_ENDPOINT,
+                  "comando", PerfilSql.identificador("SELECT COUNT(*) FROM reservas WHERE valor_total > ?"))
+            .timer());
+    }
+
+    @Test
+    @DisplayName("Comandos além do limite de séries devem ser medidos juntos, reaproveitando os timers")
+    void testLimiteDeSeries() {
+        // Arrange
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        PerfilSql perfil = new PerfilSql(new StaticListableBeanFactory(Map.of("registro", registro))
+            .getBeanProvider(MeterRegistry.class), Duration.ofMinutes(1), -1, Map.of(), PerfilSql.Acao.LOG, 2);
+
+        // Act
+        perfil.executado("SELECT 1 FROM veiculos", 1000);
+        perfil.executado("SELECT 2 FROM veiculos", 1000);
+        perfil.executado("SELECT 1 FROM pessoas", 1000);
+        perfil.executado("SELECT 1 FROM reservas", 1000);
+        perfil.executado("SELECT 1 FROM pessoas", 1000);
+
+        // Assert
+        // Os dois comandos de veículos têm o mesmo normalizado; o de reservas já passa do limite
+        Collection<Timer> timers = registro.find("sql.comandos").timers();
+        assertEquals(3, timers.size());
+        assertEquals(2, registro.get("sql.comandos")
+            .tag("comando", PerfilSql.identificador("SELECT ? FROM veiculos")).timer().count());
+        assertEquals(2, registro.get("sql.comandos")
+            .tag("comando", PerfilSql.identificador("SELECT ? FROM pessoas")).timer().count());
+        assertEquals(1, registro.get("sql.comandos").tag("comando", PerfilSql.OUTROS).timer().count());
+    }
+
+    @Test
+    @DisplayName("Endpoint que excede o orçamento de comandos deve falhar")
+    void testOrcamentoExcedido() {
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            "http://localhost:" + port + "/api/pessoas-fisicas/999999", String.class);
+
+        // Assert
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertNotNull(meterRegistry.find("sql.orcamento.excedido")
+            .tag("endpoint", "PessoaFisicaController.buscarPorId").counter());
+    }
+
+    @Test
+    @DisplayName("Normalização deve trocar literais e listas de parâmetros, preservando os aliases")
+    void testNormalizacao() {
+        // Act
+        String normalizado = PerfilSql.normalizar("select r1_0.id from reservas r1_0\n   where r1_0.status = 'PEN''DENTE'"
+            + " and r1_0.valor_total > 10.5 and r1_0.veiculo_id in (?, ?,?) and r1_0.id = ?");
+
+        // Assert
+        assertEquals("select r1_0.id from reservas r1_0 where r1_0.status = ? and r1_0.valor_total > ?"
+            + " and r1_0.veiculo_id in (?) and r1_0.id = ?", normalizado);
+    }
+}
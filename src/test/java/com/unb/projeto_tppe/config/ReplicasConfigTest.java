@@ -0,0 +1,256 @@
+package com.unb.projeto_tppe.config;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.dto.AlteracoesReservaDTO;
+import com.unb.projeto_tppe.dto.ReservaDTO;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.PessoaFisicaRepository;
+import com.unb.projeto_tppe.service.ReservaService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Testes do roteamento entre primário e réplica.
+ * A réplica é um segundo banco H2 em memória; o atraso de replicação é simulado por uma tabela
+ * dela, lida pela consulta de atraso. Cada transação informa em qual banco rodou pelo nome do catálogo.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "banco.replicas.urls=" + ReplicasConfigTest.URL_REPLICA,
+    "banco.replicas.usuario=sa",
+    "banco.replicas.senha=",
+    "banco.replicas.atraso-maximo=10s",
+    "banco.replicas.intervalo-verificacao=1h",
+    "banco.replicas.consulta-atraso=SELECT segundos FROM atraso_replica"
+})
+public class ReplicasConfigTest {
+
+    static final String URL_REPLICA = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    private static final String REPLICA = "REPLICA";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private PessoaFisicaRepository pessoaFisicaRepository;
+
+    @Value("${spring.datasource.url}")
+    private String urlPrimario;
+
+    @TempDir
+    private Path diretorio;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        simularAtraso(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static void simularAtraso(int segundos) throws Exception {
+        try (Connection conexao = DriverManager.getConnection(URL_REPLICA, "sa", "");
+             Statement comando = conexao.createStatement()) {
+            comando.execute("CREATE TABLE IF NOT EXISTS atraso_replica (segundos INT)");
+            comando.execute("DELETE FROM atraso_replica");
+            comando.execute("INSERT INTO atraso_replica VALUES (" + segundos + ")");
+        }
+    }
+
+    // Copia o primário para a réplica, que a partir daí deixa de receber as escritas
+    private void copiarPrimarioParaReplica() throws Exception {
+        String copia = diretorio.resolve("primario.sql").toString();
+        try (Connection primario = DriverManager.getConnection(urlPrimario, "sa", "");
+             Statement comando = primario.createStatement()) {
+            comando.execute("SCRIPT TO '" + copia + "'");
+        }
+        try (Connection replica = DriverManager.getConnection(URL_REPLICA, "sa", "");
+             Statement comando = replica.createStatement()) {
+            comando.execute("DROP ALL OBJECTS");
+            comando.execute("RUNSCRIPT FROM '" + copia + "'");
+        }
+        simularAtraso(0);
+    }
+
+    // Com o perfil de SQL ligado, o DataSource injetado envolve o roteador
+    private DataSourceComReplicas roteador() {
+        try {
+            return dataSource.unwrap(DataSourceComReplicas.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String catalogo(boolean somenteLeitura) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(somenteLeitura);
+        return transacao.execute(status ->
+            entityManager.createNativeQuery("SELECT CURRENT_CATALOG").getSingleResult().toString());
+    }
+
+    @Test
+    @DisplayName("Transação somente leitura deve ir à réplica e a de escrita ao primário")
+    void testLeituraNaReplicaEscritaNoPrimario() {
+        // Arrange
+        roteador().verificar();
+
+        // Act
+        String leitura = catalogo(true);
+        String escrita = catalogo(false);
+
+        // Assert
+        assertEquals(REPLICA, leitura.toUpperCase());
+        assertNotEquals(REPLICA, escrita.toUpperCase());
+        assertTrue(roteador().getReplicas().get(0).isSaudavel());
+    }
+
+    @Test
+    @DisplayName("Réplica atrasada além do limite ou indisponível não deve receber leituras")
+    void testReplicaAtrasadaOuIndisponivel() throws Exception {
+        // Arrange
+        simularAtraso(60);
+        roteador().verificar();
+
+        // Act
+        String comAtraso = catalogo(true);
+        try (Connection conexao = DriverManager.getConnection(URL_REPLICA, "sa", "");
+             Statement comando = conexao.createStatement()) {
+            comando.execute("DROP TABLE atraso_replica");
+        }
+        roteador().verificar();
+        String indisponivel = catalogo(true);
+
+        // Assert
+        assertNotEquals(REPLICA, comAtraso.toUpperCase());
+        assertNotEquals(REPLICA, indisponivel.toUpperCase());
+        assertFalse(roteador().getReplicas().get(0).isSaudavel());
+        assertNull(roteador().getReplicas().get(0).getAtraso());
+    }
+
+    @Test
+    @DisplayName("Depois de uma escrita, as leituras da mesma requisição devem ir ao primário")
+    void testLeituraAposEscritaNaMesmaRequisicao() {
+        // Arrange
+        roteador().verificar();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        String antesDaEscrita = catalogo(true);
+
+        // Act
+        catalogo(false);
+        String depoisDaEscrita = catalogo(true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        String outraRequisicao = catalogo(true);
+
+        // Assert
+        assertEquals(REPLICA, antesDaEscrita.toUpperCase());
+        assertNotEquals(REPLICA, depoisDaEscrita.toUpperCase());
+        assertEquals(REPLICA, outraRequisicao.toUpperCase());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("GET com ETag e sincronização incremental não devem ler de uma réplica atrasada")
+    void testRespostasVersionadasIgnoramReplicaAtrasada() throws Exception {
+        // Arrange
+        // A réplica é copiada com o SCRIPT do H2, então o primário também precisa ser H2
+        assumeTrue(urlPrimario.startsWith("jdbc:h2:"), "Primário não é H2: " + urlPrimario);
+        Passeio veiculo = passeioRepository.save(DadosTeste.passeio("RPL1234"));
+        PessoaFisica cliente = pessoaFisicaRepository.save(DadosTeste.pessoaFisica(
+            "Cliente Réplica", "77788899900", "replica@example.com"));
+        copiarPrimarioParaReplica();
+        roteador().verificar();
+        LocalDateTime inicio = LocalDate.now().plusDays(3000).atTime(8, 0);
+        // Gravada só no primário, dentro do atraso aceito para a réplica
+        Long reservaId = reservaService.criar(new ReservaDTO(inicio, inicio.plusHours(2), veiculo.getId(),
+                                                             cliente.getId(), null, null, 100.0, null)).getId();
+
+        try {
+            // Act
+            TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+            leitura.setReadOnly(true);
+            Long naReplica = leitura.execute(status -> entityManager.createQuery(
+                    "SELECT COUNT(r) FROM Reserva r WHERE r.id = :id", Long.class)
+                .setParameter("id", reservaId).getSingleResult());
+            ResponseEntity<Map> pagina = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/reservas/pagina?tamanho=500", Map.class);
+            AlteracoesReservaDTO alteracoes = reservaService.buscarAlteracoes(null, 500);
+
+            // Assert
+            assertEquals(0L, naReplica);
+            assertEquals(HttpStatus.OK, pagina.getStatusCode());
+            assertNotNull(pagina.getHeaders().getETag());
+            assertTrue(((List<Map<String, Object>>) pagina.getBody().get("itens")).stream()
+                .anyMatch(reserva -> ((Number) reserva.get("id")).longValue() == reservaId));
+            assertTrue(alteracoes.alteradas().stream().anyMatch(reserva -> reserva.getId().equals(reservaId)));
+        } finally {
+            reservaService.excluir(reservaId);
+            passeioRepository.deleteById(veiculo.getId());
+            pessoaFisicaRepository.deleteById(cliente.getId());
+            // As regiões do cache de segundo nível são compartilhadas com os outros contextos, onde os IDs
+            // recomeçam junto com o esquema: a trava deixada pelas exclusões impediria o cache desses IDs
+            entityManager.getEntityManagerFactory().getCache().evictAll();
+        }
+    }
+
+    @Test
+    @DisplayName("Conexão com credenciais próprias deve ser recusada, já que cada pool tem as suas")
+    void testConexaoComCredenciais() {
+        // Act / Assert
+        assertThrows(SQLFeatureNotSupportedException.class,
+            () -> roteador().getTargetDataSource().getConnection("sa", ""));
+    }
+}
@@ -0,0 +1,110 @@
+package com.unb.projeto_tppe.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do modo de execução em threads virtuais.
+ * Requisições e tarefas assíncronas devem rodar em threads virtuais, e o acesso ao banco
+ * deve ficar limitado às vagas do semáforo de admissão.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.threads.virtual.enabled=true",
+    "banco.admissao.permissoes=2"
+})
+public class ThreadsVirtuaisConfigTest {
+
+    private static final int REQUISICOES = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Test
+    @DisplayName("Tarefas assíncronas devem rodar em threads virtuais")
+    void testTarefasAssincronasEmThreadsVirtuais() throws Exception {
+        // Act
+        boolean virtual = applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual())
+            .get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(virtual);
+    }
+
+    @Test
+    @DisplayName("Deve recusar conexão quando todas as vagas estão ocupadas além da espera máxima")
+    void testRecusaConexaoSemVaga() throws Exception {
+        // Arrange
+        assertInstanceOf(DataSourceComAdmissao.class, dataSource);
+        DataSourceComAdmissao admissao = new DataSourceComAdmissao(dataSource, 2, Duration.ofMillis(100));
+
+        // Act & Assert
+        try (Connection primeira = admissao.getConnection();
+             Connection segunda = admissao.getConnection()) {
+            assertEquals(0, admissao.getVagasDisponiveis());
+            assertThrows(SQLTransientConnectionException.class, admissao::getConnection);
+        }
+        assertEquals(2, admissao.getVagasDisponiveis());
+        try (Connection conexao = admissao.getConnection()) {
+            assertTrue(conexao.isValid(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Centenas de requisições simultâneas devem ser atendidas com apenas duas vagas no banco")
+    void testRequisicoesSimultaneasComPoucasVagas() throws Exception {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.now().plusDays(500).truncatedTo(ChronoUnit.HOURS);
+        String url = "http://localhost:" + port + "/api/reservas/periodo?inicio=" + inicio
+            + "&fim=" + inicio.plusDays(1) + "&tamanho=10";
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<HttpStatus>> respostas = new ArrayList<>();
+
+        // Act
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < REQUISICOES; i++) {
+                respostas.add(clientes.submit(() -> {
+                    largada.await();
+                    return HttpStatus.valueOf(restTemplate.getForEntity(url, String.class).getStatusCode().value());
+                }));
+            }
+            largada.countDown();
+        }
+
+        // Assert
+        for (Future<HttpStatus> resposta : respostas) {
+            assertEquals(HttpStatus.OK, resposta.get());
+        }
+        assertEquals(2, ((DataSourceComAdmissao) dataSource).getVagasDisponiveis());
+    }
+}
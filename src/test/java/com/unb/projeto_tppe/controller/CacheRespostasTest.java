@@ -0,0 +1,149 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.unb.projeto_tppe.controller.CacheRespostasFilter.RespostaGuardada;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.service.PasseioServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do cache de respostas serializadas.
+ * Um GET repetido deve ser respondido com os bytes guardados, sem consulta ao banco, e uma escrita
+ * deve descartar as respostas que leem o agregado alterado.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = "respostas.cache.habilitado=true")
+public class CacheRespostasTest {
+
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    @Autowired
+    private PasseioServiceImpl passeioService;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private Cache<String, RespostaGuardada> cacheRespostas;
+
+    @Autowired
+    private MeterRegistry registro;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Passeio veiculo;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+        veiculo = passeioRepository.save(DadosTeste.passeio("CCH1234"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        passeioRepository.deleteById(veiculo.getId());
+    }
+
+    private HttpResponse<byte[]> get(String caminho, boolean gzip) throws IOException, InterruptedException {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(baseUrl + caminho));
+        if (gzip) {
+            requisicao.header("Accept-Encoding", "gzip");
+        }
+        return cliente.send(requisicao.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static String texto(HttpResponse<byte[]> response) throws IOException {
+        if (response.headers().firstValue("Content-Encoding").orElse("").equals("gzip")) {
+            try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+                return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+        return new String(response.body(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("GET repetido deve vir do cache, sem consulta ao banco")
+    void testRespostaRepetidaVemDoCache() throws Exception {
+        // Arrange
+        String caminho = "/api/veiculos/passeios/" + veiculo.getId();
+        HttpResponse<byte[]> primeira = get(caminho, false);
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        long acertos = cacheRespostas.stats().hitCount();
+
+        // Act
+        HttpResponse<byte[]> segunda = get(caminho, false);
+
+        // Assert
+        assertEquals(200, segunda.statusCode());
+        assertEquals(texto(primeira), texto(segunda));
+        assertEquals(primeira.headers().firstValue("ETag"), segunda.headers().firstValue("ETag"));
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+        assertEquals(acertos + 1, cacheRespostas.stats().hitCount());
+        assertTrue(registro.get("respostas.cache.bytes").gauge().value() > 0);
+    }
+
+    @Test
+    @DisplayName("Escrita de veículo deve mudar a chave das respostas que leem veículos")
+    void testEscritaMudaChave() throws Exception {
+        // Arrange
+        String caminho = "/api/veiculos/passeios/" + veiculo.getId();
+        String etagAntiga = get(caminho, false).headers().firstValue("ETag").orElseThrow();
+
+        // Act
+        veiculo.setCor("Azul");
+        veiculo = passeioService.salvar(veiculo);
+        long falhas = cacheRespostas.stats().missCount();
+        HttpResponse<byte[]> atual = get(caminho, false);
+
+        // Assert
+        assertTrue(texto(atual).contains("\"cor\":\"Azul\""));
+        assertNotEquals(etagAntiga, atual.headers().firstValue("ETag").orElseThrow());
+        assertEquals(falhas + 1, cacheRespostas.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Cliente que aceita gzip deve receber o corpo guardado já comprimido")
+    void testRespostaComprimida() throws Exception {
+        // Arrange
+        String caminho = "/api/veiculos/passeios/pagina?tamanho=500";
+        String original = texto(get(caminho, true));
+
+        // Act
+        HttpResponse<byte[]> comprimida = get(caminho, true);
+
+        // Assert
+        assertEquals("gzip", comprimida.headers().firstValue("Content-Encoding").orElse(null));
+        assertEquals("Accept-Encoding", comprimida.headers().firstValue("Vary").orElse(null));
+        assertEquals(original, texto(comprimida));
+    }
+}
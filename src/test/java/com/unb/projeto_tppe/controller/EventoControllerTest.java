@@ -0,0 +1,203 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.dto.EventoAlteracaoDTO;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.service.FeedAlteracoes;
+import com.unb.projeto_tppe.service.PasseioServiceImpl;
+import com.unb.projeto_tppe.service.VersoesAgregados.Agregado;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do endpoint de eventos em tempo real (/api/eventos).
+ * Os eventos são lidos de uma conexão SSE real; o buffer pequeno permite provocar o descarte
+ * de um cliente que não lê a conexão.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = "eventos.buffer=4")
+public class EventoControllerTest {
+
+    private record Evento(String nome, String id, String dados) {
+    }
+
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    private final List<InputStream> conexoes = new ArrayList<>();
+
+    @Autowired
+    private PasseioServiceImpl passeioService;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private FeedAlteracoes feed;
+
+    @Autowired
+    private TransmissorEventos transmissor;
+
+    @Autowired
+    private MeterRegistry registro;
+
+    private Passeio veiculo;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (InputStream conexao : conexoes) {
+            conexao.close();
+        }
+        if (veiculo != null) {
+            passeioRepository.deleteById(veiculo.getId());
+        }
+    }
+
+    private InputStream abrir(String caminho, String ultimoEvento) throws Exception {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+            .header("Accept", "text/event-stream");
+        if (ultimoEvento != null) {
+            requisicao.header("Last-Event-ID", ultimoEvento);
+        }
+        HttpResponse<InputStream> response = cliente.send(requisicao.build(), HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+        conexoes.add(response.body());
+        return response.body();
+    }
+
+    // Lê os eventos da conexão em uma thread virtual; comentários (pulsação) são ignorados
+    private BlockingQueue<Evento> assinar(String caminho, String ultimoEvento) throws Exception {
+        InputStream conexao = abrir(caminho, ultimoEvento);
+        BlockingQueue<Evento> eventos = new LinkedBlockingQueue<>();
+        Thread.ofVirtual().start(() -> {
+            try (BufferedReader leitor = new BufferedReader(new InputStreamReader(conexao, StandardCharsets.UTF_8))) {
+                String nome = null, id = null, dados = null, linha;
+                while ((linha = leitor.readLine()) != null) {
+                    if (linha.isEmpty()) {
+                        if (nome != null) {
+                            eventos.add(new Evento(nome, id, dados));
+                        }
+                        nome = id = dados = null;
+                    } else if (linha.startsWith("event:")) {
+                        nome = linha.substring(6);
+                    } else if (linha.startsWith("id:")) {
+                        id = linha.substring(3);
+                    } else if (linha.startsWith("data:")) {
+                        dados = linha.substring(5);
+                    }
+                }
+            } catch (Exception e) {
+                // Conexão fechada no fim do teste
+            }
+        });
+        return eventos;
+    }
+
+    private static Evento proximo(BlockingQueue<Evento> eventos) throws InterruptedException {
+        Evento evento = eventos.poll(10, TimeUnit.SECONDS);
+        assertNotNull(evento, "Nenhum evento recebido");
+        return evento;
+    }
+
+    @Test
+    @DisplayName("Cadastro de veículo deve chegar aos assinantes como evento de criação")
+    void testEscritaGeraEvento() throws Exception {
+        // Arrange
+        BlockingQueue<Evento> eventos = assinar("/api/eventos?agregados=VEICULOS", null);
+        Evento conectado = proximo(eventos);
+
+        // Act
+        veiculo = passeioService.salvar(DadosTeste.passeio("EVT1234"));
+
+        // Assert
+        assertEquals("conectado", conectado.nome());
+        Evento alteracao = proximo(eventos);
+        assertEquals("alteracao", alteracao.nome());
+        assertEquals(Long.parseLong(conectado.id()) + 1, Long.parseLong(alteracao.id()));
+        assertTrue(alteracao.dados().contains("\"agregado\":\"VEICULOS\""));
+        assertTrue(alteracao.dados().contains("\"tipo\":\"CRIACAO\""));
+        assertTrue(alteracao.dados().contains("\"ids\":[" + veiculo.getId() + "]"));
+    }
+
+    @Test
+    @DisplayName("Reconexão com Last-Event-ID deve reenviar os eventos perdidos do agregado acompanhado")
+    void testReconexaoReenviaPerdidos() throws Exception {
+        // Arrange
+        BlockingQueue<Evento> primeira = assinar("/api/eventos", null);
+        String ultimoRecebido = proximo(primeira).id();
+        conexoes.remove(0).close();
+        feed.publicar(Agregado.PESSOAS, EventoAlteracaoDTO.Tipo.EXCLUSAO, 1L);
+        veiculo = passeioService.salvar(DadosTeste.passeio("EVT1234"));
+
+        // Act
+        BlockingQueue<Evento> segunda = assinar("/api/eventos?agregados=VEICULOS", ultimoRecebido);
+        BlockingQueue<Evento> semHistorico = assinar("/api/eventos", "0");
+
+        // Assert
+        Evento perdido = proximo(segunda);
+        assertEquals("alteracao", perdido.nome());
+        assertTrue(perdido.dados().contains("\"ids\":[" + veiculo.getId() + "]"));
+        Evento conectado = proximo(segunda);
+        assertEquals("conectado", conectado.nome());
+        assertEquals(Long.parseLong(ultimoRecebido) + 2, Long.parseLong(conectado.id()));
+        assertEquals("reinicio", proximo(semHistorico).nome());
+    }
+
+    @Test
+    @DisplayName("Cliente que não lê a conexão deve ser descartado sem bloquear quem publica")
+    void testClienteLentoDescartado() throws Exception {
+        // Arrange: a conexão é aberta mas nunca lida. Conexões fechadas por testes anteriores
+        // podem continuar registradas até a próxima escrita nelas
+        abrir("/api/eventos", null);
+        int conectados = transmissor.assinantes();
+        Counter descartados = registro.get("eventos.assinantes.descartados").counter();
+        double descartadosAntes = descartados.count();
+        List<Long> ids = LongStream.rangeClosed(1, EventoAlteracaoDTO.LIMITE_IDS).boxed().toList();
+
+        // Act: cada evento tem ~400 bytes; os buffers de TCP enchem e a fila do cliente também
+        long inicio = System.nanoTime();
+        for (int i = 0; i < 100_000 && descartados.count() == descartadosAntes; i++) {
+            feed.publicar(Agregado.PESSOAS, EventoAlteracaoDTO.Tipo.ALTERACAO, ids);
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        // Assert
+        assertTrue(descartados.count() > descartadosAntes);
+        assertTrue(transmissor.assinantes() < conectados);
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(duracao) < 10, "Publicação levou " + duracao + "ns");
+    }
+}
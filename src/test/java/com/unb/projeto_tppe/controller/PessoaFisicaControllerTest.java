@@ -2,6 +2,7 @@ package com.unb.projeto_tppe.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.unb.projeto_tppe.dto.EnderecoDTO;
+import com.unb.projeto_tppe.dto.PaginaDTO;
 import com.unb.projeto_tppe.dto.PessoaFisicaDTO;
 import com.unb.projeto_tppe.model.PessoaFisica;
 import com.unb.projeto_tppe.repository.PessoaFisicaRepository;
@@ -186,6 +187,49 @@ public class PessoaFisicaControllerTest {
         assertTrue(encontrado, "A pessoa criada deve estar na lista de resultados");
     }
 
+    @Test
+    @DisplayName("Deve listar pessoas físicas paginadas por cursor")
+    void testListarPagina() {
+        // Arrange
+        cadastrarPessoaFisica();
+
+        // Act
+        ResponseEntity<PaginaDTO<PessoaFisica>> primeira = restTemplate.exchange(
+                baseUrl + "/pagina?tamanho=1",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<PaginaDTO<PessoaFisica>>() {});
+        ResponseEntity<PaginaDTO<PessoaFisica>> posterior = restTemplate.exchange(
+                baseUrl + "/pagina?cursor=" + testPessoaId,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<PaginaDTO<PessoaFisica>>() {});
+
+        // Assert
+        assertEquals(HttpStatus.OK, primeira.getStatusCode());
+        assertNotNull(primeira.getBody());
+        assertEquals(1, primeira.getBody().itens().size());
+        assertNotNull(posterior.getBody());
+        assertTrue(posterior.getBody().itens().stream().allMatch(p -> p.getId() > testPessoaId));
+        assertNull(posterior.getBody().proximoCursor());
+    }
+
+    @Test
+    @DisplayName("Deve exportar pessoas físicas em NDJSON")
+    void testTransmitirNdjson() {
+        // Arrange
+        PessoaFisica pessoaSalva = cadastrarPessoaFisica();
+
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "/stream", String.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().lines().anyMatch(linha -> linha.contains(pessoaSalva.getCpf())));
+    }
+
     @Test
     @DisplayName("Deve buscar pessoa física por ID")
     void testBuscarPorId() {
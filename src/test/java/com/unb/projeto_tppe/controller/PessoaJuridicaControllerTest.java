@@ -178,6 +178,24 @@ public class PessoaJuridicaControllerTest {
         assertEquals(pessoaSalva.getCnpj(), response.getBody().getCnpj());
     }
 
+    @Test
+    @DisplayName("Deve listar o resumo das pessoas jurídicas sem o endereço")
+    void testListarResumos() {
+        // Arrange
+        PessoaJuridica pessoaSalva = cadastrarPessoaJuridica();
+
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                baseUrl + "/resumo?cursor=" + (pessoaSalva.getId() - 1) + "&tamanho=1", String.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().contains(pessoaSalva.getCnpj()));
+        assertTrue(response.getBody().contains(pessoaSalva.getRazaoSocial()));
+        assertFalse(response.getBody().contains("endereco"));
+    }
+
     @Test
     @DisplayName("Deve buscar pessoa jurídica por CNPJ")
     void testBuscarPorCnpj() {
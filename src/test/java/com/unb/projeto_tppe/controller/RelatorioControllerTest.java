@@ -0,0 +1,208 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.dto.ReservaDTO;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.PessoaFisicaRepository;
+import com.unb.projeto_tppe.service.ReservaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes dos relatórios de receita e ocupação.
+ * Os resumos devem acompanhar cada criação, alteração e exclusão de reserva e coincidir
+ * com o resultado de uma reconstrução a partir do banco.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class RelatorioControllerTest {
+
+    private static final DateTimeFormatter FORMATO_DIA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private PessoaFisicaRepository pessoaFisicaRepository;
+
+    private Passeio veiculo;
+
+    private PessoaFisica cliente;
+
+    // Dia sem reservas de outros testes, para que os totais dependam apenas deste
+    private final LocalDate dia = LocalDate.now().plusDays(700);
+
+    private final List<Long> reservaIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+        veiculo = passeioRepository.save(DadosTeste.passeio("REL1234"));
+        cliente = pessoaFisicaRepository.save(DadosTeste.pessoaFisica(
+            "Cliente Relatórios", "66677788899", "relatorios@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservaIds.forEach(reservaService::excluir);
+        passeioRepository.delete(veiculo);
+        pessoaFisicaRepository.delete(cliente);
+    }
+
+    private ReservaDTO createReservaDTO(LocalDateTime inicio, LocalDateTime fim, double valor) {
+        return new ReservaDTO(inicio, fim, veiculo.getId(), cliente.getId(), null, null, valor, null);
+    }
+
+    private Reserva reservar(LocalDateTime inicio, LocalDateTime fim, double valor) {
+        Reserva reserva = reservaService.criar(createReservaDTO(inicio, fim, valor));
+        reservaIds.add(reserva.getId());
+        return reserva;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> relatorio(String tipo, String parametros) {
+        ResponseEntity<List> response = restTemplate.getForEntity(baseUrl + "/api/relatorios/reservas/" + tipo
+            + "?inicio=" + dia + "&fim=" + dia.plusDays(2) + parametros, List.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody();
+    }
+
+    private static Map<String, Object> linha(List<Map<String, Object>> linhas, LocalDate dia, String status) {
+        return linhas.stream()
+            .filter(linha -> FORMATO_DIA.format(dia).equals(linha.get("dia")) && status.equals(linha.get("status")))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("Sem resumo para " + dia + " " + status + ": " + linhas));
+    }
+
+    @Test
+    @DisplayName("Reserva nova deve contar no dia de início e repartir as horas entre os dias ocupados")
+    void testResumoDiarioDeReservaNova() {
+        // Arrange
+        reservar(dia.atTime(12, 0), dia.plusDays(1).atTime(18, 0), 300.0);
+
+        // Act
+        List<Map<String, Object>> linhas = relatorio("diario", "");
+
+        // Assert
+        assertEquals(2, linhas.size());
+        Map<String, Object> primeiroDia = linha(linhas, dia, "PENDENTE");
+        assertEquals("PASSEIO", primeiroDia.get("tipo"));
+        assertEquals(1, ((Number) primeiroDia.get("quantidade")).intValue());
+        assertEquals(300.0, ((Number) primeiroDia.get("receita")).doubleValue());
+        assertEquals(12.0, ((Number) primeiroDia.get("horasReservadas")).doubleValue());
+        Map<String, Object> segundoDia = linha(linhas, dia.plusDays(1), "PENDENTE");
+        assertEquals(0, ((Number) segundoDia.get("quantidade")).intValue());
+        assertEquals(18.0, ((Number) segundoDia.get("horasReservadas")).doubleValue());
+    }
+
+    @Test
+    @DisplayName("Alteração de status, de período e exclusão devem mover os totais entre os grupos")
+    void testResumoAcompanhaAlteracoes() {
+        // Arrange
+        Reserva mantida = reservar(dia.atTime(8, 0), dia.atTime(20, 0), 100.0);
+        Reserva alterada = reservar(dia.plusDays(1).atTime(8, 0), dia.plusDays(1).atTime(10, 0), 50.0);
+        Reserva excluida = reservar(dia.plusDays(2).atTime(8, 0), dia.plusDays(2).atTime(9, 0), 20.0);
+
+        // Act
+        reservaService.atualizarStatus(mantida.getId(), Reserva.StatusReserva.CONFIRMADA);
+        reservaService.atualizar(alterada.getId(),
+            createReservaDTO(dia.plusDays(1).atTime(8, 0), dia.plusDays(1).atTime(14, 0), 80.0));
+        reservaService.excluir(excluida.getId());
+        reservaIds.remove(excluida.getId());
+        List<Map<String, Object>> totais = relatorio("totais", "");
+
+        // Assert
+        assertEquals(2, totais.size());
+        Map<String, Object> confirmadas = totais.stream()
+            .filter(linha -> "CONFIRMADA".equals(linha.get("status"))).findFirst().orElseThrow();
+        assertNull(confirmadas.get("dia"));
+        assertEquals(1, ((Number) confirmadas.get("quantidade")).intValue());
+        assertEquals(100.0, ((Number) confirmadas.get("receita")).doubleValue());
+        Map<String, Object> pendentes = totais.stream()
+            .filter(linha -> "PENDENTE".equals(linha.get("status"))).findFirst().orElseThrow();
+        assertEquals(1, ((Number) pendentes.get("quantidade")).intValue());
+        assertEquals(80.0, ((Number) pendentes.get("receita")).doubleValue());
+        assertEquals(6.0, ((Number) pendentes.get("horasReservadas")).doubleValue());
+    }
+
+    @Test
+    @DisplayName("Filtros de tipo e status devem restringir os resumos")
+    void testFiltros() {
+        // Arrange
+        Reserva reserva = reservar(dia.atTime(8, 0), dia.atTime(20, 0), 100.0);
+        reservaService.atualizarStatus(reserva.getId(), Reserva.StatusReserva.CONFIRMADA);
+        reservar(dia.plusDays(1).atTime(8, 0), dia.plusDays(1).atTime(20, 0), 100.0);
+
+        // Act
+        List<Map<String, Object>> confirmadas = relatorio("diario", "&status=CONFIRMADA&tipo=passeio");
+        List<Map<String, Object>> motocicletas = relatorio("diario", "&tipo=MOTOCICLETA");
+
+        // Assert
+        assertEquals(1, confirmadas.size());
+        assertEquals("CONFIRMADA", confirmadas.get(0).get("status"));
+        assertTrue(motocicletas.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reconstrução a partir do banco deve chegar aos mesmos totais das atualizações incrementais")
+    void testReconstrucaoCoincideComIncremental() {
+        // Arrange
+        Reserva reserva = reservar(dia.atTime(6, 0), dia.plusDays(2).atTime(6, 0), 450.0);
+        reservaService.atualizarStatus(reserva.getId(), Reserva.StatusReserva.CONCLUIDA);
+        reservar(dia.plusDays(2).atTime(12, 0), dia.plusDays(2).atTime(13, 30), 35.5);
+        List<Map<String, Object>> incremental = relatorio("diario", "");
+
+        // Act
+        ResponseEntity<Map> response = restTemplate.postForEntity(
+            baseUrl + "/api/relatorios/reservas/reconstruir", null, Map.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(((Number) response.getBody().get("reservasLidas")).intValue() >= 2);
+        assertEquals(incremental, relatorio("diario", ""));
+    }
+
+    @Test
+    @DisplayName("Tipo inválido ou período invertido deve retornar 400")
+    void testParametrosInvalidos() {
+        // Act
+        ResponseEntity<String> tipoInvalido = restTemplate.getForEntity(baseUrl
+            + "/api/relatorios/reservas/diario?inicio=" + dia + "&fim=" + dia + "&tipo=CAMINHAO", String.class);
+        ResponseEntity<String> periodoInvertido = restTemplate.getForEntity(baseUrl
+            + "/api/relatorios/reservas/totais?inicio=" + dia.plusDays(1) + "&fim=" + dia, String.class);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, tipoInvalido.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, periodoInvertido.getStatusCode());
+    }
+}
@@ -0,0 +1,257 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.PessoaFisicaRepository;
+import com.unb.projeto_tppe.repository.ReservaExcluidaRepository;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+import com.unb.projeto_tppe.service.ReservaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da sincronização incremental de reservas (/api/reservas/alteracoes).
+ * Cada sincronização deve trazer só o que mudou depois do token, incluindo exclusões, sem pular
+ * alterações de transações que ainda não terminaram.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ReservaControllerAlteracoesTest {
+
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private ReservaExcluidaRepository reservaExcluidaRepository;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private PessoaFisicaRepository pessoaFisicaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Passeio veiculo;
+
+    private PessoaFisica cliente;
+
+    private LocalDateTime base;
+
+    private final List<Long> excluidas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+        veiculo = passeioRepository.save(DadosTeste.passeio("ALT1234"));
+        cliente = pessoaFisicaRepository.save(DadosTeste.pessoaFisica(
+            "Cliente Alterações", "66677788899", "alteracoes@example.com"));
+        base = LocalDateTime.now().plusDays(2500).truncatedTo(ChronoUnit.DAYS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservaRepository.deleteAllInBatch(reservaRepository.findByVeiculo(veiculo));
+        reservaExcluidaRepository.deleteAllById(excluidas);
+        passeioRepository.delete(veiculo);
+        pessoaFisicaRepository.delete(cliente);
+    }
+
+    // Cada reserva ocupa um dia próprio, para não haver conflito entre elas
+    private Reserva createReserva(int dia) {
+        Reserva reserva = new Reserva();
+        reserva.setDataInicio(base.plusDays(dia).withHour(10));
+        reserva.setDataFim(base.plusDays(dia).withHour(18));
+        reserva.setVeiculo(veiculo);
+        reserva.setPessoaFisica(cliente);
+        reserva.setValorTotal(120.0);
+        reserva.setStatus(Reserva.StatusReserva.PENDENTE);
+        return reserva;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> sincronizar(String desde, int tamanho) {
+        String url = baseUrl + "/api/reservas/alteracoes?tamanho=" + tamanho + (desde == null ? "" : "&desde=" + desde);
+        ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody();
+    }
+
+    // Percorre as páginas até o fim e devolve o último token
+    private String sincronizarTudo(String desde) {
+        Map<String, Object> pagina;
+        do {
+            pagina = sincronizar(desde, 500);
+            desde = (String) pagina.get("token");
+        } while ((Boolean) pagina.get("haMais"));
+        return desde;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> idsAlterados(Map<String, Object> pagina) {
+        return ((List<Map<String, Object>>) pagina.get("alteradas")).stream()
+            .map(reserva -> ((Number) reserva.get("id")).longValue())
+            .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> idsExcluidos(Map<String, Object> pagina) {
+        return ((List<Number>) pagina.get("excluidas")).stream().map(Number::longValue).toList();
+    }
+
+    @Test
+    @DisplayName("Sincronização deve trazer apenas as reservas alteradas e excluídas desde o token")
+    void testAlteracoesDesdeToken() {
+        // Arrange
+        String token = sincronizarTudo(null);
+        Reserva alterada = reservaService.salvar(createReserva(1));
+        Reserva excluida = reservaService.salvar(createReserva(2));
+        reservaService.atualizarStatus(alterada.getId(), Reserva.StatusReserva.CONFIRMADA);
+        reservaService.excluir(excluida.getId());
+        excluidas.add(excluida.getId());
+
+        // Act
+        Map<String, Object> alteracoes = sincronizar(token, 500);
+        Map<String, Object> seguinte = sincronizar((String) alteracoes.get("token"), 500);
+
+        // Assert
+        assertEquals(List.of(alterada.getId()), idsAlterados(alteracoes));
+        assertEquals(List.of(excluida.getId()), idsExcluidos(alteracoes));
+        assertFalse((Boolean) alteracoes.get("haMais"));
+        assertTrue(idsAlterados(seguinte).isEmpty());
+        assertTrue(idsExcluidos(seguinte).isEmpty());
+        assertEquals(alteracoes.get("token"), seguinte.get("token"));
+    }
+
+    @Test
+    @DisplayName("Alteração confirmada depois de outra mais recente não deve ser pulada")
+    void testTransacaoEmAndamentoNaoEPulada() throws Exception {
+        // Arrange: a primeira transação recebe o número menor e só termina depois da segunda
+        String token = sincronizarTudo(null);
+        CountDownLatch gravada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<Reserva> lenta = CompletableFuture.supplyAsync(() ->
+            new TransactionTemplate(transactionManager).execute(status -> {
+                Reserva reserva = reservaRepository.saveAndFlush(createReserva(1));
+                gravada.countDown();
+                try {
+                    liberar.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return reserva;
+            }));
+        assertTrue(gravada.await(10, TimeUnit.SECONDS));
+        Reserva rapida = reservaService.salvar(createReserva(2));
+
+        // Act
+        Map<String, Object> durante = sincronizar(token, 500);
+        liberar.countDown();
+        Reserva demorada = lenta.get(10, TimeUnit.SECONDS);
+        Map<String, Object> depois = sincronizar((String) durante.get("token"), 500);
+
+        // Assert
+        assertTrue(demorada.getSequenciaAlteracao() < rapida.getSequenciaAlteracao());
+        assertTrue(idsAlterados(durante).isEmpty());
+        assertEquals(List.of(demorada.getId(), rapida.getId()), idsAlterados(depois));
+    }
+
+    @Test
+    @DisplayName("Reservas gravadas na mesma transação devem ser paginadas sem repetição nem perda")
+    void testPaginacaoDentroDaTransacao() {
+        // Arrange
+        String token = sincronizarTudo(null);
+        List<Reserva> novas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            novas.add(createReserva(i));
+        }
+        List<Long> gravadas = reservaRepository.saveAll(novas).stream().map(Reserva::getId).sorted().toList();
+
+        // Act
+        List<Map<String, Object>> paginas = new ArrayList<>();
+        Map<String, Object> pagina;
+        do {
+            pagina = sincronizar(token, 2);
+            paginas.add(pagina);
+            token = (String) pagina.get("token");
+        } while ((Boolean) pagina.get("haMais"));
+
+        // Assert
+        assertEquals(3, paginas.size());
+        assertEquals(gravadas, paginas.stream().flatMap(p -> idsAlterados(p).stream()).toList());
+        assertTrue(((String) paginas.get(0).get("token")).contains("."));
+        assertFalse(token.contains("."));
+    }
+
+    @Test
+    @DisplayName("Token ilegível ou posterior às alterações confirmadas deve retornar 400")
+    void testTokenInvalido() {
+        // Arrange
+        String token = sincronizarTudo(null);
+        long futuro = Long.parseLong(token) + 1000;
+
+        // Act
+        ResponseEntity<String> ilegivel = restTemplate.getForEntity(
+            baseUrl + "/api/reservas/alteracoes?desde=abc", String.class);
+        ResponseEntity<String> desconhecido = restTemplate.getForEntity(
+            baseUrl + "/api/reservas/alteracoes?desde=" + futuro, String.class);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, ilegivel.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, desconhecido.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Número de alteração gravado por outra instância deve recusar a sincronização com 409")
+    void testOutraInstanciaGravandoReservas() {
+        // Arrange
+        long ultimo = Long.parseLong(sincronizarTudo(null));
+        Reserva reserva = reservaRepository.save(createReserva(0));
+        // Outra instância conta os números por conta própria, à frente dos desta
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> reservaRepository.atualizarStatus(
+            List.of(reserva.getId()), Reserva.StatusReserva.CONFIRMADA, ultimo + 1000));
+
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            baseUrl + "/api/reservas/alteracoes", String.class);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertTrue(response.getBody().contains("outra instância"));
+    }
+}
@@ -0,0 +1,222 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.PessoaFisicaRepository;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+import com.unb.projeto_tppe.service.LeituraEmFluxo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da quantidade de comandos SQL emitidos pelas consultas de reserva.
+ * As associações são LAZY e cada endpoint deve buscar veículo e cliente no mesmo SELECT,
+ * sem consultas adicionais por linha (N+1). A exportação em fluxo não deve acumular entidades
+ * no contexto de persistência.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ReservaControllerConsultasTest {
+
+    private static final int RESERVAS = 5;
+
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private PessoaFisicaRepository pessoaFisicaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics estatisticas;
+
+    private final List<Passeio> veiculos = new ArrayList<>();
+
+    private final List<PessoaFisica> clientes = new ArrayList<>();
+
+    private final List<Reserva> reservas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Um veículo e um cliente distintos por reserva, para que um N+1 apareça na contagem
+        for (int i = 0; i < RESERVAS; i++) {
+            Passeio veiculo = passeioRepository.save(DadosTeste.passeio("GRF" + (1000 + i)));
+            PessoaFisica cliente = pessoaFisicaRepository.save(createPessoaFisica(i));
+            veiculos.add(veiculo);
+            clientes.add(cliente);
+            reservas.add(reservaRepository.save(createReserva(veiculo, cliente, i)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservaRepository.deleteAll(reservas);
+        passeioRepository.deleteAll(veiculos);
+        pessoaFisicaRepository.deleteAll(clientes);
+        reservas.clear();
+        veiculos.clear();
+        clientes.clear();
+    }
+
+    private static PessoaFisica createPessoaFisica(int indice) {
+        return DadosTeste.pessoaFisica("Cliente Grafo " + indice, "5556667770" + indice,
+                                       "grafo" + indice + "@example.com");
+    }
+
+    private Reserva createReserva(Passeio veiculo, PessoaFisica cliente, int indice) {
+        Reserva reserva = new Reserva();
+        LocalDateTime inicio = LocalDateTime.now().plusDays(30L + indice).withNano(0);
+        reserva.setDataInicio(inicio);
+        reserva.setDataFim(inicio.plusDays(1));
+        reserva.setVeiculo(veiculo);
+        reserva.setPessoaFisica(cliente);
+        reserva.setValorTotal(150.0);
+        reserva.setStatus(Reserva.StatusReserva.CONFIRMADA);
+        return reserva;
+    }
+
+    /**
+     * Executa a requisição e devolve quantos comandos SQL ela emitiu
+     */
+    private long contarComandos(String caminho, Class<?> tipoResposta) {
+        estatisticas.clear();
+        ResponseEntity<?> response = restTemplate.getForEntity(baseUrl + caminho, tipoResposta);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return estatisticas.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("Listar reservas deve emitir um único SELECT independentemente da quantidade de linhas")
+    void testListarReservasSemNMaisUm() {
+        // Act
+        long comandos = contarComandos("/api/reservas", List.class);
+
+        // Assert
+        assertEquals(1, comandos);
+    }
+
+    @Test
+    @DisplayName("Página e detalhe de reserva devem emitir um único SELECT cada")
+    void testPaginaEDetalheDeReserva() {
+        // Act
+        long comandosPagina = contarComandos("/api/reservas/pagina?tamanho=" + RESERVAS, Map.class);
+        long comandosDetalhe = contarComandos("/api/reservas/" + reservas.get(0).getId(), Map.class);
+
+        // Assert
+        assertEquals(1, comandosPagina);
+        assertEquals(1, comandosDetalhe);
+    }
+
+    @Test
+    @DisplayName("Listagem de resumos deve emitir um único SELECT sem carregar entidades")
+    void testResumosSemEntidades() {
+        // Act
+        long comandos = contarComandos("/api/reservas/resumo?tamanho=" + RESERVAS, Map.class);
+
+        // Assert
+        assertEquals(1, comandos);
+        assertEquals(0, estatisticas.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Exportação em fluxo deve limpar o contexto de persistência, com as associações, a cada bloco")
+    void testExportacaoLimpaContexto() {
+        // Arrange
+        LeituraEmFluxo leitura = new LeituraEmFluxo(entityManager, 2, Duration.ofMinutes(1));
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+        List<Object> lidos = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        int[] maximoGerenciados = {0};
+
+        // Act
+        transacao.executeWithoutResult(status -> leitura.transmitir(reservaRepository.streamAllByOrderByIdAsc(),
+            reserva -> {
+                ids.add(reserva.getId());
+                lidos.add(reserva);
+                lidos.add(reserva.getVeiculo());
+                if (reserva.getPessoaFisica() != null) {
+                    lidos.add(reserva.getPessoaFisica());
+                }
+                int gerenciados = (int) lidos.stream().filter(entityManager::contains).count();
+                maximoGerenciados[0] = Math.max(maximoGerenciados[0], gerenciados);
+            }));
+
+        // Assert
+        assertTrue(ids.containsAll(reservas.stream().map(Reserva::getId).toList()));
+        // Até 2 reservas, cada uma com veículo e cliente
+        assertTrue(maximoGerenciados[0] <= 6, "Entidades no contexto: " + maximoGerenciados[0]);
+    }
+
+    @Test
+    @DisplayName("Exportação em fluxo deve ser interrompida ao passar da duração máxima")
+    void testExportacaoInterrompidaPorDuracao() {
+        // Arrange
+        LeituraEmFluxo leitura = new LeituraEmFluxo(entityManager, 2, Duration.ZERO);
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+        List<Reserva> lidas = new ArrayList<>();
+
+        // Act & Assert
+        assertThrows(QueryTimeoutException.class, () -> transacao.executeWithoutResult(status ->
+            leitura.transmitir(reservaRepository.streamAllByOrderByIdAsc(), lidas::add)));
+        assertTrue(lidas.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Listar pessoas físicas deve trazer o endereço no mesmo SELECT")
+    void testListarPessoasFisicasComEndereco() {
+        // Act
+        long comandos = contarComandos("/api/pessoas-fisicas", List.class);
+
+        // Assert
+        assertEquals(1, comandos);
+    }
+}
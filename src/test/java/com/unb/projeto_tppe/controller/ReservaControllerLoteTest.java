@@ -0,0 +1,242 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.dto.LinhaLoteDTO;
+import com.unb.projeto_tppe.dto.ReservaDTO;
+import com.unb.projeto_tppe.dto.ResultadoLoteDTO;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaJuridica;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.PessoaJuridicaRepository;
+import com.unb.projeto_tppe.service.ReservaService;
+import com.unb.projeto_tppe.service.TravaPorVeiculo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração da importação de reservas em lote.
+ * Com reservas.lote.travas=1, cada parte do lote segura a trava de um único grupo de veículos.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = "reservas.lote.travas=1")
+public class ReservaControllerLoteTest {
+
+    private static final DateTimeFormatter FORMATO = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private PessoaJuridicaRepository pessoaJuridicaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TravaPorVeiculo travaPorVeiculo;
+
+    private final List<Passeio> veiculos = new ArrayList<>();
+
+    private PessoaJuridica empresa;
+
+    private final LocalDateTime base = LocalDateTime.now().plusDays(40).truncatedTo(ChronoUnit.HOURS);
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api/reservas/lote";
+        veiculos.add(passeioRepository.save(DadosTeste.passeio("LTE1000")));
+        veiculos.add(passeioRepository.save(DadosTeste.passeio("LTE1001")));
+        empresa = pessoaJuridicaRepository.save(DadosTeste.pessoaJuridica(
+            "Frota Lote LTDA", "11222333000181", "frota@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        veiculos.forEach(veiculo -> reservaService.buscarPorVeiculo(veiculo)
+            .forEach(reserva -> reservaService.excluir(reserva.getId())));
+        passeioRepository.deleteAll(veiculos);
+        pessoaJuridicaRepository.delete(empresa);
+        veiculos.clear();
+    }
+
+    private String linha(Long veiculoId, Long pessoaJuridicaId, LocalDateTime inicio, int dias) {
+        return "{\"veiculoId\":" + veiculoId
+            + ",\"pessoaJuridicaId\":" + pessoaJuridicaId
+            + ",\"dataInicio\":\"" + inicio.format(FORMATO) + "\""
+            + ",\"dataFim\":\"" + inicio.plusDays(dias).format(FORMATO) + "\""
+            + ",\"valorTotal\":500.0}";
+    }
+
+    private <T> ResponseEntity<T> enviar(String corpo, MediaType tipo, Class<T> tipoResposta) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(tipo);
+        return restTemplate.postForEntity(baseUrl, new HttpEntity<>(corpo, headers), tipoResposta);
+    }
+
+    @Test
+    @DisplayName("Lote em JSON deve gravar as linhas válidas e rejeitar as demais com o motivo")
+    void testImportarLoteJson() {
+        // Arrange
+        Long veiculoA = veiculos.get(0).getId();
+        Long veiculoB = veiculos.get(1).getId();
+        reservaService.criar(new ReservaDTO(base.plusDays(20), base.plusDays(22), veiculoB,
+            null, empresa.getId(), null, 300.0, null));
+        String corpo = "[" + String.join(",",
+            linha(veiculoA, empresa.getId(), base, 2),
+            // Sobrepõe a linha anterior do mesmo lote
+            linha(veiculoA, empresa.getId(), base.plusDays(1), 2),
+            // Sobrepõe uma reserva já gravada
+            linha(veiculoB, empresa.getId(), base.plusDays(21), 2),
+            linha(999_999L, empresa.getId(), base, 2),
+            linha(veiculoB, null, base, 2),
+            linha(veiculoB, empresa.getId(), base, 2)) + "]";
+
+        // Act
+        ResponseEntity<ResultadoLoteDTO> response = enviar(corpo, MediaType.APPLICATION_JSON, ResultadoLoteDTO.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ResultadoLoteDTO resultado = response.getBody();
+        assertNotNull(resultado);
+        assertEquals(6, resultado.total());
+        assertEquals(2, resultado.criadas());
+        assertEquals(List.of(true, false, false, false, false, true),
+            resultado.linhas().stream().map(LinhaLoteDTO::criada).collect(Collectors.toList()));
+        assertTrue(resultado.linhas().get(1).erro().contains("Já existe uma reserva"));
+        assertTrue(resultado.linhas().get(2).erro().contains("Já existe uma reserva"));
+        assertTrue(resultado.linhas().get(3).erro().contains("Veículo não encontrado"));
+        assertTrue(resultado.linhas().get(4).erro().contains("pessoa física ou jurídica"));
+
+        Reserva criada = reservaService.buscarPorId(resultado.linhas().get(0).reservaId()).orElseThrow();
+        assertEquals(empresa.getId(), criada.getPessoaJuridica().getId());
+        assertEquals(Reserva.StatusReserva.PENDENTE, criada.getStatus());
+        // A reserva importada já participa da verificação de conflito
+        assertTrue(reservaService.existeConflito(base.plusHours(1), base.plusHours(2), veiculoA));
+    }
+
+    @Test
+    @DisplayName("Lote em NDJSON deve ser gravado com INSERTs em lote")
+    void testImportarLoteNdjsonEmLote() {
+        // Arrange
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        StringBuilder corpo = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            Long veiculoId = veiculos.get(i % 2).getId();
+            corpo.append(linha(veiculoId, empresa.getId(), base.plusDays(3L * (i / 2)), 2)).append('\n');
+        }
+        estatisticas.clear();
+
+        // Act
+        ResponseEntity<ResultadoLoteDTO> response = enviar(corpo.toString(), MediaType.APPLICATION_NDJSON, ResultadoLoteDTO.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(100, response.getBody().criadas());
+        assertEquals(100, estatisticas.getEntityInsertCount());
+        // Sem lote seriam ao menos 100 comandos só de INSERT
+        assertTrue(estatisticas.getPrepareStatementCount() < 15,
+            "Comandos preparados: " + estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Lote deve ser gravado em partes, sem segurar as travas de todos os veículos até o fim")
+    void testImportarLoteEmPartes() throws Exception {
+        // Arrange
+        veiculos.add(passeioRepository.save(DadosTeste.passeio("LTE1002")));
+        List<Long> ids = veiculos.stream().map(Passeio::getId).toList();
+        List<List<Long>> grupos = travaPorVeiculo.agrupar(ids, 1);
+        Long ocupado = grupos.get(grupos.size() - 1).get(0);
+        CountDownLatch travado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        // Outra escrita segura a trava do último grupo enquanto o lote é importado
+        CompletableFuture<Void> escrita = CompletableFuture.runAsync(() -> travaPorVeiculo.executar(ocupado, () -> {
+            travado.countDown();
+            try {
+                liberar.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        travado.await(5, TimeUnit.SECONDS);
+        String corpo = ids.stream().map(id -> linha(id, empresa.getId(), base, 2))
+            .collect(Collectors.joining(",", "[", "]"));
+
+        // Act
+        CompletableFuture<ResponseEntity<ResultadoLoteDTO>> importacao = CompletableFuture.supplyAsync(
+            () -> enviar(corpo, MediaType.APPLICATION_JSON, ResultadoLoteDTO.class));
+        Long primeiro = grupos.get(0).get(0);
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!reservaService.existeConflito(base.plusHours(1), base.plusHours(2), primeiro)
+                && System.nanoTime() < limite) {
+            Thread.sleep(20);
+        }
+        boolean primeiraParteGravada = reservaService.existeConflito(base.plusHours(1), base.plusHours(2), primeiro);
+        boolean aguardandoTrava = !importacao.isDone();
+        liberar.countDown();
+        escrita.get(10, TimeUnit.SECONDS);
+        ResponseEntity<ResultadoLoteDTO> response = importacao.get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(grupos.size() > 1);
+        assertEquals(Set.copyOf(ids), grupos.stream().flatMap(List::stream).collect(Collectors.toSet()));
+        assertTrue(primeiraParteGravada, "A primeira parte deve ser gravada antes da trava ocupada ser liberada");
+        assertTrue(aguardandoTrava);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ids.size(), response.getBody().criadas());
+    }
+
+    @Test
+    @DisplayName("NDJSON malformado deve retornar 400 indicando a linha")
+    void testImportarLoteNdjsonInvalido() {
+        // Arrange
+        String corpo = linha(veiculos.get(0).getId(), empresa.getId(), base, 2) + "\n{\"veiculoId\": \n";
+
+        // Act
+        ResponseEntity<String> response = enviar(corpo, MediaType.APPLICATION_NDJSON, String.class);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().contains("linha"));
+        assertTrue(reservaService.buscarPorVeiculo(veiculos.get(0)).isEmpty());
+    }
+}
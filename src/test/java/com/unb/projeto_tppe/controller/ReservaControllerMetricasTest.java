@@ -0,0 +1,145 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.dto.ReservaDTO;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.PessoaFisicaRepository;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes das métricas dos endpoints de reservas.
+ * As respostas 409 e 404 devem ser contadas, as chamadas aos serviços medidas e tudo
+ * deve aparecer no endpoint do Prometheus.
+ */
+// Nos testes o Spring Boot desliga a exportação de métricas; sem isso /actuator/prometheus não existe
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ReservaControllerMetricasTest {
+
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private PessoaFisicaRepository pessoaFisicaRepository;
+
+    private Passeio veiculo;
+
+    private PessoaFisica cliente;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+        veiculo = passeioRepository.save(DadosTeste.passeio("MET1234"));
+        cliente = pessoaFisicaRepository.save(DadosTeste.pessoaFisica(
+            "Cliente Métricas", "55566677788", "metricas@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservaRepository.deleteAll(reservaRepository.findByVeiculo(veiculo));
+        passeioRepository.delete(veiculo);
+        pessoaFisicaRepository.delete(cliente);
+    }
+
+    private ReservaDTO createReservaDTO(LocalDateTime inicio) {
+        ReservaDTO dto = new ReservaDTO();
+        dto.setDataInicio(inicio);
+        dto.setDataFim(inicio.plusDays(2));
+        dto.setVeiculoId(veiculo.getId());
+        dto.setPessoaFisicaId(cliente.getId());
+        dto.setValorTotal(300.0);
+        return dto;
+    }
+
+    private double contador(String nome) {
+        return meterRegistry.get(nome).counter().count();
+    }
+
+    @Test
+    @DisplayName("Reserva em conflito deve incrementar o contador de conflitos e o timer do serviço")
+    void testContaConflito() {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.now().plusDays(600).truncatedTo(ChronoUnit.HOURS);
+        restTemplate.postForEntity(baseUrl + "/api/reservas", createReservaDTO(inicio), String.class);
+        double conflitosAntes = contador("reservas.conflitos");
+
+        // Act
+        ResponseEntity<String> response = restTemplate.postForEntity(
+            baseUrl + "/api/reservas", createReservaDTO(inicio.plusHours(1)), String.class);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(conflitosAntes + 1, contador("reservas.conflitos"));
+        assertTrue(meterRegistry.get("servico.chamadas")
+            .tags("servico", "ReservaServiceImpl", "metodo", "criar", "excecao", "ConflitoReservaException")
+            .timer().count() >= 1);
+    }
+
+    @Test
+    @DisplayName("Reserva inexistente deve incrementar o contador de respostas 404")
+    void testContaReservaNaoEncontrada() {
+        // Arrange
+        double antes = contador("reservas.nao.encontradas");
+
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            baseUrl + "/api/reservas/" + Long.MAX_VALUE, String.class);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(antes + 1, contador("reservas.nao.encontradas"));
+    }
+
+    @Test
+    @DisplayName("Endpoint do Prometheus deve expor serviços, repositórios, pool de conexões e contadores")
+    void testEndpointPrometheus() {
+        // Arrange
+        restTemplate.getForEntity(baseUrl + "/api/reservas/veiculo/" + veiculo.getId(), String.class);
+
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "/actuator/prometheus", String.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String corpo = response.getBody();
+        assertTrue(corpo.contains("servico_chamadas_seconds_bucket{"));
+        assertTrue(corpo.contains("metodo=\"buscarPorVeiculo\""));
+        assertTrue(corpo.contains("spring_data_repository_invocations_seconds_bucket{"));
+        assertTrue(corpo.contains("hikaricp_connections_active"));
+        assertTrue(corpo.contains("reservas_conflitos_total"));
+        assertTrue(corpo.contains("reservas_nao_encontradas_total"));
+    }
+}
@@ -0,0 +1,274 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.dto.ReservaDTO;
+import com.unb.projeto_tppe.dto.ReservaPainelDTO;
+import com.unb.projeto_tppe.model.EstadoPainelReservas;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.model.PessoaJuridica;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.repository.EstadoPainelReservasRepository;
+import com.unb.projeto_tppe.repository.PainelReservaRepository;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.PessoaFisicaRepository;
+import com.unb.projeto_tppe.repository.PessoaJuridicaRepository;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+import com.unb.projeto_tppe.service.PainelReservaService;
+import com.unb.projeto_tppe.service.PasseioServiceImpl;
+import com.unb.projeto_tppe.service.PessoaFisicaService;
+import com.unb.projeto_tppe.service.ReservaService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do painel de reservas em /api/reservas/painel, servido pela tabela desnormalizada.
+ * As linhas devem trazer veículo e cliente resolvidos, respeitar os filtros e acompanhar cada
+ * escrita de reserva, veículo e cliente, coincidindo com a junção sobre as reservas.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = "reservas.painel.tabela=true")
+public class ReservaControllerPainelTest {
+
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private PasseioServiceImpl passeioService;
+
+    @Autowired
+    private PessoaFisicaService pessoaFisicaService;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private PainelReservaRepository painelReservaRepository;
+
+    @Autowired
+    private PainelReservaService painelReservaService;
+
+    @Autowired
+    private EstadoPainelReservasRepository estadoPainelRepository;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private PessoaFisicaRepository pessoaFisicaRepository;
+
+    @Autowired
+    private PessoaJuridicaRepository pessoaJuridicaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Passeio veiculo;
+
+    private PessoaFisica pessoaFisica;
+
+    private PessoaJuridica pessoaJuridica;
+
+    // Período sem reservas de outros testes
+    private final LocalDateTime inicio = LocalDate.now().plusDays(800).atTime(8, 0);
+
+    private final List<Long> reservaIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+        veiculo = passeioRepository.save(createPasseio());
+        pessoaFisica = pessoaFisicaRepository.save(DadosTeste.pessoaFisica(
+            "Cliente Painel", "44455566677", "painel@example.com"));
+        pessoaJuridica = pessoaJuridicaRepository.save(DadosTeste.pessoaJuridica(
+            "Locadora Painel LTDA", "44555666000177", "locadora.painel@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservaIds.forEach(reservaService::excluir);
+        passeioRepository.deleteById(veiculo.getId());
+        pessoaFisicaRepository.deleteById(pessoaFisica.getId());
+        pessoaJuridicaRepository.deleteById(pessoaJuridica.getId());
+    }
+
+    private static Passeio createPasseio() {
+        Passeio passeio = DadosTeste.passeio("PNL1234");
+        passeio.setModelo("Modelo Painel");
+        return passeio;
+    }
+
+    private Reserva reservar(int dia, Long pessoaFisicaId, Long pessoaJuridicaId) {
+        LocalDateTime dataInicio = inicio.plusDays(dia);
+        Reserva reserva = reservaService.criar(new ReservaDTO(dataInicio, dataInicio.plusHours(4), veiculo.getId(),
+                                                              pessoaFisicaId, pessoaJuridicaId, null, 200.0, null));
+        reservaIds.add(reserva.getId());
+        return reserva;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> painel(String parametros) {
+        ResponseEntity<Map> response = restTemplate.getForEntity(
+            baseUrl + "/api/reservas/painel?tamanho=500" + parametros, Map.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return (List<Map<String, Object>>) response.getBody().get("itens");
+    }
+
+    @Test
+    @DisplayName("Busca por nome ou placa deve trazer as reservas com veículo e cliente em uma única consulta")
+    void testBuscaPorNomeEPlaca() {
+        // Arrange
+        Reserva daPessoaFisica = reservar(0, pessoaFisica.getId(), null);
+        Reserva daPessoaJuridica = reservar(1, null, pessoaJuridica.getId());
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        // Act
+        List<Map<String, Object>> porNome = painel("&busca=cliente PAINEL");
+        List<Map<String, Object>> porPlaca = painel("&busca=pnl12");
+
+        // Assert
+        assertEquals(2, estatisticas.getPrepareStatementCount());
+        assertEquals(1, porNome.size());
+        Map<String, Object> linha = porNome.get(0);
+        assertEquals(daPessoaFisica.getId().intValue(), ((Number) linha.get("id")).intValue());
+        assertEquals("Cliente Painel", linha.get("clienteNome"));
+        assertEquals("PNL1234", linha.get("veiculoPlaca"));
+        assertEquals("Modelo Painel", linha.get("veiculoModelo"));
+        assertEquals(List.of(daPessoaFisica.getId().intValue(), daPessoaJuridica.getId().intValue()),
+                     porPlaca.stream().map(item -> ((Number) item.get("id")).intValue()).toList());
+        assertEquals("Locadora Painel LTDA", porPlaca.get(1).get("clienteNome"));
+    }
+
+    @Test
+    @DisplayName("Filtros de status e período devem restringir as reservas do painel")
+    void testFiltrosDeStatusEPeriodo() {
+        // Arrange
+        Reserva confirmada = reservar(0, pessoaFisica.getId(), null);
+        reservaService.atualizarStatus(confirmada.getId(), Reserva.StatusReserva.CONFIRMADA);
+        Reserva posterior = reservar(5, pessoaFisica.getId(), null);
+
+        // Act
+        List<Map<String, Object>> confirmadas = painel("&busca=PNL1234&status=CONFIRMADA");
+        List<Map<String, Object>> doPeriodo = painel("&busca=PNL1234&inicio=" + inicio.plusDays(4)
+                                                     + "&fim=" + inicio.plusDays(6));
+
+        // Assert
+        assertEquals(1, confirmadas.size());
+        assertEquals("CONFIRMADA", confirmadas.get(0).get("status"));
+        assertEquals(1, doPeriodo.size());
+        assertEquals(posterior.getId().intValue(), ((Number) doPeriodo.get(0).get("id")).intValue());
+    }
+
+    @Test
+    @DisplayName("Tabela do painel deve acompanhar escritas de reserva, veículo e cliente")
+    void testTabelaAcompanhaEscritas() {
+        // Arrange
+        Reserva alterada = reservar(0, pessoaFisica.getId(), null);
+        Reserva excluida = reservar(1, pessoaFisica.getId(), null);
+        reservar(2, pessoaFisica.getId(), null);
+
+        // Act
+        reservaService.atualizar(alterada.getId(), new ReservaDTO(inicio, inicio.plusHours(6), veiculo.getId(),
+                                                                  null, pessoaJuridica.getId(), null, 300.0, "Alterada"));
+        reservaService.excluir(excluida.getId());
+        reservaIds.remove(excluida.getId());
+        veiculo.setPlaca("PNL4321");
+        veiculo = passeioService.salvar(veiculo);
+        pessoaFisica.setNome("Cliente Painel Renomeado");
+        pessoaFisica = pessoaFisicaService.salvar(pessoaFisica);
+
+        // Assert
+        EnumSet<Reserva.StatusReserva> todos = EnumSet.allOf(Reserva.StatusReserva.class);
+        List<ReservaPainelDTO> tabela = painelReservaRepository.findPagina(
+            "%pnl4321%", todos, null, null, 0L, Limit.of(500));
+        List<ReservaPainelDTO> juncao = reservaRepository.findPainel(
+            "%pnl4321%", todos, null, null, 0L, Limit.of(500));
+        assertEquals(2, tabela.size());
+        assertEquals(juncao, tabela);
+        assertEquals("Locadora Painel LTDA", tabela.get(0).clienteNome());
+        assertEquals(300.0, tabela.get(0).valorTotal());
+        assertEquals("Alterada", tabela.get(0).observacoes());
+        assertEquals("Cliente Painel Renomeado", tabela.get(1).clienteNome());
+    }
+
+    @Test
+    @DisplayName("Inicialização deve recriar a tabela do painel somente quando ela estiver marcada como desatualizada")
+    void testRecriaSomenteDesatualizada() {
+        // Arrange
+        Reserva reserva = reservar(0, pessoaFisica.getId(), null);
+        painelReservaService.carregar();
+        // Linha perdida sem passar pela aplicação, como numa alteração feita direto no banco
+        painelReservaRepository.deleteAllByIdInBatch(List.of(reserva.getId()));
+
+        // Act
+        painelReservaService.carregar();
+        boolean mantida = !painelReservaRepository.existsById(reserva.getId());
+        EstadoPainelReservas estado = estadoPainelRepository.findById(EstadoPainelReservas.ID).orElseThrow();
+        estado.setDesatualizado(true);
+        estadoPainelRepository.save(estado);
+        painelReservaService.carregar();
+
+        // Assert
+        assertTrue(mantida, "Tabela em dia não deve ser recriada na inicialização");
+        assertTrue(painelReservaRepository.existsById(reserva.getId()));
+        assertFalse(estadoPainelRepository.findById(EstadoPainelReservas.ID).orElseThrow().isDesatualizado());
+    }
+
+    @Test
+    @DisplayName("POST /painel/reconstruir deve recriar a tabela do painel a partir das reservas")
+    void testReconstruirPainel() {
+        // Arrange
+        Reserva reserva = reservar(0, pessoaFisica.getId(), null);
+        painelReservaRepository.deleteAllByIdInBatch(List.of(reserva.getId()));
+
+        // Act
+        ResponseEntity<Map> response = restTemplate.postForEntity(
+            baseUrl + "/api/reservas/painel/reconstruir", null, Map.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(((Number) response.getBody().get("reservasCopiadas")).intValue() >= 1);
+        assertTrue(painelReservaRepository.existsById(reserva.getId()));
+    }
+
+    @Test
+    @DisplayName("Período invertido deve retornar 400")
+    void testPeriodoInvertido() {
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "/api/reservas/painel?inicio="
+            + inicio.plusDays(1) + "&fim=" + inicio, String.class);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+}
@@ -0,0 +1,188 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.PessoaFisicaRepository;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da busca de reservas por período.
+ * Devem ser retornadas todas as reservas que se sobrepõem à janela, inclusive as que
+ * começam antes e terminam depois dela, com filtro de status e paginação por cursor.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ReservaControllerPeriodoTest {
+
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private PessoaFisicaRepository pessoaFisicaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private PessoaFisica cliente;
+
+    private LocalDateTime base;
+
+    private final List<Reserva> reservas = new ArrayList<>();
+
+    private final List<Passeio> veiculos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+        cliente = pessoaFisicaRepository.save(DadosTeste.pessoaFisica(
+            "Cliente Período", "44455566677", "periodo@example.com"));
+        base = LocalDateTime.now().plusDays(400).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservaRepository.deleteAll(reservas);
+        passeioRepository.deleteAll(veiculos);
+        pessoaFisicaRepository.delete(cliente);
+        reservas.clear();
+        veiculos.clear();
+    }
+
+    // Cada reserva usa um veículo próprio: várias delas se sobrepõem de propósito
+    private Reserva reservar(LocalDateTime inicio, LocalDateTime fim, Reserva.StatusReserva status) {
+        Passeio veiculo = passeioRepository.save(DadosTeste.passeio("PER" + (1000 + veiculos.size())));
+        veiculos.add(veiculo);
+        Reserva reserva = new Reserva();
+        reserva.setDataInicio(inicio);
+        reserva.setDataFim(fim);
+        reserva.setVeiculo(veiculo);
+        reserva.setPessoaFisica(cliente);
+        reserva.setValorTotal(150.0);
+        reserva.setStatus(status);
+        Reserva salva = reservaRepository.save(reserva);
+        reservas.add(salva);
+        return salva;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Integer> idsDaPagina(ResponseEntity<Map> response) {
+        List<Map<String, Object>> itens = (List<Map<String, Object>>) response.getBody().get("itens");
+        return itens.stream().map(item -> (Integer) item.get("id")).toList();
+    }
+
+    private String janela(LocalDateTime inicio, LocalDateTime fim) {
+        return baseUrl + "/api/reservas/periodo?inicio=" + inicio + "&fim=" + fim;
+    }
+
+    @Test
+    @DisplayName("Reserva que começa antes e termina depois da janela deve ser retornada")
+    void testReservaQueCobreAJanela() {
+        // Arrange
+        Reserva cobre = reservar(base.minusDays(5), base.plusDays(5), Reserva.StatusReserva.CONFIRMADA);
+        Reserva terminaNoInicio = reservar(base.minusDays(10), base, Reserva.StatusReserva.CONFIRMADA);
+        Reserva anterior = reservar(base.minusDays(20), base.minusDays(15), Reserva.StatusReserva.CONFIRMADA);
+        Reserva posterior = reservar(base.plusDays(2).plusMinutes(1), base.plusDays(4),
+                                     Reserva.StatusReserva.CONFIRMADA);
+
+        // Act
+        ResponseEntity<Map> response = restTemplate.getForEntity(janela(base, base.plusDays(2)), Map.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<Integer> ids = idsDaPagina(response);
+        assertTrue(ids.contains(cobre.getId().intValue()));
+        assertTrue(ids.contains(terminaNoInicio.getId().intValue()));
+        assertFalse(ids.contains(anterior.getId().intValue()));
+        assertFalse(ids.contains(posterior.getId().intValue()));
+    }
+
+    @Test
+    @DisplayName("Filtro de status deve retornar apenas as reservas com os status informados")
+    void testFiltroDeStatus() {
+        // Arrange
+        Reserva confirmada = reservar(base, base.plusDays(1), Reserva.StatusReserva.CONFIRMADA);
+        Reserva cancelada = reservar(base, base.plusDays(1), Reserva.StatusReserva.CANCELADA);
+        Reserva pendente = reservar(base, base.plusDays(1), Reserva.StatusReserva.PENDENTE);
+
+        // Act
+        ResponseEntity<Map> response = restTemplate.getForEntity(
+            janela(base, base.plusDays(1)) + "&status=CONFIRMADA&status=PENDENTE", Map.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<Integer> ids = idsDaPagina(response);
+        assertTrue(ids.contains(confirmada.getId().intValue()));
+        assertTrue(ids.contains(pendente.getId().intValue()));
+        assertFalse(ids.contains(cancelada.getId().intValue()));
+    }
+
+    @Test
+    @DisplayName("Páginas do período devem seguir o cursor com um único SELECT cada")
+    void testPaginacaoDoPeriodo() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            reservar(base.plusDays(3L * i), base.plusDays(3L * i + 1), Reserva.StatusReserva.CONFIRMADA);
+        }
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String url = janela(base, base.plusDays(30)) + "&tamanho=3";
+
+        // Act
+        estatisticas.clear();
+        ResponseEntity<Map> primeira = restTemplate.getForEntity(url, Map.class);
+        long comandos = estatisticas.getPrepareStatementCount();
+        Object cursor = primeira.getBody().get("proximoCursor");
+        ResponseEntity<Map> segunda = restTemplate.getForEntity(url + "&cursor=" + cursor, Map.class);
+
+        // Assert
+        assertEquals(1, comandos);
+        assertEquals(3, idsDaPagina(primeira).size());
+        assertEquals(2, idsDaPagina(segunda).size());
+        assertNull(segunda.getBody().get("proximoCursor"));
+        assertTrue(idsDaPagina(segunda).get(0) > idsDaPagina(primeira).get(2));
+    }
+
+    @Test
+    @DisplayName("Período com início posterior ao fim deve retornar 400")
+    void testPeriodoInvalido() {
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            janela(base.plusDays(1), base), String.class);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+}
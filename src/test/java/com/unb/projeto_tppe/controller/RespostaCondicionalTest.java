@@ -0,0 +1,298 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.dto.ReservaDTO;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.PessoaFisicaRepository;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+import com.unb.projeto_tppe.service.PasseioServiceImpl;
+import com.unb.projeto_tppe.service.ReservaService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do GET condicional pelas versões dos agregados.
+ * Um If-None-Match com a ETag atual deve ser respondido com 304 sem consultar o banco, e cada
+ * escrita deve mudar a ETag dos endpoints que leem o agregado alterado, e apenas deles.
+ * Testa também a versão de cada linha: If-Match nas alterações de reserva e escritas concorrentes.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class RespostaCondicionalTest {
+
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PasseioServiceImpl passeioService;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private PessoaFisicaRepository pessoaFisicaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Passeio veiculo;
+
+    private PessoaFisica cliente;
+
+    private final List<Long> reservaIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+        veiculo = passeioRepository.save(DadosTeste.passeio("ETG1234"));
+        cliente = pessoaFisicaRepository.save(DadosTeste.pessoaFisica(
+            "Cliente ETag", "33344455566", "etag@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservaIds.forEach(reservaService::excluir);
+        passeioRepository.deleteById(veiculo.getId());
+        pessoaFisicaRepository.deleteById(cliente.getId());
+    }
+
+    private ResponseEntity<String> get(String caminho, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
+        return restTemplate.exchange(baseUrl + caminho, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private String etag(String caminho) {
+        ResponseEntity<String> response = get(caminho, null);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getHeaders().getETag());
+        return response.getHeaders().getETag();
+    }
+
+    @Test
+    @DisplayName("If-None-Match com a ETag atual deve retornar 304 sem consultar o banco")
+    void testNaoModificadoSemConsulta() {
+        // Arrange
+        String caminho = "/api/veiculos/passeios/" + veiculo.getId();
+        String etag = etag(caminho);
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        // Act
+        ResponseEntity<String> response = get(caminho, etag);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(etag, response.getHeaders().getETag());
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+        assertEquals(HttpStatus.OK, get(caminho, "\"outra\"").getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Alteração de veículo deve mudar as ETags de veículos e reservas, mas não as de pessoas")
+    void testEscritaDeVeiculo() {
+        // Arrange
+        String passeios = etag("/api/veiculos/passeios/" + veiculo.getId());
+        String reservas = etag("/api/reservas/pagina");
+        String pessoas = etag("/api/pessoas-fisicas/" + cliente.getId());
+
+        // Act
+        veiculo.setCor("Preto");
+        veiculo = passeioService.salvar(veiculo);
+
+        // Assert
+        assertEquals(HttpStatus.OK, get("/api/veiculos/passeios/" + veiculo.getId(), passeios).getStatusCode());
+        assertEquals(HttpStatus.OK, get("/api/reservas/pagina", reservas).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, get("/api/pessoas-fisicas/" + cliente.getId(), pessoas).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Nova reserva deve mudar as ETags de reservas e da disponibilidade, mas não as de veículos")
+    void testEscritaDeReserva() {
+        // Arrange
+        LocalDateTime inicio = LocalDate.now().plusDays(900).atTime(8, 0);
+        String disponiveis = "/api/veiculos/disponiveis?inicio=" + inicio + "&fim=" + inicio.plusHours(2);
+        String etagDisponiveis = etag(disponiveis);
+        String etagReservas = etag("/api/reservas/pagina");
+        String etagPasseios = etag("/api/veiculos/passeios/pagina");
+
+        // Act
+        Reserva reserva = reservaService.criar(new ReservaDTO(inicio, inicio.plusHours(2), veiculo.getId(),
+                                                              cliente.getId(), null, null, 100.0, null));
+        reservaIds.add(reserva.getId());
+
+        // Assert
+        assertEquals(HttpStatus.OK, get(disponiveis, etagDisponiveis).getStatusCode());
+        assertEquals(HttpStatus.OK, get("/api/reservas/pagina", etagReservas).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, get("/api/veiculos/passeios/pagina", etagPasseios).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Versão da entidade deve ser incrementada a cada alteração e recusar alterações com versão antiga")
+    void testVersaoDaEntidade() {
+        // Arrange
+        Passeio copiaAntiga = passeioService.buscarPorId(veiculo.getId()).orElseThrow();
+        veiculo.setCor("Verde");
+        veiculo = passeioService.salvar(veiculo);
+
+        // Act
+        ResponseEntity<Map> response = restTemplate.getForEntity(
+            baseUrl + "/api/veiculos/passeios/" + veiculo.getId(), Map.class);
+        copiaAntiga.setCor("Amarelo");
+
+        // Assert
+        assertEquals(1, ((Number) response.getBody().get("versao")).intValue());
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> passeioService.salvar(copiaAntiga));
+    }
+
+    private Reserva reservar() {
+        LocalDateTime inicio = LocalDate.now().plusDays(950).atTime(8, 0);
+        Reserva reserva = reservaService.criar(new ReservaDTO(inicio, inicio.plusHours(2), veiculo.getId(),
+                                                              cliente.getId(), null, null, 100.0, null));
+        reservaIds.add(reserva.getId());
+        return reserva;
+    }
+
+    private ResponseEntity<String> patchStatus(Long id, Reserva.StatusReserva status, String ifMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch(ifMatch);
+        return restTemplate.exchange(baseUrl + "/api/reservas/" + id + "/status?status=" + status,
+                                     HttpMethod.PATCH, new HttpEntity<>(headers), String.class);
+    }
+
+    @Test
+    @DisplayName("PUT e PATCH com If-Match de uma versão antiga devem receber 412 sem alterar a reserva")
+    void testIfMatchComVersaoAntiga() {
+        // Arrange
+        Reserva reserva = reservar();
+        String versaoLida = "\"" + reserva.getVersao() + "\"";
+        reservaService.atualizarStatus(reserva.getId(), Reserva.StatusReserva.CONFIRMADA);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch(versaoLida);
+        ReservaDTO dados = new ReservaDTO(reserva.getDataInicio(), reserva.getDataFim().plusHours(1), veiculo.getId(),
+                                          cliente.getId(), null, null, 150.0, null);
+
+        // Act
+        ResponseEntity<String> put = restTemplate.exchange(baseUrl + "/api/reservas/" + reserva.getId(),
+            HttpMethod.PUT, new HttpEntity<>(dados, headers), String.class);
+        ResponseEntity<String> patch = patchStatus(reserva.getId(), Reserva.StatusReserva.CANCELADA, versaoLida);
+
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED, put.getStatusCode());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, patch.getStatusCode());
+        Reserva gravada = reservaService.buscarPorId(reserva.getId()).orElseThrow();
+        assertEquals(Reserva.StatusReserva.CONFIRMADA, gravada.getStatus());
+        assertEquals(100.0, gravada.getValorTotal());
+    }
+
+    @Test
+    @DisplayName("PATCH com If-Match da versão atual deve alterar a reserva e devolver a nova versão")
+    void testIfMatchComVersaoAtual() {
+        // Arrange
+        Reserva reserva = reservar();
+
+        // Act
+        ResponseEntity<String> response = patchStatus(reserva.getId(), Reserva.StatusReserva.CONFIRMADA,
+                                                      "\"" + reserva.getVersao() + "\"");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Reserva gravada = reservaService.buscarPorId(reserva.getId()).orElseThrow();
+        assertEquals(Reserva.StatusReserva.CONFIRMADA, gravada.getStatus());
+        assertEquals(reserva.getVersao() + 1, gravada.getVersao());
+    }
+
+    @Test
+    @DisplayName("PATCH com If-Match igual à ETag do GET deve alterar a reserva mesmo após escritas em outros dados; "
+               + "com a ETag antiga, receber 412")
+    void testIfMatchComETag() {
+        // Arrange
+        Reserva reserva = reservar();
+        String etag = etag("/api/reservas/" + reserva.getId());
+        veiculo.setCor("Azul");
+        veiculo = passeioService.salvar(veiculo);
+
+        // Act
+        ResponseEntity<String> atual = patchStatus(reserva.getId(), Reserva.StatusReserva.CONFIRMADA, etag);
+        ResponseEntity<String> antiga = patchStatus(reserva.getId(), Reserva.StatusReserva.CANCELADA, etag);
+
+        // Assert
+        assertEquals("\"" + reserva.getVersao() + "\"", etag);
+        assertEquals(HttpStatus.OK, atual.getStatusCode());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, antiga.getStatusCode());
+        Reserva gravada = reservaService.buscarPorId(reserva.getId()).orElseThrow();
+        assertEquals(Reserva.StatusReserva.CONFIRMADA, gravada.getStatus());
+        assertEquals(reserva.getVersao() + 1, gravada.getVersao());
+    }
+
+    @Test
+    @DisplayName("Alteração de status concorrente com o UPDATE VERSIONED do ciclo deve falhar no commit")
+    void testAlteracaoConcorrenteComCiclo() {
+        // Arrange
+        Reserva reserva = reservar();
+        TransactionTemplate externa = new TransactionTemplate(transactionManager);
+        TransactionTemplate ciclo = new TransactionTemplate(transactionManager);
+        ciclo.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Act
+        ObjectOptimisticLockingFailureException erro = assertThrows(ObjectOptimisticLockingFailureException.class,
+            () -> externa.executeWithoutResult(status -> {
+                // A edição lê a reserva antes de o ciclo confirmá-la em outra transação
+                Reserva lida = reservaRepository.findById(reserva.getId()).orElseThrow();
+                ciclo.executeWithoutResult(s -> reservaRepository.atualizarStatus(
+                    List.of(reserva.getId()), Reserva.StatusReserva.CONFIRMADA, lida.getSequenciaAlteracao()));
+                reservaService.atualizarStatus(reserva.getId(), Reserva.StatusReserva.CANCELADA);
+            }));
+
+        // Assert
+        assertNotNull(erro);
+        Reserva gravada = reservaService.buscarPorId(reserva.getId()).orElseThrow();
+        assertEquals(Reserva.StatusReserva.CONFIRMADA, gravada.getStatus());
+        assertEquals(reserva.getVersao() + 1, gravada.getVersao());
+    }
+}
@@ -0,0 +1,208 @@
+package com.unb.projeto_tppe.controller;
+
+import com.unb.projeto_tppe.model.Motocicleta;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.Utilitario;
+import com.unb.projeto_tppe.model.Veiculo;
+import com.unb.projeto_tppe.repository.MotocicletaRepository;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.UtilitarioRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da listagem única de veículos em /api/veiculos.
+ * Os três tipos devem vir de uma única consulta, com filtro por tipo, escolha de campos,
+ * ordenação e paginação.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class VeiculoControllerTest {
+
+    private static final Set<String> PLACAS = Set.of("LST1000", "LST1001", "LST1002", "LST1003");
+
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private UtilitarioRepository utilitarioRepository;
+
+    @Autowired
+    private MotocicletaRepository motocicletaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Passeio> passeios;
+
+    private Utilitario utilitario;
+
+    private Motocicleta motocicleta;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+        passeios = passeioRepository.saveAll(List.of(
+            createPasseio("LST1000", 90000.0), createPasseio("LST1003", 70000.0)));
+        utilitario = utilitarioRepository.save(createUtilitario("LST1001"));
+        motocicleta = motocicletaRepository.save(createMotocicleta("LST1002"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        passeioRepository.deleteAll(passeios);
+        utilitarioRepository.delete(utilitario);
+        motocicletaRepository.delete(motocicleta);
+    }
+
+    private static void preencher(Veiculo veiculo, String placa, double valor) {
+        veiculo.setPlaca(placa);
+        veiculo.setModelo("Modelo " + placa);
+        veiculo.setMarca("Marca Teste");
+        veiculo.setAnoFabricacao(2023);
+        veiculo.setAnoModelo(2024);
+        veiculo.setCor("Prata");
+        veiculo.setDataAquisicao(LocalDate.of(2024, 3, 15));
+        veiculo.setStatus(Veiculo.StatusVeiculo.DISPONIVEL);
+        veiculo.setValor(valor);
+    }
+
+    private Passeio createPasseio(String placa, double valor) {
+        Passeio passeio = new Passeio();
+        preencher(passeio, placa, valor);
+        passeio.setNumeroPortas(4);
+        passeio.setTipoCombustivel("Flex");
+        passeio.setCapacidadePassageiros(5);
+        passeio.setPossuiArCondicionado(true);
+        passeio.setPossuiDirecaoHidraulica(true);
+        return passeio;
+    }
+
+    private Utilitario createUtilitario(String placa) {
+        Utilitario utilitario = new Utilitario();
+        preencher(utilitario, placa, 120000.0);
+        utilitario.setCapacidadeCarga(1500.0);
+        utilitario.setTipoCarroceria("Baú");
+        utilitario.setVolumeCarga(12.0);
+        utilitario.setNumeroEixos(2);
+        return utilitario;
+    }
+
+    private Motocicleta createMotocicleta(String placa) {
+        Motocicleta motocicleta = new Motocicleta();
+        preencher(motocicleta, placa, 20000.0);
+        motocicleta.setCilindrada(300);
+        motocicleta.setTipo("street");
+        motocicleta.setPartidaEletrica(true);
+        motocicleta.setSistemaFreios("ABS");
+        return motocicleta;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> itens(ResponseEntity<Map> response) {
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return (List<Map<String, Object>>) response.getBody().get("itens");
+    }
+
+    // Apenas os veículos deste teste, na ordem em que vieram
+    private List<Map<String, Object>> destesTestes(List<Map<String, Object>> itens) {
+        return itens.stream().filter(item -> PLACAS.contains(item.get("placa"))).toList();
+    }
+
+    @Test
+    @DisplayName("Listagem deve trazer os três tipos de veículo em uma única consulta")
+    void testListaTodosOsTiposEmUmaConsulta() {
+        // Arrange
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        // Act
+        List<Map<String, Object>> itens = destesTestes(itens(restTemplate.getForEntity(
+            baseUrl + "/api/veiculos?ordenarPor=placa&tamanho=500", Map.class)));
+
+        // Assert
+        assertEquals(List.of("LST1000", "LST1001", "LST1002", "LST1003"),
+                     itens.stream().map(item -> item.get("placa")).toList());
+        assertEquals(List.of("PASSEIO", "UTILITARIO", "MOTOCICLETA", "PASSEIO"),
+                     itens.stream().map(item -> item.get("tipo")).toList());
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Filtro por tipo e escolha de campos devem restringir as linhas e as colunas")
+    void testFiltroPorTipoECampos() {
+        // Act
+        List<Map<String, Object>> itens = destesTestes(itens(restTemplate.getForEntity(
+            baseUrl + "/api/veiculos?tipo=passeio&tipo=MOTOCICLETA&campos=placa,tipo,dataAquisicao"
+                + "&ordenarPor=valor&direcao=desc&tamanho=500", Map.class)));
+
+        // Assert
+        assertEquals(List.of("LST1000", "LST1003", "LST1002"), itens.stream().map(item -> item.get("placa")).toList());
+        assertEquals(List.of("placa", "tipo", "dataAquisicao"), List.copyOf(itens.get(0).keySet()));
+        assertEquals("15/03/2024", itens.get(0).get("dataAquisicao"));
+    }
+
+    @Test
+    @DisplayName("Páginas seguintes devem continuar a ordenação sem repetir veículos")
+    void testPaginacao() {
+        // Arrange
+        String url = baseUrl + "/api/veiculos?tipo=PASSEIO&tipo=UTILITARIO&ordenarPor=tipo&tamanho=1&pagina=";
+        ResponseEntity<Map> primeira = restTemplate.getForEntity(url + 0, Map.class);
+        List<Object> placas = new ArrayList<>();
+        itens(primeira).forEach(item -> placas.add(item.get("placa")));
+        Object cursor = primeira.getBody().get("proximoCursor");
+
+        // Act
+        while (cursor != null) {
+            ResponseEntity<Map> pagina = restTemplate.getForEntity(url + cursor, Map.class);
+            itens(pagina).forEach(item -> placas.add(item.get("placa")));
+            cursor = pagina.getBody().get("proximoCursor");
+        }
+
+        // Assert
+        List<Object> destesTestes = placas.stream().filter(PLACAS::contains).toList();
+        assertEquals(List.of("LST1000", "LST1003", "LST1001"), destesTestes);
+        assertEquals(placas.size(), Set.copyOf(placas).size());
+    }
+
+    @Test
+    @DisplayName("Tipo, campo ou ordenação inválidos devem retornar 400")
+    void testParametrosInvalidos() {
+        // Act
+        ResponseEntity<String> tipo = restTemplate.getForEntity(baseUrl + "/api/veiculos?tipo=CAMINHAO", String.class);
+        ResponseEntity<String> campo = restTemplate.getForEntity(baseUrl + "/api/veiculos?campos=chassi", String.class);
+        ResponseEntity<String> ordenacao = restTemplate.getForEntity(
+            baseUrl + "/api/veiculos?ordenarPor=placa&direcao=cima", String.class);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, tipo.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, campo.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, ordenacao.getStatusCode());
+    }
+}
@@ -0,0 +1,108 @@
+package com.unb.projeto_tppe.service;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.model.Veiculo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do cache de segundo nível dos dados de referência (veículos e pessoas).
+ * Buscas repetidas por ID não devem ir ao banco, e escritas pelos serviços devem
+ * ser refletidas no cache.
+ */
+@SpringBootTest
+public class CacheSegundoNivelTest {
+
+    @Autowired
+    private GenericVeiculoServiceImpl veiculoService;
+
+    @Autowired
+    private PessoaFisicaService pessoaFisicaService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    private Passeio passeio;
+
+    private PessoaFisica pessoa;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        passeio = (Passeio) veiculoService.salvar(DadosTeste.passeio("CCH1000"));
+        pessoa = pessoaFisicaService.salvar(DadosTeste.pessoaFisica(
+            "Cliente Cache", "22233344455", "cache@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (veiculoService.buscarPorId(passeio.getId()).isPresent()) {
+            veiculoService.excluir(passeio.getId());
+        }
+        pessoaFisicaService.excluir(pessoa.getId());
+    }
+
+    @Test
+    @DisplayName("Busca repetida de veículo por ID deve ser atendida pelo cache")
+    void testBuscaVeiculoPeloCache() {
+        // Arrange
+        veiculoService.buscarPorId(passeio.getId());
+        estatisticas.clear();
+
+        // Act
+        Veiculo veiculo = veiculoService.buscarPorId(passeio.getId()).orElseThrow();
+
+        // Assert
+        assertEquals("CCH1000", veiculo.getPlaca());
+        assertInstanceOf(Passeio.class, veiculo);
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+        assertEquals(1, estatisticas.getDomainDataRegionStatistics("veiculos").getHitCount());
+    }
+
+    @Test
+    @DisplayName("Busca repetida de pessoa física por ID deve ser atendida pelo cache")
+    void testBuscaPessoaPeloCache() {
+        // Arrange
+        pessoaFisicaService.buscarPorId(pessoa.getId());
+        estatisticas.clear();
+
+        // Act
+        PessoaFisica encontrada = pessoaFisicaService.buscarPorId(pessoa.getId()).orElseThrow();
+
+        // Assert
+        assertEquals("Cliente Cache", encontrada.getNome());
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+        assertTrue(estatisticas.getDomainDataRegionStatistics("pessoas").getHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Salvar e excluir pelo serviço devem atualizar o cache")
+    void testEscritaInvalidaCache() {
+        // Arrange
+        Veiculo emCache = veiculoService.buscarPorId(passeio.getId()).orElseThrow();
+        emCache.setCor("Azul");
+
+        // Act
+        veiculoService.salvar(emCache);
+        String corAposSalvar = veiculoService.buscarPorId(passeio.getId()).orElseThrow().getCor();
+        veiculoService.excluir(passeio.getId());
+
+        // Assert
+        assertEquals("Azul", corAposSalvar);
+        assertTrue(veiculoService.buscarPorId(passeio.getId()).isEmpty());
+    }
+}
@@ -0,0 +1,201 @@
+package com.unb.projeto_tppe.service;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.dto.ResumoReservaDTO;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.model.Veiculo;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.PessoaFisicaRepository;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+import com.unb.projeto_tppe.service.CicloReservaService.ResultadoCiclo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do ciclo de vida automático das reservas.
+ * O ciclo é avançado explicitamente, com instantes no futuro distante, e cada teste usa
+ * um período próprio para não depender da ordem de execução.
+ */
+@SpringBootTest(properties = "reservas.ciclo.lote=1000")
+public class CicloReservaServiceTest {
+
+    @Autowired
+    private CicloReservaService cicloReservas;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private ResumoReservaService resumoReservas;
+
+    @Autowired
+    private VersoesAgregados versoes;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private PessoaFisicaRepository pessoaFisicaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Passeio veiculo;
+
+    private PessoaFisica cliente;
+
+    @BeforeEach
+    void setUp() {
+        veiculo = passeioRepository.save(DadosTeste.passeio("CIC1234"));
+        cliente = pessoaFisicaRepository.save(DadosTeste.pessoaFisica(
+            "Cliente Ciclo", "55566677788", "ciclo@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservaRepository.deleteAllInBatch(reservaRepository.findByVeiculo(veiculo));
+        // O ciclo altera o veículo com UPDATE em massa; a versão da cópia local fica desatualizada
+        passeioRepository.deleteById(veiculo.getId());
+        pessoaFisicaRepository.delete(cliente);
+    }
+
+    private Reserva createReserva(LocalDateTime inicio, LocalDateTime fim, Reserva.StatusReserva status) {
+        Reserva reserva = new Reserva();
+        reserva.setDataInicio(inicio);
+        reserva.setDataFim(fim);
+        reserva.setVeiculo(veiculo);
+        reserva.setPessoaFisica(cliente);
+        reserva.setValorTotal(200.0);
+        reserva.setStatus(status);
+        return reserva;
+    }
+
+    private static LocalDateTime diaFuturo(int dias) {
+        return LocalDateTime.now().plusDays(dias).truncatedTo(ChronoUnit.DAYS).withHour(10);
+    }
+
+    private long quantidadeResumo(LocalDateTime dia, Reserva.StatusReserva status) {
+        return resumoReservas.buscarTotais(dia.toLocalDate(), dia.toLocalDate(), "PASSEIO", List.of(status))
+            .stream().mapToLong(ResumoReservaDTO::quantidade).sum();
+    }
+
+    @Test
+    @DisplayName("Reserva confirmada deve alugar o veículo no início e ser concluída no fim, liberando-o")
+    void testRetiradaEConclusao() {
+        // Arrange
+        LocalDateTime inicio = diaFuturo(1100);
+        Reserva reserva = reservaService.salvar(createReserva(inicio, inicio.plusDays(2),
+                                                              Reserva.StatusReserva.CONFIRMADA));
+        long confirmadas = quantidadeResumo(inicio, Reserva.StatusReserva.CONFIRMADA);
+        long versaoVeiculos = versoes.versao(VersoesAgregados.Agregado.VEICULOS);
+
+        // Act
+        ResultadoCiclo retirada = cicloReservas.avancar(inicio.plusHours(1));
+        Veiculo.StatusVeiculo statusDuranteReserva =
+            passeioRepository.findById(veiculo.getId()).orElseThrow().getStatus();
+        ResultadoCiclo conclusao = cicloReservas.avancar(inicio.plusDays(2).plusMinutes(1));
+
+        // Assert
+        assertEquals(1, retirada.veiculosAlugados());
+        assertEquals(Veiculo.StatusVeiculo.ALUGADO, statusDuranteReserva);
+        assertEquals(1, conclusao.concluidas());
+        Reserva concluida = reservaRepository.findById(reserva.getId()).orElseThrow();
+        assertEquals(Reserva.StatusReserva.CONCLUIDA, concluida.getStatus());
+        assertTrue(concluida.getVersao() > reserva.getVersao());
+        assertEquals(Veiculo.StatusVeiculo.DISPONIVEL,
+                     passeioRepository.findById(veiculo.getId()).orElseThrow().getStatus());
+        assertEquals(confirmadas - 1, quantidadeResumo(inicio, Reserva.StatusReserva.CONFIRMADA));
+        assertEquals(1, quantidadeResumo(inicio, Reserva.StatusReserva.CONCLUIDA));
+        assertEquals(versaoVeiculos + 2, versoes.versao(VersoesAgregados.Agregado.VEICULOS));
+    }
+
+    @Test
+    @DisplayName("Reserva pendente não confirmada deve ser cancelada após o prazo e liberar o período")
+    void testExpiracaoPendente() {
+        // Arrange
+        LocalDateTime inicio = diaFuturo(1200);
+        Reserva reserva = reservaService.salvar(createReserva(inicio, inicio.plusDays(1),
+                                                              Reserva.StatusReserva.PENDENTE));
+
+        // Act
+        ResultadoCiclo antesDoPrazo = cicloReservas.avancar(inicio.plusMinutes(30));
+        ResultadoCiclo depoisDoPrazo = cicloReservas.avancar(inicio.plusHours(2));
+
+        // Assert
+        assertEquals(0, antesDoPrazo.expiradas());
+        assertEquals(1, depoisDoPrazo.expiradas());
+        assertEquals(Reserva.StatusReserva.CANCELADA,
+                     reservaRepository.findById(reserva.getId()).orElseThrow().getStatus());
+        assertFalse(reservaService.existeConflito(inicio, inicio.plusDays(1), veiculo.getId()));
+        assertEquals(Veiculo.StatusVeiculo.DISPONIVEL,
+                     passeioRepository.findById(veiculo.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Milhares de reservas vencidas no mesmo instante devem ser concluídas em poucos comandos SQL")
+    void testConclusaoEmMassa() {
+        // Arrange: gravadas direto no repositório, sem passar pelo serviço; a recarga da roda as encontra
+        LocalDateTime inicio = diaFuturo(2000);
+        List<Reserva> reservas = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            reservas.add(createReserva(inicio.plusHours(i), inicio.plusHours(i).plusMinutes(50),
+                                       Reserva.StatusReserva.CONFIRMADA));
+        }
+        reservaRepository.saveAll(reservas);
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        // Act
+        ResultadoCiclo resultado = cicloReservas.avancar(inicio.plusHours(2500));
+
+        // Assert
+        assertEquals(2500, resultado.concluidas());
+        assertTrue(estatisticas.getPrepareStatementCount() < 30,
+                   "Comandos SQL: " + estatisticas.getPrepareStatementCount());
+        assertTrue(reservaRepository.findByVeiculo(veiculo).stream()
+            .allMatch(reserva -> reserva.getStatus() == Reserva.StatusReserva.CONCLUIDA));
+    }
+
+    @Test
+    @DisplayName("Roda temporal deve entregar cada item só depois do vencimento, em qualquer nível")
+    void testRodaTemporal() {
+        // Arrange
+        RodaTemporal<Long> roda = new RodaTemporal<>(1000, 0);
+        long[] vencimentos = {500, 1000, 63_999, 64_000, 65_500, 4_096_000, 300_000_000};
+        for (long vencimento : vencimentos) {
+            roda.agendar(vencimento, vencimento);
+        }
+
+        // Act
+        List<Long> ate64s = roda.avancar(64_000);
+        List<Long> ate65s = roda.avancar(65_000);
+        List<Long> ate1h = roda.avancar(3_600_000);
+        List<Long> restantes = roda.avancar(Long.MAX_VALUE / 2);
+
+        // Assert
+        assertEquals(List.of(500L, 1000L, 63_999L, 64_000L), ate64s.stream().sorted().toList());
+        assertTrue(ate65s.isEmpty());
+        assertEquals(List.of(65_500L), ate1h);
+        assertEquals(List.of(4_096_000L, 300_000_000L), restantes.stream().sorted().toList());
+        assertEquals(0, roda.tamanho());
+    }
+}
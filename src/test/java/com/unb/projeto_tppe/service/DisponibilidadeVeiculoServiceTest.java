@@ -0,0 +1,160 @@
+package com.unb.projeto_tppe.service;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.dto.VeiculoResumoDTO;
+import com.unb.projeto_tppe.model.Motocicleta;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.model.Veiculo;
+import com.unb.projeto_tppe.repository.MotocicletaRepository;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da busca de veículos disponíveis, pelo calendário em memória e pelo banco.
+ */
+@SpringBootTest
+public class DisponibilidadeVeiculoServiceTest {
+
+    @Autowired
+    private DisponibilidadeVeiculoService disponibilidadeService;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private MotocicletaRepository motocicletaRepository;
+
+    private Passeio ocupado;
+
+    private Passeio livre;
+
+    private Motocicleta motocicleta;
+
+    private final List<Reserva> reservas = new ArrayList<>();
+
+    // Hora cheia no futuro, dentro do período coberto pelo índice
+    private final LocalDateTime base = LocalDateTime.now().plusDays(20).truncatedTo(ChronoUnit.HOURS);
+
+    @BeforeEach
+    void setUp() {
+        ocupado = passeioRepository.save(DadosTeste.passeio("DSP1000"));
+        livre = passeioRepository.save(DadosTeste.passeio("DSP1001"));
+        motocicleta = motocicletaRepository.save(DadosTeste.motocicleta("DSP1002"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservas.forEach(reserva -> reservaService.excluir(reserva.getId()));
+        reservas.clear();
+        passeioRepository.deleteAll(List.of(ocupado, livre));
+        motocicletaRepository.delete(motocicleta);
+    }
+
+    private void reservar(Veiculo veiculo, LocalDateTime inicio, LocalDateTime fim) {
+        Reserva reserva = new Reserva();
+        reserva.setVeiculo(veiculo);
+        reserva.setDataInicio(inicio);
+        reserva.setDataFim(fim);
+        reserva.setValorTotal(100.0);
+        reserva.setStatus(Reserva.StatusReserva.CONFIRMADA);
+        reservas.add(reservaService.salvar(reserva));
+    }
+
+    private List<Long> disponiveis(LocalDateTime inicio, LocalDateTime fim, String tipo) {
+        return disponibilidadeService.buscarDisponiveis(inicio, fim, tipo).stream()
+            .map(VeiculoResumoDTO::id)
+            .toList();
+    }
+
+    @Test
+    @DisplayName("Veículo com reserva sobreposta não deve aparecer como disponível")
+    void testVeiculoOcupadoNaoDisponivel() {
+        // Arrange
+        reservar(ocupado, base.plusDays(1), base.plusDays(3));
+
+        // Act
+        List<Long> ids = disponiveis(base.plusDays(2), base.plusDays(4), null);
+
+        // Assert
+        assertFalse(ids.contains(ocupado.getId()));
+        assertTrue(ids.contains(livre.getId()));
+        assertTrue(ids.contains(motocicleta.getId()));
+    }
+
+    @Test
+    @DisplayName("Reserva que termina dentro da hora de início da busca não deve ocupar o veículo")
+    void testPrecisaoNasHorasDasPontas() {
+        // Arrange
+        reservar(ocupado, base.minusHours(5), base.plusMinutes(30));
+
+        // Act
+        List<Long> depoisDoFim = disponiveis(base.plusMinutes(45), base.plusHours(5), "PASSEIO");
+        List<Long> antesDoFim = disponiveis(base.plusMinutes(15), base.plusHours(5), "PASSEIO");
+
+        // Assert
+        assertTrue(depoisDoFim.contains(ocupado.getId()));
+        assertFalse(antesDoFim.contains(ocupado.getId()));
+        assertFalse(depoisDoFim.contains(motocicleta.getId()));
+    }
+
+    @Test
+    @DisplayName("Veículo deve voltar a ficar disponível quando a reserva é cancelada")
+    void testCancelamentoLiberaVeiculo() {
+        // Arrange
+        reservar(ocupado, base.plusDays(1), base.plusDays(3));
+        // Reserva vizinha que compartilha a hora final da primeira
+        reservar(ocupado, base.plusDays(3).plusMinutes(30), base.plusDays(5));
+
+        // Act
+        reservaService.atualizarStatus(reservas.get(0).getId(), Reserva.StatusReserva.CANCELADA);
+
+        // Assert
+        assertTrue(disponiveis(base.plusDays(1), base.plusDays(2), null).contains(ocupado.getId()));
+        assertFalse(disponiveis(base.plusDays(3), base.plusDays(4), null).contains(ocupado.getId()));
+    }
+
+    @Test
+    @DisplayName("Períodos anteriores à carga do índice devem ser respondidos pelo banco")
+    void testPeriodoPassadoConsultaBanco() {
+        // Arrange
+        LocalDateTime passado = LocalDateTime.now().minusDays(30);
+        reservar(ocupado, passado, passado.plusDays(2));
+
+        // Act
+        List<Long> ids = disponiveis(passado.plusDays(1), passado.plusDays(3), "passeio");
+
+        // Assert
+        assertFalse(ids.contains(ocupado.getId()));
+        assertTrue(ids.contains(livre.getId()));
+        assertEquals(1, reservaRepository.findVeiculosOcupados(
+            passado.plusDays(1), passado.plusDays(3), Reserva.StatusReserva.CANCELADA).size());
+    }
+
+    @Test
+    @DisplayName("Tipo desconhecido ou período invertido devem ser rejeitados")
+    void testParametrosInvalidos() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> disponiveis(base, base.plusDays(1), "CAMINHAO"));
+        assertThrows(IllegalArgumentException.class, () -> disponiveis(base.plusDays(1), base, null));
+    }
+}
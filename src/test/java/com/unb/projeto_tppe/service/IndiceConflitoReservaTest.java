@@ -0,0 +1,139 @@
+package com.unb.projeto_tppe.service;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do índice de conflitos fora do bean da aplicação: cada teste cria um índice novo
+ * para controlar a ordem entre a carga, as escritas e a limpeza.
+ */
+@SpringBootTest
+public class IndiceConflitoReservaTest {
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Passeio veiculo;
+
+    private IndiceConflitoReserva indice;
+
+    private final List<Reserva> reservas = new ArrayList<>();
+
+    // Hora cheia no futuro, dentro do período coberto pelo índice
+    private final LocalDateTime base = LocalDateTime.now().plusDays(40).truncatedTo(ChronoUnit.HOURS);
+
+    @BeforeEach
+    void setUp() {
+        veiculo = passeioRepository.save(DadosTeste.passeio("IDX1000"));
+        indice = new IndiceConflitoReserva(reservaRepository, transactionManager, Duration.ofHours(1), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        indice.destroy();
+        reservas.forEach(reserva -> reservaService.excluir(reserva.getId()));
+        reservas.clear();
+        passeioRepository.delete(veiculo);
+    }
+
+    private Reserva reservar(LocalDateTime inicio, LocalDateTime fim) {
+        Reserva reserva = new Reserva();
+        reserva.setVeiculo(veiculo);
+        reserva.setDataInicio(inicio);
+        reserva.setDataFim(fim);
+        reserva.setValorTotal(100.0);
+        reserva.setStatus(Reserva.StatusReserva.CONFIRMADA);
+        Reserva salva = reservaService.salvar(reserva);
+        reservas.add(salva);
+        return salva;
+    }
+
+    @Test
+    @DisplayName("Reserva removida durante a carga não deve voltar ao índice pelo que a carga leu do banco")
+    void testRemocaoDuranteACarga() {
+        // Arrange
+        Reserva removida = reservar(base, base.plusHours(4));
+        Reserva mantida = reservar(base.plusDays(1), base.plusDays(1).plusHours(4));
+
+        // Act
+        indice.remover(removida.getId());
+        indice.carregar();
+
+        // Assert
+        assertFalse(indice.existeConflito(base, base.plusHours(4), veiculo.getId(), null));
+        assertFalse(indice.estaOcupado(base, base.plusHours(4), veiculo.getId()));
+        assertTrue(indice.existeConflito(mantida.getDataInicio(), mantida.getDataFim(), veiculo.getId(), null));
+    }
+
+    @Test
+    @DisplayName("Limpeza deve remover as reservas terminadas e avançar o início da cobertura")
+    void testLimpezaDasReservasTerminadas() {
+        // Arrange
+        indice.carregar();
+        LocalDateTime passado = LocalDateTime.now().minusDays(2).truncatedTo(ChronoUnit.HOURS);
+        Reserva terminada = new Reserva();
+        terminada.setId(Long.MAX_VALUE);
+        terminada.setVeiculo(veiculo);
+        terminada.setDataInicio(passado);
+        terminada.setDataFim(passado.plusHours(4));
+        terminada.setStatus(Reserva.StatusReserva.CONCLUIDA);
+        indice.registrar(terminada);
+        Reserva futura = reservar(base, base.plusHours(4));
+        indice.registrar(futura);
+        LocalDateTime antes = LocalDateTime.now();
+
+        // Act
+        indice.limpar();
+
+        // Assert
+        assertFalse(indice.estaOcupado(passado, passado.plusHours(4), veiculo.getId()));
+        assertTrue(indice.estaOcupado(base, base.plusHours(4), veiculo.getId()));
+        assertFalse(indice.cobre(antes.minusSeconds(1)));
+        assertTrue(indice.cobre(base));
+    }
+
+    @Test
+    @DisplayName("Com várias instâncias o índice não deve cobrir nenhum período nem guardar reservas")
+    void testDesligadoComVariasInstancias() {
+        // Arrange
+        IndiceConflitoReserva desligado = new IndiceConflitoReserva(
+            reservaRepository, transactionManager, Duration.ofHours(1), false);
+        Reserva reserva = reservar(base, base.plusHours(4));
+
+        // Act
+        desligado.carregar();
+        desligado.registrar(reserva);
+
+        // Assert
+        assertFalse(desligado.cobre(base));
+        assertFalse(desligado.estaOcupado(base, base.plusHours(4), veiculo.getId()));
+        desligado.destroy();
+    }
+}
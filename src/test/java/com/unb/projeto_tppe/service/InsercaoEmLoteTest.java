@@ -0,0 +1,100 @@
+package com.unb.projeto_tppe.service;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.PessoaFisicaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da geração de IDs por sequência em blocos.
+ * Vários cadastros salvos juntos devem consumir poucas chamadas à sequência e ser
+ * enviados ao banco em lotes.
+ */
+@SpringBootTest
+public class InsercaoEmLoteTest {
+
+    private static final int QUANTIDADE = 100;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private PessoaFisicaRepository pessoaFisicaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    private final List<Passeio> veiculos = new ArrayList<>();
+
+    private final List<PessoaFisica> pessoas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        passeioRepository.deleteAll(veiculos);
+        pessoaFisicaRepository.deleteAll(pessoas);
+        veiculos.clear();
+        pessoas.clear();
+    }
+
+    private static PessoaFisica createPessoaFisica(int indice) {
+        return DadosTeste.pessoaFisica("Cliente Lote " + indice, String.format("333%08d", indice),
+                                       "lote" + indice + "@example.com");
+    }
+
+    @Test
+    @DisplayName("Salvar vários veículos deve usar poucas chamadas à sequência e INSERTs em lote")
+    void testVeiculosInseridosEmLote() {
+        // Arrange
+        List<Passeio> novos = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE; i++) {
+            novos.add(DadosTeste.passeio(String.format("INS%04d", i)));
+        }
+
+        // Act
+        veiculos.addAll(passeioRepository.saveAll(novos));
+
+        // Assert
+        assertEquals(QUANTIDADE, veiculos.stream().map(Passeio::getId).distinct().count());
+        // 2 blocos de 50 IDs e, para cada uma das tabelas veiculo e passeio, 2 lotes de 50 INSERTs
+        assertTrue(estatisticas.getPrepareStatementCount() <= 6,
+            "Statements preparados: " + estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Pessoas e endereços salvos juntos devem receber IDs consecutivos do mesmo bloco")
+    void testPessoasRecebemIdsDoMesmoBloco() {
+        // Arrange
+        List<PessoaFisica> novas = List.of(createPessoaFisica(1), createPessoaFisica(2), createPessoaFisica(3));
+
+        // Act
+        pessoas.addAll(pessoaFisicaRepository.saveAll(novas));
+
+        // Assert
+        assertEquals(pessoas.get(0).getId() + 1, pessoas.get(1).getId());
+        assertEquals(pessoas.get(1).getId() + 1, pessoas.get(2).getId());
+        assertEquals(pessoas.get(0).getEndereco().getId() + 2, pessoas.get(2).getEndereco().getId());
+    }
+}
@@ -0,0 +1,202 @@
+package com.unb.projeto_tppe.service;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.dto.ReservaDTO;
+import com.unb.projeto_tppe.exception.ConflitoReservaException;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.PessoaFisicaRepository;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de concorrência da criação de reservas.
+ * Muitos clientes disputam os mesmos veículos ao mesmo tempo e nenhum veículo pode
+ * terminar com duas reservas sobrepostas.
+ */
+@SpringBootTest
+public class ReservaServiceConcorrenciaTest {
+
+    private static final int CLIENTES = 200;
+
+    private static final int VEICULOS = 4;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private PessoaFisicaRepository pessoaFisicaRepository;
+
+    private final List<Passeio> veiculos = new ArrayList<>();
+
+    private PessoaFisica cliente;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < VEICULOS; i++) {
+            veiculos.add(passeioRepository.save(DadosTeste.passeio("CNC" + (1000 + i))));
+        }
+        cliente = pessoaFisicaRepository.save(DadosTeste.pessoaFisica(
+            "Cliente Concorrência", "11122233344", "concorrencia@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        veiculos.forEach(veiculo -> reservaRepository.deleteAll(reservaRepository.findByVeiculo(veiculo)));
+        passeioRepository.deleteAll(veiculos);
+        pessoaFisicaRepository.delete(cliente);
+        veiculos.clear();
+    }
+
+    private ReservaDTO createReservaDTO(Long veiculoId, LocalDateTime inicio) {
+        ReservaDTO dto = new ReservaDTO();
+        dto.setDataInicio(inicio);
+        dto.setDataFim(inicio.plusDays(2));
+        dto.setVeiculoId(veiculoId);
+        dto.setPessoaFisicaId(cliente.getId());
+        dto.setValorTotal(300.0);
+        return dto;
+    }
+
+    /**
+     * Dispara todas as tarefas ao mesmo tempo e conta quantas reservas foram criadas
+     */
+    private int executarEmParalelo(List<Callable<Boolean>> tarefas) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tarefas.size());
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> resultados = new ArrayList<>();
+            for (Callable<Boolean> tarefa : tarefas) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return tarefa.call();
+                }));
+            }
+            largada.countDown();
+
+            int criadas = 0;
+            for (Future<Boolean> resultado : resultados) {
+                if (resultado.get(60, TimeUnit.SECONDS)) {
+                    criadas++;
+                }
+            }
+            return criadas;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<Boolean> tentarReservar(ReservaDTO dto) {
+        return () -> {
+            try {
+                reservaService.criar(dto);
+                return true;
+            } catch (ConflitoReservaException e) {
+                return false;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Apenas uma reserva deve ser criada quando vários clientes disputam o mesmo período")
+    void testNaoPermiteReservaDuplicadaEmParalelo() throws Exception {
+        // Arrange
+        Long veiculoId = veiculos.get(0).getId();
+        LocalDateTime inicio = LocalDateTime.now().plusDays(10).withNano(0);
+        List<Callable<Boolean>> tarefas = new ArrayList<>();
+        for (int i = 0; i < CLIENTES; i++) {
+            // Períodos deslocados em horas, todos sobrepostos entre si
+            tarefas.add(tentarReservar(createReservaDTO(veiculoId, inicio.plusHours(i % 24))));
+        }
+
+        // Act
+        int criadas = executarEmParalelo(tarefas);
+
+        // Assert
+        assertEquals(1, criadas);
+        assertEquals(1, reservaRepository.findByVeiculo(veiculos.get(0)).size());
+    }
+
+    @Test
+    @DisplayName("Reservas de veículos diferentes devem ser criadas em paralelo sem conflito")
+    void testReservasDeVeiculosDiferentesEmParalelo() throws Exception {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.now().plusDays(10).withNano(0);
+        List<Callable<Boolean>> tarefas = new ArrayList<>();
+        for (int i = 0; i < CLIENTES; i++) {
+            Long veiculoId = veiculos.get(i % VEICULOS).getId();
+            // Cada veículo recebe uma sequência de períodos disjuntos
+            tarefas.add(tentarReservar(createReservaDTO(veiculoId, inicio.plusDays(3L * (i / VEICULOS)))));
+        }
+
+        // Act
+        int criadas = executarEmParalelo(tarefas);
+
+        // Assert
+        assertEquals(CLIENTES, criadas);
+        for (Passeio veiculo : veiculos) {
+            assertEquals(CLIENTES / VEICULOS, reservaRepository.findByVeiculo(veiculo).size());
+        }
+    }
+
+    @Test
+    @DisplayName("A própria reserva não deve ser considerada conflito ao ser atualizada")
+    void testAtualizarNaoConflitaComAPropriaReserva() {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.now().plusDays(10).withNano(0);
+        ReservaDTO dto = createReservaDTO(veiculos.get(0).getId(), inicio);
+        Long id = reservaService.criar(dto).getId();
+
+        // Act
+        dto.setDataFim(dto.getDataFim().plusHours(6));
+
+        // Assert
+        assertDoesNotThrow(() -> reservaService.atualizar(id, dto));
+        assertThrows(ConflitoReservaException.class,
+            () -> reservaService.criar(createReservaDTO(veiculos.get(0).getId(), inicio.plusHours(1))));
+    }
+
+    @Test
+    @DisplayName("Reativar uma reserva cancelada não deve tomar o período já reservado por outra")
+    void testReativarNaoConflitaComReservaPosterior() {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.now().plusDays(10).withNano(0);
+        Long veiculoId = veiculos.get(0).getId();
+        Long canceladaId = reservaService.criar(createReservaDTO(veiculoId, inicio)).getId();
+        reservaService.atualizarStatus(canceladaId, Reserva.StatusReserva.CANCELADA);
+        Long novaId = reservaService.criar(createReservaDTO(veiculoId, inicio)).getId();
+
+        // Act & Assert
+        assertThrows(ConflitoReservaException.class,
+            () -> reservaService.atualizarStatus(canceladaId, Reserva.StatusReserva.CONFIRMADA));
+        assertEquals(Reserva.StatusReserva.CANCELADA,
+                     reservaRepository.findById(canceladaId).orElseThrow().getStatus());
+        assertTrue(reservaService.existeConflito(inicio, inicio.plusDays(2), veiculoId, canceladaId));
+        assertFalse(reservaService.existeConflito(inicio, inicio.plusDays(2), veiculoId, novaId));
+    }
+}
@@ -0,0 +1,171 @@
+package com.unb.projeto_tppe.service;
+
+import com.unb.projeto_tppe.DadosTeste;
+import com.unb.projeto_tppe.dto.ReservaDTO;
+import com.unb.projeto_tppe.dto.ResumoReservaDTO;
+import com.unb.projeto_tppe.model.Passeio;
+import com.unb.projeto_tppe.model.PessoaFisica;
+import com.unb.projeto_tppe.model.Reserva;
+import com.unb.projeto_tppe.repository.PasseioRepository;
+import com.unb.projeto_tppe.repository.PessoaFisicaRepository;
+import com.unb.projeto_tppe.repository.ReservaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da reconstrução dos resumos com escritas concorrentes.
+ * A reconstrução usa uma instância própria, cujo executor só lê os blocos seguintes ao primeiro
+ * depois que o teste grava as alterações.
+ */
+@SpringBootTest
+public class ResumoReservaServiceTest {
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private PasseioRepository passeioRepository;
+
+    @Autowired
+    private PessoaFisicaRepository pessoaFisicaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CountDownLatch primeiroBlocoLido = new CountDownLatch(1);
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    private final AtomicInteger blocosEnviados = new AtomicInteger();
+
+    private final List<Long> reservaIds = new ArrayList<>();
+
+    private final LocalDate dia = LocalDate.now().plusYears(3).withDayOfYear(200);
+
+    private ResumoReservaService resumos;
+
+    private Passeio veiculo;
+
+    private PessoaFisica cliente;
+
+    @BeforeEach
+    void setUp() {
+        veiculo = passeioRepository.save(DadosTeste.passeio("RES1234"));
+        cliente = pessoaFisicaRepository.save(DadosTeste.pessoaFisica(
+            "Cliente Resumo", "22233344455", "resumo@example.com"));
+        AsyncTaskExecutor executor = tarefa -> {
+            int bloco = blocosEnviados.getAndIncrement();
+            Thread.ofPlatform().start(() -> {
+                if (bloco > 0) {
+                    aguardar(liberar);
+                }
+                tarefa.run();
+                if (bloco == 0) {
+                    primeiroBlocoLido.countDown();
+                }
+            });
+        };
+        resumos = new ResumoReservaService(reservaRepository, executor, transactionManager, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservaRepository.deleteAllInBatch(reservaRepository.findAllById(reservaIds));
+        passeioRepository.deleteById(veiculo.getId());
+        pessoaFisicaRepository.delete(cliente);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Long reservar(int dias) {
+        Long id = reservaService.criar(new ReservaDTO(dia.plusDays(dias).atTime(8, 0), dia.plusDays(dias).atTime(18, 0),
+            veiculo.getId(), cliente.getId(), null, null, 100.0, null)).getId();
+        reservaIds.add(id);
+        return id;
+    }
+
+    // Grava a alteração e a registra na instância em teste, como ReservaServiceImpl faz com o bean
+    private void confirmar(Long id) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Reserva reserva = reservaRepository.findById(id).orElseThrow();
+            var anterior = ResumoReservaService.contribuicao(reserva);
+            reserva.setStatus(Reserva.StatusReserva.CONFIRMADA);
+            resumos.substituir(id, anterior, ResumoReservaService.contribuicao(reservaRepository.save(reserva)));
+        });
+    }
+
+    private void criar(LocalDateTime inicio) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Reserva reserva = new Reserva();
+            reserva.setDataInicio(inicio);
+            reserva.setDataFim(inicio.plusHours(10));
+            reserva.setVeiculo(passeioRepository.findById(veiculo.getId()).orElseThrow());
+            reserva.setPessoaFisica(pessoaFisicaRepository.findById(cliente.getId()).orElseThrow());
+            reserva.setStatus(Reserva.StatusReserva.PENDENTE);
+            reserva.setValorTotal(100.0);
+            Reserva gravada = reservaRepository.save(reserva);
+            reservaIds.add(gravada.getId());
+            resumos.substituir(gravada.getId(), null, ResumoReservaService.contribuicao(gravada));
+        });
+    }
+
+    private Map<Reserva.StatusReserva, Long> quantidades() {
+        return resumos.buscarTotais(dia, dia.plusDays(10), "PASSEIO", null).stream()
+            .collect(Collectors.toMap(ResumoReservaDTO::status, ResumoReservaDTO::quantidade));
+    }
+
+    @Test
+    @DisplayName("Escritas confirmadas durante a reconstrução não devem se perder nem contar em dobro")
+    void testEscritasDuranteReconstrucao() throws Exception {
+        // Arrange
+        Long primeira = reservar(0);
+        Long segunda = reservar(1);
+
+        // Act
+        CompletableFuture<Long> reconstrucao = CompletableFuture.supplyAsync(resumos::reconstruir);
+        aguardar(primeiroBlocoLido);
+        // O primeiro bloco já foi lido; os seguintes ainda não
+        confirmar(primeira);
+        confirmar(segunda);
+        criar(dia.plusDays(2).atTime(8, 0));
+        liberar.countDown();
+        reconstrucao.get(10, TimeUnit.SECONDS);
+        Map<Reserva.StatusReserva, Long> aposConcorrentes = quantidades();
+        resumos.reconstruir();
+
+        // Assert
+        assertTrue(blocosEnviados.get() > 1);
+        assertEquals(Map.of(Reserva.StatusReserva.CONFIRMADA, 2L, Reserva.StatusReserva.PENDENTE, 1L),
+                     aposConcorrentes);
+        assertEquals(aposConcorrentes, quantidades());
+    }
+}